@@ -0,0 +1,168 @@
+/*
+ * =================================================================================================
+ *                    Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License 
+ * you may obtain at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * You can redistribute, modify or publish any part of the code written within this file but as it 
+ * is described in the License, the software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ * 
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment.examples.content;
+
+import android.content.ComponentCallbacks2;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Build;
+import android.test.AndroidTestCase;
+import android.util.DisplayMetrics;
+import android.util.Log;
+
+import com.wit.android.fragment.examples.R;
+
+/**
+ * Benchmark of decoding of the images presented by
+ * {@link com.wit.android.fragment.examples.fragment.ImageFragment}: decode time and heap used by
+ * the full resolution decoding done by {@link android.widget.ImageView#setImageResource(int)}
+ * compared with the sampled decoding done by {@link ImageLoader}.
+ *
+ * @author Martin Albedinsky
+ */
+public final class ImageLoaderTest extends AndroidTestCase {
+
+	/**
+	 * Log TAG.
+	 */
+	private static final String TAG = "ImageLoaderTest";
+
+	/**
+	 * Resource ids of all presented images.
+	 */
+	private static final int[] IMAGES = {
+			R.drawable.nature_01, R.drawable.nature_02, R.drawable.nature_03, R.drawable.nature_04,
+			R.drawable.nature_05, R.drawable.nature_06, R.drawable.nature_07, R.drawable.nature_08,
+			R.drawable.nature_09, R.drawable.nature_10, R.drawable.nature_11, R.drawable.nature_12
+	};
+
+	/**
+	 * Loader to test.
+	 */
+	private ImageLoader mLoader;
+
+	/**
+	 */
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		this.mLoader = ImageLoader.getInstance(getContext());
+		// Start with empty cache and pool.
+		mLoader.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+	}
+
+	/**
+	 */
+	public void testSampledDecodeKeepsScreenSize() {
+		for (int resId : IMAGES) {
+			final ImageLoader.ImageKey key = createScreenKey(resId);
+			final BitmapFactory.Options bounds = decodeBounds(resId);
+			final Bitmap bitmap = mLoader.onLoadResource(key);
+			assertNotNull(bitmap);
+			assertTrue(bitmap.getWidth() <= bounds.outWidth && bitmap.getHeight() <= bounds.outHeight);
+			if (bitmap.getWidth() < bounds.outWidth) {
+				// Sampled down, but never below the screen size.
+				assertTrue(bitmap.getWidth() >= key.width && bitmap.getHeight() >= key.height);
+			}
+			// Sampled down as much as possible.
+			assertTrue(bitmap.getWidth() / 2 <= key.width || bitmap.getHeight() / 2 <= key.height);
+			bitmap.recycle();
+		}
+	}
+
+	/**
+	 */
+	public void testRemovedBitmapIsReused() {
+		if (Build.VERSION.SDK_INT < Build.VERSION_CODES.KITKAT) {
+			// Prior to KitKat only not sampled bitmaps of the same size can be reused.
+			return;
+		}
+		final ImageLoader.ImageKey key = createScreenKey(IMAGES[0]);
+		final Bitmap bitmap = mLoader.onLoadResource(key);
+		// Not presented by any view, so pooled right away.
+		mLoader.onResourceRemoved(key, bitmap);
+		assertSame(bitmap, mLoader.onLoadResource(key));
+	}
+
+	/**
+	 */
+	public void testDecodeCostAndHeap() {
+		final Resources resources = getContext().getResources();
+		// Warm up both paths, so their first run does not include loading of the decoders.
+		BitmapFactory.decodeResource(resources, IMAGES[0]).recycle();
+		mLoader.onLoadResource(createScreenKey(IMAGES[0])).recycle();
+
+		long fullTime = 0, fullBytes = 0, fullPeak = 0;
+		for (int resId : IMAGES) {
+			final long baseHeap = collectHeap();
+			final long start = System.nanoTime();
+			final Bitmap bitmap = BitmapFactory.decodeResource(resources, resId);
+			fullTime += System.nanoTime() - start;
+			fullBytes += bitmap.getByteCount();
+			fullPeak = Math.max(fullPeak, ImageLoader.getUsedHeap() - baseHeap);
+			bitmap.recycle();
+		}
+		long sampledTime = 0, sampledBytes = 0, sampledPeak = 0;
+		for (int resId : IMAGES) {
+			final long baseHeap = collectHeap();
+			final long start = System.nanoTime();
+			final Bitmap bitmap = mLoader.onLoadResource(createScreenKey(resId));
+			sampledTime += System.nanoTime() - start;
+			sampledBytes += bitmap.getByteCount();
+			sampledPeak = Math.max(sampledPeak, ImageLoader.getUsedHeap() - baseHeap);
+			bitmap.recycle();
+		}
+		assertTrue(sampledBytes <= fullBytes);
+		Log.i(TAG, "Decoded " + IMAGES.length + " images, per image: full resolution " + fullTime / IMAGES.length / 1000 + " us" +
+				" and " + fullBytes / IMAGES.length / 1024 + " KB, sampled to screen " + sampledTime / IMAGES.length / 1000 + " us" +
+				" and " + sampledBytes / IMAGES.length / 1024 + " KB. Peak heap growth: full resolution " + fullPeak / 1024 + " KB" +
+				", sampled " + sampledPeak / 1024 + " KB.");
+	}
+
+	/**
+	 * Creates a key of the image with the given resource id sampled to the screen size, the same
+	 * as requested by {@link ImageLoader#load(int, android.widget.ImageView)}.
+	 */
+	private ImageLoader.ImageKey createScreenKey(int resId) {
+		final DisplayMetrics metrics = getContext().getResources().getDisplayMetrics();
+		return new ImageLoader.ImageKey(resId, metrics.widthPixels, metrics.heightPixels);
+	}
+
+	/**
+	 * Decodes only bounds of the image with the given resource id, not scaled by density.
+	 */
+	private BitmapFactory.Options decodeBounds(int resId) {
+		final BitmapFactory.Options options = new BitmapFactory.Options();
+		options.inScaled = false;
+		options.inJustDecodeBounds = true;
+		BitmapFactory.decodeResource(getContext().getResources(), resId, options);
+		return options;
+	}
+
+	/**
+	 * Runs garbage collection and returns the used heap.
+	 */
+	private static long collectHeap() {
+		System.gc();
+		System.runFinalization();
+		System.gc();
+		return ImageLoader.getUsedHeap();
+	}
+}
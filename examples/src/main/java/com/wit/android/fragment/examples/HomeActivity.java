@@ -31,9 +31,13 @@ import android.widget.CheckBox;
 
 import com.wit.android.examples.ExBaseHomeActivity;
 import com.wit.android.examples.model.ExNavigationItem;
+import com.wit.android.fragment.examples.adapter.AppsAdapter;
 import com.wit.android.fragment.examples.adapter.TransitionsAdapter;
+import com.wit.android.fragment.examples.content.ImageLoader;
 import com.wit.android.fragment.examples.fragment.SampleActionBarFragment;
 import com.wit.android.fragment.examples.fragment.FragmentsFactory;
+import com.wit.android.fragment.LayoutRecycler;
+import com.wit.android.fragment.WebViewPool;
 import com.wit.android.fragment.manage.FragmentController;
 import com.wit.android.fragment.manage.FragmentTransition;
 
@@ -144,11 +148,19 @@ public class HomeActivity extends ExBaseHomeActivity implements FragmentControll
 		this.mController = new FragmentController(this);
 		mController.setFragmentContainerId(R.id.ex_content_container);
 		mController.setFragmentFactory(new FragmentsFactory());
+		// Pre-warm web view for the web fragment example.
+		WebViewPool.getInstance().prewarm(this);
 
 		// Set up action bar.
 		mActionBar = getActionBar();
 		this.mTransitionsAdapter = new TransitionsAdapter(this);
 		mActionBar.setListNavigationCallbacks(mTransitionsAdapter, this);
+		// Preload animators of the offered transitions, so transactions only clone them.
+		final FragmentTransition[] transitions = new FragmentTransition[mTransitionsAdapter.getCount()];
+		for (int i = 0; i < transitions.length; i++) {
+			transitions[i] = mTransitionsAdapter.getItem(i);
+		}
+		FragmentTransition.preloadOnIdle(this, transitions);
 
 		if (!(bRestored = savedInstanceState != null)) {
 			final int selectedPosition = 0;
@@ -243,11 +255,26 @@ public class HomeActivity extends ExBaseHomeActivity implements FragmentControll
 		return true;
 	}
 
+	/**
+	 */
+	@Override
+	public void onTrimMemory(int level) {
+		super.onTrimMemory(level);
+		mController.onTrimMemory(level);
+		WebViewPool.getInstance().onTrimMemory(level);
+		LayoutRecycler.getInstance().onTrimMemory(level);
+		AppsAdapter.getResourceLoader(this).onTrimMemory(level);
+		ImageLoader.getInstance(this).onTrimMemory(level);
+	}
+
 	/**
 	 */
 	@Override
 	protected void onNavigationOpened() {
 		super.onNavigationOpened();
+		// Fragments without params can be created while the user is choosing.
+		mController.prefetch(FragmentsFactory.LIST);
+		mController.prefetch(FragmentsFactory.GRID);
 		if (getNavigationAdapter().getSelectedItemPosition() == 0) {
 			mActionBar.setNavigationMode(ActionBar.NAVIGATION_MODE_STANDARD);
 		}
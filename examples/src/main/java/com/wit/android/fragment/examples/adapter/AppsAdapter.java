@@ -21,32 +21,52 @@ package com.wit.android.fragment.examples.adapter;
 import android.content.Context;
 import android.content.pm.ApplicationInfo;
 import android.content.pm.PackageManager;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.NonNull;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.AbsListView;
 import android.widget.ImageView;
 import android.widget.TextView;
 
 import com.wit.android.examples.libs.adapter.ExSimpleAdapter;
 import com.wit.android.examples.libs.adapter.ExViewHolder;
 import com.wit.android.examples.libs.adapter.annotation.ExItemViewHolder;
+import com.wit.android.fragment.ItemResourceLoader;
 import com.wit.android.fragment.examples.R;
 
 /**
  * <p>
  * Description.
  * </p>
+ * <p>
+ * Labels and icons of applications are loaded by {@link AppResourceLoader} off the main thread,
+ * as both require IPC and the icons also decoding. Rows show the default icon until the resources
+ * are loaded and loading for rows moved to the scrap heap is cancelled. Each row is bound with its
+ * own icon drawable created from the cached constant state, as a single drawable instance cannot be
+ * shared by multiple views.
+ * </p>
  *
  * @author Martin Albedinsky
  */
 @ExItemViewHolder(AppsAdapter.ViewHolder.class)
-public class AppsAdapter extends ExSimpleAdapter<ApplicationInfo> {
+public class AppsAdapter extends ExSimpleAdapter<ApplicationInfo> implements AbsListView.RecyclerListener {
 
 	/**
 	 * Log TAG.
 	 */
 	// private static final String TAG = Adapter.class.getSimpleName();
 
+	/**
+	 * Loader shared by all apps adapters, so the list and grid samples share the cached resources.
+	 */
+	private static AppResourceLoader sResourceLoader;
+
 	/**
 	 *
 	 */
@@ -57,6 +77,11 @@ public class AppsAdapter extends ExSimpleAdapter<ApplicationInfo> {
 	 */
 	final PackageManager mPackageManager;
 
+	/**
+	 * Density of the screen, part of keys of the loaded resources.
+	 */
+	final int mDensityDpi;
+
 	/**
 	 * @param context
 	 * @param asGrid
@@ -64,9 +89,25 @@ public class AppsAdapter extends ExSimpleAdapter<ApplicationInfo> {
 	public AppsAdapter(Context context, boolean asGrid) {
 		super(context);
 		this.mPackageManager = context.getPackageManager();
+		this.mDensityDpi = context.getResources().getDisplayMetrics().densityDpi;
 		this.bAsGrid = asGrid;
 	}
 
+	/**
+	 * Returns the loader of application labels and icons shared by all apps adapters.
+	 *
+	 * @param context Context used to obtain the package manager.
+	 * @return Loader instance.
+	 */
+	@NonNull
+	public static AppResourceLoader getResourceLoader(@NonNull Context context) {
+		if (sResourceLoader == null) {
+			final Context appContext = context.getApplicationContext();
+			sResourceLoader = new AppResourceLoader(appContext.getPackageManager(), appContext.getResources());
+		}
+		return sResourceLoader;
+	}
+
 	/**
 	 */
 	@Override
@@ -74,6 +115,13 @@ public class AppsAdapter extends ExSimpleAdapter<ApplicationInfo> {
 		return bAsGrid ? inflate(R.layout.item_grid_app, parent) : inflate(R.layout.item_list_app, parent);
 	}
 
+	/**
+	 */
+	@Override
+	public void onMovedToScrapHeap(View view) {
+		getResourceLoader(getContext()).cancel(view);
+	}
+
 	/**
 	 *
 	 */
@@ -82,27 +130,199 @@ public class AppsAdapter extends ExSimpleAdapter<ApplicationInfo> {
 		/**
 		 *
 		 */
-		private TextView label;
+		private View view;
+
+		/**
+		 *
+		 */
+		TextView labelView;
 
 		/**
 		 *
 		 */
-		private ImageView icon;
+		ImageView iconView;
 
 		/**
 		 */
 		@Override
 		public void create(int position, View view) {
-			this.label = (TextView) view.findViewById(R.id.item_app_text_view_label);
-			this.icon = (ImageView) view.findViewById(R.id.item_app_image_view_icon);
+			this.view = view;
+			this.labelView = (TextView) view.findViewById(R.id.item_app_text_view_label);
+			this.iconView = (ImageView) view.findViewById(R.id.item_app_image_view_icon);
+			// Allows the loader to bind resources without searching for the views again.
+			view.setTag(R.id.item_app_view_holder, this);
 		}
 
 		/**
 		 */
 		@Override
 		public void bind(int position, ApplicationInfo item, AppsAdapter adapter) {
-			label.setText(item.loadLabel(adapter.mPackageManager));
-			icon.setImageDrawable(item.loadIcon(adapter.mPackageManager));
+			getResourceLoader(adapter.getContext()).load(new AppKey(item, adapter.mDensityDpi), view);
+		}
+	}
+
+	/**
+	 * Key of resources of a single application. Two keys are equal if they have the same package
+	 * name and density.
+	 */
+	public static final class AppKey {
+
+		/**
+		 *
+		 */
+		final ApplicationInfo info;
+
+		/**
+		 *
+		 */
+		final int densityDpi;
+
+		/**
+		 *
+		 */
+		AppKey(ApplicationInfo info, int densityDpi) {
+			this.info = info;
+			this.densityDpi = densityDpi;
+		}
+
+		/**
+		 */
+		@Override
+		public boolean equals(Object other) {
+			if (other == this) return true;
+			if (!(other instanceof AppKey)) return false;
+			final AppKey key = (AppKey) other;
+			return densityDpi == key.densityDpi && info.packageName.equals(key.info.packageName);
+		}
+
+		/**
+		 */
+		@Override
+		public int hashCode() {
+			return 31 * info.packageName.hashCode() + densityDpi;
+		}
+
+		/**
+		 */
+		@Override
+		public String toString() {
+			return info.packageName + "@" + densityDpi;
+		}
+	}
+
+	/**
+	 * Loaded label and icon of a single application. The icon is held as its constant state, so
+	 * a new drawable is created for each bound view.
+	 */
+	public static final class AppResource {
+
+		/**
+		 *
+		 */
+		final CharSequence label;
+
+		/**
+		 *
+		 */
+		final Drawable.ConstantState icon;
+
+		/**
+		 * Count of bytes of the icon bitmap, if known.
+		 */
+		final int iconBytes;
+
+		/**
+		 *
+		 */
+		AppResource(CharSequence label, Drawable.ConstantState icon, int iconBytes) {
+			this.label = label;
+			this.icon = icon;
+			this.iconBytes = iconBytes;
+		}
+	}
+
+	/**
+	 * Loader of application labels and icons. The cache is bounded by the bytes of icon bitmaps
+	 * to 1/16 of the available heap.
+	 */
+	public static final class AppResourceLoader extends ItemResourceLoader<AppKey, AppResource> {
+
+		/**
+		 * Size used for icons which are not backed by a bitmap.
+		 */
+		private static final int DEFAULT_ICON_SIZE = 16 * 1024;
+
+		/**
+		 *
+		 */
+		private final PackageManager mPackageManager;
+
+		/**
+		 *
+		 */
+		private final Resources mResources;
+
+		/**
+		 *
+		 */
+		AppResourceLoader(PackageManager packageManager, Resources resources) {
+			super((int) Math.min(Integer.MAX_VALUE, Runtime.getRuntime().maxMemory() / 16));
+			this.mPackageManager = packageManager;
+			this.mResources = resources;
+		}
+
+		/**
+		 */
+		@Override
+		protected AppResource onLoadResource(@NonNull AppKey key) {
+			Drawable icon = key.info.loadIcon(mPackageManager);
+			if (icon.getConstantState() == null) {
+				// Icon cannot be copied for multiple views, so draw it into a bitmap which can.
+				icon = new BitmapDrawable(mResources, drawBitmap(icon));
+			}
+			int iconBytes = DEFAULT_ICON_SIZE;
+			if (icon instanceof BitmapDrawable && ((BitmapDrawable) icon).getBitmap() != null) {
+				iconBytes = ((BitmapDrawable) icon).getBitmap().getByteCount();
+			}
+			return new AppResource(key.info.loadLabel(mPackageManager), icon.getConstantState(), iconBytes);
+		}
+
+		/**
+		 */
+		@Override
+		protected void onBindPlaceholder(@NonNull View target) {
+			final ViewHolder holder = (ViewHolder) target.getTag(R.id.item_app_view_holder);
+			holder.labelView.setText(null);
+			holder.iconView.setImageResource(android.R.drawable.sym_def_app_icon);
+		}
+
+		/**
+		 */
+		@Override
+		protected void onBindResource(@NonNull View target, @NonNull AppResource resource) {
+			final ViewHolder holder = (ViewHolder) target.getTag(R.id.item_app_view_holder);
+			holder.labelView.setText(resource.label);
+			holder.iconView.setImageDrawable(resource.icon.newDrawable(target.getResources()));
+		}
+
+		/**
+		 */
+		@Override
+		protected int sizeOf(@NonNull AppKey key, @NonNull AppResource resource) {
+			return resource.iconBytes;
+		}
+
+		/**
+		 * Draws the given drawable into a new bitmap of its intrinsic size.
+		 */
+		private Bitmap drawBitmap(Drawable drawable) {
+			final int size = mResources.getDimensionPixelSize(android.R.dimen.app_icon_size);
+			final int width = drawable.getIntrinsicWidth() > 0 ? drawable.getIntrinsicWidth() : size;
+			final int height = drawable.getIntrinsicHeight() > 0 ? drawable.getIntrinsicHeight() : size;
+			final Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+			drawable.setBounds(0, 0, width, height);
+			drawable.draw(new Canvas(bitmap));
+			return bitmap;
 		}
 	}
 }
@@ -0,0 +1,99 @@
+/*
+ * =================================================================================================
+ *                    Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License 
+ * you may obtain at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * You can redistribute, modify or publish any part of the code written within this file but as it 
+ * is described in the License, the software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ * 
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment.examples.content;
+
+import android.content.Context;
+import android.content.pm.ApplicationInfo;
+import android.content.pm.PackageManager;
+import android.support.annotation.NonNull;
+
+import com.wit.android.fragment.StreamingLoader;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * Loader of installed applications sorted by their labels. Labels are loaded one by one in the
+ * background and applications are published as soon as their labels are known, so the first rows
+ * can be shown before labels of all applications are loaded.
+ * </p>
+ *
+ * @author Martin Albedinsky
+ */
+public class AppsLoader extends StreamingLoader<ApplicationInfo> {
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = AppsLoader.class.getSimpleName();
+
+	/**
+	 * Labels of the loaded applications mapped to their package names, used to sort them.
+	 */
+	private final Map<String, String> mLabels;
+
+	/**
+	 *
+	 * @param context
+	 */
+	public AppsLoader(Context context) {
+		this(context, new ConcurrentHashMap<String, String>());
+	}
+
+	/**
+	 *
+	 * @param context
+	 * @param labels
+	 */
+	private AppsLoader(Context context, final Map<String, String> labels) {
+		super(context, new Comparator<ApplicationInfo>() {
+
+			/**
+			 */
+			@Override
+			public int compare(ApplicationInfo first, ApplicationInfo second) {
+				return labels.get(first.packageName).compareToIgnoreCase(labels.get(second.packageName));
+			}
+		});
+		this.mLabels = labels;
+	}
+
+	/**
+	 */
+	@Override
+	protected void onLoadInBackground(@NonNull Publisher<ApplicationInfo> publisher) {
+		final PackageManager packageManager = getContext().getPackageManager();
+		if (packageManager == null) {
+			return;
+		}
+		// Meta-data are not presented, so do not request them as they make the list much larger.
+		final List<ApplicationInfo> applications = packageManager.getInstalledApplications(0);
+		for (ApplicationInfo info : applications) {
+			if (publisher.isCancelled()) {
+				return;
+			}
+			final CharSequence label = info.loadLabel(packageManager);
+			mLabels.put(info.packageName, label != null ? label.toString() : info.packageName);
+			publisher.publish(info);
+		}
+	}
+}
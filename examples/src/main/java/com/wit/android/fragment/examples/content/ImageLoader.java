@@ -0,0 +1,321 @@
+/*
+ * =================================================================================================
+ *                    Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License 
+ * you may obtain at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * You can redistribute, modify or publish any part of the code written within this file but as it 
+ * is described in the License, the software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ * 
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment.examples.content;
+
+import android.annotation.TargetApi;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Build;
+import android.support.annotation.NonNull;
+import android.util.DisplayMetrics;
+import android.view.View;
+import android.widget.ImageView;
+
+import com.wit.android.fragment.ItemResourceLoader;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * <p>
+ * Loader of image resources decoded off the main thread and sampled down to the size in which
+ * they are presented. Decoded bitmaps are kept in a memory cache shared by all image fragments,
+ * keyed by resource id and target size. Bitmaps removed from the cache and no more presented are
+ * pooled and their memory is reused for next decoding.
+ * </p>
+ *
+ * @author Martin Albedinsky
+ */
+public class ImageLoader extends ItemResourceLoader<ImageLoader.ImageKey, Bitmap> {
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = ImageLoader.class.getSimpleName();
+
+	/**
+	 * Maximum count of pooled bitmaps.
+	 */
+	private static final int MAX_POOL_SIZE = 3;
+
+	/**
+	 *
+	 */
+	private static ImageLoader sInstance;
+
+	/**
+	 *
+	 */
+	private final Resources mResources;
+
+	/**
+	 * Bitmaps presented by image views.
+	 */
+	private final Map<ImageView, Bitmap> mPresented = new WeakHashMap<>();
+
+	/**
+	 * Bitmaps removed from the cache while still presented, pooled once no more presented.
+	 */
+	private final Set<Bitmap> mRemoved = new HashSet<>();
+
+	/**
+	 * Bitmaps which memory can be reused for decoding. Accessed also by the decoding threads.
+	 */
+	private final List<Bitmap> mPool = new ArrayList<>(MAX_POOL_SIZE);
+
+	/**
+	 *
+	 * @param resources
+	 */
+	private ImageLoader(Resources resources) {
+		super((int) Math.min(Integer.MAX_VALUE, Runtime.getRuntime().maxMemory() / 8));
+		this.mResources = resources;
+	}
+
+	/**
+	 * Returns the loader shared by all image fragments.
+	 *
+	 * @param context Context used to obtain the application resources.
+	 * @return Loader instance.
+	 */
+	@NonNull
+	public static ImageLoader getInstance(@NonNull Context context) {
+		if (sInstance == null) {
+			sInstance = new ImageLoader(context.getApplicationContext().getResources());
+		}
+		return sInstance;
+	}
+
+	/**
+	 * Requests the image resource to be presented by the given view, sampled down to the size of
+	 * the screen.
+	 *
+	 * @param resId     Resource id of the desired image.
+	 * @param imageView View to present the image.
+	 */
+	public void load(int resId, @NonNull ImageView imageView) {
+		final DisplayMetrics metrics = mResources.getDisplayMetrics();
+		load(new ImageKey(resId, metrics.widthPixels, metrics.heightPixels), imageView);
+	}
+
+	/**
+	 * Stops presenting of the image by the given view, so memory of its bitmap can be reused once
+	 * the bitmap is removed from the cache.
+	 *
+	 * @param imageView View which presented an image.
+	 */
+	public void release(@NonNull ImageView imageView) {
+		cancel(imageView);
+		imageView.setImageDrawable(null);
+		final Bitmap bitmap = mPresented.remove(imageView);
+		if (bitmap != null && !mPresented.containsValue(bitmap) && mRemoved.remove(bitmap)) {
+			recycle(bitmap);
+		}
+	}
+
+	/**
+	 * Returns the count of bytes used by the whole heap of the application, useful to measure
+	 * the peak heap while decoding images.
+	 *
+	 * @return Used heap in bytes.
+	 */
+	public static long getUsedHeap() {
+		final Runtime runtime = Runtime.getRuntime();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	/**
+	 */
+	@Override
+	public void onTrimMemory(int level) {
+		super.onTrimMemory(level);
+		if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+			synchronized (mPool) {
+				mPool.clear();
+			}
+		}
+	}
+
+	/**
+	 */
+	@Override
+	protected Bitmap onLoadResource(@NonNull ImageKey key) {
+		final BitmapFactory.Options options = new BitmapFactory.Options();
+		// Density scaling is not needed as the image is sampled to the target size.
+		options.inScaled = false;
+		options.inJustDecodeBounds = true;
+		BitmapFactory.decodeResource(mResources, key.resId, options);
+		options.inJustDecodeBounds = false;
+		options.inSampleSize = calculateSampleSize(options.outWidth, options.outHeight, key.width, key.height);
+		options.inMutable = true;
+		final Bitmap reusable = obtainReusable(options);
+		if (reusable != null) {
+			options.inBitmap = reusable;
+			try {
+				return BitmapFactory.decodeResource(mResources, key.resId, options);
+			} catch (IllegalArgumentException e) {
+				// Pooled bitmap does not fit, decode into a new one.
+				options.inBitmap = null;
+			}
+		}
+		return BitmapFactory.decodeResource(mResources, key.resId, options);
+	}
+
+	/**
+	 */
+	@Override
+	protected void onBindPlaceholder(@NonNull View target) {
+		release((ImageView) target);
+	}
+
+	/**
+	 */
+	@Override
+	protected void onBindResource(@NonNull View target, @NonNull Bitmap bitmap) {
+		final ImageView imageView = (ImageView) target;
+		release(imageView);
+		imageView.setImageBitmap(bitmap);
+		mPresented.put(imageView, bitmap);
+	}
+
+	/**
+	 */
+	@Override
+	protected int sizeOf(@NonNull ImageKey key, @NonNull Bitmap bitmap) {
+		return bitmap.getByteCount();
+	}
+
+	/**
+	 */
+	@Override
+	protected void onResourceRemoved(@NonNull ImageKey key, @NonNull Bitmap bitmap) {
+		if (mPresented.containsValue(bitmap)) {
+			mRemoved.add(bitmap);
+		} else {
+			recycle(bitmap);
+		}
+	}
+
+	/**
+	 * Returns the largest power of two sample size which keeps the image at least of the target size.
+	 */
+	private static int calculateSampleSize(int width, int height, int targetWidth, int targetHeight) {
+		int sampleSize = 1;
+		if (targetWidth > 0 && targetHeight > 0) {
+			while (width / (sampleSize * 2) >= targetWidth && height / (sampleSize * 2) >= targetHeight) {
+				sampleSize *= 2;
+			}
+		}
+		return sampleSize;
+	}
+
+	/**
+	 * Puts the given bitmap into the pool, if it is not full, so its memory can be reused.
+	 */
+	private void recycle(Bitmap bitmap) {
+		synchronized (mPool) {
+			if (bitmap.isMutable() && mPool.size() < MAX_POOL_SIZE) {
+				mPool.add(bitmap);
+			}
+		}
+	}
+
+	/**
+	 * Removes from the pool a bitmap into which can be decoded an image with the given options.
+	 */
+	private Bitmap obtainReusable(BitmapFactory.Options options) {
+		final int width = (options.outWidth + options.inSampleSize - 1) / options.inSampleSize;
+		final int height = (options.outHeight + options.inSampleSize - 1) / options.inSampleSize;
+		synchronized (mPool) {
+			final Iterator<Bitmap> iterator = mPool.iterator();
+			while (iterator.hasNext()) {
+				final Bitmap bitmap = iterator.next();
+				if (canReuse(bitmap, width, height, options.inSampleSize)) {
+					iterator.remove();
+					return bitmap;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Checks whether an image of the given decoded size can be decoded into the given bitmap.
+	 */
+	@TargetApi(Build.VERSION_CODES.KITKAT)
+	private static boolean canReuse(Bitmap bitmap, int width, int height, int sampleSize) {
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+			return width * height * 4 <= bitmap.getAllocationByteCount();
+		}
+		// Prior to KitKat only bitmaps of the same size can be reused, and only without sampling.
+		return sampleSize == 1 && bitmap.getWidth() == width && bitmap.getHeight() == height;
+	}
+
+	/**
+	 * Key of a decoded image.
+	 */
+	public static final class ImageKey {
+
+		/**
+		 *
+		 */
+		final int resId, width, height;
+
+		/**
+		 *
+		 */
+		ImageKey(int resId, int width, int height) {
+			this.resId = resId;
+			this.width = width;
+			this.height = height;
+		}
+
+		/**
+		 */
+		@Override
+		public boolean equals(Object other) {
+			if (other == this) return true;
+			if (!(other instanceof ImageKey)) return false;
+			final ImageKey key = (ImageKey) other;
+			return resId == key.resId && width == key.width && height == key.height;
+		}
+
+		/**
+		 */
+		@Override
+		public int hashCode() {
+			return 31 * (31 * resId + width) + height;
+		}
+
+		/**
+		 */
+		@Override
+		public String toString() {
+			return resId + "@" + width + "x" + height;
+		}
+	}
+}
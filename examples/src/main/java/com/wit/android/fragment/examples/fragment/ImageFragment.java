@@ -20,7 +20,10 @@
  */
 package com.wit.android.fragment.examples.fragment;
 
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
 import android.os.Bundle;
+import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -28,6 +31,7 @@ import android.widget.ImageView;
 
 import com.wit.android.fragment.ActionBarFragment;
 import com.wit.android.fragment.examples.R;
+import com.wit.android.fragment.examples.content.ImageLoader;
 
 import java.util.Random;
 
@@ -41,7 +45,7 @@ public class ImageFragment extends ActionBarFragment {
 	/**
 	 * Log TAG.
 	 */
-	// private static final String TAG = "ImageFragment";
+	private static final String TAG = "ImageFragment";
 
 	/**
 	 *
@@ -86,6 +90,17 @@ public class ImageFragment extends ActionBarFragment {
 	 */
 	private Image mImage;
 
+	/**
+	 *
+	 */
+	private ImageView mImageView;
+
+	/**
+	 * View of which image is still presented by the destroyed view hierarchy, until its exit
+	 * animation ends.
+	 */
+	private ImageView mReleasingImageView;
+
 	/**
 	 * @return
 	 */
@@ -125,7 +140,68 @@ public class ImageFragment extends ActionBarFragment {
 	@Override
 	public void onViewCreated(View view, Bundle savedInstanceState) {
 		super.onViewCreated(view, savedInstanceState);
-		final ImageView imageView = (ImageView) view.findViewById(R.id.fragment_image_image_view);
-		imageView.setImageResource(mImage.RES);
+		this.mImageView = (ImageView) view.findViewById(R.id.fragment_image_image_view);
+		// Decode off the main thread, sampled down to the screen size, or reuse the cached bitmap.
+		ImageLoader.getInstance(getActivity()).load(mImage.RES, mImageView);
+	}
+
+	/**
+	 */
+	@Override
+	public void onDestroyView() {
+		super.onDestroyView();
+		// The exit animator is created after this call, so the image is released once it is known
+		// whether the view is still being animated out, see onCreateAnimator(...).
+		releaseImage();
+		this.mReleasingImageView = mImageView;
+		this.mImageView = null;
+		final ImageLoader loader = ImageLoader.getInstance(getActivity());
+		Log.d(TAG, "Images hit rate: " + loader.getHitRate() + ", average decode time: " + loader.getAverageLoadTimeNanos() +
+				"ns, maximum decode time: " + loader.getMaxLoadTimeNanos() + "ns, used heap: " + ImageLoader.getUsedHeap() + "B.");
+	}
+
+	/**
+	 */
+	@Override
+	public Animator onCreateAnimator(int transit, boolean enter, int nextAnim) {
+		final Animator animator = super.onCreateAnimator(transit, enter, nextAnim);
+		if (!enter && mReleasingImageView != null) {
+			if (animator != null) {
+				final ImageView imageView = mReleasingImageView;
+				animator.addListener(new AnimatorListenerAdapter() {
+
+					/**
+					 */
+					@Override
+					public void onAnimationEnd(Animator animation) {
+						if (mReleasingImageView == imageView) {
+							releaseImage();
+						}
+					}
+				});
+			} else {
+				releaseImage();
+			}
+		}
+		return animator;
+	}
+
+	/**
+	 */
+	@Override
+	public void onDetach() {
+		// Release also if the exit animator was not requested, like when the activity is destroyed.
+		releaseImage();
+		super.onDetach();
+	}
+
+	/**
+	 * Releases the image presented by the destroyed view hierarchy of this fragment, if any.
+	 */
+	private void releaseImage() {
+		if (mReleasingImageView != null) {
+			ImageLoader.getInstance(mReleasingImageView.getContext()).release(mReleasingImageView);
+			this.mReleasingImageView = null;
+		}
 	}
 }
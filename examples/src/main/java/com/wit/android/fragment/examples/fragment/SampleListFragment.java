@@ -18,9 +18,12 @@
  */
 package com.wit.android.fragment.examples.fragment;
 
+import android.app.LoaderManager;
+import android.content.Loader;
 import android.content.pm.ApplicationInfo;
 import android.content.pm.PackageManager;
 import android.os.Bundle;
+import android.util.Log;
 import android.support.annotation.NonNull;
 import android.view.MenuItem;
 import android.view.View;
@@ -32,7 +35,9 @@ import com.wit.android.fragment.annotation.ActionModeOptions;
 import com.wit.android.fragment.annotation.AdapterViewOptions;
 import com.wit.android.fragment.examples.R;
 import com.wit.android.fragment.examples.adapter.AppsAdapter;
-import com.wit.android.fragment.examples.content.AppsAsyncTask;
+import com.wit.android.fragment.examples.content.AppsLoader;
+
+import java.util.List;
 
 /**
  * todo: description
@@ -41,12 +46,17 @@ import com.wit.android.fragment.examples.content.AppsAsyncTask;
  */
 @ActionModeOptions(menu = R.menu.menu_test)
 @AdapterViewOptions(emptyText = R.string.adapter_fragment_empty, longClickable = true)
-public class SampleListFragment extends ListFragment<AppsAdapter> {
+public class SampleListFragment extends ListFragment<AppsAdapter> implements LoaderManager.LoaderCallbacks<List<ApplicationInfo>> {
 
 	/**
 	 * Log TAG.
 	 */
-	// private static final String TAG = "SampleListFragment";
+	private static final String TAG = "SampleListFragment";
+
+	/**
+	 * Id of the loader of installed applications, unique within the activity.
+	 */
+	private static final int LOADER_ID = 0x01;
 
 	/**
 	 *
@@ -78,7 +88,51 @@ public class SampleListFragment extends ListFragment<AppsAdapter> {
 
 		final AppsAdapter adapter = new AppsAdapter(getActivity(), false);
 		setAdapter(adapter);
-		new AppsAsyncTask(adapter).execute();
+		startLoader(LOADER_ID, null, this);
+	}
+
+	/**
+	 */
+	@Override
+	public Loader<List<ApplicationInfo>> onCreateLoader(int id, Bundle params) {
+		return new AppsLoader(getActivity());
+	}
+
+	/**
+	 */
+	@Override
+	public void onLoadFinished(Loader<List<ApplicationInfo>> loader, List<ApplicationInfo> applications) {
+		final AppsAdapter adapter = getAdapter();
+		if (adapter.isEmpty() && !applications.isEmpty()) {
+			Log.d(TAG, "Time to first row: " + ((AppsLoader) loader).getTimeToFirstBatchNanos() + "ns.");
+		}
+		adapter.changeItems(applications);
+	}
+
+	/**
+	 */
+	@Override
+	public void onLoaderReset(Loader<List<ApplicationInfo>> loader) {
+		getAdapter().changeItems(null);
+	}
+
+	/**
+	 */
+	@Override
+	public void onDetach() {
+		// Loader belongs to the activity, so stop its loading as it is no more needed.
+		destroyLoader(LOADER_ID);
+		super.onDetach();
+	}
+
+	/**
+	 */
+	@Override
+	public void onDestroyView() {
+		super.onDestroyView();
+		final AppsAdapter.AppResourceLoader loader = AppsAdapter.getResourceLoader(getActivity());
+		loader.cancelAll();
+		Log.d(TAG, "App resources hit rate: " + loader.getHitRate() + ", average load time: " + loader.getAverageLoadTimeNanos() + "ns, maximum load time: " + loader.getMaxLoadTimeNanos() + "ns.");
 	}
 
 	/**
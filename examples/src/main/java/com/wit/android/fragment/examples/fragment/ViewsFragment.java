@@ -48,13 +48,13 @@ public class ViewsFragment extends BaseFragment {
 	// private static final String TAG = "ViewsFragment";
 
 	@InjectView(value = R.id.fragment_views_button_sign_in, clickable = true)
-	private Button mButtonSignIn;
+	Button mButtonSignIn;
 
 	@InjectView(R.id.fragment_views_text_view_content)
-	private TextView mTextContent;
+	TextView mTextContent;
 
 	@InjectView.Last(R.id.fragment_views_text_view_title)
-	private TextView mTextTitle;
+	TextView mTextTitle;
 
 	/**
 	 */
@@ -0,0 +1,128 @@
+/*
+ * =================================================================================================
+ *                    Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License 
+ * you may obtain at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * You can redistribute, modify or publish any part of the code written within this file but as it 
+ * is described in the License, the software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ * 
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the logging flags of {@link FragmentsConfig} as compiled for the release build of this
+ * library. Measures memory allocated by a debug log call site guarded in the same way as within
+ * the library classes.
+ *
+ * @author Martin Albedinsky
+ */
+public final class FragmentsConfigTest {
+
+	/**
+	 * Count of the measured log calls.
+	 */
+	private static final int CALL_COUNT = 100000;
+
+	/**
+	 * Maximum count of bytes which may be allocated by the measurement itself.
+	 */
+	private static final long ALLOCATION_TOLERANCE = 1024;
+
+	/**
+	 * Last built log message, so building of messages cannot be optimized away.
+	 */
+	private static volatile String sMessage;
+
+	/**
+	 */
+	@After
+	public void tearDown() {
+		FragmentsConfig.LIBRARY_DEBUG_LOG_ENABLED = false;
+	}
+
+	/**
+	 */
+	@Test
+	public void testDebugLogNotCompiledIntoRelease() {
+		assertFalse(FragmentsConfig.LIBRARY_DEBUG_LOG_COMPILED);
+	}
+
+	/**
+	 */
+	@Test
+	public void testCompiledOutDebugLogDoesNotAllocate() {
+		final com.sun.management.ThreadMXBean threads = threadBean();
+		// Even with the runtime flag enabled, there is no code left to build the message.
+		FragmentsConfig.LIBRARY_DEBUG_LOG_ENABLED = true;
+		logCompiledOut(CALL_COUNT);
+		final long start = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+		logCompiledOut(CALL_COUNT);
+		final long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - start;
+		assertTrue("Allocated " + allocated + " bytes.", allocated < ALLOCATION_TOLERANCE);
+	}
+
+	/**
+	 */
+	@Test
+	public void testRuntimeGuardedDebugLogAllocatesWhenEnabled() {
+		final com.sun.management.ThreadMXBean threads = threadBean();
+		// Checks that the measurement detects building of messages.
+		FragmentsConfig.LIBRARY_DEBUG_LOG_ENABLED = true;
+		logRuntimeGuarded(CALL_COUNT);
+		final long start = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+		logRuntimeGuarded(CALL_COUNT);
+		final long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - start;
+		assertTrue("Allocated " + allocated + " bytes.", allocated > CALL_COUNT);
+	}
+
+	/**
+	 * Builds debug log messages guarded in the same way as within the library classes.
+	 */
+	private static void logCompiledOut(int count) {
+		for (int i = 0; i < count; i++) {
+			if (FragmentsConfig.LIBRARY_DEBUG_LOG_COMPILED && FragmentsConfig.LIBRARY_DEBUG_LOG_ENABLED) {
+				sMessage = "Committed batch of " + i + " operation(s), " + (count - i) + " coalesced.";
+			}
+		}
+	}
+
+	/**
+	 * Builds debug log messages guarded only by the runtime flag.
+	 */
+	private static void logRuntimeGuarded(int count) {
+		for (int i = 0; i < count; i++) {
+			if (FragmentsConfig.LIBRARY_DEBUG_LOG_ENABLED) {
+				sMessage = "Committed batch of " + i + " operation(s), " + (count - i) + " coalesced.";
+			}
+		}
+	}
+
+	/**
+	 * Returns the thread bean of the current JVM, skipping the test if it cannot measure allocations.
+	 */
+	private static com.sun.management.ThreadMXBean threadBean() {
+		final java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		Assume.assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+		final com.sun.management.ThreadMXBean sunThreads = (com.sun.management.ThreadMXBean) threads;
+		Assume.assumeTrue(sunThreads.isThreadAllocatedMemorySupported() && sunThreads.isThreadAllocatedMemoryEnabled());
+		return sunThreads;
+	}
+}
@@ -0,0 +1,309 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of {@link ListDiff} with lists of up to {@link #LARGE_SIZE} items.
+ *
+ * @author Martin Albedinsky
+ */
+public final class ListDiffTest {
+
+	/**
+	 * Size of the large lists.
+	 */
+	private static final int LARGE_SIZE = 100000;
+
+	/**
+	 * Timeout for the tests with the large lists, in milliseconds.
+	 */
+	private static final long LARGE_TIMEOUT = 10000;
+
+	/**
+	 * Callback comparing items by their ids and contents by their versions.
+	 */
+	private static final ListDiff.ItemCallback<Item> CALLBACK = new ListDiff.ItemCallback<Item>() {
+
+		/**
+		 */
+		@Override
+		public boolean areItemsTheSame(Item oldItem, Item newItem) {
+			return oldItem.id == newItem.id;
+		}
+
+		/**
+		 */
+		@Override
+		public boolean areContentsTheSame(Item oldItem, Item newItem) {
+			return oldItem.version == newItem.version;
+		}
+	};
+
+	/**
+	 */
+	@Test
+	public void testEmptyLists() {
+		final List<Item> empty = Collections.emptyList();
+		assertTrue(ListDiff.calculate(empty, empty, CALLBACK).isEmpty());
+		final List<Item> items = createItems(5);
+		assertChanges(ListDiff.calculate(empty, items, CALLBACK), new ListDiff.Change(ListDiff.Change.INSERT, 0, 5));
+		assertChanges(ListDiff.calculate(items, empty, CALLBACK), new ListDiff.Change(ListDiff.Change.REMOVE, 0, 5));
+	}
+
+	/**
+	 */
+	@Test(timeout = LARGE_TIMEOUT)
+	public void testSameLargeLists() {
+		final List<Item> oldItems = createItems(LARGE_SIZE);
+		final ListDiff.Result result = ListDiff.calculate(oldItems, new ArrayList<>(oldItems), CALLBACK);
+		assertTrue(result.isEmpty());
+		assertFalse(result.isTruncated());
+	}
+
+	/**
+	 */
+	@Test(timeout = LARGE_TIMEOUT)
+	public void testSingleChangesInLargeList() {
+		final List<Item> oldItems = createItems(LARGE_SIZE);
+		final int position = LARGE_SIZE / 2;
+
+		final List<Item> inserted = new ArrayList<>(oldItems);
+		inserted.add(position, new Item(-1, 0));
+		assertChanges(ListDiff.calculate(oldItems, inserted, CALLBACK), new ListDiff.Change(ListDiff.Change.INSERT, position, 1));
+
+		final List<Item> removed = new ArrayList<>(oldItems);
+		removed.remove(position);
+		assertChanges(ListDiff.calculate(oldItems, removed, CALLBACK), new ListDiff.Change(ListDiff.Change.REMOVE, position, 1));
+
+		final List<Item> changed = new ArrayList<>(oldItems);
+		changed.set(position, new Item(position, 1));
+		final ListDiff.Result result = ListDiff.calculate(oldItems, changed, CALLBACK);
+		assertChanges(result, new ListDiff.Change(ListDiff.Change.CHANGE, position, 1));
+		assertFalse(result.hasStructuralChanges());
+	}
+
+	/**
+	 */
+	@Test(timeout = LARGE_TIMEOUT)
+	public void testScatteredChangesInLargeList() {
+		final Random random = new Random(42);
+		final List<Item> oldItems = createItems(LARGE_SIZE);
+		final List<Item> newItems = new ArrayList<>(oldItems);
+		int edits = 0;
+		for (int i = 0; i < 300; i++) {
+			final int position = random.nextInt(newItems.size());
+			switch (i % 3) {
+				case 0:
+					newItems.add(position, new Item(-1 - i, 0));
+					edits++;
+					break;
+				case 1:
+					newItems.remove(position);
+					edits++;
+					break;
+				default:
+					newItems.set(position, new Item(newItems.get(position).id, 1));
+			}
+		}
+		final ListDiff.Result result = ListDiff.calculate(oldItems, newItems, CALLBACK);
+		assertFalse(result.isTruncated());
+		assertTrue(countStructuralItems(result) <= edits);
+		assertTransforms(oldItems, newItems, result);
+	}
+
+	/**
+	 */
+	@Test(timeout = LARGE_TIMEOUT)
+	public void testMovedBlockInLargeList() {
+		final List<Item> oldItems = createItems(LARGE_SIZE);
+		final List<Item> newItems = new ArrayList<>(oldItems.subList(100, LARGE_SIZE));
+		newItems.addAll(oldItems.subList(0, 100));
+		final ListDiff.Result result = ListDiff.calculate(oldItems, newItems, CALLBACK);
+		assertChanges(
+				result,
+				new ListDiff.Change(ListDiff.Change.REMOVE, 0, 100),
+				new ListDiff.Change(ListDiff.Change.INSERT, LARGE_SIZE - 100, 100)
+		);
+		assertTransforms(oldItems, newItems, result);
+	}
+
+	/**
+	 */
+	@Test(timeout = LARGE_TIMEOUT)
+	public void testExceededEditDistanceInLargeList() {
+		final List<Item> oldItems = createItems(LARGE_SIZE);
+		final List<Item> newItems = new ArrayList<>(LARGE_SIZE);
+		for (int i = 0; i < LARGE_SIZE; i++) {
+			// Replace every other item, so the lists differ by far more than the maximum distance.
+			newItems.add(i % 2 == 0 ? oldItems.get(i) : new Item(-1 - i, 0));
+		}
+		final ListDiff.Result result = ListDiff.calculate(oldItems, newItems, CALLBACK);
+		assertTrue(result.isTruncated());
+		assertChanges(
+				result,
+				new ListDiff.Change(ListDiff.Change.REMOVE, 0, LARGE_SIZE),
+				new ListDiff.Change(ListDiff.Change.INSERT, 0, LARGE_SIZE)
+		);
+	}
+
+	/**
+	 */
+	@Test
+	public void testRandomSmallListsAreMinimal() {
+		final Random random = new Random(7);
+		for (int i = 0; i < 2000; i++) {
+			final List<Item> oldItems = createRandomItems(random);
+			final List<Item> newItems = createRandomItems(random);
+			final ListDiff.Result result = ListDiff.calculate(oldItems, newItems, CALLBACK);
+			assertFalse(result.isTruncated());
+			final int commonCount = countCommonItems(oldItems, newItems);
+			assertEquals(oldItems.size() + newItems.size() - 2 * commonCount, countStructuralItems(result));
+			assertTransforms(oldItems, newItems, result);
+		}
+	}
+
+	/**
+	 * Creates a list of the given size with items with ids from <code>0</code>.
+	 */
+	private static List<Item> createItems(int size) {
+		final List<Item> items = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			items.add(new Item(i, 0));
+		}
+		return items;
+	}
+
+	/**
+	 * Creates a list of up to <code>20</code> items with distinct random ids and random versions.
+	 */
+	private static List<Item> createRandomItems(Random random) {
+		final List<Item> items = new ArrayList<>();
+		for (int id = 0; id < 30; id++) {
+			if (random.nextInt(3) > 0) {
+				items.add(new Item(id, random.nextInt(2)));
+			}
+		}
+		Collections.shuffle(items, random);
+		return items.subList(0, Math.min(items.size(), random.nextInt(21)));
+	}
+
+	/**
+	 * Counts items of the longest common subsequence of the given lists.
+	 */
+	private static int countCommonItems(List<Item> oldItems, List<Item> newItems) {
+		final int[][] lengths = new int[oldItems.size() + 1][newItems.size() + 1];
+		for (int i = oldItems.size() - 1; i >= 0; i--) {
+			for (int j = newItems.size() - 1; j >= 0; j--) {
+				lengths[i][j] = CALLBACK.areItemsTheSame(oldItems.get(i), newItems.get(j)) ?
+						lengths[i + 1][j + 1] + 1 :
+						Math.max(lengths[i + 1][j], lengths[i][j + 1]);
+			}
+		}
+		return lengths[0][0];
+	}
+
+	/**
+	 * Counts inserted and removed items of the given result.
+	 */
+	private static int countStructuralItems(ListDiff.Result result) {
+		int count = 0;
+		for (ListDiff.Change change : result.getChanges()) {
+			if (change.type != ListDiff.Change.CHANGE) {
+				count += change.count;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Asserts that the given result contains exactly the given changes.
+	 */
+	private static void assertChanges(ListDiff.Result result, ListDiff.Change... changes) {
+		assertEquals(Arrays.asList(changes), result.getChanges());
+	}
+
+	/**
+	 * Asserts that applying changes of the given result to the old items, the same way as an adapter
+	 * would notify them, results in items matching the new items, with all items of which contents
+	 * differ reported as changed.
+	 */
+	private static void assertTransforms(List<Item> oldItems, List<Item> newItems, ListDiff.Result result) {
+		// Each entry is an old item or null for an inserted one.
+		final List<Item> items = new ArrayList<>(oldItems);
+		final boolean[] changed = new boolean[newItems.size()];
+		for (ListDiff.Change change : result.getChanges()) {
+			switch (change.type) {
+				case ListDiff.Change.INSERT:
+					items.addAll(change.position, Collections.<Item>nCopies(change.count, null));
+					break;
+				case ListDiff.Change.REMOVE:
+					items.subList(change.position, change.position + change.count).clear();
+					break;
+				case ListDiff.Change.CHANGE:
+					Arrays.fill(changed, change.position, change.position + change.count, true);
+					break;
+			}
+		}
+		assertEquals(newItems.size(), items.size());
+		for (int i = 0; i < items.size(); i++) {
+			final Item oldItem = items.get(i);
+			if (oldItem != null) {
+				final Item newItem = newItems.get(i);
+				assertTrue("Not the same item at " + i, CALLBACK.areItemsTheSame(oldItem, newItem));
+				assertEquals("Change at " + i, !CALLBACK.areContentsTheSame(oldItem, newItem), changed[i]);
+			}
+		}
+	}
+
+	/**
+	 * Item with an id and version of its contents.
+	 */
+	private static final class Item {
+
+		/**
+		 * Id of this item.
+		 */
+		final int id;
+
+		/**
+		 * Version of contents of this item.
+		 */
+		final int version;
+
+		/**
+		 * Creates a new instance of Item with the given id and version.
+		 */
+		Item(int id, int version) {
+			this.id = id;
+			this.version = version;
+		}
+	}
+}
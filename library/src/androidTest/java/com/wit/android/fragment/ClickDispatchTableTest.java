@@ -0,0 +1,262 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment;
+
+import android.support.annotation.NonNull;
+import android.test.AndroidTestCase;
+import android.util.Log;
+import android.view.View;
+
+import com.wit.android.fragment.annotation.OnViewClick;
+import com.wit.android.fragment.util.ClickDispatcher;
+
+import java.util.Arrays;
+
+/**
+ * Tests of {@link ClickDispatchTable} against the dispatcher generated by the fragments annotation
+ * processor and a benchmark of the dispatch cost compared with dispatching by a switch within
+ * {@link BaseFragment#onViewClick(View, int)}.
+ *
+ * @author Martin Albedinsky
+ */
+public final class ClickDispatchTableTest extends AndroidTestCase {
+
+	/**
+	 * Log TAG.
+	 */
+	private static final String TAG = "ClickDispatchTableTest";
+
+	/**
+	 * Ids of the clicked views.
+	 */
+	private static final int ID_VOID = 1, ID_TRUE = 2, ID_FALSE = 3, ID_BOXED = 4, ID_UNKNOWN = 5;
+
+	/**
+	 * Count of clicks dispatched by each measured path.
+	 */
+	private static final int CLICK_COUNT = 200000;
+
+	/**
+	 */
+	public void testDispatchResultsMatchGeneratedDispatcher() {
+		final ClickDispatchTable table = ClickDispatchTable.create(Target.class);
+		final ClickDispatcher<Target> generated = new GeneratedDispatcher();
+		assertNotNull(table);
+		assertTrue(Arrays.equals(generated.getViewIds(), table.getViewIds()));
+		for (int id : new int[]{ID_VOID, ID_TRUE, ID_FALSE, ID_BOXED, ID_UNKNOWN}) {
+			final View view = createView(id);
+			final Target tableTarget = new Target();
+			final Target generatedTarget = new Target();
+			assertEquals("Result for id(" + id + ")", generated.dispatchClick(generatedTarget, view), table.dispatchClick(tableTarget, view));
+			assertEquals("Clicks for id(" + id + ")", generatedTarget.clicks, tableTarget.clicks);
+		}
+		// Boxed results are ignored, so the click is consumed.
+		assertTrue(table.dispatchClick(new Target(), createView(ID_BOXED)));
+		assertFalse(table.dispatchClick(new Target(), createView(ID_FALSE)));
+	}
+
+	/**
+	 */
+	public void testDuplicateIds() {
+		try {
+			ClickDispatchTable.create(DuplicateTarget.class);
+			fail("Duplicate view id should not be accepted.");
+		} catch (IllegalStateException e) {
+			// Expected, the same as the processor reports an error.
+		}
+	}
+
+	/**
+	 */
+	public void testDispatchCost() {
+		final ClickDispatchTable table = ClickDispatchTable.create(Target.class);
+		final ClickDispatcher<Target> generated = new GeneratedDispatcher();
+		final View[] views = {createView(ID_VOID), createView(ID_TRUE), createView(ID_FALSE), createView(ID_BOXED)};
+		final Target target = new Target();
+		// Warm up all paths, so they are measured compiled.
+		measureSwitch(target, views);
+		measureDispatcher(generated, target, views);
+		measureDispatcher(table, target, views);
+		target.clicks = 0;
+
+		final long switchTime = measureSwitch(target, views);
+		final int switchClicks = target.clicks;
+		final long generatedTime = measureDispatcher(generated, target, views);
+		final long tableTime = measureDispatcher(table, target, views);
+		// All paths should handle the same clicks.
+		assertEquals(3 * switchClicks, target.clicks);
+		Log.i(TAG, "Dispatch cost per click: onViewClick switch " + switchTime / CLICK_COUNT + " ns" +
+				", generated dispatcher " + generatedTime / CLICK_COUNT + " ns" +
+				", reflection table " + tableTime / CLICK_COUNT + " ns.");
+	}
+
+	/**
+	 * Measures time of dispatching {@link #CLICK_COUNT} clicks on the given views by a switch over
+	 * their ids.
+	 *
+	 * @return Time in nanoseconds.
+	 */
+	private static long measureSwitch(Target target, View[] views) {
+		final long start = System.nanoTime();
+		for (int i = 0; i < CLICK_COUNT; i++) {
+			final View view = views[i % views.length];
+			target.onViewClick(view, view.getId());
+		}
+		return System.nanoTime() - start;
+	}
+
+	/**
+	 * Measures time of dispatching {@link #CLICK_COUNT} clicks on the given views by the given dispatcher.
+	 *
+	 * @return Time in nanoseconds.
+	 */
+	private static long measureDispatcher(ClickDispatcher<? super Target> dispatcher, Target target, View[] views) {
+		final long start = System.nanoTime();
+		for (int i = 0; i < CLICK_COUNT; i++) {
+			dispatcher.dispatchClick(target, views[i % views.length]);
+		}
+		return System.nanoTime() - start;
+	}
+
+	/**
+	 * Creates a view with the given id.
+	 */
+	private View createView(int id) {
+		final View view = new View(getContext());
+		view.setId(id);
+		return view;
+	}
+
+	/**
+	 * Context with methods handling clicks with all supported signatures.
+	 */
+	static final class Target {
+
+		/**
+		 * Count of handled clicks.
+		 */
+		int clicks;
+
+		/**
+		 */
+		@OnViewClick(ID_VOID)
+		void onVoidClick() {
+			clicks++;
+		}
+
+		/**
+		 */
+		@OnViewClick(ID_TRUE)
+		boolean onTrueClick(View view) {
+			clicks++;
+			return true;
+		}
+
+		/**
+		 */
+		@OnViewClick(ID_FALSE)
+		boolean onFalseClick(View view) {
+			return false;
+		}
+
+		/**
+		 */
+		@OnViewClick(ID_BOXED)
+		Boolean onBoxedClick() {
+			clicks++;
+			return Boolean.FALSE;
+		}
+
+		/**
+		 * Handles clicks in the same way, by a switch over the view ids.
+		 */
+		boolean onViewClick(View view, int id) {
+			switch (id) {
+				case ID_VOID:
+					onVoidClick();
+					return true;
+				case ID_TRUE:
+					return onTrueClick(view);
+				case ID_FALSE:
+					return onFalseClick(view);
+				case ID_BOXED:
+					onBoxedClick();
+					return true;
+				default:
+					return false;
+			}
+		}
+	}
+
+	/**
+	 * Same dispatcher as generated by the fragments annotation processor for {@link Target}.
+	 */
+	static final class GeneratedDispatcher implements ClickDispatcher<Target> {
+
+		/**
+		 */
+		private static final int[] VIEW_IDS = {ID_VOID, ID_TRUE, ID_FALSE, ID_BOXED};
+
+		/**
+		 */
+		@NonNull
+		@Override
+		public int[] getViewIds() {
+			return VIEW_IDS;
+		}
+
+		/**
+		 */
+		@Override
+		public boolean dispatchClick(@NonNull Target target, @NonNull View view) {
+			switch (view.getId()) {
+				case ID_VOID:
+					target.onVoidClick();
+					return true;
+				case ID_TRUE:
+					return target.onTrueClick(view);
+				case ID_FALSE:
+					return target.onFalseClick(view);
+				case ID_BOXED:
+					target.onBoxedClick();
+					return true;
+				default:
+					return false;
+			}
+		}
+	}
+
+	/**
+	 * Context with a view id handled by multiple methods.
+	 */
+	static final class DuplicateTarget {
+
+		/**
+		 */
+		@OnViewClick({ID_VOID, ID_TRUE})
+		void onFirstClick() {
+		}
+
+		/**
+		 */
+		@OnViewClick(ID_TRUE)
+		void onSecondClick() {
+		}
+	}
+}
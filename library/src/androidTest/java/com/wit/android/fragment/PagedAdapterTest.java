@@ -0,0 +1,306 @@
+/*
+ * =================================================================================================
+ *                    Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License 
+ * you may obtain at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * You can redistribute, modify or publish any part of the code written within this file but as it 
+ * is described in the License, the software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ * 
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.test.AndroidTestCase;
+import android.util.Log;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scroll simulation of {@link PagedAdapter}. The visible range is scrolled through the whole data
+ * set and back on the main thread, frame by frame, as done by {@link AdapterFragment} while its
+ * {@link android.widget.AbsListView} is scrolled, while pages are loaded on the background thread.
+ *
+ * @author Martin Albedinsky
+ */
+public final class PagedAdapterTest extends AndroidTestCase {
+
+	/**
+	 * Log TAG.
+	 */
+	private static final String TAG = "PagedAdapterTest";
+
+	/**
+	 * Count of items provided by the source.
+	 */
+	private static final int ITEM_COUNT = 20000;
+
+	/**
+	 * Count of items per page.
+	 */
+	private static final int PAGE_SIZE = 50;
+
+	/**
+	 * Maximum count of pages held in memory.
+	 */
+	private static final int MAX_PAGES = 10;
+
+	/**
+	 * Count of rows visible at once.
+	 */
+	private static final int VISIBLE_ROWS = 12;
+
+	/**
+	 * Count of rows scrolled by each frame.
+	 */
+	private static final int ROWS_PER_FRAME = 4;
+
+	/**
+	 * Timeout for waiting on the main thread or for loaded pages, in milliseconds.
+	 */
+	private static final long TIMEOUT = 10000;
+
+	/**
+	 * Handler of the main thread on which is the adapter used.
+	 */
+	private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+
+	/**
+	 */
+	public void testScrollSimulation() throws Exception {
+		final CountingSource source = new CountingSource();
+		final TestAdapter adapter = new TestAdapter();
+		runOnMain(new Runnable() {
+
+			/**
+			 */
+			@Override
+			public void run() {
+				adapter.setMaxPages(MAX_PAGES);
+				adapter.setPageSource(source);
+			}
+		});
+		waitForLoaded(adapter, 0);
+
+		final Scroll scroll = new Scroll(adapter);
+		for (int first = 0; first <= ITEM_COUNT - VISIBLE_ROWS; first += ROWS_PER_FRAME) {
+			scroll.frame(first);
+		}
+		for (int first = ITEM_COUNT - VISIBLE_ROWS; first >= 0; first -= ROWS_PER_FRAME) {
+			scroll.frame(first);
+		}
+		waitForLoaded(adapter, 0);
+
+		final int[] stats = new int[3];
+		runOnMain(new Runnable() {
+
+			/**
+			 */
+			@Override
+			public void run() {
+				stats[0] = adapter.getPageLoadCount();
+				stats[1] = adapter.getEvictedPageCount();
+				stats[2] = adapter.getLoadedPageCount();
+				for (int position = 0; position < VISIBLE_ROWS; position++) {
+					assertEquals(Integer.valueOf(position), adapter.getItem(position));
+				}
+			}
+		});
+		// Only the pages around the visible range are held in memory.
+		assertTrue("Held " + scroll.maxLoadedPages + " pages.", scroll.maxLoadedPages <= MAX_PAGES);
+		assertTrue(stats[2] <= MAX_PAGES);
+		// Each page is loaded at least once in each direction, evicted pages are loaded again.
+		assertTrue(stats[0] >= ITEM_COUNT / PAGE_SIZE);
+		assertTrue(stats[1] > 0);
+		assertEquals(source.loadCount.get(), stats[0]);
+		Log.i(TAG, "Scrolled " + scroll.frameCount + " frames, main thread cost per frame " + scroll.frameTime / scroll.frameCount + " ns" +
+				", rows with placeholder " + scroll.placeholderRows * 100 / (scroll.frameCount * VISIBLE_ROWS) + "%" +
+				", pages loaded " + stats[0] + ", evicted " + stats[1] + ", max held " + scroll.maxLoadedPages + ".");
+	}
+
+	/**
+	 * Waits until the item at the given position is loaded.
+	 */
+	private void waitForLoaded(final PagedAdapter<?> adapter, final int position) throws Exception {
+		final long deadline = System.currentTimeMillis() + TIMEOUT;
+		final boolean[] loaded = new boolean[1];
+		while (System.currentTimeMillis() < deadline) {
+			runOnMain(new Runnable() {
+
+				/**
+				 */
+				@Override
+				public void run() {
+					loaded[0] = adapter.getCount() > position && adapter.isItemLoaded(position);
+					if (!loaded[0]) {
+						// Request loading of the page, if not requested yet.
+						adapter.getItem(position);
+					}
+				}
+			});
+			if (loaded[0]) {
+				return;
+			}
+			Thread.sleep(5);
+		}
+		fail("Item at position(" + position + ") not loaded.");
+	}
+
+	/**
+	 * Runs the given task on the main thread and waits until it is finished.
+	 */
+	private void runOnMain(final Runnable task) throws Exception {
+		final CountDownLatch latch = new CountDownLatch(1);
+		final Throwable[] error = new Throwable[1];
+		mMainHandler.post(new Runnable() {
+
+			/**
+			 */
+			@Override
+			public void run() {
+				try {
+					task.run();
+				} catch (Throwable e) {
+					error[0] = e;
+				}
+				latch.countDown();
+			}
+		});
+		assertTrue(latch.await(TIMEOUT, TimeUnit.MILLISECONDS));
+		if (error[0] instanceof Error) {
+			throw (Error) error[0];
+		} else if (error[0] != null) {
+			throw new RuntimeException(error[0]);
+		}
+	}
+
+	/**
+	 * Simulation of scrolling of the adapter view, frame by frame.
+	 */
+	private final class Scroll {
+
+		/**
+		 * The scrolled adapter.
+		 */
+		final PagedAdapter<Integer> adapter;
+
+		/**
+		 * Count of the simulated frames.
+		 */
+		int frameCount;
+
+		/**
+		 * Total time spent on the main thread by the simulated frames, in nanoseconds.
+		 */
+		long frameTime;
+
+		/**
+		 * Count of the visible rows presented with placeholder as their item was not loaded yet.
+		 */
+		int placeholderRows;
+
+		/**
+		 * Maximum count of pages held in memory at once.
+		 */
+		int maxLoadedPages;
+
+		/**
+		 * Creates a new instance of Scroll for the given adapter.
+		 */
+		Scroll(PagedAdapter<Integer> adapter) {
+			this.adapter = adapter;
+		}
+
+		/**
+		 * Simulates a frame with the given first visible position on the main thread: updates the
+		 * visible range and binds all visible rows.
+		 */
+		void frame(final int first) throws Exception {
+			runOnMain(new Runnable() {
+
+				/**
+				 */
+				@Override
+				public void run() {
+					final long start = System.nanoTime();
+					adapter.onVisibleRangeChanged(first, first + VISIBLE_ROWS - 1);
+					for (int position = first; position < first + VISIBLE_ROWS; position++) {
+						final Integer item = adapter.getItem(position);
+						if (item == null) {
+							placeholderRows++;
+						} else {
+							assertEquals(position, item.intValue());
+						}
+					}
+					frameTime += System.nanoTime() - start;
+					frameCount++;
+					maxLoadedPages = Math.max(maxLoadedPages, adapter.getLoadedPageCount());
+				}
+			});
+		}
+	}
+
+	/**
+	 * Source of items equal to their positions, counting the loaded pages.
+	 */
+	private static final class CountingSource implements PagedAdapter.PageSource<Integer> {
+
+		/**
+		 * Count of the loaded pages.
+		 */
+		final AtomicInteger loadCount = new AtomicInteger();
+
+		/**
+		 */
+		@Override
+		public int getCount() {
+			return ITEM_COUNT;
+		}
+
+		/**
+		 */
+		@Override
+		public List<Integer> loadPage(int offset, int count) {
+			loadCount.incrementAndGet();
+			final List<Integer> items = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				items.add(offset + i);
+			}
+			return items;
+		}
+	}
+
+	/**
+	 * Adapter presenting no views, as only its data set is tested.
+	 */
+	private static final class TestAdapter extends PagedAdapter<Integer> {
+
+		/**
+		 */
+		TestAdapter() {
+			super(PAGE_SIZE);
+		}
+
+		/**
+		 */
+		@Override
+		public View getView(int position, View convertView, ViewGroup parent) {
+			return convertView;
+		}
+	}
+}
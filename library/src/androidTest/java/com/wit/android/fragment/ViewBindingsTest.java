@@ -0,0 +1,443 @@
+/*
+ * =================================================================================================
+ *                    Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License 
+ * you may obtain at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * You can redistribute, modify or publish any part of the code written within this file but as it 
+ * is described in the License, the software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ * 
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.test.AndroidTestCase;
+import android.util.Log;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import com.wit.android.fragment.annotation.InjectView;
+import com.wit.android.fragment.util.FragmentAnnotations;
+import com.wit.android.fragment.util.ViewInjector;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests of {@link ViewBindings} and a benchmark of binding views from hierarchies of 50, 500 and
+ * 5000 views by a single traversal compared with calling {@link android.view.View#findViewById(int)}
+ * for each of ids, both for views injected using reflection and by a view injector generated by
+ * the fragments annotation processor.
+ *
+ * @author Martin Albedinsky
+ */
+public final class ViewBindingsTest extends AndroidTestCase {
+
+	/**
+	 * Log TAG.
+	 */
+	private static final String TAG = "ViewBindingsTest";
+
+	/**
+	 * Ids of the bound views.
+	 */
+	private static final int ID_FIRST = 1, ID_SECOND = 2, ID_THIRD = 3, ID_FOURTH = 4, ID_FIFTH = 5, ID_SIXTH = 6,
+			ID_SEVENTH = 7, ID_LAST = 8;
+
+	/**
+	 * Ids of the bound views in order as they are spread across the view hierarchy.
+	 */
+	private static final int[] BOUND_IDS = {ID_FIRST, ID_SECOND, ID_THIRD, ID_FOURTH, ID_FIFTH, ID_SIXTH, ID_SEVENTH, ID_LAST};
+
+	/**
+	 * Ids of the bound views which are clickable.
+	 */
+	private static final int[] CLICKABLE_IDS = {ID_FIRST, ID_FIFTH};
+
+	/**
+	 * Count of children of each view group within the built hierarchies.
+	 */
+	private static final int GROUP_SIZE = 10;
+
+	/**
+	 * Count of binds measured for each hierarchy.
+	 */
+	private static final int BIND_COUNT = 2000;
+
+	/**
+	 * Listener attached to the clickable views.
+	 */
+	private static final View.OnClickListener CLICK_LISTENER = new View.OnClickListener() {
+
+		/**
+		 */
+		@Override
+		public void onClick(View view) {
+		}
+	};
+
+	/**
+	 */
+	public void testBindsSameViewsAsFindViewById() {
+		for (int viewCount : new int[]{50, 500, 5000}) {
+			final View root = createHierarchy(viewCount);
+			final Target target = new Target();
+			createBindings().bind(target, root, CLICK_LISTENER);
+			final View[] views = target.views();
+			for (int i = 0; i < BOUND_IDS.length; i++) {
+				assertNotNull(views[i]);
+				assertSame("View(" + BOUND_IDS[i] + ") of " + viewCount + " views", root.findViewById(BOUND_IDS[i]), views[i]);
+			}
+		}
+	}
+
+	/**
+	 */
+	public void testMissingClickableView() {
+		try {
+			ViewBindings.create(new int[]{ID_LAST + 1}, null, null).bind(new Target(), createHierarchy(50), CLICK_LISTENER);
+			fail("Missing clickable view should not be accepted.");
+		} catch (NullPointerException e) {
+			// Expected, the same as for views found by findViewById(int).
+		}
+	}
+
+	/**
+	 */
+	@SuppressWarnings("unchecked")
+	public void testBindsGeneratedInjectorViews() {
+		final ViewInjector<Object> injector = (ViewInjector) new GeneratedInjector();
+		for (int viewCount : new int[]{50, 500, 5000}) {
+			final View root = createHierarchy(viewCount);
+			final Target target = new Target();
+			ViewBindings.create(null, null, new ViewInjector[]{injector}).bind(target, root, CLICK_LISTENER);
+			final Target expected = new Target();
+			injector.injectViews(expected, root, CLICK_LISTENER);
+			assertTrue(Arrays.equals(expected.views(), target.views()));
+		}
+		try {
+			ViewBindings.create(null, null, new ViewInjector[]{injector}).bind(new Target(), new FrameLayout(getContext()), CLICK_LISTENER);
+			fail("Missing clickable view of injector should not be accepted.");
+		} catch (NullPointerException e) {
+			// Expected, the same as thrown by ViewInjector.attachClickableViews(...).
+		}
+	}
+
+	/**
+	 */
+	@SuppressWarnings("unchecked")
+	public void testBindCost() {
+		final ViewBindings bindings = createBindings();
+		final Field[] fields = injectedFields();
+		final ViewInjector<Object> injector = (ViewInjector) new GeneratedInjector();
+		final ViewBindings injectorBindings = ViewBindings.create(null, null, new ViewInjector[]{injector});
+		final StringBuilder results = new StringBuilder("Bind cost per hierarchy (findViewById / single pass, " +
+				"generated injector findViewById / single pass):");
+		for (int viewCount : new int[]{50, 500, 5000}) {
+			final View root = createHierarchy(viewCount);
+			final int count = BIND_COUNT * 50 / viewCount + 10;
+			// Warm up all paths, so they are measured compiled.
+			measureFindViewById(fields, root, count);
+			measureBindings(bindings, root, count);
+			measureInjector(injector, root, count);
+			measureBindings(injectorBindings, root, count);
+			results.append("\n ").append(viewCount).append(" views ")
+					.append(measureFindViewById(fields, root, count)).append(" ns / ")
+					.append(measureBindings(bindings, root, count)).append(" ns, ")
+					.append(measureInjector(injector, root, count)).append(" ns / ")
+					.append(measureBindings(injectorBindings, root, count)).append(" ns");
+		}
+		Log.i(TAG, results.toString());
+	}
+
+	/**
+	 * Measures average time of binding views of the given hierarchy by calling findViewById(int)
+	 * for each of ids, as done when single pass binding is disabled.
+	 *
+	 * @return Time in nanoseconds.
+	 */
+	private static long measureFindViewById(Field[] fields, View root, int count) {
+		final Target target = new Target();
+		final long start = System.nanoTime();
+		for (int i = 0; i < count; i++) {
+			for (int id : CLICKABLE_IDS) {
+				root.findViewById(id).setOnClickListener(CLICK_LISTENER);
+			}
+			for (Field field : fields) {
+				FragmentAnnotations.attachView(field, target, root.findViewById(field.getAnnotation(InjectView.class).value()));
+			}
+		}
+		return (System.nanoTime() - start) / count;
+	}
+
+	/**
+	 * Measures average time of binding views of the given hierarchy by the given generated injector,
+	 * which calls findViewById(int) for each of ids, as done when single pass binding is disabled.
+	 *
+	 * @return Time in nanoseconds.
+	 */
+	private static long measureInjector(ViewInjector<Object> injector, View root, int count) {
+		final Target target = new Target();
+		final long start = System.nanoTime();
+		for (int i = 0; i < count; i++) {
+			injector.attachClickableViews(root, CLICK_LISTENER);
+			injector.injectViews(target, root, CLICK_LISTENER);
+		}
+		return (System.nanoTime() - start) / count;
+	}
+
+	/**
+	 * Measures average time of binding views of the given hierarchy by the given bindings.
+	 *
+	 * @return Time in nanoseconds.
+	 */
+	private static long measureBindings(ViewBindings bindings, View root, int count) {
+		final Target target = new Target();
+		final long start = System.nanoTime();
+		for (int i = 0; i < count; i++) {
+			bindings.bind(target, root, CLICK_LISTENER);
+		}
+		return (System.nanoTime() - start) / count;
+	}
+
+	/**
+	 * Creates bindings for all fields of {@link Target} and {@link #CLICKABLE_IDS}.
+	 */
+	private static ViewBindings createBindings() {
+		return ViewBindings.create(CLICKABLE_IDS, injectedFields(), null);
+	}
+
+	/**
+	 * Returns all fields of {@link Target} marked with {@link InjectView @InjectView}.
+	 */
+	private static Field[] injectedFields() {
+		final List<Field> fields = new ArrayList<>();
+		for (Field field : Target.class.getDeclaredFields()) {
+			if (field.isAnnotationPresent(InjectView.class)) {
+				fields.add(field);
+			}
+		}
+		return fields.toArray(new Field[fields.size()]);
+	}
+
+	/**
+	 * Creates a view hierarchy with the given count of views, where each group has {@link #GROUP_SIZE}
+	 * children. The bound views are spread evenly across the hierarchy in depth-first order, the
+	 * last of them is the last view of the hierarchy.
+	 */
+	private View createHierarchy(int viewCount) {
+		final List<View> views = new ArrayList<>(viewCount);
+		final FrameLayout root = new FrameLayout(getContext());
+		views.add(root);
+		final List<ViewGroup> groups = new ArrayList<>();
+		groups.add(root);
+		for (int i = 0; views.size() < viewCount; i++) {
+			final ViewGroup parent = groups.get(i);
+			for (int j = 0; j < GROUP_SIZE && views.size() < viewCount; j++) {
+				final View child;
+				if (j % 2 == 0) {
+					final FrameLayout group = new FrameLayout(getContext());
+					groups.add(group);
+					child = group;
+				} else {
+					child = new View(getContext());
+				}
+				child.setId(100 + views.size());
+				parent.addView(child);
+				views.add(child);
+			}
+		}
+		// Assign the bound ids in depth-first order.
+		final List<View> ordered = new ArrayList<>(viewCount);
+		collectDepthFirst(root, ordered);
+		for (int i = 0; i < BOUND_IDS.length; i++) {
+			ordered.get((i + 1) * (ordered.size() - 1) / BOUND_IDS.length).setId(BOUND_IDS[i]);
+		}
+		return root;
+	}
+
+	/**
+	 * Collects all views of the given hierarchy in depth-first order.
+	 */
+	private static void collectDepthFirst(View view, List<View> views) {
+		views.add(view);
+		if (view instanceof ViewGroup) {
+			final ViewGroup group = (ViewGroup) view;
+			for (int i = 0; i < group.getChildCount(); i++) {
+				collectDepthFirst(group.getChildAt(i), views);
+			}
+		}
+	}
+
+	/**
+	 * Context with fields of views to inject.
+	 */
+	static final class Target {
+
+		/**
+		 */
+		@InjectView(ID_FIRST)
+		View first;
+
+		/**
+		 */
+		@InjectView(ID_SECOND)
+		View second;
+
+		/**
+		 */
+		@InjectView(ID_THIRD)
+		View third;
+
+		/**
+		 */
+		@InjectView(ID_FOURTH)
+		View fourth;
+
+		/**
+		 */
+		@InjectView(ID_FIFTH)
+		View fifth;
+
+		/**
+		 */
+		@InjectView(ID_SIXTH)
+		View sixth;
+
+		/**
+		 */
+		@InjectView(ID_SEVENTH)
+		View seventh;
+
+		/**
+		 */
+		@InjectView(ID_LAST)
+		View last;
+
+		/**
+		 * Returns the injected views in order of {@link #BOUND_IDS}.
+		 */
+		View[] views() {
+			return new View[]{first, second, third, fourth, fifth, sixth, seventh, last};
+		}
+	}
+
+	/**
+	 * Same injector as generated by the fragments annotation processor for {@link Target} annotated
+	 * also with {@link com.wit.android.fragment.annotation.ClickableViews @ClickableViews} of {@link #CLICKABLE_IDS}.
+	 */
+	static final class GeneratedInjector implements ViewInjector<Target> {
+
+		/**
+		 */
+		private static final int[] CLICKABLE_VIEW_IDS = CLICKABLE_IDS;
+
+		/**
+		 */
+		private static final int[] VIEW_IDS = BOUND_IDS;
+
+		/**
+		 */
+		@Override
+		public void injectViews(@NonNull Target target, @NonNull View root, @Nullable View.OnClickListener onClickListener) {
+			View view;
+			if ((view = root.findViewById(ID_FIRST)) != null) {
+				target.first = view;
+			}
+			if ((view = root.findViewById(ID_SECOND)) != null) {
+				target.second = view;
+			}
+			if ((view = root.findViewById(ID_THIRD)) != null) {
+				target.third = view;
+			}
+			if ((view = root.findViewById(ID_FOURTH)) != null) {
+				target.fourth = view;
+			}
+			if ((view = root.findViewById(ID_FIFTH)) != null) {
+				target.fifth = view;
+			}
+			if ((view = root.findViewById(ID_SIXTH)) != null) {
+				target.sixth = view;
+			}
+			if ((view = root.findViewById(ID_SEVENTH)) != null) {
+				target.seventh = view;
+			}
+			if ((view = root.findViewById(ID_LAST)) != null) {
+				target.last = view;
+			}
+		}
+
+		/**
+		 */
+		@Override
+		public void attachClickableViews(@NonNull View root, @NonNull View.OnClickListener onClickListener) {
+			for (int id : CLICKABLE_VIEW_IDS) {
+				final View view = root.findViewById(id);
+				if (view == null) {
+					throw new NullPointerException("Clickable view with id(" + id + ") not found.");
+				}
+				view.setOnClickListener(onClickListener);
+			}
+		}
+
+		/**
+		 */
+		@NonNull
+		@Override
+		public int[] getViewIds() {
+			return VIEW_IDS;
+		}
+
+		/**
+		 */
+		@NonNull
+		@Override
+		public int[] getClickableViewIds() {
+			return CLICKABLE_VIEW_IDS;
+		}
+
+		/**
+		 */
+		@Override
+		public void bindView(@NonNull Target target, @NonNull View view, @Nullable View.OnClickListener onClickListener) {
+			switch (view.getId()) {
+				case ID_FIRST:
+					target.first = view;
+					break;
+				case ID_SECOND:
+					target.second = view;
+					break;
+				case ID_THIRD:
+					target.third = view;
+					break;
+				case ID_FOURTH:
+					target.fourth = view;
+					break;
+				case ID_FIFTH:
+					target.fifth = view;
+					break;
+				case ID_SIXTH:
+					target.sixth = view;
+					break;
+				case ID_SEVENTH:
+					target.seventh = view;
+					break;
+				case ID_LAST:
+					target.last = view;
+					break;
+			}
+		}
+	}
+}
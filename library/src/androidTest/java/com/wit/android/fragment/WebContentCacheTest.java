@@ -0,0 +1,318 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment;
+
+import android.test.AndroidTestCase;
+import android.webkit.CookieManager;
+import android.webkit.CookieSyncManager;
+import android.webkit.WebResourceResponse;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests of {@link WebContentCache} against a local HTTP server.
+ *
+ * @author Martin Albedinsky
+ */
+public final class WebContentCacheTest extends AndroidTestCase {
+
+	/**
+	 * Local server serving the responses registered by tests.
+	 */
+	private LocalServer mServer;
+
+	/**
+	 * Tested cache.
+	 */
+	private WebContentCache mCache;
+
+	/**
+	 * Directory of the disk tier of the tested cache.
+	 */
+	private File mDirectory;
+
+	/**
+	 */
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		CookieSyncManager.createInstance(getContext());
+		this.mServer = new LocalServer();
+		this.mDirectory = new File(getContext().getCacheDir(), "web-content-test");
+		this.mCache = new WebContentCache(mDirectory, 1024 * 1024, 64 * 1024);
+		mCache.clear();
+	}
+
+	/**
+	 */
+	@Override
+	protected void tearDown() throws Exception {
+		mServer.close();
+		mCache.clear();
+		mDirectory.delete();
+		super.tearDown();
+	}
+
+	public void testInterceptOfNotCachedUrlDoesNotPerformRequest() {
+		mServer.respond("/page", "200 OK", "Cache-Control: max-age=60\r\nContent-Type: text/html", "page");
+		assertNull(mCache.intercept(mServer.url("/page")));
+		assertEquals(0, mServer.requests().size());
+		assertEquals(1, mCache.getMissCount());
+	}
+
+	public void testPreloadedResponseIsServed() throws IOException {
+		mServer.respond("/page", "200 OK", "Cache-Control: max-age=60\r\nContent-Type: text/html; charset=utf-8", "page");
+		assertEquals("page", mCache.preloadUrl(mServer.url("/page"), true));
+		final WebResourceResponse response = mCache.intercept(mServer.url("/page"));
+		assertNotNull(response);
+		assertEquals("text/html", response.getMimeType());
+		assertEquals("utf-8", response.getEncoding());
+		assertEquals("page", read(response.getData()));
+		assertEquals(1, mServer.requests().size());
+		assertEquals(1, mCache.getMemoryHitCount());
+	}
+
+	public void testPreloadOfFreshResponseDoesNotPerformRequest() {
+		mServer.respond("/script.js", "200 OK", "Cache-Control: max-age=60\r\nContent-Type: application/javascript", "script");
+		mCache.preloadUrl(mServer.url("/script.js"), false);
+		mCache.preloadUrl(mServer.url("/script.js"), false);
+		assertEquals(1, mServer.requests().size());
+	}
+
+	public void testRedirectedResponseIsNotCached() {
+		mServer.respond("/moved", "302 Found", "Location: " + mServer.url("/page"), "");
+		mServer.respond("/page", "200 OK", "Cache-Control: max-age=60\r\nContent-Type: text/html", "page");
+		mCache.preloadUrl(mServer.url("/moved"), false);
+		assertNull(mCache.intercept(mServer.url("/moved")));
+		assertEquals(Collections.singletonList("/moved"), mServer.paths());
+	}
+
+	public void testErrorResponseIsNotCached() {
+		mServer.respond("/missing", "404 Not Found", "Cache-Control: max-age=60\r\nContent-Type: text/html", "missing");
+		mCache.preloadUrl(mServer.url("/missing"), false);
+		assertNull(mCache.intercept(mServer.url("/missing")));
+	}
+
+	public void testNotStorableResponseIsNotCached() {
+		mServer.respond("/private", "200 OK", "Cache-Control: private, max-age=60\r\nContent-Type: text/html", "private");
+		mServer.respond("/no-store", "200 OK", "Cache-Control: no-store\r\nContent-Type: text/html", "no-store");
+		mCache.preloadUrl(mServer.url("/private"), false);
+		mCache.preloadUrl(mServer.url("/no-store"), false);
+		assertNull(mCache.intercept(mServer.url("/private")));
+		assertNull(mCache.intercept(mServer.url("/no-store")));
+	}
+
+	public void testStaleResponseIsNotServedAndIsRevalidatedByPreload() throws IOException {
+		mServer.respond("/style.css", "200 OK", "Cache-Control: max-age=0\r\nETag: \"v1\"\r\nContent-Type: text/css", "style");
+		mCache.preloadUrl(mServer.url("/style.css"), false);
+		assertNull(mCache.intercept(mServer.url("/style.css")));
+
+		mServer.respond("/style.css", "304 Not Modified", "Cache-Control: max-age=60\r\nETag: \"v1\"", "");
+		mCache.preloadUrl(mServer.url("/style.css"), false);
+		assertEquals("\"v1\"", mServer.requests().get(1).get("if-none-match"));
+		assertEquals(1, mCache.getRevalidationCount());
+		final WebResourceResponse response = mCache.intercept(mServer.url("/style.css"));
+		assertNotNull(response);
+		assertEquals("style", read(response.getData()));
+	}
+
+	public void testPreloadSendsAndStoresCookies() {
+		final CookieManager cookieManager = CookieManager.getInstance();
+		final String url = mServer.url("/page");
+		cookieManager.setCookie(url, "sent=1");
+		mServer.respond("/page", "200 OK", "Cache-Control: max-age=60\r\nContent-Type: text/html\r\nSet-Cookie: received=2", "page");
+		mCache.preloadUrl(url, false);
+		assertTrue(mServer.requests().get(0).get("cookie").contains("sent=1"));
+		assertTrue(cookieManager.getCookie(url).contains("received=2"));
+	}
+
+	/**
+	 * Reads the whole given stream as UTF-8 string.
+	 */
+	private static String read(InputStream stream) throws IOException {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		final byte[] buffer = new byte[1024];
+		int read;
+		while ((read = stream.read(buffer)) != -1) {
+			output.write(buffer, 0, read);
+		}
+		stream.close();
+		return output.toString("UTF-8");
+	}
+
+	/**
+	 * Minimal HTTP server serving registered responses, one request per connection.
+	 */
+	static final class LocalServer implements Runnable {
+
+		/**
+		 * Socket of this server.
+		 */
+		private final ServerSocket socket;
+
+		/**
+		 * Responses mapped to paths.
+		 */
+		private final Map<String, String> responses = Collections.synchronizedMap(new HashMap<String, String>());
+
+		/**
+		 * Headers of the received requests with lower-cased names, path is mapped to <code>null</code> name.
+		 */
+		private final List<Map<String, String>> requests = Collections.synchronizedList(new ArrayList<Map<String, String>>());
+
+		/**
+		 * Delay of each response simulating latency of the network, in milliseconds.
+		 */
+		private volatile long latency;
+
+		/**
+		 * Same as {@link #LocalServer(int)} with any free port.
+		 */
+		LocalServer() throws IOException {
+			this(0);
+		}
+
+		/**
+		 * Creates a new instance of LocalServer listening on the given port and starts it.
+		 */
+		LocalServer(int port) throws IOException {
+			this.socket = new ServerSocket(port, 0, InetAddress.getByName("127.0.0.1"));
+			final Thread thread = new Thread(this, "LocalServer");
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+		/**
+		 * Returns url of the given path on this server.
+		 */
+		String url(String path) {
+			return "http://127.0.0.1:" + socket.getLocalPort() + path;
+		}
+
+		/**
+		 * Registers the response to be served for the given path.
+		 */
+		void respond(String path, String status, String headers, String body) {
+			responses.put(path, "HTTP/1.1 " + status + "\r\n" + headers + "\r\nContent-Length: " + body.length() +
+					"\r\nConnection: close\r\n\r\n" + body);
+		}
+
+		/**
+		 * Sets the delay of each response simulating latency of the network, in milliseconds.
+		 */
+		void setLatency(long latency) {
+			this.latency = latency;
+		}
+
+		/**
+		 * Returns headers of the received requests.
+		 */
+		List<Map<String, String>> requests() {
+			return new ArrayList<>(requests);
+		}
+
+		/**
+		 * Returns paths of the received requests.
+		 */
+		List<String> paths() {
+			final List<String> paths = new ArrayList<>();
+			for (Map<String, String> request : requests()) {
+				paths.add(request.get(null));
+			}
+			return paths;
+		}
+
+		/**
+		 * Stops this server.
+		 */
+		void close() throws IOException {
+			socket.close();
+		}
+
+		/**
+		 */
+		@Override
+		public void run() {
+			while (!socket.isClosed()) {
+				try {
+					final Socket client = socket.accept();
+					// Serve each connection on its own thread, so delayed responses overlap as on a real server.
+					final Thread thread = new Thread(new Runnable() {
+
+						/**
+						 */
+						@Override
+						public void run() {
+							serve(client);
+						}
+					}, "LocalServer-Client");
+					thread.setDaemon(true);
+					thread.start();
+				} catch (IOException e) {
+					// Server closed.
+				}
+			}
+		}
+
+		/**
+		 * Reads request from the given client and writes the registered response to it.
+		 */
+		private void serve(Socket client) {
+			try {
+				try {
+					final BufferedReader reader = new BufferedReader(new InputStreamReader(client.getInputStream(), "UTF-8"));
+					final Map<String, String> request = new HashMap<>();
+					final String path = reader.readLine().split(" ")[1];
+					request.put(null, path);
+					String line;
+					while ((line = reader.readLine()) != null && !line.isEmpty()) {
+						final int separator = line.indexOf(':');
+						request.put(line.substring(0, separator).trim().toLowerCase(), line.substring(separator + 1).trim());
+					}
+					requests.add(request);
+					if (latency > 0) {
+						Thread.sleep(latency);
+					}
+					final String response = responses.get(path);
+					final OutputStream output = client.getOutputStream();
+					output.write((response != null ? response : "HTTP/1.1 404 Not Found\r\nContent-Length: 0\r\nConnection: close\r\n\r\n").getBytes("UTF-8"));
+					output.flush();
+				} finally {
+					client.close();
+				}
+			} catch (IOException | InterruptedException e) {
+				// Server closed.
+			}
+		}
+	}
+}
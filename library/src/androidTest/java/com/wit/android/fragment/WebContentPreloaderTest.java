@@ -0,0 +1,264 @@
+/*
+ * =================================================================================================
+ *                    Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License 
+ * you may obtain at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * You can redistribute, modify or publish any part of the code written within this file but as it 
+ * is described in the License, the software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ * 
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment;
+
+import android.test.AndroidTestCase;
+import android.util.Log;
+import android.webkit.CookieSyncManager;
+import android.webkit.WebResourceResponse;
+
+import com.wit.android.fragment.annotation.WebContent;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Benchmark of the first paint of content preloaded by {@link WebContentPreloader} compared with
+ * the cold load. First paint is measured as the time until the page and all its sub-resources are
+ * available to the web view: the page is requested first and its sub-resources then in parallel,
+ * each from the preloader's cache if it is there, otherwise from a local server with simulated
+ * network latency.
+ *
+ * @author Martin Albedinsky
+ */
+public final class WebContentPreloaderTest extends AndroidTestCase {
+
+	/**
+	 * Log TAG.
+	 */
+	private static final String TAG = "WebContentPreloaderTest";
+
+	/**
+	 * Port of the local server, fixed as the url of the preloaded content needs to be constant.
+	 */
+	private static final int PORT = 48015;
+
+	/**
+	 * Url of the preloaded page.
+	 */
+	private static final String PAGE_URL = "http://127.0.0.1:" + PORT + "/page.html";
+
+	/**
+	 * Paths of the sub-resources referenced by the page.
+	 */
+	private static final String[] SUBRESOURCES = {"/style.css", "/script.js", "/image.png"};
+
+	/**
+	 * Simulated latency of the network, in milliseconds.
+	 */
+	private static final long LATENCY = 40;
+
+	/**
+	 * Timeout for waiting on the preloaded content, in milliseconds.
+	 */
+	private static final long TIMEOUT = 10000;
+
+	/**
+	 * Local server serving the page and its sub-resources.
+	 */
+	private WebContentCacheTest.LocalServer mServer;
+
+	/**
+	 * Cache into which is the content preloaded.
+	 */
+	private WebContentCache mCache;
+
+	/**
+	 * Directory of the disk tier of the cache.
+	 */
+	private File mDirectory;
+
+	/**
+	 * Executor loading sub-resources in parallel.
+	 */
+	private ExecutorService mExecutor;
+
+	/**
+	 */
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		CookieSyncManager.createInstance(getContext());
+		this.mServer = new WebContentCacheTest.LocalServer(PORT);
+		mServer.respond("/page.html", "200 OK", "Cache-Control: max-age=60\r\nContent-Type: text/html; charset=utf-8",
+				"<html><head><link rel=\"stylesheet\" href=\"/style.css\"><script src=\"/script.js\"></script></head>" +
+						"<body><img src=\"/image.png\"></body></html>");
+		mServer.respond("/style.css", "200 OK", "Cache-Control: max-age=60\r\nContent-Type: text/css", "body { margin: 0; }");
+		mServer.respond("/script.js", "200 OK", "Cache-Control: max-age=60\r\nContent-Type: application/javascript", "var loaded = true;");
+		mServer.respond("/image.png", "200 OK", "Cache-Control: max-age=60\r\nContent-Type: image/png", "image");
+		this.mDirectory = new File(getContext().getCacheDir(), "web-content-preloader-test");
+		this.mCache = new WebContentCache(mDirectory, 1024 * 1024, 64 * 1024);
+		mCache.clear();
+		this.mExecutor = Executors.newFixedThreadPool(SUBRESOURCES.length);
+		WebContentPreloader.install(getContext(), mCache);
+	}
+
+	/**
+	 */
+	@Override
+	protected void tearDown() throws Exception {
+		mExecutor.shutdown();
+		mServer.close();
+		mCache.clear();
+		mDirectory.delete();
+		super.tearDown();
+	}
+
+	/**
+	 */
+	public void testPreloadPolicy() {
+		assertFalse(WebContentPreloader.preload(PrefetchedFragment.class, WebContent.PRELOAD_ON_FACTORY));
+		assertTrue(WebContentPreloader.preload(PrefetchedFragment.class, WebContent.PRELOAD_ON_PREFETCH));
+		assertTrue(WebContentPreloader.preload(PreloadedFragment.class, WebContent.PRELOAD_ON_FACTORY));
+		// Content of each class is preloaded only once.
+		assertFalse(WebContentPreloader.preload(PreloadedFragment.class, WebContent.PRELOAD_ON_PREFETCH));
+		assertFalse(WebContentPreloader.preload(WebFragment.class, WebContent.PRELOAD_ON_FACTORY));
+	}
+
+	/**
+	 */
+	public void testFirstPaintCost() throws Exception {
+		// Warm up the network and cache lookup paths, without any latency.
+		paint(null);
+		paint(mCache);
+		mCache.clear();
+		mServer.setLatency(LATENCY);
+
+		final long coldTime = paint(null);
+
+		assertTrue(WebContentPreloader.preload(PreloadedFragment.class, WebContent.PRELOAD_ON_FACTORY));
+		waitForPreloaded();
+		final int requestCount = mServer.requests().size();
+		final long preloadedTime = paint(mCache);
+		// Nothing should be requested from the network when rendering from the preloaded data.
+		assertEquals(requestCount, mServer.requests().size());
+		assertTrue(preloadedTime < coldTime);
+		Log.i(TAG, "First paint of page with " + SUBRESOURCES.length + " sub-resources at " + LATENCY + " ms latency" +
+				": cold " + coldTime / 1000 + " us, preloaded " + preloadedTime / 1000 + " us.");
+	}
+
+	/**
+	 * Waits until the page and all its sub-resources are preloaded.
+	 */
+	private void waitForPreloaded() throws InterruptedException {
+		final long deadline = System.currentTimeMillis() + TIMEOUT;
+		while (System.currentTimeMillis() < deadline) {
+			int cached = mCache.intercept(PAGE_URL) != null ? 1 : 0;
+			for (String path : SUBRESOURCES) {
+				cached += mCache.intercept(url(path)) != null ? 1 : 0;
+			}
+			if (cached == SUBRESOURCES.length + 1) {
+				return;
+			}
+			Thread.sleep(5);
+		}
+		fail("Content not preloaded.");
+	}
+
+	/**
+	 * Loads the page and then all its sub-resources in parallel, as done by the web view.
+	 *
+	 * @param cache Cache from which to load the responses, if cached. May be <code>null</code> to
+	 *              load all responses from the network.
+	 * @return Time in nanoseconds.
+	 */
+	private long paint(final WebContentCache cache) throws Exception {
+		final long start = System.nanoTime();
+		load(cache, PAGE_URL);
+		final List<Future<Integer>> loads = new ArrayList<>(SUBRESOURCES.length);
+		for (final String path : SUBRESOURCES) {
+			loads.add(mExecutor.submit(new Callable<Integer>() {
+
+				/**
+				 */
+				@Override
+				public Integer call() throws IOException {
+					return load(cache, url(path));
+				}
+			}));
+		}
+		for (Future<Integer> load : loads) {
+			assertTrue(load.get() > 0);
+		}
+		return System.nanoTime() - start;
+	}
+
+	/**
+	 * Loads the response for the given url from the given cache if there, otherwise from the network.
+	 *
+	 * @return Count of the loaded bytes.
+	 */
+	private static int load(WebContentCache cache, String url) throws IOException {
+		final WebResourceResponse response = cache != null ? cache.intercept(url) : null;
+		if (response != null) {
+			return read(response.getData());
+		}
+		final HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+		try {
+			return read(connection.getInputStream());
+		} finally {
+			connection.disconnect();
+		}
+	}
+
+	/**
+	 * Reads the whole given stream.
+	 *
+	 * @return Count of the read bytes.
+	 */
+	private static int read(InputStream stream) throws IOException {
+		final byte[] buffer = new byte[1024];
+		int count = 0, read;
+		while ((read = stream.read(buffer)) != -1) {
+			count += read;
+		}
+		stream.close();
+		return count;
+	}
+
+	/**
+	 * Returns url of the given path on the local server.
+	 */
+	private static String url(String path) {
+		return "http://127.0.0.1:" + PORT + path;
+	}
+
+	/**
+	 * Fragment of which content is preloaded when its factory is attached.
+	 */
+	@WebContent(value = PAGE_URL, preload = WebContent.PRELOAD_ON_FACTORY)
+	public static final class PreloadedFragment extends WebFragment {
+	}
+
+	/**
+	 * Fragment of which content is preloaded only when it is prefetched.
+	 */
+	@WebContent(value = PAGE_URL, preload = WebContent.PRELOAD_ON_PREFETCH)
+	public static final class PrefetchedFragment extends WebFragment {
+	}
+}
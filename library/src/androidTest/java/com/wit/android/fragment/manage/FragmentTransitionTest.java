@@ -0,0 +1,138 @@
+/*
+ * =================================================================================================
+ *                    Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License 
+ * you may obtain at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * You can redistribute, modify or publish any part of the code written within this file but as it 
+ * is described in the License, the software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ * 
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment.manage;
+
+import android.animation.Animator;
+import android.animation.AnimatorInflater;
+import android.test.AndroidTestCase;
+import android.util.Log;
+
+/**
+ * Tests of animator templates of {@link FragmentTransition} and a benchmark of the cost of creating
+ * animators for fragment transactions from templates compared with inflating them from resources
+ * on each transaction.
+ *
+ * @author Martin Albedinsky
+ */
+public final class FragmentTransitionTest extends AndroidTestCase {
+
+	/**
+	 * Log TAG.
+	 */
+	private static final String TAG = "FragmentTransitionTest";
+
+	/**
+	 * Transitions used by the simulated transactions.
+	 */
+	private static final FragmentTransition[] TRANSITIONS = {
+			FragmentTransition.FADE_IN,
+			FragmentTransition.SLIDE_TO_RIGHT,
+			FragmentTransition.SLIDE_TO_LEFT,
+			FragmentTransition.SLIDE_TO_BOTTOM,
+			FragmentTransition.SLIDE_TO_TOP,
+			FragmentTransition.SCALE_IN_AND_SLIDE_TO_LEFT,
+			FragmentTransition.SCALE_IN_AND_SLIDE_TO_RIGHT,
+			FragmentTransition.SLIDE_TO_LEFT_AND_SCALE_OUT,
+			FragmentTransition.SLIDE_TO_RIGHT_AND_SCALE_OUT,
+			FragmentTransition.FLIP_TO_LEFT,
+			FragmentTransition.FLIP_TO_RIGHT,
+			FragmentTransition.FLIP_TO_TOP,
+			FragmentTransition.FLIP_TO_BOTTOM
+	};
+
+	/**
+	 * Count of transactions simulated by each measured path.
+	 */
+	private static final int TRANSACTION_COUNT = 500;
+
+	/**
+	 */
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		FragmentTransition.clearAnimatorCache();
+	}
+
+	/**
+	 */
+	public void testCreatedAnimatorsAreClonesOfTemplate() {
+		for (FragmentTransition transition : TRANSITIONS) {
+			final int animResId = transition.getInAnimResId();
+			assertTrue(FragmentTransition.isTransitionAnimator(animResId));
+			final Animator first = FragmentTransition.createAnimator(getContext(), animResId);
+			final Animator second = FragmentTransition.createAnimator(getContext(), animResId);
+			// Each transaction needs its own animator, as the animator is bound to the fragment view.
+			assertNotSame(first, second);
+			assertEquals(AnimatorInflater.loadAnimator(getContext(), animResId).getDuration(), first.getDuration());
+			assertEquals(first.getDuration(), second.getDuration());
+		}
+	}
+
+	/**
+	 */
+	public void testTransactionCost() {
+		// Warm up all paths, so they are measured compiled.
+		measureInflation();
+		measureTemplates();
+		FragmentTransition.clearAnimatorCache();
+
+		final long inflationTime = measureInflation();
+		final long coldTime = measureTemplates();
+		for (FragmentTransition transition : TRANSITIONS) {
+			transition.preload(getContext());
+		}
+		final long preloadedTime = measureTemplates();
+		assertTrue(preloadedTime < inflationTime);
+		Log.i(TAG, "Animators cost per transaction of " + TRANSITIONS.length + " transitions: inflated " + inflationTime / TRANSACTION_COUNT / 1000 + " us" +
+				", templates inflated on first use " + coldTime / TRANSACTION_COUNT / 1000 + " us" +
+				", templates preloaded " + preloadedTime / TRANSACTION_COUNT / 1000 + " us.");
+	}
+
+	/**
+	 * Measures time of creating the enter and exit animators of {@link #TRANSACTION_COUNT} transactions
+	 * by inflation from resources, as done by the framework.
+	 *
+	 * @return Time in nanoseconds.
+	 */
+	private long measureInflation() {
+		final long start = System.nanoTime();
+		for (int i = 0; i < TRANSACTION_COUNT; i++) {
+			final FragmentTransition transition = TRANSITIONS[i % TRANSITIONS.length];
+			assertNotNull(AnimatorInflater.loadAnimator(getContext(), transition.getInAnimResId()));
+			assertNotNull(AnimatorInflater.loadAnimator(getContext(), transition.getOutAnimResId()));
+		}
+		return System.nanoTime() - start;
+	}
+
+	/**
+	 * Measures time of creating the enter and exit animators of {@link #TRANSACTION_COUNT} transactions
+	 * from templates, as done by {@link com.wit.android.fragment.BaseFragment}.
+	 *
+	 * @return Time in nanoseconds.
+	 */
+	private long measureTemplates() {
+		final long start = System.nanoTime();
+		for (int i = 0; i < TRANSACTION_COUNT; i++) {
+			final FragmentTransition transition = TRANSITIONS[i % TRANSITIONS.length];
+			assertNotNull(FragmentTransition.createAnimator(getContext(), transition.getInAnimResId()));
+			assertNotNull(FragmentTransition.createAnimator(getContext(), transition.getOutAnimResId()));
+		}
+		return System.nanoTime() - start;
+	}
+}
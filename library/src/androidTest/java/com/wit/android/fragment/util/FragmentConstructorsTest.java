@@ -0,0 +1,199 @@
+/*
+ * =================================================================================================
+ *                    Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License 
+ * you may obtain at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * You can redistribute, modify or publish any part of the code written within this file but as it 
+ * is described in the License, the software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ * 
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment.util;
+
+import android.app.Fragment;
+import android.test.AndroidTestCase;
+import android.util.Log;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * Tests of {@link FragmentConstructors} and a benchmark of fragment creation throughput by
+ * {@link Class#newInstance()}, by the cached constructors and by a plain constructor call as done
+ * by fragment creators generated by the fragments annotation processor.
+ *
+ * @author Martin Albedinsky
+ */
+public final class FragmentConstructorsTest extends AndroidTestCase {
+
+	/**
+	 * Log TAG.
+	 */
+	private static final String TAG = "FragmentConstructorsTest";
+
+	/**
+	 * Count of fragments created by each measured path.
+	 */
+	private static final int CREATE_COUNT = 200000;
+
+	/**
+	 * Last created fragment.
+	 */
+	private static volatile Fragment sFragment;
+
+	/**
+	 */
+	public void testConstructorIsCached() throws Exception {
+		final Constructor<TestFragment> constructor = FragmentConstructors.obtainConstructor(TestFragment.class);
+		assertSame(constructor, FragmentConstructors.obtainConstructor(TestFragment.class));
+		assertTrue(FragmentConstructors.newInstance(constructor) instanceof TestFragment);
+	}
+
+	/**
+	 */
+	public void testAbstractFragment() throws Exception {
+		try {
+			FragmentConstructors.obtainConstructor(AbstractFragment.class);
+			fail("Abstract fragment should not be instantiable.");
+		} catch (InstantiationException e) {
+			// Expected, the same as for Class.newInstance().
+		}
+	}
+
+	/**
+	 */
+	public void testNoEmptyConstructor() throws Exception {
+		try {
+			FragmentConstructors.obtainConstructor(ParamsFragment.class);
+			fail("Fragment without empty constructor should not be instantiable.");
+		} catch (NoSuchMethodException e) {
+			// Expected.
+		}
+	}
+
+	/**
+	 */
+	public void testConstructorExceptionIsPropagated() throws Exception {
+		final Constructor<FailingFragment> constructor = FragmentConstructors.obtainConstructor(FailingFragment.class);
+		try {
+			FragmentConstructors.newInstance(constructor);
+			fail("Exception thrown by constructor should be propagated.");
+		} catch (IllegalStateException e) {
+			// Expected, thrown as it is, the same as by Class.newInstance().
+		}
+	}
+
+	/**
+	 */
+	public void testCreationThroughput() throws Exception {
+		final Constructor<TestFragment> constructor = FragmentConstructors.obtainConstructor(TestFragment.class);
+		// Warm up all paths, so they are measured compiled.
+		measureClassNewInstance(CREATE_COUNT);
+		measureCachedConstructor(constructor, CREATE_COUNT);
+		measureConstructorCall(CREATE_COUNT);
+
+		final long classTime = measureClassNewInstance(CREATE_COUNT);
+		final long constructorTime = measureCachedConstructor(constructor, CREATE_COUNT);
+		final long callTime = measureConstructorCall(CREATE_COUNT);
+		Log.i(TAG, "Fragments created per second: Class.newInstance() " + perSecond(classTime) +
+				", cached constructor " + perSecond(constructorTime) +
+				", generated creator " + perSecond(callTime) + ".");
+	}
+
+	/**
+	 * Measures time of creating the given count of fragments by {@link Class#newInstance()}.
+	 *
+	 * @return Time in nanoseconds.
+	 */
+	private static long measureClassNewInstance(int count) throws Exception {
+		final long start = System.nanoTime();
+		for (int i = 0; i < count; i++) {
+			consume(TestFragment.class.newInstance());
+		}
+		return System.nanoTime() - start;
+	}
+
+	/**
+	 * Measures time of creating the given count of fragments by the cached constructor, as done by
+	 * fragment factories without generated creator.
+	 *
+	 * @return Time in nanoseconds.
+	 */
+	private static long measureCachedConstructor(Constructor<TestFragment> constructor, int count) throws Exception {
+		final long start = System.nanoTime();
+		for (int i = 0; i < count; i++) {
+			consume(FragmentConstructors.newInstance(constructor));
+		}
+		return System.nanoTime() - start;
+	}
+
+	/**
+	 * Measures time of creating the given count of fragments by a plain constructor call.
+	 *
+	 * @return Time in nanoseconds.
+	 */
+	private static long measureConstructorCall(int count) {
+		final long start = System.nanoTime();
+		for (int i = 0; i < count; i++) {
+			consume(new TestFragment());
+		}
+		return System.nanoTime() - start;
+	}
+
+	/**
+	 * Returns the count of fragments created per second for the given time of {@link #CREATE_COUNT}
+	 * creations.
+	 */
+	private static long perSecond(long time) {
+		return CREATE_COUNT * 1000000000L / Math.max(1, time);
+	}
+
+	/**
+	 * Consumes the given fragment, so its creation cannot be optimized away.
+	 */
+	private static void consume(Fragment fragment) {
+		sFragment = fragment;
+	}
+
+	/**
+	 * Fragment with public empty constructor.
+	 */
+	public static final class TestFragment extends Fragment {
+	}
+
+	/**
+	 * Abstract fragment.
+	 */
+	public static abstract class AbstractFragment extends Fragment {
+	}
+
+	/**
+	 * Fragment without empty constructor.
+	 */
+	public static final class ParamsFragment extends Fragment {
+
+		/**
+		 */
+		public ParamsFragment(int params) {
+		}
+	}
+
+	/**
+	 * Fragment of which constructor throws an exception.
+	 */
+	public static final class FailingFragment extends Fragment {
+
+		/**
+		 */
+		public FailingFragment() {
+			throw new IllegalStateException();
+		}
+	}
+}
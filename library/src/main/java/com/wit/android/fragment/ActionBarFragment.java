@@ -35,7 +35,6 @@ import android.view.View;
 import com.wit.android.fragment.annotation.ActionBarOptions;
 import com.wit.android.fragment.annotation.ActionModeOptions;
 import com.wit.android.fragment.annotation.MenuOptions;
-import com.wit.android.fragment.util.FragmentAnnotations;
 
 /**
  * <h4>Class Overview</h4>
@@ -478,18 +477,9 @@ public class ActionBarFragment extends BaseFragment {
 	@Override
 	void processClassAnnotations(Class<?> classOfFragment) {
 		super.processClassAnnotations(classOfFragment);
-		// Obtain action bar options.
-		this.mActionBarOptions = FragmentAnnotations.obtainAnnotationFrom(
-				classOfFragment, ActionBarOptions.class
-		);
-		// Obtain options menu.
-		this.mMenuOptions = FragmentAnnotations.obtainAnnotationFrom(
-				classOfFragment, MenuOptions.class, ActionBarFragment.class
-		);
-		// Obtain action mode options.
-		this.mActionModeOptions = FragmentAnnotations.obtainAnnotationFrom(
-				classOfFragment, ActionModeOptions.class, ActionBarFragment.class
-		);
+		this.mActionBarOptions = mMetadata.actionBarOptions;
+		this.mMenuOptions = mMetadata.menuOptions;
+		this.mActionModeOptions = mMetadata.actionModeOptions;
 	}
 
 	/**
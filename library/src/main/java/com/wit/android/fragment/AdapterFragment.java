@@ -31,13 +31,15 @@ import android.view.Gravity;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.AbsListView;
 import android.widget.Adapter;
 import android.widget.AdapterView;
+import android.widget.BaseAdapter;
 import android.widget.FrameLayout;
+import android.widget.ListView;
 import android.widget.TextView;
 
 import com.wit.android.fragment.annotation.AdapterViewOptions;
-import com.wit.android.fragment.util.FragmentAnnotations;
 
 import java.lang.reflect.InvocationTargetException;
 
@@ -135,6 +137,22 @@ public abstract class AdapterFragment<V extends AdapterView, A extends Adapter>
 	 */
 	private AdapterViewOptions mAdapterViewOptions;
 
+	/**
+	 * Binder of changed items of the current adapter, if it is {@link PagedAdapter} or {@link DiffAdapter}.
+	 * Registered also as scroll and recycler listener of the adapter view, if it is {@link android.widget.AbsListView}.
+	 */
+	private final ItemRangeBinder mItemRangeBinder = new ItemRangeBinder();
+
+	/**
+	 * Listener to which are dispatched scroll callbacks of the adapter view.
+	 */
+	private AbsListView.OnScrollListener mOnScrollListener;
+
+	/**
+	 * Listener to which are dispatched recycler callbacks of the adapter view.
+	 */
+	private AbsListView.RecyclerListener mRecyclerListener;
+
 	/**
 	 * Constructors ================================================================================
 	 */
@@ -352,6 +370,30 @@ public abstract class AdapterFragment<V extends AdapterView, A extends Adapter>
 		return mAdapter;
 	}
 
+	/**
+	 * Sets a listener to be notified about scrolling of the adapter view of this fragment, if it is
+	 * {@link android.widget.AbsListView}. Use this method rather than {@link android.widget.AbsListView#setOnScrollListener(android.widget.AbsListView.OnScrollListener)},
+	 * as this fragment registers its own scroll listener to update the visible range of {@link PagedAdapter}.
+	 *
+	 * @param listener The desired listener. May be <code>null</code> to remove the current one.
+	 */
+	public void setOnScrollListener(@Nullable AbsListView.OnScrollListener listener) {
+		this.mOnScrollListener = listener;
+	}
+
+	/**
+	 * Sets a listener to be notified about views of the adapter view of this fragment, if it is
+	 * {@link android.widget.AbsListView}, moved to its scrap heap. Use this method rather than
+	 * {@link android.widget.AbsListView#setRecyclerListener(android.widget.AbsListView.RecyclerListener)},
+	 * as this fragment registers its own recycler listener to notify also the current adapter, if
+	 * it is a {@link android.widget.AbsListView.RecyclerListener}.
+	 *
+	 * @param listener The desired listener. May be <code>null</code> to remove the current one.
+	 */
+	public void setRecyclerListener(@Nullable AbsListView.RecyclerListener listener) {
+		this.mRecyclerListener = listener;
+	}
+
 	/**
 	 * Changes visibility of the adapter view either to {@link View#VISIBLE} or {@link View#GONE} depends
 	 * on the given <var>visible</var> flag.
@@ -535,6 +577,12 @@ public abstract class AdapterFragment<V extends AdapterView, A extends Adapter>
 			}
 		}
 
+		if (adapterView instanceof AbsListView) {
+			// Dispatches also to the listeners set to this fragment.
+			((AbsListView) adapterView).setOnScrollListener(mItemRangeBinder);
+			((AbsListView) adapterView).setRecyclerListener(mItemRangeBinder);
+		}
+
 		// Set up listeners if requested.
 		if (mAdapterViewOptions != null) {
 			if (mAdapterViewOptions.clickable()) {
@@ -578,6 +626,27 @@ public abstract class AdapterFragment<V extends AdapterView, A extends Adapter>
 		return false;
 	}
 
+	/**
+	 * Destroys a loader with the specified <var>id</var> previously started by
+	 * {@link #startLoader(int, android.os.Bundle, android.app.LoaderManager.LoaderCallbacks)}. As
+	 * such a loader is managed by the LoaderManager of the activity, this should be called whenever
+	 * the loader is no more needed, like when this fragment is being detached, to stop its loading.
+	 *
+	 * @param id An id of the desired loader to destroy.
+	 * @return <code>True</code> if loader has been destroyed, <code>false</code> if the current
+	 * activity is already invalid or {@link LoaderManager} is not available.
+	 */
+	protected boolean destroyLoader(int id) {
+		if (isActivityAvailable()) {
+			final LoaderManager loaderManager = getActivity().getLoaderManager();
+			if (loaderManager != null) {
+				loaderManager.destroyLoader(id);
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Starts a new action mode for this fragment. <b>Note</b>, that by default is this called
 	 * from {@link #onItemLongClick(android.widget.AdapterView, android.view.View, int, long)} if
@@ -625,15 +694,20 @@ public abstract class AdapterFragment<V extends AdapterView, A extends Adapter>
 		this.mActionMode = actionMode;
 	}
 
+	/**
+	 */
+	@Override
+	boolean supportsAsyncInflation() {
+		// Adapter view is required in onViewCreated(...).
+		return false;
+	}
+
 	/**
 	 */
 	@Override
 	void processClassAnnotations(Class<?> classOfFragment) {
 		super.processClassAnnotations(classOfFragment);
-		// Obtain adapter view options.
-		this.mAdapterViewOptions = FragmentAnnotations.obtainAnnotationFrom(
-				classOfFragment, AdapterViewOptions.class, AdapterFragment.class
-		);
+		this.mAdapterViewOptions = mMetadata.adapterViewOptions;
 	}
 
 	/**
@@ -644,9 +718,21 @@ public abstract class AdapterFragment<V extends AdapterView, A extends Adapter>
 	 */
 	@SuppressWarnings("unchecked")
 	private void setAdapterInner(A adapter) {
+		if (mAdapter != adapter) {
+			if (mAdapter instanceof PagedAdapter) {
+				((PagedAdapter) mAdapter).setItemRangeWatcher(null);
+			} else if (mAdapter instanceof DiffAdapter) {
+				((DiffAdapter) mAdapter).setItemRangeWatcher(null);
+			}
+		}
 		this.mAdapter = adapter;
 		if (mAdapterView != null) {
 			mAdapterView.setAdapter(mAdapter);
+			if (mAdapter instanceof DiffAdapter) {
+				((DiffAdapter) mAdapter).setItemRangeWatcher(mItemRangeBinder);
+			} else if (mAdapter instanceof PagedAdapter) {
+				((PagedAdapter) mAdapter).setItemRangeWatcher(mItemRangeBinder);
+			}
 		}
 	}
 
@@ -718,6 +804,145 @@ public abstract class AdapterFragment<V extends AdapterView, A extends Adapter>
 	 * Inner classes ===============================================================================
 	 */
 
+	/**
+	 * Binder which binds only the visible rows of items changed within {@link PagedAdapter} or
+	 * {@link DiffAdapter}, instead of notifying change of the whole data set. Also updates the visible
+	 * range of {@link PagedAdapter} as the adapter view is scrolled and lets the current adapter cancel
+	 * work requested for recycled rows, like loading of item resources. All callbacks are dispatched
+	 * also to the listeners set to the fragment.
+	 * <p/>
+	 * A visible row is rebound only if the changed item has still the same view type as the one with
+	 * which has been the row bound, otherwise the whole data set is presented again. View types of the
+	 * bound rows are recorded whenever {@link android.widget.AbsListView} lays out its rows, which is
+	 * always followed by {@link #onScroll(android.widget.AbsListView, int, int, int)}.
+	 */
+	private final class ItemRangeBinder implements AbsListView.OnScrollListener, AbsListView.RecyclerListener, ItemRangeWatcher {
+
+		/**
+		 * View types of the visible rows as they were bound, starting at {@link #mBoundPosition}.
+		 */
+		private int[] mBoundViewTypes = new int[0];
+
+		/**
+		 * Adapter position of the first visible row with recorded view type.
+		 */
+		private int mBoundPosition;
+
+		/**
+		 * Count of the visible rows with recorded view type.
+		 */
+		private int mBoundCount;
+
+		/**
+		 */
+		@Override
+		public void onScrollStateChanged(AbsListView view, int scrollState) {
+			if (mOnScrollListener != null) {
+				mOnScrollListener.onScrollStateChanged(view, scrollState);
+			}
+		}
+
+		/**
+		 */
+		@Override
+		public void onScroll(AbsListView view, int firstVisibleItem, int visibleItemCount, int totalItemCount) {
+			if (mAdapter instanceof PagedAdapter && visibleItemCount > 0) {
+				final int headersCount = headersCount(view);
+				((PagedAdapter) mAdapter).onVisibleRangeChanged(
+						Math.max(0, firstVisibleItem - headersCount),
+						Math.max(0, firstVisibleItem + visibleItemCount - 1 - headersCount)
+				);
+			}
+			if (mAdapter instanceof PagedAdapter || mAdapter instanceof DiffAdapter) {
+				recordBoundViewTypes(firstVisibleItem - headersCount(view), visibleItemCount);
+			}
+			if (mOnScrollListener != null) {
+				mOnScrollListener.onScroll(view, firstVisibleItem, visibleItemCount, totalItemCount);
+			}
+		}
+
+		/**
+		 */
+		@Override
+		public void onMovedToScrapHeap(View view) {
+			if (mAdapter instanceof AbsListView.RecyclerListener) {
+				((AbsListView.RecyclerListener) mAdapter).onMovedToScrapHeap(view);
+			}
+			if (mRecyclerListener != null) {
+				mRecyclerListener.onMovedToScrapHeap(view);
+			}
+		}
+
+		/**
+		 */
+		@Override
+		public void onItemRangeChanged(int position, int count) {
+			final BaseAdapter adapter = (BaseAdapter) mAdapter;
+			if (!isViewCreated() || mAdapterView == null || mAdapterView.getAdapter() == null) {
+				adapter.notifyDataSetChanged();
+				return;
+			}
+			final int firstPosition = mAdapterView.getFirstVisiblePosition() - headersCount(mAdapterView);
+			for (int i = 0; i < mAdapterView.getChildCount(); i++) {
+				final int itemPosition = firstPosition + i;
+				if (itemPosition < position || itemPosition >= position + count) {
+					continue;
+				}
+				final int boundIndex = itemPosition - mBoundPosition;
+				if (boundIndex < 0 || boundIndex >= mBoundCount || mBoundViewTypes[boundIndex] != adapter.getItemViewType(itemPosition)) {
+					// Row has been bound with another view type (or it is not known with which one),
+					// so it needs to be created again by the adapter view.
+					notifyDataSetChanged(adapter);
+					return;
+				}
+				final View child = mAdapterView.getChildAt(i);
+				if (adapter.getView(itemPosition, child, mAdapterView) != child) {
+					// Adapter does not rebind its views, so whole data set needs to be presented again.
+					notifyDataSetChanged(adapter);
+					return;
+				}
+			}
+		}
+
+		/**
+		 * Records view types of the rows just laid out by the adapter view.
+		 *
+		 * @param position Adapter position of the first visible row, may be negative if there are
+		 *                 visible header views.
+		 * @param count    Count of the visible rows.
+		 */
+		private void recordBoundViewTypes(int position, int count) {
+			if (mBoundViewTypes.length < count) {
+				this.mBoundViewTypes = new int[count];
+			}
+			final int itemCount = mAdapter.getCount();
+			for (int i = 0; i < count; i++) {
+				final int itemPosition = position + i;
+				mBoundViewTypes[i] = itemPosition >= 0 && itemPosition < itemCount ?
+						mAdapter.getItemViewType(itemPosition) :
+						AdapterView.ITEM_VIEW_TYPE_IGNORE;
+			}
+			this.mBoundPosition = position;
+			this.mBoundCount = count;
+		}
+
+		/**
+		 * Notifies change of the whole data set of the given adapter. Recorded view types are no more
+		 * valid until the adapter view lays out its rows again.
+		 */
+		private void notifyDataSetChanged(BaseAdapter adapter) {
+			this.mBoundCount = 0;
+			adapter.notifyDataSetChanged();
+		}
+
+		/**
+		 * Returns the count of header views of the given adapter view.
+		 */
+		private int headersCount(AdapterView<?> adapterView) {
+			return adapterView instanceof ListView ? ((ListView) adapterView).getHeaderViewsCount() : 0;
+		}
+	}
+
 	/**
 	 * <h4>Class Overview</h4>
 	 * todo: description
@@ -0,0 +1,138 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * <h4>Class Overview</h4>
+ * Executor running tasks on a fixed count of daemon threads, which are created lazily when the first
+ * task is executed, so a component which never executes anything does not hold any threads. Results
+ * of the tasks should be delivered to the main thread via {@link #getMainHandler()}.
+ *
+ * @author Martin Albedinsky
+ */
+final class BackgroundExecutor {
+
+	/**
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Name of threads of this executor.
+	 */
+	private final String mThreadName;
+
+	/**
+	 * Count of threads of this executor.
+	 */
+	private final int mThreadCount;
+
+	/**
+	 * Wrapped executor, created lazily.
+	 */
+	private ExecutorService mExecutor;
+
+	/**
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of BackgroundExecutor with the given count of threads.
+	 *
+	 * @param threadName  Name for the threads.
+	 * @param threadCount Count of the threads.
+	 */
+	BackgroundExecutor(@NonNull String threadName, int threadCount) {
+		this.mThreadName = threadName;
+		this.mThreadCount = threadCount;
+	}
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Returns the handler attached to the main thread, shared by all executors.
+	 */
+	@NonNull
+	static Handler getMainHandler() {
+		return MainHandlerHolder.HANDLER;
+	}
+
+	/**
+	 * Executes the given task on one of threads of this executor.
+	 */
+	void execute(@NonNull Runnable task) {
+		obtainExecutor().execute(task);
+	}
+
+	/**
+	 * Same as {@link #execute(Runnable)}, but returns future allowing to cancel the given task.
+	 */
+	@NonNull
+	Future<?> submit(@NonNull Runnable task) {
+		return obtainExecutor().submit(task);
+	}
+
+	/**
+	 * Returns the wrapped executor, creates it if it has not been created yet.
+	 */
+	private synchronized ExecutorService obtainExecutor() {
+		if (mExecutor == null) {
+			final ThreadFactory threadFactory = new ThreadFactory() {
+
+				/**
+				 */
+				@Override
+				public Thread newThread(@NonNull Runnable runnable) {
+					final Thread thread = new Thread(runnable, mThreadName);
+					thread.setDaemon(true);
+					return thread;
+				}
+			};
+			this.mExecutor = mThreadCount == 1 ?
+					Executors.newSingleThreadExecutor(threadFactory) :
+					Executors.newFixedThreadPool(mThreadCount, threadFactory);
+		}
+		return mExecutor;
+	}
+
+	/**
+	 * Inner classes ===============================================================================
+	 */
+
+	/**
+	 * Holder of the main handler, so it is created when it is first requested.
+	 */
+	private static final class MainHandlerHolder {
+
+		/**
+		 * Handler attached to the main thread.
+		 */
+		static final Handler HANDLER = new Handler(Looper.getMainLooper());
+	}
+}
@@ -18,26 +18,42 @@
  */
 package com.wit.android.fragment;
 
+import android.animation.Animator;
+import android.animation.AnimatorInflater;
 import android.app.Activity;
 import android.app.Fragment;
+import android.content.Context;
+import android.content.res.Resources;
+import android.content.res.XmlResourceParser;
 import android.os.Bundle;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.annotation.StringRes;
-import android.app.Fragment;
+import android.util.AttributeSet;
+import android.util.Log;
+import android.util.SparseBooleanArray;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
+import android.widget.FrameLayout;
 
-import com.wit.android.fragment.annotation.ClickableViews;
 import com.wit.android.fragment.annotation.ContentView;
-import com.wit.android.fragment.annotation.InjectView;
-import com.wit.android.fragment.annotation.InjectViews;
+import com.wit.android.fragment.manage.FragmentTransition;
+import com.wit.android.fragment.manage.TransactionTracer;
+import com.wit.android.fragment.manage.TransactionTracing;
+import com.wit.android.fragment.manage.TransitionPlayback;
+import com.wit.android.fragment.util.ClickDispatcher;
 import com.wit.android.fragment.util.FragmentAnnotations;
+import com.wit.android.fragment.util.FragmentConstructors;
+import com.wit.android.fragment.util.ViewInjector;
+
+import org.xmlpull.v1.XmlPullParser;
+import org.xmlpull.v1.XmlPullParserException;
 
+import java.io.IOException;
 import java.lang.reflect.Field;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.Future;
 
 /**
  * <h4>Class Overview</h4>
@@ -49,6 +65,8 @@ import java.util.List;
  * If this annotation is presented, the layout id presented within this annotation will be used to
  * inflate the root view for an instance of annotated BaseFragment sub-class in
  * {@link #onCreateView(android.view.LayoutInflater, android.view.ViewGroup, android.os.Bundle)}.
+ * If {@link com.wit.android.fragment.annotation.ContentView#async() @ContentView.async()} is
+ * <code>true</code>, the layout is inflated on a background thread, see {@link #onContentViewCreated(android.view.View)}.
  * </p>
  * <li>{@link com.wit.android.fragment.annotation.ClickableViews @ClickableViews} [<b>class - inherited</b>]</li>
  * <p>
@@ -59,6 +77,12 @@ import java.util.List;
  * OnClickListener is attached to these views whenever {@link #onViewCreated(android.view.View, android.os.Bundle)}
  * is called.
  * </p>
+ * <li>{@link com.wit.android.fragment.annotation.OnViewClick @OnViewClick} [<b>method - recursive</b>]</li>
+ * <p>
+ * OnClickListener is attached to all views with ids presented within this annotation and their
+ * clicks are dispatched directly to the annotated methods, before {@link #onViewClick(android.view.View, int)}
+ * is invoked. Methods of sub-classes take precedence.
+ * </p>
  * <li>{@link com.wit.android.fragment.annotation.InjectView @InjectView} [<b>member - recursive</b>]</li>
  * <li>{@link com.wit.android.fragment.annotation.InjectView.Last @InjectView.Last} [<b>member - recursive</b>]</li>
  * <p>
@@ -89,12 +113,12 @@ public abstract class BaseFragment extends Fragment implements BackPressWatcher,
 	/**
 	 * Log TAG.
 	 */
-	// private static final String TAG = "BaseFragment";
+	private static final String TAG = "BaseFragment";
 
 	/**
 	 * Flag indicating whether the debug output trough log-cat is enabled or not.
 	 */
-	// private static final boolean DEBUG_ENABLED = true;
+	private static final boolean DEBUG_ENABLED = FragmentsConfig.LIBRARY_DEBUG_LOG_ENABLED;
 
 	/**
 	 * Flag indicating whether the output trough log-cat is enabled or not.
@@ -116,6 +140,22 @@ public abstract class BaseFragment extends Fragment implements BackPressWatcher,
 	 * Static members ==============================================================================
 	 */
 
+	/**
+	 * Executor used to inflate content views asynchronously.
+	 */
+	private static final BackgroundExecutor INFLATION_EXECUTOR = new BackgroundExecutor("BaseFragment-Inflater", 1);
+
+	/**
+	 * Layouts already checked for inflation on the background thread mapped to flag indicating
+	 * whether they need to be inflated on the main thread, see {@link #isBackgroundInflatable(android.content.res.Resources, int)}.
+	 */
+	private static final SparseBooleanArray MAIN_THREAD_LAYOUTS = new SparseBooleanArray();
+
+	/**
+	 * Packages of framework views which may be created on the background thread.
+	 */
+	private static final String[] BACKGROUND_VIEW_PACKAGES = {"android.widget.", "android.view."};
+
 	/**
 	 * Members =====================================================================================
 	 */
@@ -132,22 +172,28 @@ public abstract class BaseFragment extends Fragment implements BackPressWatcher,
 	int mPrivateFlags;
 
 	/**
-	 * Content view annotation holding configuration for the root view of this fragment.
+	 * Metadata resolved from annotations of this fragment's class. These are shared by all instances
+	 * of the same fragment class.
 	 */
-	private ContentView mContentView;
+	FragmentMetadata mMetadata;
 
 	/**
-	 * Array with ids of views to which should be attached instance of {@link android.view.View.OnClickListener}.
-	 * When one of these views is clicked, {@link #onViewClick(android.view.View, int)} is invoked to
-	 * handle click event.
+	 * Time (in nanoseconds) from which is measured the time to the first draw of this fragment's view.
+	 * This is either the commit time of transaction which showed this fragment or the time when
+	 * creation of the view started. Used only when transaction tracing is enabled.
 	 */
-	private List<Integer> mClickableViewIds;
+	private long mTraceStartTime;
 
 	/**
-	 * Array with gathered view fields which should be injected to this fragment whenever the new
-	 * root view hierarchy is created for this fragment instance.
+	 * Asynchronous inflation of the content view which is currently in progress, <code>null</code>
+	 * if there is none.
 	 */
-	private List<Field> mViewsToInject;
+	private AsyncInflation mAsyncInflation;
+
+	/**
+	 * Listener attached to all clickable views of this fragment, created once per fragment instance.
+	 */
+	private ClickListener mClickListener;
 
 	/**
 	 * Constructors ================================================================================
@@ -185,10 +231,10 @@ public abstract class BaseFragment extends Fragment implements BackPressWatcher,
 	@Nullable
 	public static <F extends Fragment> F newInstanceWithArguments(@NonNull Class<F> classOfFragment, @Nullable Bundle args) {
 		try {
-			final F fragment = classOfFragment.newInstance();
+			final F fragment = FragmentConstructors.newInstance(FragmentConstructors.obtainConstructor(classOfFragment));
 			fragment.setArguments(args);
 			return fragment;
-		} catch (java.lang.InstantiationException | IllegalAccessException e) {
+		} catch (java.lang.InstantiationException | NoSuchMethodException e) {
 			e.printStackTrace();
 		}
 		return null;
@@ -200,6 +246,13 @@ public abstract class BaseFragment extends Fragment implements BackPressWatcher,
 	public void onAttach(Activity activity) {
 		super.onAttach(activity);
 		this.mActivity = activity;
+		if (TransactionTracing.isEnabled()) {
+			final long commitTime = TransactionTracing.takeCommitTime(this);
+			if (commitTime != 0) {
+				TransactionTracing.trace(getTag(), TransactionTracer.PHASE_COMMIT_TO_EXECUTE, System.nanoTime() - commitTime);
+			}
+			this.mTraceStartTime = commitTime;
+		}
 	}
 
 	/**
@@ -215,12 +268,35 @@ public abstract class BaseFragment extends Fragment implements BackPressWatcher,
 	 */
 	@Override
 	public View onCreateView(LayoutInflater inflater, ViewGroup container, Bundle savedInstanceState) {
-		if (mContentView != null) {
-			if (mContentView.attachToRoot()) {
-				inflater.inflate(mContentView.value(), container, true);
-				return null;
+		final ContentView contentView = mMetadata.contentView;
+		if (contentView != null) {
+			final long start = TransactionTracing.isEnabled() ? System.nanoTime() : 0;
+			if (start != 0 && mTraceStartTime == 0) {
+				this.mTraceStartTime = start;
+			}
+			if (contentView.async() && !contentView.attachToRoot() && supportsAsyncInflation() && !isMainThreadLayout(contentView.value())) {
+				final FrameLayout layout = new FrameLayout(inflater.getContext());
+				layout.setLayoutParams(new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT));
+				final View placeholder = onCreateContentPlaceholder(inflater, layout);
+				if (placeholder != null) {
+					layout.addView(placeholder);
+				}
+				this.mAsyncInflation = new AsyncInflation(inflater, contentView.value(), layout, start);
+				mAsyncInflation.start();
+				return layout;
+			}
+			View view = null;
+			if (contentView.attachToRoot()) {
+				inflater.inflate(contentView.value(), container, true);
+			} else if (contentView.recycle() && (view = LayoutRecycler.getInstance().obtain(contentView.value(), inflater.getContext())) != null) {
+				onResetRecycledView(view);
+			} else {
+				view = inflater.inflate(contentView.value(), container, false);
+			}
+			if (start != 0) {
+				TransactionTracing.trace(getTag(), TransactionTracer.PHASE_INFLATE_VIEW, System.nanoTime() - start);
 			}
-			return inflater.inflate(mContentView.value(), container, false);
+			return view;
 		}
 		return super.onCreateView(inflater, container, savedInstanceState);
 	}
@@ -230,29 +306,11 @@ public abstract class BaseFragment extends Fragment implements BackPressWatcher,
 	@Override
 	public void onViewCreated(View view, Bundle savedInstanceState) {
 		super.onViewCreated(view, savedInstanceState);
-		// Resolve view background.
-		if (mContentView != null) {
-			if (mContentView.backgroundRes() >= 0) {
-				view.setBackgroundResource(mContentView.backgroundRes());
-			}
-		}
-		// Set up clickable views.
-		final ClickListener clickListener = new ClickListener();
-		if (mClickableViewIds != null) {
-			for (int id : mClickableViewIds) {
-				View child = view.findViewById(id);
-				if (child == null) {
-					throw new NullPointerException("Clickable view with id(" + id + ") not found.");
-				}
-				child.setOnClickListener(clickListener);
-			}
-		}
-
-		if (mViewsToInject != null) {
-			for (Field field : mViewsToInject) {
-				FragmentAnnotations.injectView(field, this, view, clickListener);
-			}
+		if (mAsyncInflation != null && mAsyncInflation.layout == view) {
+			// Content view will be bound when it is inflated.
+			return;
 		}
+		this.bindContentView(view);
 	}
 
 	/**
@@ -260,6 +318,15 @@ public abstract class BaseFragment extends Fragment implements BackPressWatcher,
 	@Override
 	public void onDestroyView() {
 		super.onDestroyView();
+		if (mAsyncInflation != null) {
+			mAsyncInflation.cancel();
+			this.mAsyncInflation = null;
+		}
+		final ContentView contentView = mMetadata.contentView;
+		final View view = getView();
+		if (contentView != null && contentView.recycle() && !contentView.attachToRoot() && !contentView.async() && view != null) {
+			LayoutRecycler.getInstance().recycle(contentView.value(), view);
+		}
 		this.updatePrivateFlags(PFLAG_VIEW_RESTORED, true);
 	}
 
@@ -276,9 +343,33 @@ public abstract class BaseFragment extends Fragment implements BackPressWatcher,
 	@Override
 	public void onDetach() {
 		super.onDetach();
+		if (mActivity != null && (mActivity.isFinishing() || mActivity.isChangingConfigurations())) {
+			// Do not let recycled views leak the activity.
+			LayoutRecycler.getInstance().evict(mActivity);
+		}
 		this.mActivity = null;
 	}
 
+	/**
+	 * Creates the animator for the transition of this fragment and attaches it to
+	 * {@link com.wit.android.fragment.manage.TransitionPlayback}, so the view of this fragment is
+	 * animated within a hardware layer and frames of the transition are recorded. Animators of
+	 * {@link com.wit.android.fragment.manage.FragmentTransition FragmentTransitions} are cloned from
+	 * the cached templates, any other animators are inflated within the activity of this fragment.
+	 */
+	@Override
+	public Animator onCreateAnimator(int transit, boolean enter, int nextAnim) {
+		if (nextAnim == 0 || mActivity == null) {
+			return super.onCreateAnimator(transit, enter, nextAnim);
+		}
+		final long start = System.nanoTime();
+		final Animator animator = FragmentTransition.isTransitionAnimator(nextAnim) ?
+				FragmentTransition.createAnimator(mActivity, nextAnim) :
+				AnimatorInflater.loadAnimator(mActivity, nextAnim);
+		TransitionPlayback.attach(animator, this, nextAnim, System.nanoTime() - start);
+		return animator;
+	}
+
 	/**
 	 */
 	@Override
@@ -290,6 +381,14 @@ public abstract class BaseFragment extends Fragment implements BackPressWatcher,
 	 */
 	@Override
 	public boolean dispatchViewClick(View view) {
+		final ClickDispatcher<Object>[] dispatchers = mMetadata.clickDispatchers;
+		if (dispatchers != null) {
+			for (ClickDispatcher<Object> dispatcher : dispatchers) {
+				if (dispatcher.dispatchClick(this, view)) {
+					return true;
+				}
+			}
+		}
 		return onViewClick(view, view.getId());
 	}
 
@@ -395,6 +494,47 @@ public abstract class BaseFragment extends Fragment implements BackPressWatcher,
 		return false;
 	}
 
+	/**
+	 * Invoked to create a placeholder showed instead of the content view specified by
+	 * {@link com.wit.android.fragment.annotation.ContentView @ContentView} until it is inflated
+	 * asynchronously.
+	 *
+	 * @param inflater Inflater used to inflate the placeholder.
+	 * @param layout   Layout to which will be the placeholder added.
+	 * @return Placeholder view or <code>null</code> to show an empty layout.
+	 */
+	@Nullable
+	protected View onCreateContentPlaceholder(@NonNull LayoutInflater inflater, @NonNull ViewGroup layout) {
+		return null;
+	}
+
+	/**
+	 * Invoked whenever the content view specified by {@link com.wit.android.fragment.annotation.ContentView @ContentView}
+	 * with {@link com.wit.android.fragment.annotation.ContentView#recycle() recycling} requested
+	 * is reused from {@link LayoutRecycler} instead of being inflated. This is the place to reset
+	 * state left in the view hierarchy by the previous fragment, like texts or scroll positions.
+	 *
+	 * @param view The reused content view.
+	 */
+	protected void onResetRecycledView(@NonNull View view) {
+	}
+
+	/**
+	 * Invoked whenever the content view specified by {@link com.wit.android.fragment.annotation.ContentView @ContentView}
+	 * is created and all views of this fragment are injected and clickable views set up. For synchronous
+	 * inflation this is called from {@link #onViewCreated(android.view.View, android.os.Bundle)},
+	 * for {@link com.wit.android.fragment.annotation.ContentView#async() asynchronous} inflation
+	 * after the inflated view has been swapped with the placeholder, so this is the place to set up
+	 * views of such a fragment.
+	 * <p/>
+	 * <b>Note</b>, that the hierarchy state of an asynchronously inflated view is not restored
+	 * by the framework.
+	 *
+	 * @param contentView The created content view.
+	 */
+	protected void onContentViewCreated(@NonNull View contentView) {
+	}
+
 	/**
 	 * Returns flag indicating whether the parent Activity of this fragment instance is available or not.
 	 * <p/>
@@ -408,35 +548,23 @@ public abstract class BaseFragment extends Fragment implements BackPressWatcher,
 	}
 
 	/**
-	 * Called to process all annotations of the specified <var>classOfFragment</var>.
+	 * Called to process all annotations of the specified <var>classOfFragment</var>. Annotations are
+	 * resolved only once per class of fragment, see {@link FragmentMetadata#obtain(Class)}.
 	 *
 	 * @param classOfFragment The class of which annotations to process.
 	 */
 	void processClassAnnotations(Class<?> classOfFragment) {
-		// Obtain content view.
-		this.mContentView = FragmentAnnotations.obtainAnnotationFrom(classOfFragment, ContentView.class, BaseFragment.class);
-		// Obtain clickable view ids.
-		// Note, that we will gather ids from all annotated class to this parent.
-		this.mClickableViewIds = this.gatherClickableViewIds(classOfFragment, new ArrayList<Integer>());
-		if (mClickableViewIds.isEmpty()) {
-			this.mClickableViewIds = null;
-		}
-		// Store all fields to inject as views.
-		this.mViewsToInject = new ArrayList<>();
-		this.iterateInjectableViewFields(classOfFragment, new FragmentAnnotations.FieldProcessor() {
+		this.mMetadata = FragmentMetadata.obtain(classOfFragment);
+	}
 
-			/**
-			 */
-			@Override
-			public void onProcessField(@NonNull Field field, String name) {
-				if (field.isAnnotationPresent(InjectView.class) || field.isAnnotationPresent(InjectView.Last.class)) {
-					mViewsToInject.add(field);
-				}
-			}
-		});
-		if (mViewsToInject.isEmpty()) {
-			this.mViewsToInject = null;
-		}
+	/**
+	 * Returns flag indicating whether the content view of this fragment can be inflated asynchronously
+	 * if requested by {@link com.wit.android.fragment.annotation.ContentView#async() @ContentView.async()}.
+	 * Fragments which need their content view already in {@link #onViewCreated(android.view.View, android.os.Bundle)}
+	 * return <code>false</code>.
+	 */
+	boolean supportsAsyncInflation() {
+		return true;
 	}
 
 	/**
@@ -444,60 +572,172 @@ public abstract class BaseFragment extends Fragment implements BackPressWatcher,
 	 */
 
 	/**
-	 * Gathers all ids presented within ClickableViews annotation. Note, that this is recursive method,
-	 * which will gather all ids from {@link com.wit.android.fragment.annotation.ClickableViews}
-	 * annotation presented above the given <var>classOfFragment</var>.
-	 *
-	 * @param classOfFragment Class of fragment where to check ClickableViews annotation.
-	 * @param ids             List of already gathered ids.
-	 * @return List of all gathered clickable view's ids.
-	 */
-	private List<Integer> gatherClickableViewIds(Class<?> classOfFragment, List<Integer> ids) {
-		if (classOfFragment.isAnnotationPresent(ClickableViews.class)) {
-			final ClickableViews clickableViews = classOfFragment.getAnnotation(ClickableViews.class);
-			if (clickableViews.value().length > 0) {
-				ids.addAll(idsToList(clickableViews.value()));
-			}
+	 * Checks whether the layout with the given resource id has already been found to be inflated
+	 * on the main thread.
+	 */
+	private static boolean isMainThreadLayout(int layoutRes) {
+		synchronized (MAIN_THREAD_LAYOUTS) {
+			return MAIN_THREAD_LAYOUTS.get(layoutRes);
+		}
+	}
+
+	/**
+	 * Marks the layout with the given resource id to be inflated on the main thread or on the
+	 * background thread.
+	 */
+	private static void setMainThreadLayout(int layoutRes, boolean mainThread) {
+		synchronized (MAIN_THREAD_LAYOUTS) {
+			MAIN_THREAD_LAYOUTS.put(layoutRes, mainThread);
 		}
-		// Obtain also ids of super class, but only to this BaseFragment super.
-		final Class<?> superOfFragment = classOfFragment.getSuperclass();
-		if (superOfFragment != null && !superOfFragment.equals(BaseFragment.class)) {
-			gatherClickableViewIds(superOfFragment, ids);
+	}
+
+	/**
+	 * Checks whether the layout with the given resource id has been already checked for inflation
+	 * on the background thread.
+	 */
+	private static boolean isCheckedLayout(int layoutRes) {
+		synchronized (MAIN_THREAD_LAYOUTS) {
+			return MAIN_THREAD_LAYOUTS.indexOfKey(layoutRes) >= 0;
 		}
-		return ids;
 	}
 
 	/**
-	 * Iterates all declared fields of the given <var>classOfFragment</var> using
-	 * {@link FragmentAnnotations#iterateFields(Class, FragmentAnnotations.FieldProcessor)} utility
-	 * method passing it the given <var>fieldProcessor</var> and classOfFragment.
+	 * Checks whether all tags of the layout with the given resource id, including its included layouts,
+	 * are framework views which may be created on the background thread, see {@link #BACKGROUND_VIEW_PACKAGES}.
 	 *
-	 * @param classOfFragment Class of which fields to iterate.
-	 * @param fieldProcessor  Field processor to handle fields iteration.
+	 * @param resources Resources used to parse the layout.
+	 * @param layoutRes Resource id of the layout to check.
+	 * @return <code>True</code> if the layout may be inflated on the background thread, <code>false</code>
+	 * if it contains any other tag, like a custom view or {@code <fragment>}.
+	 */
+	private static boolean isBackgroundInflatable(Resources resources, int layoutRes) {
+		XmlResourceParser parser = null;
+		try {
+			parser = resources.getLayout(layoutRes);
+			int type;
+			while ((type = parser.next()) != XmlPullParser.END_DOCUMENT) {
+				if (type != XmlPullParser.START_TAG) {
+					continue;
+				}
+				final String name = parser.getName();
+				switch (name) {
+					case "merge":
+					case "requestFocus":
+					case "tag":
+						break;
+					case "include":
+						final int includedRes = parser.getAttributeResourceValue(null, "layout", 0);
+						if (includedRes == 0 || !isBackgroundInflatable(resources, includedRes)) {
+							return false;
+						}
+						break;
+					default:
+						if (!isBackgroundView(name)) {
+							return false;
+						}
+				}
+			}
+			return true;
+		} catch (XmlPullParserException | IOException | Resources.NotFoundException e) {
+			return false;
+		} finally {
+			if (parser != null) {
+				parser.close();
+			}
+		}
+	}
+
+	/**
+	 * Checks whether the view with the given tag <var>name</var> is a framework view from one of
+	 * {@link #BACKGROUND_VIEW_PACKAGES}.
 	 */
-	private void iterateInjectableViewFields(Class<?> classOfFragment, FragmentAnnotations.FieldProcessor fieldProcessor) {
-		if (classOfFragment.isAnnotationPresent(InjectViews.class)) {
-			FragmentAnnotations.iterateFields(classOfFragment, fieldProcessor);
+	private static boolean isBackgroundView(String name) {
+		if (name.indexOf('.') >= 0) {
+			for (String viewPackage : BACKGROUND_VIEW_PACKAGES) {
+				if (name.startsWith(viewPackage) && name.indexOf('.', viewPackage.length()) < 0) {
+					return true;
+				}
+			}
+			return false;
 		}
-		// Iterate also fields of super class, but only to this BaseFragment super.
-		final Class<?> superOfFragment = classOfFragment.getSuperclass();
-		if (superOfFragment != null && !superOfFragment.equals(BaseFragment.class)) {
-			iterateInjectableViewFields(superOfFragment, fieldProcessor);
+		final ClassLoader classLoader = View.class.getClassLoader();
+		for (String viewPackage : BACKGROUND_VIEW_PACKAGES) {
+			try {
+				Class.forName(viewPackage + name, false, classLoader);
+				return true;
+			} catch (ClassNotFoundException e) {
+				// Try the next package.
+			}
 		}
+		return false;
 	}
 
 	/**
-	 * Converts the given <var>ids</var> array to list.
+	 * Sets up the given content <var>view</var> according to the annotations of this fragment's class,
+	 * injects views and sets up clickable views.
 	 *
-	 * @param ids The array of ids to convert.
-	 * @return Converted list of ids.
+	 * @param view The content view of this fragment.
 	 */
-	private List<Integer> idsToList(int[] ids) {
-		final List<Integer> idsList = new ArrayList<>(ids.length);
-		for (int id : ids) {
-			idsList.add(id);
+	private void bindContentView(View view) {
+		// Resolve view background.
+		if (mMetadata.contentView != null) {
+			if (mMetadata.contentView.backgroundRes() >= 0) {
+				view.setBackgroundResource(mMetadata.contentView.backgroundRes());
+			}
+		}
+		final long start = TransactionTracing.isEnabled() ? System.nanoTime() : 0;
+		// Set up clickable views.
+		if (mClickListener == null) {
+			this.mClickListener = new ClickListener();
+		}
+		final ClickListener clickListener = mClickListener;
+		if (mMetadata.clickDispatchIds != null) {
+			for (int id : mMetadata.clickDispatchIds) {
+				final View child = view.findViewById(id);
+				if (child == null) {
+					throw new NullPointerException("View with id(" + id + ") to handle clicks by @OnViewClick method not found.");
+				}
+				child.setOnClickListener(clickListener);
+			}
+		}
+		if (FragmentsConfig.SINGLE_PASS_VIEW_BINDING) {
+			// Bind clickable views and views to inject, also those of the generated view injectors,
+			// by a single traversal of the view hierarchy.
+			if (mMetadata.viewBindings != null) {
+				mMetadata.viewBindings.bind(this, view, clickListener);
+			}
+		} else {
+			if (mMetadata.viewInjectors != null) {
+				for (ViewInjector<Object> injector : mMetadata.viewInjectors) {
+					injector.attachClickableViews(view, clickListener);
+					injector.injectViews(this, view, clickListener);
+				}
+			}
+			if (mMetadata.clickableViewIds != null) {
+				for (int id : mMetadata.clickableViewIds) {
+					View child = view.findViewById(id);
+					if (child == null) {
+						throw new NullPointerException("Clickable view with id(" + id + ") not found.");
+					}
+					child.setOnClickListener(clickListener);
+				}
+			}
+			if (mMetadata.viewsToInject != null) {
+				for (Field field : mMetadata.viewsToInject) {
+					FragmentAnnotations.injectView(field, this, view, clickListener);
+				}
+			}
+		}
+		if (start != 0) {
+			TransactionTracing.trace(getTag(), TransactionTracer.PHASE_INJECT_VIEWS, System.nanoTime() - start);
+			if (mTraceStartTime == 0) {
+				this.mTraceStartTime = start;
+			}
+			view.getViewTreeObserver().addOnPreDrawListener(new FirstDrawListener(view));
+		}
+		if (mMetadata.contentView != null) {
+			onContentViewCreated(view);
 		}
-		return idsList;
 	}
 
 	/**
@@ -541,4 +781,216 @@ public abstract class BaseFragment extends Fragment implements BackPressWatcher,
 			dispatchViewClick(view);
 		}
 	}
+
+	/**
+	 * Inflation of the content view on a background thread. The inflated view is delivered to the
+	 * main thread, where it is swapped with the placeholder of the layout, unless this inflation
+	 * has been cancelled in the meantime.
+	 */
+	private final class AsyncInflation implements Runnable {
+
+		/**
+		 * Inflater of this fragment, used to inflate the content view on the main thread if the
+		 * background inflation fails.
+		 */
+		final LayoutInflater inflater;
+
+		/**
+		 * Inflater without any factories used to inflate the content view on the background thread.
+		 */
+		final LayoutInflater backgroundInflater;
+
+		/**
+		 * Resource id of the layout to inflate.
+		 */
+		final int layoutRes;
+
+		/**
+		 * Layout holding the placeholder, into which is the content view swapped.
+		 */
+		final FrameLayout layout;
+
+		/**
+		 * Time when the inflation has been requested, if tracing is enabled, <code>0</code> otherwise.
+		 */
+		final long traceStartTime;
+
+		/**
+		 * Flag indicating whether this inflation has been cancelled.
+		 */
+		volatile boolean cancelled;
+
+		/**
+		 * Result of the inflation, <code>null</code> if it failed.
+		 */
+		View view;
+
+		/**
+		 * Future of the background inflation.
+		 */
+		Future<?> future;
+
+		/**
+		 * Task delivering the inflated view on the main thread.
+		 */
+		final Runnable delivery = new Runnable() {
+
+			/**
+			 */
+			@Override
+			public void run() {
+				deliver();
+			}
+		};
+
+		/**
+		 * Creates a new instance of AsyncInflation with the given parameters.
+		 */
+		AsyncInflation(LayoutInflater inflater, int layoutRes, FrameLayout layout, long traceStartTime) {
+			this.inflater = inflater;
+			this.backgroundInflater = new PlainInflater(inflater.getContext());
+			this.layoutRes = layoutRes;
+			this.layout = layout;
+			this.traceStartTime = traceStartTime;
+		}
+
+		/**
+		 * Starts inflation on the background thread.
+		 */
+		void start() {
+			this.future = INFLATION_EXECUTOR.submit(this);
+		}
+
+		/**
+		 */
+		@Override
+		public void run() {
+			if (cancelled) {
+				return;
+			}
+			if (!isCheckedLayout(layoutRes)) {
+				setMainThreadLayout(layoutRes, !isBackgroundInflatable(backgroundInflater.getContext().getResources(), layoutRes));
+			}
+			// Custom views are never created on the background thread, such a layout is inflated
+			// on the main thread when delivered.
+			if (!isMainThreadLayout(layoutRes)) {
+				try {
+					this.view = backgroundInflater.inflate(layoutRes, layout, false);
+				} catch (RuntimeException e) {
+					setMainThreadLayout(layoutRes, true);
+					if (FragmentsConfig.LIBRARY_DEBUG_LOG_COMPILED && DEBUG_ENABLED) {
+						Log.d(TAG, "Failed to inflate layout on background thread. Inflating on main thread.", e);
+					}
+				}
+			}
+			if (!cancelled) {
+				BackgroundExecutor.getMainHandler().post(delivery);
+			}
+		}
+
+		/**
+		 * Swaps the inflated view with the placeholder and binds it, if not cancelled.
+		 */
+		void deliver() {
+			if (cancelled) {
+				return;
+			}
+			mAsyncInflation = null;
+			if (view == null) {
+				this.view = inflater.inflate(layoutRes, layout, false);
+			}
+			if (traceStartTime != 0) {
+				TransactionTracing.trace(getTag(), TransactionTracer.PHASE_INFLATE_VIEW, System.nanoTime() - traceStartTime);
+			}
+			layout.removeAllViews();
+			layout.addView(view);
+			bindContentView(view);
+		}
+
+		/**
+		 * Cancels this inflation, so the inflated view will not be delivered.
+		 */
+		void cancel() {
+			this.cancelled = true;
+			if (future != null) {
+				future.cancel(false);
+			}
+			BackgroundExecutor.getMainHandler().removeCallbacks(delivery);
+		}
+	}
+
+	/**
+	 * Inflater without any {@link android.view.LayoutInflater.Factory} or {@link android.view.LayoutInflater.Factory2},
+	 * so views are never created by the activity on the background thread. Creates only framework
+	 * views from {@link #BACKGROUND_VIEW_PACKAGES}, so for example {@link android.webkit.WebView} is
+	 * never created on the background thread.
+	 */
+	private static final class PlainInflater extends LayoutInflater {
+
+		/**
+		 * Creates a new instance of PlainInflater for the given <var>context</var>.
+		 */
+		PlainInflater(Context context) {
+			super(context);
+		}
+
+		/**
+		 */
+		@Override
+		public LayoutInflater cloneInContext(Context context) {
+			return new PlainInflater(context);
+		}
+
+		/**
+		 */
+		@Override
+		protected View onCreateView(String name, AttributeSet attrs) throws ClassNotFoundException {
+			for (String viewPackage : BACKGROUND_VIEW_PACKAGES) {
+				try {
+					final View view = createView(name, viewPackage, attrs);
+					if (view != null) {
+						return view;
+					}
+				} catch (ClassNotFoundException e) {
+					// Try the next package.
+				}
+			}
+			throw new ClassNotFoundException("No framework view(" + name + ") to be created on background thread.");
+		}
+	}
+
+	/**
+	 * Listener used to trace the first draw of this fragment's view.
+	 */
+	private final class FirstDrawListener implements ViewTreeObserver.OnPreDrawListener {
+
+		/**
+		 * The view of which first draw to trace.
+		 */
+		final View view;
+
+		/**
+		 * Creates a new instance of FirstDrawListener for the given <var>view</var>.
+		 *
+		 * @param view The view of which first draw to trace.
+		 */
+		FirstDrawListener(View view) {
+			this.view = view;
+		}
+
+		/**
+		 */
+		@Override
+		public boolean onPreDraw() {
+			final ViewTreeObserver observer = view.getViewTreeObserver();
+			if (observer.isAlive()) {
+				observer.removeOnPreDrawListener(this);
+			}
+			if (mTraceStartTime != 0) {
+				TransactionTracing.trace(getTag(), TransactionTracer.PHASE_FIRST_DRAW, System.nanoTime() - mTraceStartTime);
+				mTraceStartTime = 0;
+			}
+			return true;
+		}
+	}
 }
@@ -0,0 +1,182 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment;
+
+import android.support.annotation.NonNull;
+import android.util.Log;
+import android.view.View;
+
+import com.wit.android.fragment.annotation.OnViewClick;
+import com.wit.android.fragment.util.ClickDispatcher;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <h4>Class Overview</h4>
+ * Table of methods annotated with {@link OnViewClick @OnViewClick} declared by a specific class,
+ * used to dispatch clicks if there is no click dispatcher generated for such a class. Ids of views
+ * are stored within sorted array, so the method for a clicked view is matched by a simple binary
+ * search. The methods are resolved only once per class, but they are invoked using reflection.
+ * <p/>
+ * The methods are validated and invoked in the same way as by the dispatchers generated by the
+ * fragments annotation processor, so a click is not consumed only if the method returns <b>boolean</b>
+ * <code>false</code> and handling of a single view id by multiple methods is an error.
+ *
+ * @author Martin Albedinsky
+ * @see com.wit.android.fragment.util.FragmentAnnotations#obtainClickDispatcher(Class)
+ */
+final class ClickDispatchTable implements ClickDispatcher<Object> {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	private static final String TAG = "ClickDispatchTable";
+
+	/**
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Sorted ids of views of which clicks are dispatched.
+	 */
+	private final int[] mIds;
+
+	/**
+	 * Methods handling clicks of views with ids at the same indexes.
+	 */
+	private final Method[] mMethods;
+
+	/**
+	 * Flags indicating whether methods at the same indexes take the clicked view as parameter.
+	 */
+	private final boolean[] mWithView;
+
+	/**
+	 * Flags indicating whether methods at the same indexes return <b>boolean</b>.
+	 */
+	private final boolean[] mReturnsBoolean;
+
+	/**
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of ClickDispatchTable with the given sorted <var>ids</var> and methods
+	 * at the same indexes.
+	 */
+	private ClickDispatchTable(int[] ids, Method[] methods) {
+		this.mIds = ids;
+		this.mMethods = methods;
+		this.mWithView = new boolean[methods.length];
+		this.mReturnsBoolean = new boolean[methods.length];
+		for (int i = 0; i < methods.length; i++) {
+			mWithView[i] = methods[i].getParameterTypes().length == 1;
+			mReturnsBoolean[i] = methods[i].getReturnType() == boolean.class;
+		}
+	}
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Creates a new dispatch table for methods annotated with {@link OnViewClick @OnViewClick}
+	 * declared directly by the given <var>classOfContext</var>.
+	 *
+	 * @param classOfContext Class of which methods to gather.
+	 * @return Dispatch table or <code>null</code> if there are no annotated methods.
+	 * @throws IllegalStateException If some of the annotated methods has invalid parameters or
+	 *                               some view id is handled by multiple methods.
+	 */
+	static ClickDispatchTable create(Class<?> classOfContext) {
+		final Map<Integer, Method> methods = new TreeMap<>();
+		for (Method method : classOfContext.getDeclaredMethods()) {
+			final OnViewClick onViewClick = method.getAnnotation(OnViewClick.class);
+			if (onViewClick == null) {
+				continue;
+			}
+			final Class<?>[] parameters = method.getParameterTypes();
+			if (Modifier.isStatic(method.getModifiers()) ||
+					parameters.length > 1 || (parameters.length == 1 && !parameters[0].isAssignableFrom(View.class))) {
+				throw new IllegalStateException(
+						"Method(" + method.getName() + ") annotated with @OnViewClick must be an instance method with no parameters or with a single View parameter."
+				);
+			}
+			method.setAccessible(true);
+			for (int id : onViewClick.value()) {
+				if (methods.put(id, method) != null) {
+					throw new IllegalStateException(
+							"View id(" + id + ") is handled by multiple methods, method(" + method.getName() + ") is one of them."
+					);
+				}
+			}
+		}
+		if (methods.isEmpty()) {
+			return null;
+		}
+		final int[] ids = new int[methods.size()];
+		int i = 0;
+		for (Integer id : methods.keySet()) {
+			ids[i++] = id;
+		}
+		return new ClickDispatchTable(ids, methods.values().toArray(new Method[methods.size()]));
+	}
+
+	/**
+	 */
+	@NonNull
+	@Override
+	public int[] getViewIds() {
+		return mIds;
+	}
+
+	/**
+	 */
+	@Override
+	public boolean dispatchClick(@NonNull Object target, @NonNull View view) {
+		final int index = Arrays.binarySearch(mIds, view.getId());
+		if (index < 0) {
+			return false;
+		}
+		final Method method = mMethods[index];
+		try {
+			final Object result = mWithView[index] ? method.invoke(target, view) : method.invoke(target);
+			// Only primitive boolean results decide, the same as in the generated dispatchers.
+			return !mReturnsBoolean[index] || (Boolean) result;
+		} catch (IllegalAccessException e) {
+			Log.e(TAG, "Failed to dispatch click to method(" + method.getName() + ").", e);
+		} catch (InvocationTargetException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+		return false;
+	}
+}
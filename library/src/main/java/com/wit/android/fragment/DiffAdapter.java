@@ -0,0 +1,238 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.widget.BaseAdapter;
+
+import com.wit.android.fragment.util.ListDiff;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <h4>Class Overview</h4>
+ * Adapter which presents updates of its data set by the minimal set of changes. Whenever a new
+ * list of items is submitted by {@link #submitItems(java.util.List)}, the difference between the
+ * current and the new list is calculated by {@link ListDiff} on a background thread and only then
+ * the new list is presented:
+ * <ul>
+ * <li>if there are no changes, nothing is presented again,</li>
+ * <li>if only contents of some items have changed, only the visible rows of such items are bound
+ * again (when used by {@link AdapterFragment}),</li>
+ * <li>if some items have been inserted or removed, the whole data set is presented again, as
+ * {@link android.widget.AdapterView} does not support presenting of such changes partially.</li>
+ * </ul>
+ * If a newer list is submitted before the difference for an older one is calculated, the older
+ * one is dropped.
+ * <p/>
+ * All methods of this adapter are expected to be called on the main thread.
+ *
+ * @param <T> Type of the items of this adapter.
+ * @author Martin Albedinsky
+ */
+public abstract class DiffAdapter<T> extends BaseAdapter {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	private static final String TAG = "DiffAdapter";
+
+	/**
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Executor used to calculate differences for all diff adapters.
+	 */
+	private static final BackgroundExecutor EXECUTOR = new BackgroundExecutor(TAG, 1);
+
+	/**
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Callback used to compare items.
+	 */
+	private final ListDiff.ItemCallback<T> mCallback;
+
+	/**
+	 * Currently presented items.
+	 */
+	private List<T> mItems = Collections.emptyList();
+
+	/**
+	 * Generation of the last submitted list, used to drop differences calculated for older lists.
+	 */
+	private volatile int mGeneration;
+
+	/**
+	 * Count of submitted lists which were dropped as a newer list was submitted.
+	 */
+	private int mDroppedCount;
+
+	/**
+	 * Watcher to be notified about changed contents of items instead of notifying data set change.
+	 */
+	private ItemRangeWatcher mItemRangeWatcher;
+
+	/**
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of DiffAdapter.
+	 *
+	 * @param callback Callback used to compare items of the current and submitted lists.
+	 */
+	public DiffAdapter(@NonNull ListDiff.ItemCallback<T> callback) {
+		this.mCallback = callback;
+	}
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Public --------------------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Submits a new list of items to be presented by this adapter. The list is copied, so it can
+	 * be modified after this call.
+	 *
+	 * @param items The desired items. May be <code>null</code> to clear the data set.
+	 */
+	public void submitItems(@Nullable List<T> items) {
+		final List<T> newItems = items != null && !items.isEmpty() ?
+				Collections.unmodifiableList(new ArrayList<>(items)) :
+				Collections.<T>emptyList();
+		final int generation = ++mGeneration;
+		final List<T> oldItems = mItems;
+		if (oldItems.isEmpty() || newItems.isEmpty()) {
+			// Nothing to compare, whole data set will be presented anyway.
+			this.mItems = newItems;
+			notifyDataSetChanged();
+			return;
+		}
+		EXECUTOR.execute(new Runnable() {
+
+			/**
+			 */
+			@Override
+			public void run() {
+				if (generation != mGeneration) {
+					// Newer list submitted, its difference will be calculated instead.
+					return;
+				}
+				final ListDiff.Result result = ListDiff.calculate(oldItems, newItems, mCallback);
+				BackgroundExecutor.getMainHandler().post(new Runnable() {
+
+					/**
+					 */
+					@Override
+					public void run() {
+						if (generation == mGeneration) {
+							mItems = newItems;
+							dispatchResult(result);
+						} else {
+							mDroppedCount++;
+						}
+					}
+				});
+			}
+		});
+	}
+
+	/**
+	 * Returns the currently presented items.
+	 *
+	 * @return Unmodifiable list of items.
+	 */
+	@NonNull
+	public List<T> getItems() {
+		return mItems;
+	}
+
+	/**
+	 */
+	@Override
+	public int getCount() {
+		return mItems.size();
+	}
+
+	/**
+	 */
+	@Override
+	public T getItem(int position) {
+		return mItems.get(position);
+	}
+
+	/**
+	 */
+	@Override
+	public long getItemId(int position) {
+		return position;
+	}
+
+	/**
+	 * Getters + Setters ---------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Returns the count of submitted lists which were dropped before being presented, as a newer
+	 * list was submitted. Lists dropped before their difference calculation started are not counted.
+	 */
+	public int getDroppedCount() {
+		return mDroppedCount;
+	}
+
+	/**
+	 * Sets a watcher to be notified about changed contents of items instead of notifying data set change.
+	 */
+	void setItemRangeWatcher(ItemRangeWatcher watcher) {
+		this.mItemRangeWatcher = watcher;
+	}
+
+	/**
+	 * Private -------------------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Presents the given result of the difference calculation.
+	 */
+	private void dispatchResult(ListDiff.Result result) {
+		if (result.isEmpty()) {
+			return;
+		}
+		if (result.hasStructuralChanges() || mItemRangeWatcher == null) {
+			notifyDataSetChanged();
+			return;
+		}
+		for (ListDiff.Change change : result.getChanges()) {
+			mItemRangeWatcher.onItemRangeChanged(change.position, change.count);
+		}
+	}
+}
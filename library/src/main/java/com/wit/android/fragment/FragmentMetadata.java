@@ -0,0 +1,380 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment;
+
+import android.support.annotation.NonNull;
+
+import com.wit.android.fragment.annotation.ActionBarOptions;
+import com.wit.android.fragment.annotation.ActionModeOptions;
+import com.wit.android.fragment.annotation.AdapterViewOptions;
+import com.wit.android.fragment.annotation.ClickableViews;
+import com.wit.android.fragment.annotation.ContentView;
+import com.wit.android.fragment.annotation.InjectView;
+import com.wit.android.fragment.annotation.InjectViews;
+import com.wit.android.fragment.annotation.MenuOptions;
+import com.wit.android.fragment.annotation.WebContent;
+import com.wit.android.fragment.util.ClickDispatcher;
+import com.wit.android.fragment.util.FragmentAnnotations;
+import com.wit.android.fragment.util.ViewInjector;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <h4>Class Overview</h4>
+ * Immutable holder for all annotations and view injection data resolved for a specific class of
+ * {@link com.wit.android.fragment.BaseFragment BaseFragment}. Metadata are resolved only once per
+ * class of fragment and then cached for the whole process, so any further instantiation of the same
+ * fragment class (<i>like, after orientation change or restore from the back stack</i>) does not
+ * need to run any annotations processing.
+ *
+ * @author Martin Albedinsky
+ */
+public final class FragmentMetadata {
+
+	/**
+	 * Interface ===================================================================================
+	 */
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "FragmentMetadata";
+
+	/**
+	 * Flag indicating whether the debug output trough log-cat is enabled or not.
+	 */
+	// private static final boolean DEBUG_ENABLED = true;
+
+	/**
+	 * Flag indicating whether the output trough log-cat is enabled or not.
+	 */
+	// private static final boolean LOG_ENABLED = true;
+
+	/**
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Already resolved metadata mapped to classes of fragments.
+	 */
+	private static final ConcurrentHashMap<Class<?>, FragmentMetadata> CACHE = new ConcurrentHashMap<>();
+
+	/**
+	 * Count of requests for metadata which were already cached.
+	 */
+	private static final AtomicInteger HIT_COUNT = new AtomicInteger();
+
+	/**
+	 * Count of requests for metadata which needed to be resolved.
+	 */
+	private static final AtomicInteger MISS_COUNT = new AtomicInteger();
+
+	/**
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Class of fragment for which were these metadata resolved.
+	 */
+	final Class<?> classOfFragment;
+
+	/**
+	 * Content view annotation holding configuration for the root view of fragment.
+	 */
+	final ContentView contentView;
+
+	/**
+	 * Ids of views to which should be attached OnClickListener, <code>null</code> if there are none.
+	 */
+	final int[] clickableViewIds;
+
+	/**
+	 * Fields of views to be injected using reflection, <code>null</code> if there are none.
+	 */
+	final Field[] viewsToInject;
+
+	/**
+	 * Table of the clickable view ids, view fields to inject and ids bound by the generated view
+	 * injectors used to bind views in a single traversal, <code>null</code> if there are none.
+	 */
+	final ViewBindings viewBindings;
+
+	/**
+	 * View injectors generated for classes of fragment's hierarchy, <code>null</code> if there are none.
+	 */
+	final ViewInjector<Object>[] viewInjectors;
+
+	/**
+	 * Dispatchers of clicks to methods annotated with {@link com.wit.android.fragment.annotation.OnViewClick @OnViewClick}
+	 * of classes of fragment's hierarchy, starting with the fragment's class, <code>null</code> if
+	 * there are none.
+	 */
+	final ClickDispatcher<Object>[] clickDispatchers;
+
+	/**
+	 * Ids of views of which clicks are dispatched by {@link #clickDispatchers}, <code>null</code>
+	 * if there are none.
+	 */
+	final int[] clickDispatchIds;
+
+	/**
+	 * Action bar options, resolved only for {@link com.wit.android.fragment.ActionBarFragment ActionBarFragment}.
+	 */
+	final ActionBarOptions actionBarOptions;
+
+	/**
+	 * Menu options, resolved only for {@link com.wit.android.fragment.ActionBarFragment ActionBarFragment}.
+	 */
+	final MenuOptions menuOptions;
+
+	/**
+	 * Action mode options, resolved only for {@link com.wit.android.fragment.ActionBarFragment ActionBarFragment}.
+	 */
+	final ActionModeOptions actionModeOptions;
+
+	/**
+	 * Adapter view options, resolved only for {@link com.wit.android.fragment.AdapterFragment AdapterFragment}.
+	 */
+	final AdapterViewOptions adapterViewOptions;
+
+	/**
+	 * Web content, resolved only for {@link com.wit.android.fragment.WebFragment WebFragment}.
+	 */
+	final WebContent webContent;
+
+	/**
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of FragmentMetadata resolved from annotations of the given
+	 * <var>classOfFragment</var>.
+	 *
+	 * @param classOfFragment Class of fragment of which annotations to resolve.
+	 */
+	@SuppressWarnings("unchecked")
+	private FragmentMetadata(Class<?> classOfFragment) {
+		this.classOfFragment = classOfFragment;
+		this.contentView = FragmentAnnotations.obtainAnnotationFrom(classOfFragment, ContentView.class, BaseFragment.class);
+		// Gather clickable view ids, fields to inject and generated view injectors from all
+		// annotated classes to the BaseFragment parent.
+		final List<Integer> clickableViewIds = new ArrayList<>();
+		final List<Field> viewsToInject = new ArrayList<>();
+		final List<ViewInjector<Object>> viewInjectors = new ArrayList<>();
+		gatherViewAnnotations(classOfFragment, clickableViewIds, viewsToInject, viewInjectors);
+		this.clickableViewIds = idsToArray(clickableViewIds);
+		this.viewsToInject = viewsToInject.isEmpty() ? null : viewsToInject.toArray(new Field[viewsToInject.size()]);
+		this.viewInjectors = viewInjectors.isEmpty() ? null : viewInjectors.toArray(new ViewInjector[viewInjectors.size()]);
+		this.viewBindings = ViewBindings.create(this.clickableViewIds, this.viewsToInject, this.viewInjectors);
+		// Gather click dispatchers from all classes to the BaseFragment parent.
+		final List<ClickDispatcher<Object>> clickDispatchers = new ArrayList<>();
+		final List<Integer> clickDispatchIds = new ArrayList<>();
+		for (Class<?> type = classOfFragment; type != null && !type.equals(BaseFragment.class); type = type.getSuperclass()) {
+			ClickDispatcher<Object> dispatcher = FragmentAnnotations.obtainClickDispatcher(type);
+			if (dispatcher == null) {
+				dispatcher = ClickDispatchTable.create(type);
+			}
+			if (dispatcher != null) {
+				clickDispatchers.add(dispatcher);
+				for (int id : dispatcher.getViewIds()) {
+					if (!clickDispatchIds.contains(id)) {
+						clickDispatchIds.add(id);
+					}
+				}
+			}
+		}
+		this.clickDispatchers = clickDispatchers.isEmpty() ? null : clickDispatchers.toArray(new ClickDispatcher[clickDispatchers.size()]);
+		this.clickDispatchIds = idsToArray(clickDispatchIds);
+		if (ActionBarFragment.class.isAssignableFrom(classOfFragment)) {
+			this.actionBarOptions = FragmentAnnotations.obtainAnnotationFrom(classOfFragment, ActionBarOptions.class);
+			this.menuOptions = FragmentAnnotations.obtainAnnotationFrom(classOfFragment, MenuOptions.class, ActionBarFragment.class);
+			this.actionModeOptions = FragmentAnnotations.obtainAnnotationFrom(classOfFragment, ActionModeOptions.class, ActionBarFragment.class);
+		} else {
+			this.actionBarOptions = null;
+			this.menuOptions = null;
+			this.actionModeOptions = null;
+		}
+		if (AdapterFragment.class.isAssignableFrom(classOfFragment)) {
+			this.adapterViewOptions = FragmentAnnotations.obtainAnnotationFrom(classOfFragment, AdapterViewOptions.class, AdapterFragment.class);
+		} else {
+			this.adapterViewOptions = null;
+		}
+		if (WebFragment.class.isAssignableFrom(classOfFragment)) {
+			this.webContent = FragmentAnnotations.obtainAnnotationFrom(classOfFragment, WebContent.class);
+		} else {
+			this.webContent = null;
+		}
+	}
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Public --------------------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Obtains metadata for the given <var>classOfFragment</var>. If metadata for such a class are
+	 * not cached yet, they will be resolved and cached, so any further call for the same class will
+	 * not need to process any annotations.
+	 *
+	 * @param classOfFragment Class of fragment for which are metadata requested.
+	 * @return Metadata resolved for the requested class.
+	 */
+	@NonNull
+	public static FragmentMetadata obtain(@NonNull Class<?> classOfFragment) {
+		FragmentMetadata metadata = CACHE.get(classOfFragment);
+		if (metadata != null) {
+			HIT_COUNT.incrementAndGet();
+			return metadata;
+		}
+		MISS_COUNT.incrementAndGet();
+		metadata = new FragmentMetadata(classOfFragment);
+		final FragmentMetadata current = CACHE.putIfAbsent(classOfFragment, metadata);
+		return current != null ? current : metadata;
+	}
+
+	/**
+	 * Returns the count of requests for metadata which were served from the cache.
+	 *
+	 * @return Count of cache hits since the process start or the last {@link #resetStats()} call.
+	 * @see #getMissCount()
+	 */
+	public static int getHitCount() {
+		return HIT_COUNT.get();
+	}
+
+	/**
+	 * Returns the count of requests for metadata which needed to be resolved from annotations.
+	 *
+	 * @return Count of cache misses since the process start or the last {@link #resetStats()} call.
+	 * @see #getHitCount()
+	 */
+	public static int getMissCount() {
+		return MISS_COUNT.get();
+	}
+
+	/**
+	 * Resets counters of cache hits and misses. Already cached metadata are kept.
+	 */
+	public static void resetStats() {
+		HIT_COUNT.set(0);
+		MISS_COUNT.set(0);
+	}
+
+	/**
+	 * Clears all cached metadata, so they will be resolved again for each of fragment classes.
+	 */
+	public static void clearCache() {
+		CACHE.clear();
+	}
+
+	/**
+	 * Getters + Setters ---------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Returns the class of fragment for which were these metadata resolved.
+	 *
+	 * @return Class of fragment.
+	 */
+	@NonNull
+	public Class<?> getFragmentClass() {
+		return classOfFragment;
+	}
+
+	/**
+	 * Private -------------------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Gathers view annotations of the given <var>classOfFragment</var>. If there is a view injector
+	 * generated for this class, it is stored to handle both clickable views and views to inject of
+	 * this class, otherwise ids presented within {@link com.wit.android.fragment.annotation.ClickableViews @ClickableViews}
+	 * annotation and fields marked with {@link com.wit.android.fragment.annotation.InjectView @InjectView}
+	 * or {@link com.wit.android.fragment.annotation.InjectView.Last @InjectView.Last} annotation
+	 * are gathered using reflection. Note, that this is recursive method, which will process all
+	 * super classes of the given <var>classOfFragment</var>, but only to the BaseFragment super.
+	 *
+	 * @param classOfFragment  Class of fragment of which view annotations to gather.
+	 * @param clickableViewIds List to which to add ids of clickable views.
+	 * @param viewsToInject    List to which to add fields to inject.
+	 * @param viewInjectors    List to which to add generated view injectors.
+	 */
+	private static void gatherViewAnnotations(Class<?> classOfFragment, final List<Integer> clickableViewIds, final List<Field> viewsToInject, List<ViewInjector<Object>> viewInjectors) {
+		final ViewInjector<Object> injector = FragmentAnnotations.obtainViewInjector(classOfFragment);
+		if (injector != null) {
+			viewInjectors.add(injector);
+		} else {
+			if (classOfFragment.isAnnotationPresent(ClickableViews.class)) {
+				for (int id : classOfFragment.getAnnotation(ClickableViews.class).value()) {
+					clickableViewIds.add(id);
+				}
+			}
+			if (classOfFragment.isAnnotationPresent(InjectViews.class)) {
+				FragmentAnnotations.iterateFields(classOfFragment, new FragmentAnnotations.FieldProcessor() {
+
+					/**
+					 */
+					@Override
+					public void onProcessField(@NonNull Field field, @NonNull String name) {
+						if (field.isAnnotationPresent(InjectView.class) || field.isAnnotationPresent(InjectView.Last.class)) {
+							viewsToInject.add(field);
+						}
+					}
+				});
+			}
+		}
+		// Process also super class, but only to the BaseFragment super.
+		final Class<?> superOfFragment = classOfFragment.getSuperclass();
+		if (superOfFragment != null && !superOfFragment.equals(BaseFragment.class)) {
+			gatherViewAnnotations(superOfFragment, clickableViewIds, viewsToInject, viewInjectors);
+		}
+	}
+
+	/**
+	 * Converts the given list of <var>ids</var> to array.
+	 *
+	 * @param ids The list of ids to convert.
+	 * @return Converted array of ids or <code>null</code> if the given list is empty.
+	 */
+	private static int[] idsToArray(List<Integer> ids) {
+		if (ids.isEmpty()) {
+			return null;
+		}
+		final int[] array = new int[ids.size()];
+		for (int i = 0; i < array.length; i++) {
+			array[i] = ids.get(i);
+		}
+		return array;
+	}
+
+	/**
+	 * Inner classes ===============================================================================
+	 */
+}
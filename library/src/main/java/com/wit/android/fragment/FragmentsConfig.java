@@ -21,6 +21,23 @@ package com.wit.android.fragment;
 /**
  * <h4>Class Overview</h4>
  * Configuration options for this library.
+ * <h6>Logging</h6>
+ * Classes of this library copy values of the logging flags into their own <b>static final</b> fields
+ * when they are loaded, so the flags need to be changed before any fragment or controller is used.
+ * All log messages which are built at runtime are guarded by these fields, so no message is built
+ * when the corresponding flag is <code>false</code>.
+ * <p/>
+ * Debug logging is moreover guarded by the compile-time constant {@link #LIBRARY_DEBUG_LOG_COMPILED},
+ * which is <code>false</code> for release builds of this library, so javac removes the debug logging
+ * code from such builds entirely and {@link #LIBRARY_DEBUG_LOG_ENABLED} has effect only when this
+ * library is built as debug. To remove also the remaining logging code from release builds of an
+ * application, let the shrinker assume the flags as constants (see <b>PROGUARD.md</b>):
+ * <pre>
+ * -assumevalues class com.wit.android.fragment.FragmentsConfig {
+ *     static boolean LIBRARY_LOG_ENABLED return false;
+ *     static boolean LIBRARY_DEBUG_LOG_ENABLED return false;
+ * }
+ * </pre>
  *
  * @author Martin Albedinsky
  */
@@ -35,4 +52,19 @@ public final class FragmentsConfig {
 	 * Flag indicating whether the debug output for this library trough log-cat is enabled or not.
 	 */
 	public static boolean LIBRARY_DEBUG_LOG_ENABLED = false;
+
+	/**
+	 * Constant flag indicating whether the debug output of this library is compiled into this build
+	 * of the library. All debug logging code is guarded by this constant, so it is removed by javac
+	 * when this is <code>false</code>, like for release builds.
+	 */
+	public static final boolean LIBRARY_DEBUG_LOG_COMPILED = FragmentsBuild.DEBUG_LOG;
+
+	/**
+	 * Flag indicating whether views of {@link BaseFragment} should be bound by a single traversal of
+	 * its root view hierarchy or by calling {@link android.view.View#findViewById(int)} for each of
+	 * clickable view ids and view fields to inject. This applies also to views bound by view injectors
+	 * generated by the fragments annotation processor.
+	 */
+	public static boolean SINGLE_PASS_VIEW_BINDING = true;
 }
@@ -0,0 +1,39 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment;
+
+/**
+ * <h4>Interface Overview</h4>
+ * Watcher used by {@link AdapterFragment} to present changes of contents of a range of items of
+ * {@link PagedAdapter} or {@link DiffAdapter} by binding only the visible rows of such a range,
+ * instead of notifying change of the whole data set.
+ *
+ * @author Martin Albedinsky
+ */
+interface ItemRangeWatcher {
+
+	/**
+	 * Called whenever contents of the specified range of items have changed, while the count of
+	 * items remains the same.
+	 *
+	 * @param position Position of the first changed item.
+	 * @param count    Count of the changed items.
+	 */
+	void onItemRangeChanged(int position, int count);
+}
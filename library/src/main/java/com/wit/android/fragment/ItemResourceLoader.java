@@ -0,0 +1,410 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment;
+
+import android.content.ComponentCallbacks2;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Log;
+import android.util.LruCache;
+import android.view.View;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * <h4>Class Overview</h4>
+ * Loader of resources for items of an adapter, like icons or labels, which are too expensive to be
+ * loaded on the main thread while binding views of the adapter. Resources are loaded by
+ * {@link #onLoadResource(Object)} on a bounded pool of background threads shared by all loaders
+ * and cached within a size-bounded LRU cache.
+ * <p/>
+ * Whenever a resource is requested by {@link #load(Object, android.view.View)}, the cached resource
+ * is bound immediately to the target view or the placeholder is bound and the resource is loaded in
+ * the background and bound later, but only if the target view was not requested to present another
+ * resource meanwhile. Loading requested for a view recycled by its adapter view can be cancelled by
+ * {@link #cancel(android.view.View)}. {@link AdapterFragment} does so automatically for adapters
+ * implementing {@link android.widget.AbsListView.RecyclerListener}.
+ * <p/>
+ * All methods of this loader, except {@link #onLoadResource(Object)}, are expected to be called
+ * on the main thread.
+ *
+ * @param <K> Type of the keys identifying resources.
+ * @param <R> Type of the loaded resources.
+ * @author Martin Albedinsky
+ */
+public abstract class ItemResourceLoader<K, R> {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	private static final String TAG = "ItemResourceLoader";
+
+	/**
+	 * Flag indicating whether the debug output trough log-cat is enabled or not.
+	 */
+	private static final boolean DEBUG_ENABLED = FragmentsConfig.LIBRARY_DEBUG_LOG_ENABLED;
+
+	/**
+	 * Count of background threads used to load resources.
+	 */
+	private static final int THREAD_COUNT = 2;
+
+	/**
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Executor used to load resources for all loaders.
+	 */
+	private static final BackgroundExecutor EXECUTOR = new BackgroundExecutor(TAG, THREAD_COUNT);
+
+	/**
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Cache of the loaded resources.
+	 */
+	private final LruCache<K, R> mCache;
+
+	/**
+	 * Pending requests mapped to their target views.
+	 */
+	private final Map<View, Request> mRequests = new WeakHashMap<>();
+
+	/**
+	 * Count of resources requested and found within the cache.
+	 */
+	private int mHitCount;
+
+	/**
+	 * Count of resources requested and not found within the cache.
+	 */
+	private int mMissCount;
+
+	/**
+	 * Count of resources loaded by {@link #onLoadResource(Object)}.
+	 */
+	private int mLoadCount;
+
+	/**
+	 * Total time spent by loading of resources in nanoseconds.
+	 */
+	private long mLoadTime;
+
+	/**
+	 * Maximum time spent by loading of a single resource in nanoseconds.
+	 */
+	private long mMaxLoadTime;
+
+	/**
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of ItemResourceLoader.
+	 *
+	 * @param maxCacheSize Maximum size of the cache in units of {@link #sizeOf(Object, Object)}.
+	 */
+	public ItemResourceLoader(int maxCacheSize) {
+		this.mCache = new LruCache<K, R>(maxCacheSize) {
+
+			/**
+			 */
+			@Override
+			protected int sizeOf(K key, R resource) {
+				return ItemResourceLoader.this.sizeOf(key, resource);
+			}
+
+			/**
+			 */
+			@Override
+			protected void entryRemoved(boolean evicted, K key, R oldResource, R newResource) {
+				if (oldResource != newResource) {
+					onResourceRemoved(key, oldResource);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Public --------------------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Requests the resource with the given <var>key</var> to be bound to the given <var>target</var>
+	 * view. Any loading previously requested for the same target is cancelled.
+	 *
+	 * @param key    Key of the desired resource.
+	 * @param target View to which to bind the resource.
+	 */
+	public void load(@NonNull K key, @NonNull View target) {
+		cancel(target);
+		final R resource = mCache.get(key);
+		if (resource != null) {
+			mHitCount++;
+			onBindResource(target, resource);
+			return;
+		}
+		mMissCount++;
+		onBindPlaceholder(target);
+		final Request request = new Request(key, target);
+		mRequests.put(target, request);
+		EXECUTOR.execute(request);
+	}
+
+	/**
+	 * Cancels loading requested for the given <var>target</var> view, if any. If the resource is
+	 * already being loaded, it will be still cached but not bound.
+	 *
+	 * @param target View for which to cancel loading.
+	 */
+	public void cancel(@NonNull View target) {
+		final Request request = mRequests.remove(target);
+		if (request != null) {
+			request.cancelled = true;
+		}
+	}
+
+	/**
+	 * Cancels all pending loading requested from this loader.
+	 */
+	public void cancelAll() {
+		for (Request request : mRequests.values()) {
+			request.cancelled = true;
+		}
+		mRequests.clear();
+	}
+
+	/**
+	 * Evicts cached resources according to the given memory trim <var>level</var>. For level
+	 * of {@link android.content.ComponentCallbacks2#TRIM_MEMORY_RUNNING_LOW} and above all resources
+	 * are evicted, for lower levels the cache is trimmed to its half.
+	 *
+	 * @param level Level of the memory trim.
+	 */
+	public void onTrimMemory(int level) {
+		if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+			mCache.evictAll();
+		} else {
+			mCache.trimToSize(mCache.size() / 2);
+		}
+	}
+
+	/**
+	 * Getters + Setters ---------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Returns the count of resources requested and found within the cache.
+	 *
+	 * @return Count of cache hits.
+	 */
+	public int getHitCount() {
+		return mHitCount;
+	}
+
+	/**
+	 * Returns the count of resources requested and not found within the cache.
+	 *
+	 * @return Count of cache misses.
+	 */
+	public int getMissCount() {
+		return mMissCount;
+	}
+
+	/**
+	 * Returns the ratio of requests served from the cache.
+	 *
+	 * @return Hit rate from the range <code>[0, 1]</code>.
+	 */
+	public float getHitRate() {
+		final int count = mHitCount + mMissCount;
+		return count > 0 ? mHitCount / (float) count : 0;
+	}
+
+	/**
+	 * Returns the average time spent by {@link #onLoadResource(Object)}.
+	 *
+	 * @return Average load time in nanoseconds.
+	 */
+	public long getAverageLoadTimeNanos() {
+		return mLoadCount > 0 ? mLoadTime / mLoadCount : 0;
+	}
+
+	/**
+	 * Returns the maximum time spent by a single {@link #onLoadResource(Object)} call.
+	 *
+	 * @return Maximum load time in nanoseconds.
+	 */
+	public long getMaxLoadTimeNanos() {
+		return mMaxLoadTime;
+	}
+
+	/**
+	 * Protected -----------------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Invoked on a background thread to load the resource with the given <var>key</var>.
+	 *
+	 * @param key Key of the resource to load.
+	 * @return Loaded resource or <code>null</code> if the resource is not available.
+	 */
+	@Nullable
+	protected abstract R onLoadResource(@NonNull K key);
+
+	/**
+	 * Invoked to bind the given <var>resource</var> to the given <var>target</var> view.
+	 *
+	 * @param target   View requested to present the resource.
+	 * @param resource The loaded or cached resource.
+	 */
+	protected abstract void onBindResource(@NonNull View target, @NonNull R resource);
+
+	/**
+	 * Invoked to bind a placeholder to the given <var>target</var> view while its resource is
+	 * being loaded.
+	 *
+	 * @param target View requested to present a resource which is not cached.
+	 */
+	protected void onBindPlaceholder(@NonNull View target) {
+	}
+
+	/**
+	 * Returns the size of the given <var>resource</var> within the cache. By default each resource
+	 * has size of <code>1</code>, so the maximum cache size is the maximum count of resources.
+	 *
+	 * @param key      Key of the resource.
+	 * @param resource The resource to measure.
+	 * @return Size of the resource.
+	 */
+	protected int sizeOf(@NonNull K key, @NonNull R resource) {
+		return 1;
+	}
+
+	/**
+	 * Invoked whenever the given <var>resource</var> has been removed from the cache, either evicted
+	 * or replaced by a newer resource with the same key. The resource can be still presented by some
+	 * views, so it should not be recycled without checking that.
+	 *
+	 * @param key      Key of the removed resource.
+	 * @param resource The removed resource.
+	 */
+	protected void onResourceRemoved(@NonNull K key, @NonNull R resource) {
+	}
+
+	/**
+	 * Private -------------------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Called on the main thread whenever the given <var>request</var> has been finished.
+	 */
+	private void onRequestFinished(Request request, R resource, long time) {
+		this.mLoadCount++;
+		this.mLoadTime += time;
+		if (time > mMaxLoadTime) {
+			this.mMaxLoadTime = time;
+		}
+		if (resource != null) {
+			mCache.put(request.key, resource);
+		}
+		final View target = request.target.get();
+		if (!request.cancelled && target != null && mRequests.get(target) == request) {
+			mRequests.remove(target);
+			if (resource != null) {
+				onBindResource(target, resource);
+			}
+		}
+	}
+
+	/**
+	 * Inner classes ===============================================================================
+	 */
+
+	/**
+	 * Request to load a single resource for a single target view.
+	 */
+	private final class Request implements Runnable {
+
+		/**
+		 * Key of the requested resource.
+		 */
+		final K key;
+
+		/**
+		 * Target view, referenced weakly so queued requests do not hold destroyed views.
+		 */
+		final WeakReference<View> target;
+
+		/**
+		 * Flag indicating whether this request has been cancelled or not.
+		 */
+		volatile boolean cancelled;
+
+		/**
+		 * Creates a new instance of Request.
+		 */
+		Request(K key, View target) {
+			this.key = key;
+			this.target = new WeakReference<>(target);
+		}
+
+		/**
+		 */
+		@Override
+		public void run() {
+			if (cancelled) {
+				return;
+			}
+			final long start = System.nanoTime();
+			R resource = null;
+			try {
+				resource = onLoadResource(key);
+			} catch (RuntimeException e) {
+				Log.e(TAG, "Failed to load resource for key(" + key + ").", e);
+			}
+			final long time = System.nanoTime() - start;
+			if (FragmentsConfig.LIBRARY_DEBUG_LOG_COMPILED && DEBUG_ENABLED) {
+				Log.d(TAG, "Loaded resource for key(" + key + ") in " + time + "ns.");
+			}
+			final R loadedResource = resource;
+			BackgroundExecutor.getMainHandler().post(new Runnable() {
+
+				/**
+				 */
+				@Override
+				public void run() {
+					onRequestFinished(Request.this, loadedResource, time);
+				}
+			});
+		}
+	}
+}
@@ -0,0 +1,368 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.support.annotation.LayoutRes;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Log;
+import android.util.SparseArray;
+import android.view.View;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <h4>Class Overview</h4>
+ * Bounded pool of view hierarchies inflated from layouts specified by {@link com.wit.android.fragment.annotation.ContentView @ContentView}
+ * with {@link com.wit.android.fragment.annotation.ContentView#recycle() recycling} requested. Whenever
+ * a view of such a {@link BaseFragment} is destroyed, its root is handed to this pool and it can be
+ * reused by the next fragment with the same layout, instead of inflating the layout again.
+ * <p/>
+ * Pooled views are keyed by layout resource ids and reused only within the same context in which
+ * they were inflated, so views of an activity are evicted when that activity is destroyed. A pooled
+ * view is not reused until it is detached from its parent, so fragment exit animations are not affected.
+ * <p/>
+ * All methods of this pool are expected to be called on the main thread.
+ *
+ * @author Martin Albedinsky
+ * @see #getInstance()
+ */
+public final class LayoutRecycler {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	private static final String TAG = "LayoutRecycler";
+
+	/**
+	 * Flag indicating whether the debug output trough log-cat is enabled or not.
+	 */
+	private static final boolean DEBUG_ENABLED = FragmentsConfig.LIBRARY_DEBUG_LOG_ENABLED;
+
+	/**
+	 * Default maximum count of pooled views per layout.
+	 */
+	public static final int DEFAULT_MAX_SIZE_PER_LAYOUT = 1;
+
+	/**
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Pool instance used by all BaseFragments.
+	 */
+	private static LayoutRecycler sInstance;
+
+	/**
+	 * Setters of fraction properties of recycled view classes, see {@link #obtainFractionSetters(Class)}.
+	 */
+	private static final Map<Class<?>, Method[]> FRACTION_SETTERS = new HashMap<>();
+
+	/**
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Pooled views keyed by their layout resource ids.
+	 */
+	private final SparseArray<List<View>> mViews = new SparseArray<>();
+
+	/**
+	 * Maximum count of pooled views per layout.
+	 */
+	private int mMaxSizePerLayout = DEFAULT_MAX_SIZE_PER_LAYOUT;
+
+	/**
+	 * Count of views reused from this pool.
+	 */
+	private int mHitCount;
+
+	/**
+	 * Count of views which needed to be inflated as there was no pooled one.
+	 */
+	private int mMissCount;
+
+	/**
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of LayoutRecycler.
+	 */
+	private LayoutRecycler() {
+	}
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Public --------------------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Returns the pool instance used by all BaseFragments.
+	 *
+	 * @return LayoutRecycler instance.
+	 */
+	@NonNull
+	public static LayoutRecycler getInstance() {
+		if (sInstance == null) {
+			sInstance = new LayoutRecycler();
+		}
+		return sInstance;
+	}
+
+	/**
+	 * Takes a pooled view inflated from the specified <var>layoutRes</var> within the given <var>context</var>.
+	 * Properties of the root which can be changed by fragment transitions (alpha, translation, scale,
+	 * rotation) are reset.
+	 *
+	 * @param layoutRes Resource id of the layout of the requested view.
+	 * @param context   Context in which should be the view inflated.
+	 * @return Pooled view or <code>null</code> if there is no detached view available.
+	 */
+	@Nullable
+	public View obtain(@LayoutRes int layoutRes, @NonNull Context context) {
+		final List<View> views = mViews.get(layoutRes);
+		if (views != null) {
+			for (int i = views.size() - 1; i >= 0; i--) {
+				final View view = views.get(i);
+				if (view.getContext() == context && view.getParent() == null) {
+					views.remove(i);
+					resetView(view);
+					this.mHitCount++;
+					return view;
+				}
+			}
+		}
+		this.mMissCount++;
+		return null;
+	}
+
+	/**
+	 * Hands the given <var>view</var> inflated from the specified <var>layoutRes</var> to this pool,
+	 * if there is room for it.
+	 *
+	 * @param layoutRes Resource id of the layout of the view.
+	 * @param view      The view to recycle. Can be still attached to its parent.
+	 * @return <code>True</code> if the view has been pooled, <code>false</code> if there is no room for it.
+	 */
+	public boolean recycle(@LayoutRes int layoutRes, @NonNull View view) {
+		List<View> views = mViews.get(layoutRes);
+		if (views == null) {
+			mViews.put(layoutRes, views = new ArrayList<>(mMaxSizePerLayout));
+		}
+		if (views.size() >= mMaxSizePerLayout || views.contains(view)) {
+			return false;
+		}
+		view.clearFocus();
+		views.add(view);
+		if (FragmentsConfig.LIBRARY_DEBUG_LOG_COMPILED && DEBUG_ENABLED) {
+			Log.d(TAG, "Recycled view of layout(" + layoutRes + "), hit rate " + getHitRate() + ".");
+		}
+		return true;
+	}
+
+	/**
+	 * Evicts all pooled views inflated within the given <var>context</var>. Called whenever an
+	 * activity hosting BaseFragments is being destroyed.
+	 *
+	 * @param context Context of which views to evict.
+	 */
+	public void evict(@NonNull Context context) {
+		for (int i = 0; i < mViews.size(); i++) {
+			final Iterator<View> iterator = mViews.valueAt(i).iterator();
+			while (iterator.hasNext()) {
+				if (iterator.next().getContext() == context) {
+					iterator.remove();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Evicts pooled views according to the given memory trim <var>level</var>. For level
+	 * of {@link android.content.ComponentCallbacks2#TRIM_MEMORY_RUNNING_LOW} and above all views
+	 * are evicted, for lower levels views of layouts with more than one pooled view are trimmed
+	 * to a single one.
+	 *
+	 * @param level Level of the memory trim.
+	 */
+	public void onTrimMemory(int level) {
+		if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+			mViews.clear();
+		} else {
+			trimToSize(1);
+		}
+	}
+
+	/**
+	 * Getters + Setters ---------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Sets the maximum count of pooled views per layout. If there is currently more views pooled,
+	 * the redundant ones are evicted.
+	 * <p/>
+	 * Default value: <b>{@link #DEFAULT_MAX_SIZE_PER_LAYOUT}</b>
+	 *
+	 * @param maxSize The desired maximum size. <code>0</code> to disable recycling.
+	 */
+	public void setMaxSizePerLayout(int maxSize) {
+		trimToSize(this.mMaxSizePerLayout = Math.max(0, maxSize));
+	}
+
+	/**
+	 * Returns the maximum count of pooled views per layout.
+	 *
+	 * @return Maximum size of this pool per layout.
+	 */
+	public int getMaxSizePerLayout() {
+		return mMaxSizePerLayout;
+	}
+
+	/**
+	 * Returns the count of currently pooled views.
+	 *
+	 * @return Current size of this pool.
+	 */
+	public int size() {
+		int size = 0;
+		for (int i = 0; i < mViews.size(); i++) {
+			size += mViews.valueAt(i).size();
+		}
+		return size;
+	}
+
+	/**
+	 * Returns the count of views reused from this pool.
+	 *
+	 * @return Count of pool hits.
+	 */
+	public int getHitCount() {
+		return mHitCount;
+	}
+
+	/**
+	 * Returns the count of views which needed to be inflated as there was no pooled one available.
+	 *
+	 * @return Count of pool misses.
+	 */
+	public int getMissCount() {
+		return mMissCount;
+	}
+
+	/**
+	 * Returns the rate of reused views from all requested ones.
+	 *
+	 * @return Hit rate from the range <code>[0, 1]</code>.
+	 */
+	public float getHitRate() {
+		final int count = mHitCount + mMissCount;
+		return count > 0 ? mHitCount / (float) count : 0;
+	}
+
+	/**
+	 * Private -------------------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Resets properties of the given root view which can be changed by fragment transitions, including
+	 * all properties animated by the transitions of {@link com.wit.android.fragment.FragmentTransition}.
+	 * Pivots moved by an animator are moved back to the center of the view.
+	 */
+	private static void resetView(View view) {
+		view.clearAnimation();
+		view.setAlpha(1);
+		view.setTranslationX(0);
+		view.setTranslationY(0);
+		view.setScaleX(1);
+		view.setScaleY(1);
+		view.setRotation(0);
+		view.setRotationX(0);
+		view.setRotationY(0);
+		// Pivots can be only set explicitly, so touch them only if moved away from their default.
+		final float pivotX = view.getWidth() / 2f, pivotY = view.getHeight() / 2f;
+		if (view.getPivotX() != pivotX || view.getPivotY() != pivotY) {
+			view.setPivotX(pivotX);
+			view.setPivotY(pivotY);
+		}
+		final Method[] setters = obtainFractionSetters(view.getClass());
+		for (Method setter : setters) {
+			if (setter != null) {
+				try {
+					setter.invoke(view, 0f);
+				} catch (Exception e) {
+					Log.e(TAG, "Failed to reset fraction of view(" + view + ").", e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns setters of <b>fractionX</b> and <b>fractionY</b> properties, animated by the slide
+	 * transitions, of the given view class. Missing setters are <code>null</code>.
+	 */
+	private static Method[] obtainFractionSetters(Class<?> viewClass) {
+		Method[] setters = FRACTION_SETTERS.get(viewClass);
+		if (setters == null) {
+			setters = new Method[]{
+					findFractionSetter(viewClass, "setFractionX"),
+					findFractionSetter(viewClass, "setFractionY")
+			};
+			FRACTION_SETTERS.put(viewClass, setters);
+		}
+		return setters;
+	}
+
+	/**
+	 * Returns the public float setter with the given name of the given view class, if it has one.
+	 */
+	private static Method findFractionSetter(Class<?> viewClass, String name) {
+		try {
+			return viewClass.getMethod(name, float.class);
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Evicts pooled views until there is at most the given count of them per layout.
+	 */
+	private void trimToSize(int maxSize) {
+		for (int i = 0; i < mViews.size(); i++) {
+			final List<View> views = mViews.valueAt(i);
+			while (views.size() > maxSize) {
+				views.remove(0);
+			}
+		}
+	}
+}
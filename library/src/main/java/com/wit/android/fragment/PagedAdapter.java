@@ -0,0 +1,506 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Log;
+import android.util.SparseArray;
+import android.widget.BaseAdapter;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <h4>Class Overview</h4>
+ * Adapter which loads its data set by pages from a {@link PageSource} on a background thread.
+ * Pages are loaded ahead of the visible range of positions (see {@link #setPrefetchDistance(int)})
+ * and only a bounded count of them is held in memory (see {@link #setMaxPages(int)}), so pages
+ * far away from the visible range are evicted and loaded again when needed.
+ * <p/>
+ * The count of this adapter is the total count of items provided by the source, so the adapter
+ * view can be scrolled through the whole data set. Items of not yet loaded pages are <code>null</code>,
+ * so {@link #getView(int, android.view.View, android.view.ViewGroup)} should present a placeholder
+ * for them.
+ * <p/>
+ * When used by {@link AdapterFragment} with {@link android.widget.AbsListView}, the visible range
+ * is updated as the view is scrolled and only the visible rows of a loaded page are bound again,
+ * instead of notifying change of the whole data set.
+ * <p/>
+ * All methods of this adapter are expected to be called on the main thread.
+ *
+ * @param <T> Type of the items of this adapter.
+ * @author Martin Albedinsky
+ */
+public abstract class PagedAdapter<T> extends BaseAdapter {
+
+	/**
+	 * Interface ===================================================================================
+	 */
+
+	/**
+	 * Source of the data set of {@link PagedAdapter}. All methods are called on a background thread.
+	 *
+	 * @param <T> Type of the provided items.
+	 */
+	public interface PageSource<T> {
+
+		/**
+		 * Returns the total count of items provided by this source.
+		 *
+		 * @return Count of items.
+		 */
+		public int getCount();
+
+		/**
+		 * Loads a page of items.
+		 *
+		 * @param offset Position of the first item of the page.
+		 * @param count  Count of items of the page.
+		 * @return Loaded items, at most <var>count</var>.
+		 */
+		@NonNull
+		public List<T> loadPage(int offset, int count);
+	}
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	private static final String TAG = "PagedAdapter";
+
+	/**
+	 * Default count of items per page.
+	 */
+	public static final int DEFAULT_PAGE_SIZE = 50;
+
+	/**
+	 * Default count of pages to load ahead of the visible range in each direction.
+	 */
+	public static final int DEFAULT_PREFETCH_DISTANCE = 2;
+
+	/**
+	 * Default maximum count of pages held in memory.
+	 */
+	public static final int DEFAULT_MAX_PAGES = 10;
+
+	/**
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Executor used to load pages of all paged adapters.
+	 */
+	private static final BackgroundExecutor EXECUTOR = new BackgroundExecutor(TAG, 1);
+
+	/**
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Count of items per page.
+	 */
+	private final int mPageSize;
+
+	/**
+	 * Count of pages to load ahead of the visible range.
+	 */
+	private int mPrefetchDistance = DEFAULT_PREFETCH_DISTANCE;
+
+	/**
+	 * Maximum count of pages held in memory.
+	 */
+	private int mMaxPages = DEFAULT_MAX_PAGES;
+
+	/**
+	 * Current source of the data set.
+	 */
+	private PageSource<T> mSource;
+
+	/**
+	 * Generation of the current source, used to drop results of loads of previous sources.
+	 */
+	private int mGeneration;
+
+	/**
+	 * Total count of items provided by the current source.
+	 */
+	private int mCount;
+
+	/**
+	 * Loaded pages mapped to their indexes.
+	 */
+	private final SparseArray<List<T>> mPages = new SparseArray<>();
+
+	/**
+	 * Indexes of pages which are currently being loaded.
+	 */
+	private final Set<Integer> mLoadingPages = new HashSet<>();
+
+	/**
+	 * First and last currently visible position.
+	 */
+	private int mFirstVisiblePosition, mLastVisiblePosition;
+
+	/**
+	 * Watcher to be notified about loaded pages instead of notifying data set change.
+	 */
+	private ItemRangeWatcher mItemRangeWatcher;
+
+	/**
+	 * Count of loaded pages since the current source was set.
+	 */
+	private int mPageLoadCount;
+
+	/**
+	 * Count of evicted pages since the current source was set.
+	 */
+	private int mEvictedPageCount;
+
+	/**
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Same as {@link #PagedAdapter(int)} with {@link #DEFAULT_PAGE_SIZE}.
+	 */
+	public PagedAdapter() {
+		this(DEFAULT_PAGE_SIZE);
+	}
+
+	/**
+	 * Creates a new instance of PagedAdapter.
+	 *
+	 * @param pageSize Count of items per page.
+	 */
+	public PagedAdapter(int pageSize) {
+		if (pageSize <= 0) {
+			throw new IllegalArgumentException("Page size must be positive.");
+		}
+		this.mPageSize = pageSize;
+	}
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Public --------------------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Sets a source of the data set of this adapter. All currently loaded pages are dropped and
+	 * the total count of items is loaded from the new source.
+	 *
+	 * @param source The desired source. May be <code>null</code> to clear the data set.
+	 * @see #invalidate()
+	 */
+	public void setPageSource(@Nullable final PageSource<T> source) {
+		this.mSource = source;
+		final int generation = ++mGeneration;
+		this.mCount = 0;
+		mPages.clear();
+		mLoadingPages.clear();
+		this.mPageLoadCount = 0;
+		this.mEvictedPageCount = 0;
+		notifyDataSetChanged();
+		if (source != null) {
+			EXECUTOR.execute(new Runnable() {
+
+				/**
+				 */
+				@Override
+				public void run() {
+					final int count = source.getCount();
+					BackgroundExecutor.getMainHandler().post(new Runnable() {
+
+						/**
+						 */
+						@Override
+						public void run() {
+							if (generation == mGeneration) {
+								mCount = count;
+								notifyDataSetChanged();
+								ensurePages();
+							}
+						}
+					});
+				}
+			});
+		}
+	}
+
+	/**
+	 * Returns the current source of the data set of this adapter.
+	 *
+	 * @return Page source or <code>null</code> if there is none.
+	 */
+	@Nullable
+	public PageSource<T> getPageSource() {
+		return mSource;
+	}
+
+	/**
+	 * Drops all loaded pages and loads the data set from the current source again.
+	 */
+	public void invalidate() {
+		setPageSource(mSource);
+	}
+
+	/**
+	 */
+	@Override
+	public int getCount() {
+		return mCount;
+	}
+
+	/**
+	 * Returns the item at the specified <var>position</var>. If the page with this item is not
+	 * loaded, it is requested to be loaded.
+	 *
+	 * @return Item or <code>null</code> if it is not loaded yet.
+	 */
+	@Nullable
+	@Override
+	public T getItem(int position) {
+		final int page = position / mPageSize;
+		final List<T> items = mPages.get(page);
+		if (items == null) {
+			requestPage(page);
+			return null;
+		}
+		final int index = position % mPageSize;
+		return index < items.size() ? items.get(index) : null;
+	}
+
+	/**
+	 */
+	@Override
+	public long getItemId(int position) {
+		return position;
+	}
+
+	/**
+	 * Returns flag indicating whether the item at the specified <var>position</var> is loaded.
+	 *
+	 * @return <code>True</code> if the item is loaded, <code>false</code> otherwise.
+	 */
+	public boolean isItemLoaded(int position) {
+		return mPages.get(position / mPageSize) != null;
+	}
+
+	/**
+	 * Updates the range of currently visible positions, so pages ahead of it are loaded and pages
+	 * far away from it are evicted.
+	 *
+	 * @param firstPosition First visible position.
+	 * @param lastPosition  Last visible position.
+	 */
+	public void onVisibleRangeChanged(int firstPosition, int lastPosition) {
+		if (firstPosition != mFirstVisiblePosition || lastPosition != mLastVisiblePosition) {
+			this.mFirstVisiblePosition = firstPosition;
+			this.mLastVisiblePosition = lastPosition;
+			ensurePages();
+		}
+	}
+
+	/**
+	 * Getters + Setters ---------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Returns the count of items per page.
+	 */
+	public int getPageSize() {
+		return mPageSize;
+	}
+
+	/**
+	 * Sets the count of pages to load ahead of the visible range in each direction.
+	 * <p/>
+	 * Default value: <b>{@link #DEFAULT_PREFETCH_DISTANCE}</b>
+	 */
+	public void setPrefetchDistance(int pages) {
+		this.mPrefetchDistance = Math.max(0, pages);
+	}
+
+	/**
+	 * Sets the maximum count of pages held in memory. Pages of the visible range together with the
+	 * prefetched ones are never evicted, so if this count is smaller than the count of such pages,
+	 * that count is used instead.
+	 * <p/>
+	 * Default value: <b>{@link #DEFAULT_MAX_PAGES}</b>
+	 */
+	public void setMaxPages(int maxPages) {
+		this.mMaxPages = Math.max(1, maxPages);
+		trimPages();
+	}
+
+	/**
+	 * Returns the count of pages currently held in memory.
+	 */
+	public int getLoadedPageCount() {
+		return mPages.size();
+	}
+
+	/**
+	 * Returns the count of pages loaded since the current source was set.
+	 */
+	public int getPageLoadCount() {
+		return mPageLoadCount;
+	}
+
+	/**
+	 * Returns the count of pages evicted since the current source was set.
+	 */
+	public int getEvictedPageCount() {
+		return mEvictedPageCount;
+	}
+
+	/**
+	 * Sets a watcher to be notified about loaded pages instead of notifying data set change.
+	 */
+	void setItemRangeWatcher(ItemRangeWatcher watcher) {
+		this.mItemRangeWatcher = watcher;
+	}
+
+	/**
+	 * Private -------------------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Requests loading of all pages of the visible range together with pages ahead of it.
+	 */
+	private void ensurePages() {
+		if (mCount == 0) {
+			return;
+		}
+		final int toPage = getWindowToPage();
+		for (int page = getWindowFromPage(); page <= toPage; page++) {
+			requestPage(page);
+		}
+	}
+
+	/**
+	 * Returns the first page of the window of pages to hold, which is the visible range together
+	 * with pages ahead of it.
+	 */
+	private int getWindowFromPage() {
+		return Math.max(0, mFirstVisiblePosition / mPageSize - mPrefetchDistance);
+	}
+
+	/**
+	 * Returns the last page of the window of pages to hold, see {@link #getWindowFromPage()}.
+	 */
+	private int getWindowToPage() {
+		final int lastPage = Math.max(0, (mCount - 1) / mPageSize);
+		return Math.min(lastPage, Math.max(mLastVisiblePosition, mFirstVisiblePosition) / mPageSize + mPrefetchDistance);
+	}
+
+	/**
+	 * Requests loading of the specified <var>page</var>, if it is not loaded nor being loaded.
+	 */
+	private void requestPage(final int page) {
+		if (mSource == null || mPages.get(page) != null || !mLoadingPages.add(page)) {
+			return;
+		}
+		final PageSource<T> source = mSource;
+		final int generation = mGeneration;
+		final int offset = page * mPageSize;
+		final int count = Math.min(mPageSize, mCount - offset);
+		EXECUTOR.execute(new Runnable() {
+
+			/**
+			 */
+			@Override
+			public void run() {
+				List<T> items = null;
+				try {
+					items = source.loadPage(offset, count);
+				} catch (RuntimeException e) {
+					Log.e(TAG, "Failed to load page at offset(" + offset + ").", e);
+				}
+				final List<T> loadedItems = items;
+				BackgroundExecutor.getMainHandler().post(new Runnable() {
+
+					/**
+					 */
+					@Override
+					public void run() {
+						onPageLoaded(generation, page, loadedItems);
+					}
+				});
+			}
+		});
+	}
+
+	/**
+	 * Invoked on the main thread whenever a page has been loaded.
+	 */
+	private void onPageLoaded(int generation, int page, List<T> items) {
+		if (generation != mGeneration) {
+			return;
+		}
+		mLoadingPages.remove(page);
+		if (items == null) {
+			return;
+		}
+		mPages.put(page, items);
+		this.mPageLoadCount++;
+		trimPages();
+		if (mItemRangeWatcher != null) {
+			mItemRangeWatcher.onItemRangeChanged(page * mPageSize, items.size());
+		} else {
+			notifyDataSetChanged();
+		}
+	}
+
+	/**
+	 * Evicts pages farthest from the visible range until there is at most the maximum count of them.
+	 * Pages of the window of the visible range are never evicted, see {@link #getWindowFromPage()}.
+	 */
+	private void trimPages() {
+		final int fromPage = getWindowFromPage();
+		final int toPage = getWindowToPage();
+		final int maxPages = Math.max(mMaxPages, toPage - fromPage + 1);
+		final int centerPage = (mFirstVisiblePosition + mLastVisiblePosition) / 2 / mPageSize;
+		while (mPages.size() > maxPages) {
+			int farthestIndex = -1;
+			for (int i = 0; i < mPages.size(); i++) {
+				final int page = mPages.keyAt(i);
+				if (page >= fromPage && page <= toPage) {
+					continue;
+				}
+				if (farthestIndex < 0 || Math.abs(page - centerPage) > Math.abs(mPages.keyAt(farthestIndex) - centerPage)) {
+					farthestIndex = i;
+				}
+			}
+			if (farthestIndex < 0) {
+				break;
+			}
+			mPages.removeAt(farthestIndex);
+			this.mEvictedPageCount++;
+		}
+	}
+
+}
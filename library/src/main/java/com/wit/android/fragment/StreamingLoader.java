@@ -0,0 +1,435 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment;
+
+import android.content.Context;
+import android.content.Loader;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * <h4>Class Overview</h4>
+ * Loader which loads a list of items in the background and delivers it progressively, in batches,
+ * so the first items can be presented long before the whole list is loaded. Items are published by
+ * {@link #onLoadInBackground(StreamingLoader.Publisher)} one by one and delivered whenever a batch is
+ * full or the batch has been waiting for {@link #BATCH_TIMEOUT_MILLIS}. Each delivered result is an
+ * unmodifiable snapshot of all items loaded so far, sorted by the comparator of this loader, if
+ * specified. Batches are sorted and merged into the already loaded items in the background, so
+ * only the new snapshot is delivered on the main thread.
+ * <p/>
+ * The loading is cancelled whenever this loader is reset, abandoned or loading is forced again.
+ * Loaders started by {@link AdapterFragment#startLoader(int, android.os.Bundle, android.app.LoaderManager.LoaderCallbacks)}
+ * belong to the activity, so they should be destroyed by {@link AdapterFragment#destroyLoader(int)}
+ * when the fragment is detached.
+ *
+ * @param <T> Type of the loaded items.
+ * @author Martin Albedinsky
+ */
+public abstract class StreamingLoader<T> extends Loader<List<T>> {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	private static final String TAG = "StreamingLoader";
+
+	/**
+	 * Flag indicating whether the debug output trough log-cat is enabled or not.
+	 */
+	private static final boolean DEBUG_ENABLED = FragmentsConfig.LIBRARY_DEBUG_LOG_ENABLED;
+
+	/**
+	 * Default maximum count of items within a single batch.
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 32;
+
+	/**
+	 * Maximum time for which can be published items held before their batch is delivered.
+	 */
+	public static final long BATCH_TIMEOUT_MILLIS = 50;
+
+	/**
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Executor used to load items for all streaming loaders.
+	 */
+	private static final BackgroundExecutor EXECUTOR = new BackgroundExecutor(TAG, 1);
+
+	/**
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Comparator used to sort the loaded items, may be <code>null</code>.
+	 */
+	private final Comparator<? super T> mComparator;
+
+	/**
+	 * Maximum count of items within a single batch.
+	 */
+	private final int mBatchSize;
+
+	/**
+	 * All items loaded so far.
+	 */
+	private List<T> mItems = Collections.emptyList();
+
+	/**
+	 * Currently running loading task, <code>null</code> if there is no loading running.
+	 */
+	private Task mTask;
+
+	/**
+	 * Flag indicating whether all items have been loaded or not.
+	 */
+	private boolean mFinished;
+
+	/**
+	 * Flag indicating whether there is a result to be delivered, which may be also an empty list
+	 * when the loading has finished without any items.
+	 */
+	private boolean mHasResult;
+
+	/**
+	 * Time when the last loading was started in nanoseconds.
+	 */
+	private long mStartTime;
+
+	/**
+	 * Time elapsed from start of the last loading to delivery of its first batch in nanoseconds,
+	 * <code>-1</code> if not delivered yet.
+	 */
+	private long mFirstBatchTime = -1;
+
+	/**
+	 * Time elapsed from start to finish of the last loading in nanoseconds, <code>-1</code> if
+	 * not finished yet.
+	 */
+	private long mLoadTime = -1;
+
+	/**
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Same as {@link #StreamingLoader(android.content.Context, java.util.Comparator, int)} with
+	 * {@link #DEFAULT_BATCH_SIZE}.
+	 */
+	public StreamingLoader(@NonNull Context context, @Nullable Comparator<? super T> comparator) {
+		this(context, comparator, DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Creates a new instance of StreamingLoader.
+	 *
+	 * @param context    Context of the loader.
+	 * @param comparator Comparator used to sort the loaded items. May be <code>null</code> to deliver
+	 *                   items in order in which they were published.
+	 * @param batchSize  Maximum count of items within a single batch.
+	 */
+	public StreamingLoader(@NonNull Context context, @Nullable Comparator<? super T> comparator, int batchSize) {
+		super(context);
+		this.mComparator = comparator;
+		this.mBatchSize = Math.max(1, batchSize);
+	}
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Public --------------------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Returns the time elapsed from start of the last loading to delivery of its first batch.
+	 *
+	 * @return Time to the first batch in nanoseconds or <code>-1</code> if not delivered yet.
+	 */
+	public long getTimeToFirstBatchNanos() {
+		return mFirstBatchTime;
+	}
+
+	/**
+	 * Returns the time elapsed from start to finish of the last loading.
+	 *
+	 * @return Load time in nanoseconds or <code>-1</code> if not finished yet.
+	 */
+	public long getLoadTimeNanos() {
+		return mLoadTime;
+	}
+
+	/**
+	 * Returns a flag indicating whether all items have been loaded or not.
+	 *
+	 * @return <code>True</code> if the loading has finished, <code>false</code> otherwise.
+	 */
+	public boolean isFinished() {
+		return mFinished;
+	}
+
+	/**
+	 * Protected -----------------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Invoked on a background thread to load items. Each loaded item should be passed to the given
+	 * <var>publisher</var> immediately, and the loading should be stopped whenever the publisher
+	 * is cancelled.
+	 *
+	 * @param publisher Publisher of the loaded items.
+	 */
+	protected abstract void onLoadInBackground(@NonNull Publisher<T> publisher);
+
+	/**
+	 */
+	@Override
+	protected void onStartLoading() {
+		if (mHasResult) {
+			deliverResult(mItems);
+		}
+		if (takeContentChanged() || (mTask == null && !mFinished)) {
+			forceLoad();
+		}
+	}
+
+	/**
+	 */
+	@Override
+	protected void onForceLoad() {
+		cancelTask();
+		this.mItems = Collections.emptyList();
+		this.mFinished = mHasResult = false;
+		this.mStartTime = System.nanoTime();
+		this.mFirstBatchTime = mLoadTime = -1;
+		EXECUTOR.execute(mTask = new Task());
+	}
+
+	/**
+	 */
+	@Override
+	protected void onAbandon() {
+		cancelTask();
+	}
+
+	/**
+	 */
+	@Override
+	protected void onReset() {
+		cancelTask();
+		this.mItems = Collections.emptyList();
+		this.mFinished = mHasResult = false;
+	}
+
+	/**
+	 * Private -------------------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Called on the main thread to deliver the given snapshot of the loaded <var>items</var>.
+	 *
+	 * @param changed <code>True</code> if the snapshot contains a new batch of items.
+	 * @param last    <code>True</code> if the loading has finished.
+	 */
+	private void onBatchLoaded(Task task, List<T> items, boolean changed, boolean last) {
+		if (task != mTask) {
+			return;
+		}
+		this.mItems = items;
+		if (changed && mFirstBatchTime < 0) {
+			this.mFirstBatchTime = System.nanoTime() - mStartTime;
+			if (FragmentsConfig.LIBRARY_DEBUG_LOG_COMPILED && DEBUG_ENABLED) {
+				Log.d(TAG, "Delivered first batch in " + mFirstBatchTime + "ns.");
+			}
+		}
+		if (last) {
+			this.mTask = null;
+			this.mFinished = true;
+			this.mLoadTime = System.nanoTime() - mStartTime;
+			if (FragmentsConfig.LIBRARY_DEBUG_LOG_COMPILED && DEBUG_ENABLED) {
+				Log.d(TAG, "Loaded " + mItems.size() + " items in " + mLoadTime + "ns.");
+			}
+		}
+		if (changed || last) {
+			this.mHasResult = true;
+			if (isStarted()) {
+				deliverResult(mItems);
+			}
+		}
+	}
+
+	/**
+	 * Merges the given sorted lists into a new list. Called on the background thread.
+	 */
+	private List<T> merge(List<T> items, List<T> batch) {
+		final List<T> merged = new ArrayList<>(items.size() + batch.size());
+		if (mComparator == null) {
+			merged.addAll(items);
+			merged.addAll(batch);
+			return merged;
+		}
+		int i = 0, j = 0;
+		while (i < items.size() && j < batch.size()) {
+			// Already loaded items go first on ties, so the order of equal items is stable.
+			if (mComparator.compare(batch.get(j), items.get(i)) < 0) {
+				merged.add(batch.get(j++));
+			} else {
+				merged.add(items.get(i++));
+			}
+		}
+		merged.addAll(items.subList(i, items.size()));
+		merged.addAll(batch.subList(j, batch.size()));
+		return merged;
+	}
+
+	/**
+	 * Cancels the currently running loading task, if any.
+	 */
+	private void cancelTask() {
+		if (mTask != null) {
+			mTask.cancelled = true;
+			this.mTask = null;
+		}
+	}
+
+	/**
+	 * Inner classes ===============================================================================
+	 */
+
+	/**
+	 * Publisher of items loaded by {@link #onLoadInBackground(StreamingLoader.Publisher)}.
+	 *
+	 * @param <T> Type of the published items.
+	 */
+	public interface Publisher<T> {
+
+		/**
+		 * Publishes the given loaded <var>item</var>.
+		 *
+		 * @param item The loaded item.
+		 */
+		void publish(@NonNull T item);
+
+		/**
+		 * Returns a flag indicating whether the loading has been cancelled or not.
+		 *
+		 * @return <code>True</code> if there is no need to load more items, <code>false</code> otherwise.
+		 */
+		boolean isCancelled();
+	}
+
+	/**
+	 * Single loading run, which publishes loaded items in batches.
+	 */
+	private final class Task implements Runnable, Publisher<T> {
+
+		/**
+		 * Flag indicating whether this task has been cancelled or not.
+		 */
+		volatile boolean cancelled;
+
+		/**
+		 * Items published since the last delivered batch.
+		 */
+		private List<T> batch = new ArrayList<>();
+
+		/**
+		 * Snapshot of all items loaded by this task and delivered so far.
+		 */
+		private List<T> loaded = Collections.emptyList();
+
+		/**
+		 * Time when the current batch was started in nanoseconds.
+		 */
+		private long batchStartTime;
+
+		/**
+		 */
+		@Override
+		public void run() {
+			if (cancelled) {
+				return;
+			}
+			this.batchStartTime = System.nanoTime();
+			try {
+				onLoadInBackground(this);
+			} catch (RuntimeException e) {
+				Log.e(TAG, "Failed to load items.", e);
+			}
+			flush(true);
+		}
+
+		/**
+		 */
+		@Override
+		public void publish(@NonNull T item) {
+			batch.add(item);
+			if (batch.size() >= mBatchSize || System.nanoTime() - batchStartTime >= BATCH_TIMEOUT_MILLIS * 1000000L) {
+				flush(false);
+			}
+		}
+
+		/**
+		 */
+		@Override
+		public boolean isCancelled() {
+			return cancelled;
+		}
+
+		/**
+		 * Sorts the current batch, merges it into a new snapshot of the loaded items and posts the
+		 * snapshot to the main thread.
+		 */
+		private void flush(final boolean last) {
+			if (cancelled) {
+				return;
+			}
+			final boolean changed = !batch.isEmpty();
+			if (changed) {
+				if (mComparator != null) {
+					Collections.sort(batch, mComparator);
+				}
+				this.loaded = Collections.unmodifiableList(merge(loaded, batch));
+				this.batch = new ArrayList<>();
+			}
+			this.batchStartTime = System.nanoTime();
+			final List<T> items = loaded;
+			BackgroundExecutor.getMainHandler().post(new Runnable() {
+
+				/**
+				 */
+				@Override
+				public void run() {
+					onBatchLoaded(Task.this, items, changed, last);
+				}
+			});
+		}
+	}
+}
@@ -0,0 +1,294 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.wit.android.fragment.annotation.InjectView;
+import com.wit.android.fragment.util.FragmentAnnotations;
+import com.wit.android.fragment.util.ViewInjector;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+
+/**
+ * <h4>Class Overview</h4>
+ * Table of view ids to be bound to a fragment in a single traversal of its root view hierarchy.
+ * Ids of clickable views and ids of view fields to inject are stored within sorted array, so each
+ * of traversed views can be matched by a simple binary search. This is used instead of calling
+ * {@link android.view.View#findViewById(int)} for each of ids, which traverses the whole hierarchy
+ * again for each of them. Ids of views bound by generated {@link ViewInjector ViewInjectors} are
+ * stored within the same table, so the found views are passed to {@link ViewInjector#bindView(Object, View, View.OnClickListener)}
+ * of the injectors which bind them.
+ * <p/>
+ * Lookup semantics are the same as for {@link android.view.View#findViewById(int)}, so the first view
+ * with the requested id in depth-first order is bound.
+ *
+ * @author Martin Albedinsky
+ * @see FragmentsConfig#SINGLE_PASS_VIEW_BINDING
+ */
+final class ViewBindings {
+
+	/**
+	 * Interface ===================================================================================
+	 */
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "ViewBindings";
+
+	/**
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Sorted ids of views to bind.
+	 */
+	private final int[] mIds;
+
+	/**
+	 * Flags indicating whether a view at the same slot as its id must be presented within the
+	 * view hierarchy (requested by {@link com.wit.android.fragment.annotation.ClickableViews @ClickableViews}).
+	 */
+	private final boolean[] mRequired;
+
+	/**
+	 * Flags indicating whether to a view at the same slot as its id should be attached OnClickListener.
+	 */
+	private final boolean[] mClickable;
+
+	/**
+	 * Fields to which should be injected a view at the same slot as its id, <code>null</code> for slot
+	 * without fields.
+	 */
+	private final Field[][] mFields;
+
+	/**
+	 * Generated injectors which bind a view at the same slot as its id, <code>null</code> for slot
+	 * without injectors.
+	 */
+	private final ViewInjector<Object>[][] mInjectors;
+
+	/**
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of ViewBindings for the given ids of clickable views, view fields and
+	 * generated view injectors.
+	 *
+	 * @param clickableViewIds Ids of views to which should be attached OnClickListener, may be <code>null</code>.
+	 * @param viewsToInject    Fields marked with {@link com.wit.android.fragment.annotation.InjectView @InjectView}
+	 *                         or {@link com.wit.android.fragment.annotation.InjectView.Last @InjectView.Last},
+	 *                         may be <code>null</code>.
+	 * @param viewInjectors    Generated injectors of which views to bind, may be <code>null</code>.
+	 */
+	@SuppressWarnings("unchecked")
+	private ViewBindings(int[] clickableViewIds, Field[] viewsToInject, ViewInjector<Object>[] viewInjectors) {
+		final int[] fieldIds = new int[viewsToInject != null ? viewsToInject.length : 0];
+		final boolean[] fieldsClickable = new boolean[fieldIds.length];
+		for (int i = 0; i < fieldIds.length; i++) {
+			final Field field = viewsToInject[i];
+			if (field.isAnnotationPresent(InjectView.class)) {
+				final InjectView injectView = field.getAnnotation(InjectView.class);
+				fieldIds[i] = injectView.value();
+				fieldsClickable[i] = injectView.clickable();
+			} else {
+				final InjectView.Last injectView = field.getAnnotation(InjectView.Last.class);
+				fieldIds[i] = injectView.value();
+				fieldsClickable[i] = injectView.clickable();
+			}
+		}
+		if (clickableViewIds == null) {
+			clickableViewIds = new int[0];
+		}
+		if (viewInjectors == null) {
+			viewInjectors = new ViewInjector[0];
+		}
+		// Build sorted array of unique ids.
+		int[] ids = Arrays.copyOf(clickableViewIds, clickableViewIds.length + fieldIds.length);
+		System.arraycopy(fieldIds, 0, ids, clickableViewIds.length, fieldIds.length);
+		for (ViewInjector<Object> injector : viewInjectors) {
+			final int[] injectorIds = injector.getViewIds();
+			final int count = ids.length;
+			ids = Arrays.copyOf(ids, count + injectorIds.length);
+			System.arraycopy(injectorIds, 0, ids, count, injectorIds.length);
+		}
+		Arrays.sort(ids);
+		int size = 0;
+		for (int i = 0; i < ids.length; i++) {
+			if (i == 0 || ids[i] != ids[size - 1]) {
+				ids[size++] = ids[i];
+			}
+		}
+		this.mIds = Arrays.copyOf(ids, size);
+		this.mRequired = new boolean[size];
+		this.mClickable = new boolean[size];
+		this.mFields = new Field[size][];
+		this.mInjectors = new ViewInjector[size][];
+		for (int id : clickableViewIds) {
+			final int slot = Arrays.binarySearch(mIds, id);
+			mRequired[slot] = mClickable[slot] = true;
+		}
+		for (ViewInjector<Object> injector : viewInjectors) {
+			for (int id : injector.getClickableViewIds()) {
+				final int slot = Arrays.binarySearch(mIds, id);
+				mRequired[slot] = mClickable[slot] = true;
+			}
+			for (int id : injector.getViewIds()) {
+				final int slot = Arrays.binarySearch(mIds, id);
+				final ViewInjector<Object>[] injectors = mInjectors[slot];
+				if (injectors == null) {
+					mInjectors[slot] = new ViewInjector[]{injector};
+				} else if (injectors[injectors.length - 1] != injector) {
+					final ViewInjector<Object>[] newInjectors = Arrays.copyOf(injectors, injectors.length + 1);
+					newInjectors[injectors.length] = injector;
+					mInjectors[slot] = newInjectors;
+				}
+			}
+		}
+		for (int i = 0; i < fieldIds.length; i++) {
+			final int slot = Arrays.binarySearch(mIds, fieldIds[i]);
+			mClickable[slot] |= fieldsClickable[i];
+			final Field[] fields = mFields[slot];
+			if (fields == null) {
+				mFields[slot] = new Field[]{viewsToInject[i]};
+			} else {
+				final Field[] newFields = Arrays.copyOf(fields, fields.length + 1);
+				newFields[fields.length] = viewsToInject[i];
+				mFields[slot] = newFields;
+			}
+		}
+	}
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of ViewBindings for the given ids of clickable views, view fields and
+	 * generated view injectors.
+	 *
+	 * @param clickableViewIds Ids of views to which should be attached OnClickListener.
+	 * @param viewsToInject    Fields of views to inject.
+	 * @param viewInjectors    Generated injectors of which views to bind.
+	 * @return New view bindings or <code>null</code> if there are no ids, fields nor injectors to bind.
+	 */
+	@Nullable
+	static ViewBindings create(@Nullable int[] clickableViewIds, @Nullable Field[] viewsToInject, @Nullable ViewInjector<Object>[] viewInjectors) {
+		if ((clickableViewIds == null || clickableViewIds.length == 0) && (viewsToInject == null || viewsToInject.length == 0) &&
+				(viewInjectors == null || viewInjectors.length == 0)) {
+			return null;
+		}
+		return new ViewBindings(clickableViewIds, viewsToInject, viewInjectors);
+	}
+
+	/**
+	 * Binds views from the given <var>root</var> view hierarchy to the given <var>target</var>. The
+	 * hierarchy is traversed only once, until all bound ids are found.
+	 *
+	 * @param target          An instance into which should be views injected.
+	 * @param root            A root view of the hierarchy from which to bind views.
+	 * @param onClickListener An OnClickListener to be attached to clickable views.
+	 * @throws NullPointerException If one of clickable views can not be found.
+	 */
+	void bind(@NonNull Object target, @NonNull View root, @NonNull View.OnClickListener onClickListener) {
+		final View[] views = new View[mIds.length];
+		findViews(root, views, mIds.length);
+		for (int i = 0; i < views.length; i++) {
+			final View view = views[i];
+			if (view == null) {
+				if (mRequired[i]) {
+					throw new NullPointerException("Clickable view with id(" + mIds[i] + ") not found.");
+				}
+				continue;
+			}
+			if (mClickable[i]) {
+				view.setOnClickListener(onClickListener);
+			}
+			if (mInjectors[i] != null) {
+				for (ViewInjector<Object> injector : mInjectors[i]) {
+					injector.bindView(target, view, onClickListener);
+				}
+			}
+			if (mFields[i] != null) {
+				for (Field field : mFields[i]) {
+					FragmentAnnotations.attachView(field, target, view);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Traverses the given <var>view</var> hierarchy in depth-first order and stores each view with
+	 * one of the bound ids at its slot within the given <var>views</var> array, if the slot is not
+	 * occupied yet.
+	 *
+	 * @param view      The currently traversed view.
+	 * @param views     Array for the found views.
+	 * @param remaining Count of ids for which views were not found yet.
+	 * @return Count of ids for which views were not found yet after the given view hierarchy has been
+	 * traversed.
+	 */
+	private int findViews(View view, View[] views, int remaining) {
+		final int id = view.getId();
+		if (id != View.NO_ID) {
+			final int slot = Arrays.binarySearch(mIds, id);
+			if (slot >= 0 && views[slot] == null) {
+				views[slot] = view;
+				if (--remaining == 0) {
+					return 0;
+				}
+			}
+		}
+		if (view instanceof ViewGroup) {
+			final ViewGroup group = (ViewGroup) view;
+			final int childCount = group.getChildCount();
+			for (int i = 0; i < childCount && remaining > 0; i++) {
+				remaining = findViews(group.getChildAt(i), views, remaining);
+			}
+		}
+		return remaining;
+	}
+
+	/**
+	 * Returns the count of unique ids within this table.
+	 *
+	 * @return Count of ids to bind.
+	 */
+	int size() {
+		return mIds.length;
+	}
+
+	/**
+	 * Inner classes ===============================================================================
+	 */
+}
@@ -0,0 +1,1104 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Log;
+import android.webkit.CookieManager;
+import android.webkit.WebResourceResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <h4>Class Overview</h4>
+ * Implementation of {@link WebResponseCache} with two tiers:
+ * <ul>
+ * <li>memory tier holding the least recently used small responses up to a byte budget,</li>
+ * <li>disk tier holding all cacheable responses up to a byte budget.</li>
+ * </ul>
+ * Only <b>http</b> and <b>https</b> responses with status <b>200</b> are cached, if they are not
+ * marked as <code>no-store</code> and are either fresh for some time (<code>Cache-Control: max-age</code>
+ * or <code>Expires</code>) or carry a validator (<code>ETag</code> or <code>Last-Modified</code>).
+ * Stale responses are revalidated by a conditional request when they are preloaded again.
+ * <p/>
+ * Responses are loaded into this cache only by {@link #preload(java.util.Collection, boolean)}.
+ * {@link #intercept(String)} serves only responses which are already cached and fresh and never
+ * loads anything by itself, so requests which miss the cache are performed by the web view with
+ * its cookies, request method and redirect handling. Preload requests send cookies of
+ * {@link android.webkit.CookieManager} for the preloaded url and store cookies set by the response
+ * back into it. Redirected responses are not cached, so cached bodies are always served under
+ * their own url.
+ * <p/>
+ * This class is thread-safe.
+ *
+ * @author Martin Albedinsky
+ */
+public class WebContentCache implements WebResponseCache {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	private static final String TAG = "WebContentCache";
+
+	/**
+	 * Flag indicating whether the debug output trough log-cat is enabled or not.
+	 */
+	private static final boolean DEBUG_ENABLED = FragmentsConfig.LIBRARY_DEBUG_LOG_ENABLED;
+
+	/**
+	 * Default maximum size of a response which can be held by the memory tier.
+	 */
+	public static final int DEFAULT_MEMORY_ENTRY_MAX_BYTES = 64 * 1024;
+
+	/**
+	 * Name of the default cache directory within the application cache directory.
+	 */
+	private static final String DIRECTORY_NAME = "web-content";
+
+	/**
+	 * Suffix of files with cached response bodies.
+	 */
+	private static final String BODY_SUFFIX = ".body";
+
+	/**
+	 * Suffix of files with cached response meta data.
+	 */
+	private static final String META_SUFFIX = ".meta";
+
+	/**
+	 * Timeout for connection and reading in milliseconds.
+	 */
+	private static final int TIMEOUT = 15000;
+
+	/**
+	 * Size of buffers used to copy streams.
+	 */
+	private static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * Maximum size of a preloaded HTML document scanned for sub-resources.
+	 */
+	private static final int MAX_SCANNED_DOCUMENT_BYTES = 512 * 1024;
+
+	/**
+	 * Maximum count of sub-resources preloaded for a single HTML document.
+	 */
+	private static final int MAX_SUBRESOURCES = 32;
+
+	/**
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Directory with the disk tier.
+	 */
+	private final File mDirectory;
+
+	/**
+	 * Byte budget of the disk tier.
+	 */
+	private final long mMaxDiskBytes;
+
+	/**
+	 * Byte budget of the memory tier.
+	 */
+	private final long mMaxMemoryBytes;
+
+	/**
+	 * Maximum size of a response held by the memory tier.
+	 */
+	private int mMemoryEntryMaxBytes = DEFAULT_MEMORY_ENTRY_MAX_BYTES;
+
+	/**
+	 * Entries of the memory tier in order from the least recently used one.
+	 */
+	private final LinkedHashMap<String, Entry> mMemoryEntries = new LinkedHashMap<>(16, 0.75f, true);
+
+	/**
+	 * Entries of the disk tier in order from the least recently used one, <code>null</code> until
+	 * the disk tier is indexed.
+	 */
+	private LinkedHashMap<String, Entry> mDiskEntries;
+
+	/**
+	 * Current size of the memory tier.
+	 */
+	private long mMemoryBytes;
+
+	/**
+	 * Current size of the disk tier.
+	 */
+	private long mDiskBytes;
+
+	/**
+	 * Executor used to preload urls.
+	 */
+	private final BackgroundExecutor mPreloadExecutor = new BackgroundExecutor(TAG, 1);
+
+	/**
+	 * Count of requests served from the memory tier.
+	 */
+	private final AtomicLong mMemoryHitCount = new AtomicLong();
+
+	/**
+	 * Count of requests served from the disk tier.
+	 */
+	private final AtomicLong mDiskHitCount = new AtomicLong();
+
+	/**
+	 * Count of requests which needed to be loaded from network.
+	 */
+	private final AtomicLong mMissCount = new AtomicLong();
+
+	/**
+	 * Count of stale responses which were successfully revalidated.
+	 */
+	private final AtomicLong mRevalidationCount = new AtomicLong();
+
+	/**
+	 * Count of bytes served from the cache.
+	 */
+	private final AtomicLong mBytesServed = new AtomicLong();
+
+	/**
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of WebContentCache with the disk tier within the given <var>directory</var>.
+	 *
+	 * @param directory      Directory for the disk tier. Should be used only by this cache.
+	 * @param maxDiskBytes   Byte budget of the disk tier.
+	 * @param maxMemoryBytes Byte budget of the memory tier.
+	 * @see #create(android.content.Context, long, long)
+	 */
+	public WebContentCache(@NonNull File directory, long maxDiskBytes, long maxMemoryBytes) {
+		this.mDirectory = directory;
+		this.mMaxDiskBytes = maxDiskBytes;
+		this.mMaxMemoryBytes = maxMemoryBytes;
+	}
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Public --------------------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Creates a new instance of WebContentCache with the disk tier within the cache directory of
+	 * the given <var>context</var>.
+	 *
+	 * @see #WebContentCache(java.io.File, long, long)
+	 */
+	@NonNull
+	public static WebContentCache create(@NonNull Context context, long maxDiskBytes, long maxMemoryBytes) {
+		return new WebContentCache(new File(context.getCacheDir(), DIRECTORY_NAME), maxDiskBytes, maxMemoryBytes);
+	}
+
+	/**
+	 */
+	@Nullable
+	@Override
+	public WebResourceResponse intercept(@NonNull String url) {
+		if (!url.startsWith("http://") && !url.startsWith("https://")) {
+			return null;
+		}
+		final Entry entry = findEntry(keyFor(url));
+		if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+			final WebResourceResponse response = open(entry);
+			if (response != null) {
+				if (entry.data != null) {
+					mMemoryHitCount.incrementAndGet();
+				} else {
+					mDiskHitCount.incrementAndGet();
+				}
+				mBytesServed.addAndGet(entry.size);
+				return response;
+			}
+		}
+		// Let the web view perform the request, only it knows the request method and handles
+		// cookies and redirects.
+		mMissCount.incrementAndGet();
+		return null;
+	}
+
+	/**
+	 * Same as {@link #preload(java.util.Collection, boolean)} without preloading of sub-resources.
+	 */
+	public void preload(@NonNull Collection<String> urls) {
+		preload(urls, false);
+	}
+
+	/**
+	 * Loads all the given <var>urls</var> into this cache on a background thread.
+	 *
+	 * @param urls            Urls to preload.
+	 * @param withSubresources <code>True</code> to preload also scripts, style sheets and images
+	 *                         referenced by preloaded <b>HTML</b> documents, <code>false</code> otherwise.
+	 * @see #preloadSubresources(String, String)
+	 */
+	public void preload(@NonNull Collection<String> urls, final boolean withSubresources) {
+		final List<String> urlsToLoad = new ArrayList<>(urls);
+		mPreloadExecutor.execute(new Runnable() {
+
+			/**
+			 */
+			@Override
+			public void run() {
+				for (String url : urlsToLoad) {
+					final String document = preloadUrl(url, withSubresources);
+					if (document != null) {
+						for (String subresource : findSubresources(url, document)) {
+							preloadUrl(subresource, false);
+						}
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Loads scripts, style sheets and images referenced by the given <var>html</var> into this cache
+	 * on a background thread.
+	 *
+	 * @param baseUrl Url against which to resolve relative references. May be <code>null</code>
+	 *                to preload only absolute references.
+	 * @param html    Raw HTML content.
+	 */
+	public void preloadSubresources(@Nullable final String baseUrl, @NonNull final String html) {
+		mPreloadExecutor.execute(new Runnable() {
+
+			/**
+			 */
+			@Override
+			public void run() {
+				for (String subresource : findSubresources(baseUrl, html)) {
+					preloadUrl(subresource, false);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Removes all cached responses from both tiers.
+	 */
+	public synchronized void clear() {
+		mMemoryEntries.clear();
+		this.mMemoryBytes = 0;
+		final File[] files = mDirectory.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+		// Index again lazily, which also creates the directory again.
+		this.mDiskEntries = null;
+		this.mDiskBytes = 0;
+	}
+
+	/**
+	 * Getters + Setters ---------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Sets the maximum size of a response which can be held by the memory tier.
+	 * <p/>
+	 * Default value: <b>{@link #DEFAULT_MEMORY_ENTRY_MAX_BYTES}</b>
+	 *
+	 * @param maxBytes The desired maximum size in bytes.
+	 */
+	public void setMemoryEntryMaxBytes(int maxBytes) {
+		this.mMemoryEntryMaxBytes = maxBytes;
+	}
+
+	/**
+	 * Returns the count of requests served from the memory tier.
+	 */
+	public long getMemoryHitCount() {
+		return mMemoryHitCount.get();
+	}
+
+	/**
+	 * Returns the count of requests served from the disk tier.
+	 */
+	public long getDiskHitCount() {
+		return mDiskHitCount.get();
+	}
+
+	/**
+	 * Returns the count of requests which were not served from the cache and were left to the web view.
+	 */
+	public long getMissCount() {
+		return mMissCount.get();
+	}
+
+	/**
+	 * Returns the count of stale responses which were revalidated by the server as not modified
+	 * while being preloaded.
+	 */
+	public long getRevalidationCount() {
+		return mRevalidationCount.get();
+	}
+
+	/**
+	 * Returns the count of bytes served from the cache.
+	 */
+	public long getBytesServed() {
+		return mBytesServed.get();
+	}
+
+	/**
+	 * Returns the current size of the memory tier in bytes.
+	 */
+	public synchronized long getMemorySize() {
+		return mMemoryBytes;
+	}
+
+	/**
+	 * Returns the current size of the disk tier in bytes.
+	 */
+	public synchronized long getDiskSize() {
+		ensureDiskIndexed();
+		return mDiskBytes;
+	}
+
+	/**
+	 * Private -------------------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Reads the whole response for the given url, so it is committed into this cache. Already cached
+	 * fresh responses are not loaded again.
+	 *
+	 * @param keepDocument <code>True</code> to return body of the response if it is HTML document.
+	 * @return Body of the HTML document or <code>null</code>.
+	 */
+	String preloadUrl(String url, boolean keepDocument) {
+		if ((!url.startsWith("http://") && !url.startsWith("https://")) || WebContentSource.isSourceUrl(url)) {
+			return null;
+		}
+		final String key = keyFor(url);
+		final Entry entry = findEntry(key);
+		WebResourceResponse response;
+		if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+			if (!keepDocument || !"text/html".equals(entry.mimeType)) {
+				return null;
+			}
+			response = open(entry);
+		} else {
+			try {
+				response = fetch(url, key, entry);
+			} catch (IOException e) {
+				if (FragmentsConfig.LIBRARY_DEBUG_LOG_COMPILED && DEBUG_ENABLED) {
+					Log.d(TAG, "Failed to fetch url(" + url + ").", e);
+				}
+				return null;
+			}
+		}
+		final InputStream stream = response != null ? response.getData() : null;
+		if (stream == null) {
+			return null;
+		}
+		final ByteArrayOutputStream document = keepDocument && "text/html".equals(response.getMimeType()) ?
+				new ByteArrayOutputStream() : null;
+		final byte[] buffer = new byte[BUFFER_SIZE];
+		try {
+			int read;
+			while ((read = stream.read(buffer)) != -1) {
+				// Reading whole stream commits the response into the cache.
+				if (document != null && document.size() < MAX_SCANNED_DOCUMENT_BYTES) {
+					document.write(buffer, 0, read);
+				}
+			}
+			if (document != null) {
+				final String encoding = response.getEncoding();
+				return document.toString(encoding != null ? encoding : "UTF-8");
+			}
+		} catch (IOException e) {
+			Log.e(TAG, "Failed to preload url(" + url + ").", e);
+		} finally {
+			closeQuietly(stream);
+		}
+		return null;
+	}
+
+	/**
+	 * Finds urls of scripts, style sheets and images referenced by the given <var>html</var>.
+	 */
+	static List<String> findSubresources(String baseUrl, String html) {
+		final List<String> urls = new ArrayList<>();
+		URL base = null;
+		if (baseUrl != null) {
+			try {
+				base = new URL(baseUrl);
+			} catch (IOException e) {
+				// Only absolute references will be resolved.
+			}
+		}
+		final String lowerHtml = html.toLowerCase(Locale.US);
+		int index = 0;
+		while (urls.size() < MAX_SUBRESOURCES && (index = lowerHtml.indexOf('<', index)) >= 0) {
+			final int end = lowerHtml.indexOf('>', index);
+			if (end < 0) {
+				break;
+			}
+			final String tag = lowerHtml.substring(index + 1, end);
+			final String attribute;
+			if (tag.startsWith("script") || tag.startsWith("img")) {
+				attribute = "src";
+			} else if (tag.startsWith("link") && tag.contains("stylesheet")) {
+				attribute = "href";
+			} else {
+				attribute = null;
+			}
+			final String reference = attribute != null ? findAttribute(tag, html.substring(index + 1, end), attribute) : null;
+			if (reference != null) {
+				try {
+					final String url = (base != null ? new URL(base, reference) : new URL(reference)).toString();
+					if ((url.startsWith("http://") || url.startsWith("https://")) && !urls.contains(url)) {
+						urls.add(url);
+					}
+				} catch (IOException e) {
+					// Ignore malformed reference.
+				}
+			}
+			index = end + 1;
+		}
+		return urls;
+	}
+
+	/**
+	 * Finds value of the specified <var>attribute</var> within the given tag.
+	 *
+	 * @param lowerTag Lower cased content of the tag used for lookup.
+	 * @param tag      Content of the tag from which to take the value.
+	 */
+	private static String findAttribute(String lowerTag, String tag, String attribute) {
+		int index = 0;
+		while ((index = lowerTag.indexOf(attribute, index)) >= 0) {
+			final int valueStart = index + attribute.length();
+			if (index > 0 && Character.isWhitespace(lowerTag.charAt(index - 1)) &&
+					valueStart < lowerTag.length() && lowerTag.charAt(valueStart) == '=') {
+				int start = valueStart + 1;
+				final char quote = start < tag.length() ? tag.charAt(start) : ' ';
+				int end;
+				if (quote == '"' || quote == '\'') {
+					end = tag.indexOf(quote, ++start);
+				} else {
+					end = start;
+					while (end < tag.length() && !Character.isWhitespace(tag.charAt(end))) {
+						end++;
+					}
+				}
+				return end > start ? tag.substring(start, end).trim() : null;
+			}
+			index = valueStart;
+		}
+		return null;
+	}
+
+	/**
+	 * Finds cached entry for the given key within the memory tier and then within the disk tier.
+	 */
+	private synchronized Entry findEntry(String key) {
+		final Entry entry = mMemoryEntries.get(key);
+		if (entry != null) {
+			return entry;
+		}
+		ensureDiskIndexed();
+		return mDiskEntries.get(key);
+	}
+
+	/**
+	 * Creates a response with body of the given cached entry.
+	 */
+	private WebResourceResponse open(Entry entry) {
+		final InputStream stream;
+		if (entry.data != null) {
+			stream = new ByteArrayInputStream(entry.data);
+		} else {
+			try {
+				stream = new FileInputStream(bodyFile(entry.key));
+			} catch (IOException e) {
+				synchronized (this) {
+					ensureDiskIndexed();
+					removeDiskEntry(entry.key);
+				}
+				return null;
+			}
+		}
+		return new WebResourceResponse(entry.mimeType, entry.encoding, stream);
+	}
+
+	/**
+	 * Fetches the given url from network for preloading. If there is the given stale <var>entry</var>,
+	 * a conditional request is performed. Redirects are not followed, so a body is never cached
+	 * under url of another document.
+	 */
+	private WebResourceResponse fetch(String url, String key, Entry entry) throws IOException {
+		final HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+		connection.setConnectTimeout(TIMEOUT);
+		connection.setReadTimeout(TIMEOUT);
+		connection.setInstanceFollowRedirects(false);
+		final CookieManager cookieManager = CookieManager.getInstance();
+		final String cookie = cookieManager.getCookie(url);
+		if (cookie != null) {
+			connection.setRequestProperty("Cookie", cookie);
+		}
+		if (entry != null) {
+			if (entry.etag != null) {
+				connection.setRequestProperty("If-None-Match", entry.etag);
+			}
+			if (entry.lastModified != null) {
+				connection.setRequestProperty("If-Modified-Since", entry.lastModified);
+			}
+		}
+		final int code = connection.getResponseCode();
+		storeCookies(cookieManager, url, connection);
+		if (code == HttpURLConnection.HTTP_NOT_MODIFIED && entry != null) {
+			connection.disconnect();
+			mRevalidationCount.incrementAndGet();
+			entry.expiresAt = resolveExpiration(connection);
+			if (entry.data == null) {
+				writeMeta(entry);
+			}
+			return open(entry);
+		}
+		if (code != HttpURLConnection.HTTP_OK) {
+			// Redirects and failures are left to the web view.
+			connection.disconnect();
+			return null;
+		}
+		final Entry newEntry = new Entry(key, url);
+		final String contentType = connection.getContentType();
+		newEntry.mimeType = parseMimeType(contentType);
+		newEntry.encoding = parseEncoding(contentType);
+		newEntry.etag = connection.getHeaderField("ETag");
+		newEntry.lastModified = connection.getHeaderField("Last-Modified");
+		newEntry.expiresAt = resolveExpiration(connection);
+		final String cacheControl = connection.getHeaderField("Cache-Control");
+		final boolean cacheable = (cacheControl == null || (!cacheControl.contains("no-store") && !cacheControl.contains("private"))) &&
+				(newEntry.expiresAt > System.currentTimeMillis() || newEntry.etag != null || newEntry.lastModified != null);
+		final int contentLength = connection.getContentLength();
+		InputStream stream = connection.getInputStream();
+		if (cacheable && contentLength <= mMaxDiskBytes) {
+			stream = new CachingInputStream(stream, newEntry, contentLength);
+		}
+		return new WebResourceResponse(newEntry.mimeType, newEntry.encoding, stream);
+	}
+
+	/**
+	 * Commits the given entry with its body already written into the given temporary file.
+	 */
+	synchronized void commit(Entry entry, File bodyTempFile, byte[] data) {
+		ensureDiskIndexed();
+		removeDiskEntry(entry.key);
+		final Entry memoryEntry = mMemoryEntries.remove(entry.key);
+		if (memoryEntry != null) {
+			this.mMemoryBytes -= memoryEntry.size;
+		}
+		if (entry.size <= mMaxDiskBytes && bodyTempFile.renameTo(bodyFile(entry.key)) && writeMeta(entry)) {
+			mDiskEntries.put(entry.key, entry);
+			this.mDiskBytes += entry.size;
+			trimDisk();
+		} else {
+			bodyTempFile.delete();
+		}
+		if (data != null && data.length <= mMaxMemoryBytes) {
+			final Entry newMemoryEntry = entry.copy();
+			newMemoryEntry.data = data;
+			mMemoryEntries.put(entry.key, newMemoryEntry);
+			this.mMemoryBytes += entry.size;
+			trimMemory();
+		}
+	}
+
+	/**
+	 * Evicts the least recently used entries from the memory tier until it fits its budget.
+	 */
+	private void trimMemory() {
+		final Iterator<Entry> iterator = mMemoryEntries.values().iterator();
+		while (mMemoryBytes > mMaxMemoryBytes && iterator.hasNext()) {
+			this.mMemoryBytes -= iterator.next().size;
+			iterator.remove();
+		}
+	}
+
+	/**
+	 * Evicts the least recently used entries from the disk tier until it fits its budget.
+	 */
+	private void trimDisk() {
+		final Iterator<Entry> iterator = mDiskEntries.values().iterator();
+		while (mDiskBytes > mMaxDiskBytes && iterator.hasNext()) {
+			final Entry entry = iterator.next();
+			iterator.remove();
+			this.mDiskBytes -= entry.size;
+			bodyFile(entry.key).delete();
+			metaFile(entry.key).delete();
+		}
+	}
+
+	/**
+	 * Removes entry with the given key from the disk tier.
+	 */
+	private void removeDiskEntry(String key) {
+		final Entry entry = mDiskEntries.remove(key);
+		if (entry != null) {
+			this.mDiskBytes -= entry.size;
+			bodyFile(key).delete();
+			metaFile(key).delete();
+		}
+	}
+
+	/**
+	 * Builds index of the disk tier from meta files within the cache directory, if not built yet.
+	 */
+	private void ensureDiskIndexed() {
+		if (mDiskEntries != null) {
+			return;
+		}
+		this.mDiskEntries = new LinkedHashMap<>(16, 0.75f, true);
+		if (!mDirectory.isDirectory() && !mDirectory.mkdirs()) {
+			Log.e(TAG, "Failed to create cache directory(" + mDirectory + ").");
+			return;
+		}
+		final File[] files = mDirectory.listFiles();
+		if (files == null) {
+			return;
+		}
+		// Index from the least recently written files, so they are evicted first.
+		Arrays.sort(files, new Comparator<File>() {
+
+			/**
+			 */
+			@Override
+			public int compare(File first, File second) {
+				final long diff = first.lastModified() - second.lastModified();
+				return diff < 0 ? -1 : (diff > 0 ? 1 : 0);
+			}
+		});
+		for (File file : files) {
+			final String name = file.getName();
+			if (!name.endsWith(META_SUFFIX)) {
+				if (!name.endsWith(BODY_SUFFIX)) {
+					// Unfinished temporary file.
+					file.delete();
+				}
+				continue;
+			}
+			final Entry entry = readMeta(file, name.substring(0, name.length() - META_SUFFIX.length()));
+			if (entry != null && bodyFile(entry.key).length() == entry.size) {
+				mDiskEntries.put(entry.key, entry);
+				this.mDiskBytes += entry.size;
+			} else {
+				file.delete();
+			}
+		}
+	}
+
+	/**
+	 * Writes meta data of the given entry into its meta file.
+	 */
+	private boolean writeMeta(Entry entry) {
+		final Properties properties = new Properties();
+		properties.setProperty("url", entry.url);
+		properties.setProperty("size", Long.toString(entry.size));
+		properties.setProperty("expiresAt", Long.toString(entry.expiresAt));
+		if (entry.mimeType != null) {
+			properties.setProperty("mimeType", entry.mimeType);
+		}
+		if (entry.encoding != null) {
+			properties.setProperty("encoding", entry.encoding);
+		}
+		if (entry.etag != null) {
+			properties.setProperty("etag", entry.etag);
+		}
+		if (entry.lastModified != null) {
+			properties.setProperty("lastModified", entry.lastModified);
+		}
+		OutputStream stream = null;
+		try {
+			stream = new FileOutputStream(metaFile(entry.key));
+			properties.store(stream, null);
+			return true;
+		} catch (IOException e) {
+			Log.e(TAG, "Failed to write cache meta data for url(" + entry.url + ").", e);
+			return false;
+		} finally {
+			closeQuietly(stream);
+		}
+	}
+
+	/**
+	 * Reads entry from the given meta file.
+	 */
+	private static Entry readMeta(File file, String key) {
+		final Properties properties = new Properties();
+		InputStream stream = null;
+		try {
+			stream = new FileInputStream(file);
+			properties.load(stream);
+			final Entry entry = new Entry(key, properties.getProperty("url"));
+			entry.size = Long.parseLong(properties.getProperty("size"));
+			entry.expiresAt = Long.parseLong(properties.getProperty("expiresAt"));
+			entry.mimeType = properties.getProperty("mimeType");
+			entry.encoding = properties.getProperty("encoding");
+			entry.etag = properties.getProperty("etag");
+			entry.lastModified = properties.getProperty("lastModified");
+			return entry.url != null ? entry : null;
+		} catch (IOException | RuntimeException e) {
+			return null;
+		} finally {
+			closeQuietly(stream);
+		}
+	}
+
+	/**
+	 * Stores cookies set by response of the given connection into the given cookie manager, so
+	 * they are known to the web view.
+	 */
+	private static void storeCookies(CookieManager cookieManager, String url, HttpURLConnection connection) {
+		for (Map.Entry<String, List<String>> header : connection.getHeaderFields().entrySet()) {
+			if ("Set-Cookie".equalsIgnoreCase(header.getKey())) {
+				for (String cookie : header.getValue()) {
+					cookieManager.setCookie(url, cookie);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Resolves time until which is response of the given connection fresh.
+	 */
+	private static long resolveExpiration(HttpURLConnection connection) {
+		final String cacheControl = connection.getHeaderField("Cache-Control");
+		if (cacheControl != null) {
+			if (cacheControl.contains("no-cache")) {
+				return 0;
+			}
+			final int index = cacheControl.indexOf("max-age=");
+			if (index >= 0) {
+				int end = index + 8;
+				long maxAge = 0;
+				while (end < cacheControl.length() && Character.isDigit(cacheControl.charAt(end))) {
+					maxAge = maxAge * 10 + cacheControl.charAt(end++) - '0';
+				}
+				return System.currentTimeMillis() + maxAge * 1000;
+			}
+		}
+		return connection.getExpiration();
+	}
+
+	/**
+	 * Parses mime type from the given content type header.
+	 */
+	private static String parseMimeType(String contentType) {
+		if (contentType == null) {
+			return WebContentSource.DEFAULT_MIME_TYPE;
+		}
+		final int index = contentType.indexOf(';');
+		return (index >= 0 ? contentType.substring(0, index) : contentType).trim();
+	}
+
+	/**
+	 * Parses encoding from the given content type header.
+	 */
+	private static String parseEncoding(String contentType) {
+		if (contentType != null) {
+			final int index = contentType.indexOf("charset=");
+			if (index >= 0) {
+				final int end = contentType.indexOf(';', index);
+				return contentType.substring(index + 8, end >= 0 ? end : contentType.length()).replace("\"", "").trim();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns a key for the given url safe to be used as file name.
+	 */
+	private static String keyFor(String url) {
+		try {
+			final byte[] digest = MessageDigest.getInstance("SHA-1").digest(url.getBytes("UTF-8"));
+			final StringBuilder builder = new StringBuilder(digest.length * 2);
+			for (byte b : digest) {
+				builder.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+			}
+			return builder.toString();
+		} catch (NoSuchAlgorithmException | IOException e) {
+			return Integer.toHexString(url.hashCode());
+		}
+	}
+
+	/**
+	 * Returns the body file for the given key.
+	 */
+	private File bodyFile(String key) {
+		return new File(mDirectory, key + BODY_SUFFIX);
+	}
+
+	/**
+	 * Returns the meta file for the given key.
+	 */
+	private File metaFile(String key) {
+		return new File(mDirectory, key + META_SUFFIX);
+	}
+
+	/**
+	 * Closes the given closeable ignoring any exception.
+	 */
+	static void closeQuietly(java.io.Closeable closeable) {
+		if (closeable != null) {
+			try {
+				closeable.close();
+			} catch (IOException ignored) {
+				// Ignored.
+			}
+		}
+	}
+
+	/**
+	 * Inner classes ===============================================================================
+	 */
+
+	/**
+	 * Cached response.
+	 */
+	static final class Entry {
+
+		/**
+		 * Cache key of the response.
+		 */
+		final String key;
+
+		/**
+		 * Url of the response.
+		 */
+		final String url;
+
+		/**
+		 * Mime type and encoding of the response.
+		 */
+		String mimeType, encoding;
+
+		/**
+		 * Validators of the response.
+		 */
+		String etag, lastModified;
+
+		/**
+		 * Time until which is the response fresh.
+		 */
+		volatile long expiresAt;
+
+		/**
+		 * Size of the response body.
+		 */
+		long size;
+
+		/**
+		 * Body of the response held by the memory tier, <code>null</code> for disk entries.
+		 */
+		byte[] data;
+
+		/**
+		 * Creates a new instance of Entry.
+		 */
+		Entry(String key, String url) {
+			this.key = key;
+			this.url = url;
+		}
+
+		/**
+		 * Creates a copy of this entry without data.
+		 */
+		Entry copy() {
+			final Entry entry = new Entry(key, url);
+			entry.mimeType = mimeType;
+			entry.encoding = encoding;
+			entry.etag = etag;
+			entry.lastModified = lastModified;
+			entry.expiresAt = expiresAt;
+			entry.size = size;
+			return entry;
+		}
+	}
+
+	/**
+	 * Stream which writes the read response body into a temporary file of the disk tier and commits
+	 * it into the cache when the whole body has been read.
+	 */
+	private final class CachingInputStream extends FilterInputStream {
+
+		/**
+		 * Entry to be committed.
+		 */
+		final Entry entry;
+
+		/**
+		 * Temporary file for the body.
+		 */
+		File tempFile;
+
+		/**
+		 * Stream into the temporary file, <code>null</code> if caching has been abandoned.
+		 */
+		OutputStream output;
+
+		/**
+		 * Body held for the memory tier, <code>null</code> if the body is too large.
+		 */
+		ByteArrayOutputStream memory;
+
+		/**
+		 * Creates a new instance of CachingInputStream.
+		 */
+		CachingInputStream(InputStream input, Entry entry, int contentLength) {
+			super(input);
+			this.entry = entry;
+			if (contentLength <= mMemoryEntryMaxBytes) {
+				this.memory = new ByteArrayOutputStream(contentLength > 0 ? contentLength : BUFFER_SIZE);
+			}
+			try {
+				synchronized (WebContentCache.this) {
+					ensureDiskIndexed();
+				}
+				this.tempFile = File.createTempFile(entry.key, ".tmp", mDirectory);
+				this.output = new FileOutputStream(tempFile);
+			} catch (IOException e) {
+				abandon();
+			}
+		}
+
+		/**
+		 */
+		@Override
+		public int read() throws IOException {
+			final int value = super.read();
+			if (value == -1) {
+				finish();
+			} else if (output != null) {
+				write(new byte[]{(byte) value}, 0, 1);
+			}
+			return value;
+		}
+
+		/**
+		 */
+		@Override
+		public int read(@NonNull byte[] buffer, int offset, int count) throws IOException {
+			final int read = super.read(buffer, offset, count);
+			if (read == -1) {
+				finish();
+			} else if (output != null) {
+				write(buffer, offset, read);
+			}
+			return read;
+		}
+
+		/**
+		 */
+		@Override
+		public void close() throws IOException {
+			// Caching of not whole read body is abandoned.
+			abandon();
+			super.close();
+		}
+
+		/**
+		 * Writes the given read bytes into the cache.
+		 */
+		private void write(byte[] buffer, int offset, int count) {
+			try {
+				output.write(buffer, offset, count);
+				entry.size += count;
+				if (memory != null) {
+					if (entry.size <= mMemoryEntryMaxBytes) {
+						memory.write(buffer, offset, count);
+					} else {
+						this.memory = null;
+					}
+				}
+				if (entry.size > mMaxDiskBytes) {
+					abandon();
+				}
+			} catch (IOException e) {
+				abandon();
+			}
+		}
+
+		/**
+		 * Commits the whole read body into the cache.
+		 */
+		private void finish() {
+			if (output != null) {
+				closeQuietly(output);
+				this.output = null;
+				commit(entry, tempFile, memory != null ? memory.toByteArray() : null);
+				this.memory = null;
+			}
+		}
+
+		/**
+		 * Abandons caching of the body.
+		 */
+		private void abandon() {
+			if (output != null) {
+				closeQuietly(output);
+				this.output = null;
+			}
+			if (tempFile != null) {
+				tempFile.delete();
+				this.tempFile = null;
+			}
+			this.memory = null;
+		}
+	}
+}
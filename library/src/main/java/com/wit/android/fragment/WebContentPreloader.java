@@ -0,0 +1,179 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.text.TextUtils;
+import android.util.Log;
+
+import com.wit.android.fragment.annotation.WebContent;
+import com.wit.android.fragment.util.FragmentAnnotations;
+import com.wit.android.fragment.util.WebContentClassifier;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <h4>Class Overview</h4>
+ * Preloads contents of {@link WebFragment WebFragments} declared by {@link WebContent @WebContent}
+ * annotation with a preload policy ({@link WebContent#preload()}) into a shared {@link WebContentCache}.
+ * Preloading is started when {@link com.wit.android.fragment.manage.BaseFragmentFactory BaseFragmentFactory}
+ * is attached to {@link com.wit.android.fragment.manage.FragmentController FragmentController} and
+ * by {@link com.wit.android.fragment.manage.FragmentController#prefetch(int, android.os.Bundle) FragmentController.prefetch(int, Bundle)}
+ * according to the policy, at most once for each class of fragment. The fragments which should render
+ * from the warm data need to use the shared cache explicitly, by
+ * {@link WebFragment#setResponseCache(WebResponseCache) setResponseCache(WebContentPreloader.getCache())}.
+ * <p/>
+ * Nothing is preloaded until this preloader is installed by {@link #install(android.content.Context)}
+ * (for example when the application starts).
+ *
+ * @author Martin Albedinsky
+ */
+public final class WebContentPreloader {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	private static final String TAG = "WebContentPreloader";
+
+	/**
+	 * Flag indicating whether the debug output trough log-cat is enabled or not.
+	 */
+	private static final boolean DEBUG_ENABLED = FragmentsConfig.LIBRARY_DEBUG_LOG_ENABLED;
+
+	/**
+	 * Byte budget of the disk tier of the default cache.
+	 */
+	public static final long DEFAULT_MAX_DISK_BYTES = 10 * 1024 * 1024;
+
+	/**
+	 * Byte budget of the memory tier of the default cache.
+	 */
+	public static final long DEFAULT_MAX_MEMORY_BYTES = 1024 * 1024;
+
+	/**
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Application context used to resolve contents specified by resource ids.
+	 */
+	private static volatile Context sContext;
+
+	/**
+	 * Cache into which are contents preloaded.
+	 */
+	private static volatile WebContentCache sCache;
+
+	/**
+	 * Classes of fragments of which contents have been already preloaded into the current cache.
+	 */
+	private static final Set<Class<?>> PRELOADED_CLASSES = Collections.newSetFromMap(new ConcurrentHashMap<Class<?>, Boolean>());
+
+	/**
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 */
+	private WebContentPreloader() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Same as {@link #install(android.content.Context, WebContentCache)} with a cache created by
+	 * {@link WebContentCache#create(android.content.Context, long, long)} with {@link #DEFAULT_MAX_DISK_BYTES}
+	 * and {@link #DEFAULT_MAX_MEMORY_BYTES}, if there is no cache installed yet.
+	 */
+	public static void install(@NonNull Context context) {
+		if (sCache == null) {
+			install(context, WebContentCache.create(context, DEFAULT_MAX_DISK_BYTES, DEFAULT_MAX_MEMORY_BYTES));
+		}
+	}
+
+	/**
+	 * Installs this preloader, so contents with a preload policy will be preloaded into the given
+	 * <var>cache</var>.
+	 *
+	 * @param context Context used to obtain the application context.
+	 * @param cache   The desired cache for preloaded contents.
+	 */
+	public static void install(@NonNull Context context, @NonNull WebContentCache cache) {
+		sContext = context.getApplicationContext();
+		sCache = cache;
+		PRELOADED_CLASSES.clear();
+	}
+
+	/**
+	 * Returns the cache into which are contents preloaded.
+	 *
+	 * @return Cache or <code>null</code> if this preloader is not installed.
+	 */
+	@Nullable
+	public static WebContentCache getCache() {
+		return sCache;
+	}
+
+	/**
+	 * Starts preloading of content declared for the given class of fragment, if its
+	 * {@link WebContent#preload()} policy requests preloading for the given <var>event</var> and
+	 * it has not been preloaded yet.
+	 *
+	 * @param classOfFragment Class of fragment which may be annotated by {@link WebContent @WebContent}.
+	 * @param event           {@link WebContent#PRELOAD_ON_FACTORY} if the fragment became known to
+	 *                        a factory, {@link WebContent#PRELOAD_ON_PREFETCH} if it is being prefetched.
+	 * @return <code>True</code> if preloading has been started, <code>false</code> otherwise.
+	 */
+	public static boolean preload(@NonNull Class<?> classOfFragment, int event) {
+		final WebContentCache cache = sCache;
+		if (cache == null || !WebFragment.class.isAssignableFrom(classOfFragment)) {
+			return false;
+		}
+		final WebContent webContent = FragmentAnnotations.obtainAnnotationFrom(classOfFragment, WebContent.class);
+		if (webContent == null || webContent.preload() == WebContent.PRELOAD_NONE || webContent.preload() < event) {
+			return false;
+		}
+		if (!PRELOADED_CLASSES.add(classOfFragment)) {
+			return false;
+		}
+		final String content = webContent.valueRes() > 0 ? sContext.getString(webContent.valueRes()) : webContent.value();
+		if (WebContentClassifier.isWebUrl(content)) {
+			cache.preload(Collections.singletonList(content), true);
+		} else if (!TextUtils.isEmpty(content) && !WebContentClassifier.isFileUrl(content)) {
+			cache.preloadSubresources(null, content);
+		} else {
+			return false;
+		}
+		if (FragmentsConfig.LIBRARY_DEBUG_LOG_COMPILED && DEBUG_ENABLED) {
+			Log.d(TAG, "Preloading content of(" + classOfFragment.getSimpleName() + ").");
+		}
+		return true;
+	}
+}
@@ -0,0 +1,370 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <h4>Class Overview</h4>
+ * Source of a content for {@link WebFragment} which is served to the web view as a stream, so the
+ * whole content does not need to be held in memory as a single String. Content of a source is loaded
+ * under its unique {@link #getUrl() url} and provided to the web view from
+ * {@link WebFragment#interceptContentRequest(String)}.
+ * <p/>
+ * Only a reference of the source (like a path of a file) is saved within the state of WebFragment.
+ * Sources without reference (like sources of streams or readers) can be read only once and are not
+ * restored when WebFragment is recreated.
+ *
+ * @author Martin Albedinsky
+ * @see WebFragment#loadContent(WebContentSource)
+ */
+public abstract class WebContentSource {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Prefix of urls under which are contents of sources loaded.
+	 */
+	public static final String URL_PREFIX = "http://com.wit.android.fragment.content/";
+
+	/**
+	 * Default encoding of content.
+	 */
+	public static final String DEFAULT_ENCODING = "UTF-8";
+
+	/**
+	 * Default mime type of content.
+	 */
+	public static final String DEFAULT_MIME_TYPE = "text/html";
+
+	/**
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Counter used to create unique urls for sources.
+	 */
+	private static final AtomicInteger URL_COUNTER = new AtomicInteger();
+
+	/**
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Unique url of this source.
+	 */
+	private final String mUrl = URL_PREFIX + URL_COUNTER.incrementAndGet();
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Public --------------------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Checks whether the given <var>url</var> is url of some source, see {@link #getUrl()}. Such urls
+	 * do not exist and must never be requested from network.
+	 *
+	 * @param url The url to check.
+	 * @return <code>True</code> if the url starts with {@link #URL_PREFIX}, <code>false</code> otherwise.
+	 */
+	public static boolean isSourceUrl(@Nullable String url) {
+		return url != null && url.startsWith(URL_PREFIX);
+	}
+
+	/**
+	 * Creates a new source for the given HTML <var>file</var>.
+	 *
+	 * @param file The file with content.
+	 * @return New content source which can be opened repeatedly.
+	 */
+	@NonNull
+	public static WebContentSource fromFile(@NonNull File file) {
+		return new FileSource(file);
+	}
+
+	/**
+	 * Creates a new source for the given <var>stream</var> with HTML content encoded in
+	 * {@link #DEFAULT_ENCODING}.
+	 *
+	 * @param stream The stream with content. Will be closed by the web view when consumed.
+	 * @return New content source which can be opened only once.
+	 */
+	@NonNull
+	public static WebContentSource fromStream(@NonNull InputStream stream) {
+		return new StreamSource(stream);
+	}
+
+	/**
+	 * Creates a new source for the given <var>reader</var> with HTML content. The content is encoded
+	 * in {@link #DEFAULT_ENCODING} while being read by the web view.
+	 *
+	 * @param reader The reader with content. Will be closed by the web view when consumed.
+	 * @return New content source which can be opened only once.
+	 */
+	@NonNull
+	public static WebContentSource fromReader(@NonNull Reader reader) {
+		return new StreamSource(new ReaderInputStream(reader, Charset.forName(DEFAULT_ENCODING)));
+	}
+
+	/**
+	 * Creates a source from the given <var>reference</var> obtained by {@link #getReference()}.
+	 *
+	 * @param reference The reference of source.
+	 * @return Restored source or <code>null</code> if the reference is invalid.
+	 */
+	@Nullable
+	public static WebContentSource fromReference(@Nullable String reference) {
+		return reference != null ? new FileSource(new File(reference)) : null;
+	}
+
+	/**
+	 * Opens a new stream with content of this source.
+	 *
+	 * @return Stream with content.
+	 * @throws IOException If the content cannot be opened.
+	 */
+	@NonNull
+	public abstract InputStream openStream() throws IOException;
+
+	/**
+	 * Returns a reference of this source which can be saved into the state of WebFragment and later
+	 * restored by {@link #fromReference(String)}.
+	 *
+	 * @return Reference or <code>null</code> if this source cannot be restored.
+	 */
+	@Nullable
+	public String getReference() {
+		return null;
+	}
+
+	/**
+	 * Returns the mime type of content of this source.
+	 *
+	 * @return Mime type, {@link #DEFAULT_MIME_TYPE} by default.
+	 */
+	@NonNull
+	public String getMimeType() {
+		return DEFAULT_MIME_TYPE;
+	}
+
+	/**
+	 * Returns the encoding of content of this source.
+	 *
+	 * @return Encoding, {@link #DEFAULT_ENCODING} by default.
+	 */
+	@NonNull
+	public String getEncoding() {
+		return DEFAULT_ENCODING;
+	}
+
+	/**
+	 * Returns the unique url under which is content of this source loaded into web view.
+	 *
+	 * @return Url of this source.
+	 */
+	@NonNull
+	public final String getUrl() {
+		return mUrl;
+	}
+
+	/**
+	 * Inner classes ===============================================================================
+	 */
+
+	/**
+	 * Source of a file.
+	 */
+	private static final class FileSource extends WebContentSource {
+
+		/**
+		 * The file with content.
+		 */
+		final File file;
+
+		/**
+		 * Creates a new instance of FileSource for the given <var>file</var>.
+		 */
+		FileSource(File file) {
+			this.file = file;
+		}
+
+		/**
+		 */
+		@NonNull
+		@Override
+		public InputStream openStream() throws IOException {
+			return new FileInputStream(file);
+		}
+
+		/**
+		 */
+		@Nullable
+		@Override
+		public String getReference() {
+			return file.getAbsolutePath();
+		}
+	}
+
+	/**
+	 * Source of a stream which can be opened only once.
+	 */
+	private static final class StreamSource extends WebContentSource {
+
+		/**
+		 * The stream with content, <code>null</code> when already opened.
+		 */
+		private InputStream stream;
+
+		/**
+		 * Creates a new instance of StreamSource for the given <var>stream</var>.
+		 */
+		StreamSource(InputStream stream) {
+			this.stream = stream;
+		}
+
+		/**
+		 */
+		@NonNull
+		@Override
+		public synchronized InputStream openStream() throws IOException {
+			final InputStream stream = this.stream;
+			if (stream == null) {
+				throw new IOException("Content of stream source has been already consumed.");
+			}
+			this.stream = null;
+			return stream;
+		}
+	}
+
+	/**
+	 * Input stream which encodes characters read from a reader.
+	 */
+	private static final class ReaderInputStream extends InputStream {
+
+		/**
+		 * Reader with characters to encode.
+		 */
+		private final Reader reader;
+
+		/**
+		 * Encoder for read characters.
+		 */
+		private final CharsetEncoder encoder;
+
+		/**
+		 * Buffer with read but not yet encoded characters.
+		 */
+		private final CharBuffer chars = CharBuffer.allocate(4096);
+
+		/**
+		 * Buffer with encoded but not yet read bytes.
+		 */
+		private final ByteBuffer bytes = ByteBuffer.allocate(8192);
+
+		/**
+		 * Flag indicating whether the end of reader has been reached.
+		 */
+		private boolean endOfInput;
+
+		/**
+		 * Creates a new instance of ReaderInputStream for the given <var>reader</var>.
+		 */
+		ReaderInputStream(Reader reader, Charset charset) {
+			this.reader = reader;
+			this.encoder = charset.newEncoder()
+					.onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE);
+			chars.flip();
+			bytes.flip();
+		}
+
+		/**
+		 */
+		@Override
+		public int read() throws IOException {
+			final byte[] single = new byte[1];
+			return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+		}
+
+		/**
+		 */
+		@Override
+		public int read(@NonNull byte[] buffer, int offset, int length) throws IOException {
+			if (length == 0) {
+				return 0;
+			}
+			while (!bytes.hasRemaining()) {
+				if (endOfInput && !chars.hasRemaining()) {
+					return -1;
+				}
+				fillBytes();
+			}
+			final int count = Math.min(length, bytes.remaining());
+			bytes.get(buffer, offset, count);
+			return count;
+		}
+
+		/**
+		 */
+		@Override
+		public void close() throws IOException {
+			reader.close();
+		}
+
+		/**
+		 * Reads next characters from the reader and encodes them into the bytes buffer.
+		 */
+		private void fillBytes() throws IOException {
+			chars.compact();
+			if (!endOfInput) {
+				final int read = reader.read(chars);
+				endOfInput = read == -1;
+			}
+			chars.flip();
+			bytes.clear();
+			final CoderResult result = encoder.encode(chars, bytes, endOfInput);
+			if (endOfInput && !chars.hasRemaining()) {
+				encoder.flush(bytes);
+			}
+			bytes.flip();
+			if (result.isError()) {
+				result.throwException();
+			}
+		}
+	}
+}
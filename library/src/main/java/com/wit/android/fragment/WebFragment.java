@@ -29,16 +29,19 @@ import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.webkit.WebBackForwardList;
 import android.webkit.WebChromeClient;
+import android.webkit.WebResourceResponse;
 import android.webkit.WebView;
 import android.webkit.WebViewClient;
 
 import com.wit.android.fragment.annotation.WebContent;
+import com.wit.android.fragment.util.WebContentClassifier;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * <h4>Class Overview</h4>
@@ -95,7 +98,7 @@ public class WebFragment extends BaseFragment {
 	 * {@link #onLoadContent(String, int)} method.
 	 */
 	@Retention(RetentionPolicy.SOURCE)
-	@IntDef({CONTENT_EMPTY, CONTENT_URL, CONTENT_HTML, CONTENT_FILE})
+	@IntDef({CONTENT_EMPTY, CONTENT_URL, CONTENT_HTML, CONTENT_FILE, CONTENT_SOURCE})
 	public @interface ContentType {}
 
 	/**
@@ -123,71 +126,14 @@ public class WebFragment extends BaseFragment {
 	private static final String BUNDLE_WEB_VIEW_CONTENT = "com.wit.android.fragment.WebFragment.BUNDLE.Content";
 
 	/**
-	 * Bundle key for the private flags.
+	 * Bundle key for the reference of the web view content source.
 	 */
-	private static final String BUNDLE_PRIVATE_FLAGS = "com.wit.android.fragment.WebFragment.BUNDLE.PrivateFlags";
+	private static final String BUNDLE_WEB_VIEW_CONTENT_SOURCE = "com.wit.android.fragment.WebFragment.BUNDLE.ContentSource";
 
 	/**
-	 * Source code copied from Android SDK [START] =================================================
-	 * to preserve min library SDK version at 7.
-	 */
-	private static final String GOOD_IRI_CHAR = "a-zA-Z0-9\u00A0-\uD7FF\uF900-\uFDCF\uFDF0-\uFFEF";
-
-	/**
-	 * Regular expression to match all IANA top-level domains for WEB_URL_MATCHER.
-	 * List accurate as of 2011/07/18.  List taken from:
-	 * http://data.iana.org/TLD/tlds-alpha-by-domain.txt
-	 * This pattern is auto-generated by frameworks/ex/common/tools/make-iana-tld-pattern.py
-	 */
-	private static final String TOP_LEVEL_DOMAIN_STR_FOR_WEB_URL =
-			"(?:"
-					+ "(?:aero|arpa|asia|a[cdefgilmnoqrstuwxz])"
-					+ "|(?:biz|b[abdefghijmnorstvwyz])"
-					+ "|(?:cat|com|coop|c[acdfghiklmnoruvxyz])"
-					+ "|d[ejkmoz]"
-					+ "|(?:edu|e[cegrstu])"
-					+ "|f[ijkmor]"
-					+ "|(?:gov|g[abdefghilmnpqrstuwy])"
-					+ "|h[kmnrtu]"
-					+ "|(?:info|int|i[delmnoqrst])"
-					+ "|(?:jobs|j[emop])"
-					+ "|k[eghimnprwyz]"
-					+ "|l[abcikrstuvy]"
-					+ "|(?:mil|mobi|museum|m[acdeghklmnopqrstuvwxyz])"
-					+ "|(?:name|net|n[acefgilopruz])"
-					+ "|(?:org|om)"
-					+ "|(?:pro|p[aefghklmnrstwy])"
-					+ "|qa"
-					+ "|r[eosuw]"
-					+ "|s[abcdeghijklmnortuvyz]"
-					+ "|(?:tel|travel|t[cdfghjklmnoprtvwz])"
-					+ "|u[agksyz]"
-					+ "|v[aceginu]"
-					+ "|w[fs]"
-					+ "|(?:\u03b4\u03bf\u03ba\u03b9\u03bc\u03ae|\u0438\u0441\u043f\u044b\u0442\u0430\u043d\u0438\u0435|\u0440\u0444|\u0441\u0440\u0431|\u05d8\u05e2\u05e1\u05d8|\u0622\u0632\u0645\u0627\u06cc\u0634\u06cc|\u0625\u062e\u062a\u0628\u0627\u0631|\u0627\u0644\u0627\u0631\u062f\u0646|\u0627\u0644\u062c\u0632\u0627\u0626\u0631|\u0627\u0644\u0633\u0639\u0648\u062f\u064a\u0629|\u0627\u0644\u0645\u063a\u0631\u0628|\u0627\u0645\u0627\u0631\u0627\u062a|\u0628\u06be\u0627\u0631\u062a|\u062a\u0648\u0646\u0633|\u0633\u0648\u0631\u064a\u0629|\u0641\u0644\u0633\u0637\u064a\u0646|\u0642\u0637\u0631|\u0645\u0635\u0631|\u092a\u0930\u0940\u0915\u094d\u0937\u093e|\u092d\u093e\u0930\u0924|\u09ad\u09be\u09b0\u09a4|\u0a2d\u0a3e\u0a30\u0a24|\u0aad\u0abe\u0ab0\u0aa4|\u0b87\u0ba8\u0bcd\u0ba4\u0bbf\u0baf\u0bbe|\u0b87\u0bb2\u0b99\u0bcd\u0b95\u0bc8|\u0b9a\u0bbf\u0b99\u0bcd\u0b95\u0baa\u0bcd\u0baa\u0bc2\u0bb0\u0bcd|\u0baa\u0bb0\u0bbf\u0b9f\u0bcd\u0b9a\u0bc8|\u0c2d\u0c3e\u0c30\u0c24\u0c4d|\u0dbd\u0d82\u0d9a\u0dcf|\u0e44\u0e17\u0e22|\u30c6\u30b9\u30c8|\u4e2d\u56fd|\u4e2d\u570b|\u53f0\u6e7e|\u53f0\u7063|\u65b0\u52a0\u5761|\u6d4b\u8bd5|\u6e2c\u8a66|\u9999\u6e2f|\ud14c\uc2a4\ud2b8|\ud55c\uad6d|xn\\-\\-0zwm56d|xn\\-\\-11b5bs3a9aj6g|xn\\-\\-3e0b707e|xn\\-\\-45brj9c|xn\\-\\-80akhbyknj4f|xn\\-\\-90a3ac|xn\\-\\-9t4b11yi5a|xn\\-\\-clchc0ea0b2g2a9gcd|xn\\-\\-deba0ad|xn\\-\\-fiqs8s|xn\\-\\-fiqz9s|xn\\-\\-fpcrj9c3d|xn\\-\\-fzc2c9e2c|xn\\-\\-g6w251d|xn\\-\\-gecrj9c|xn\\-\\-h2brj9c|xn\\-\\-hgbk6aj7f53bba|xn\\-\\-hlcj6aya9esc7a|xn\\-\\-j6w193g|xn\\-\\-jxalpdlp|xn\\-\\-kgbechtv|xn\\-\\-kprw13d|xn\\-\\-kpry57d|xn\\-\\-lgbbat1ad8j|xn\\-\\-mgbaam7a8h|xn\\-\\-mgbayh7gpa|xn\\-\\-mgbbh1a71e|xn\\-\\-mgbc0a9azcg|xn\\-\\-mgberp4a5d4ar|xn\\-\\-o3cw4h|xn\\-\\-ogbpf8fl|xn\\-\\-p1ai|xn\\-\\-pgbs0dh|xn\\-\\-s9brj9c|xn\\-\\-wgbh1c|xn\\-\\-wgbl6a|xn\\-\\-xkc2al3hye2a|xn\\-\\-xkc2dl3a5ee0h|xn\\-\\-yfro4i67o|xn\\-\\-ygbi2ammx|xn\\-\\-zckzah|xxx)"
-					+ "|y[et]"
-					+ "|z[amw]))";
-
-	private static final Matcher WEB_URL_MATCHER = Pattern.compile(
-			"((?:(http|https|Http|Https|rtsp|Rtsp):\\/\\/(?:(?:[a-zA-Z0-9\\$\\-\\_\\.\\+\\!\\*\\'\\(\\)"
-					+ "\\,\\;\\?\\&\\=]|(?:\\%[a-fA-F0-9]{2})){1,64}(?:\\:(?:[a-zA-Z0-9\\$\\-\\_"
-					+ "\\.\\+\\!\\*\\'\\(\\)\\,\\;\\?\\&\\=]|(?:\\%[a-fA-F0-9]{2})){1,25})?\\@)?)?"
-					+ "((?:(?:[" + GOOD_IRI_CHAR + "][" + GOOD_IRI_CHAR + "\\-]{0,64}\\.)+"   // named host
-					+ TOP_LEVEL_DOMAIN_STR_FOR_WEB_URL
-					+ "|(?:(?:25[0-5]|2[0-4]" // or ip address
-					+ "[0-9]|[0-1][0-9]{2}|[1-9][0-9]|[1-9])\\.(?:25[0-5]|2[0-4][0-9]"
-					+ "|[0-1][0-9]{2}|[1-9][0-9]|[1-9]|0)\\.(?:25[0-5]|2[0-4][0-9]|[0-1]"
-					+ "[0-9]{2}|[1-9][0-9]|[1-9]|0)\\.(?:25[0-5]|2[0-4][0-9]|[0-1][0-9]{2}"
-					+ "|[1-9][0-9]|[0-9])))"
-					+ "(?:\\:\\d{1,5})?)" // plus option port number
-					+ "(\\/(?:(?:[" + GOOD_IRI_CHAR + "\\;\\/\\?\\:\\@\\&\\=\\#\\~"  // plus option query params
-					+ "\\-\\.\\+\\!\\*\\'\\(\\)\\,\\_])|(?:\\%[a-fA-F0-9]{2}))*)?"
-					+ "(?:\\b|$)"
-	)
-			.matcher(""); // and finally, a word boundary or end of input.  This is to stop foo.sure from matching as foo.su
-	/**
-	 * Source code copied from Android SDK [END] ===================================================
+	 * Bundle key for the private flags.
 	 */
+	private static final String BUNDLE_PRIVATE_FLAGS = "com.wit.android.fragment.WebFragment.BUNDLE.PrivateFlags";
 
 	/**
 	 * The flag indicating no content to load.
@@ -209,6 +155,11 @@ public class WebFragment extends BaseFragment {
 	 */
 	protected static final int CONTENT_FILE = 0x03;
 
+	/**
+	 * The flag indicating a content provided by {@link WebContentSource} to load.
+	 */
+	protected static final int CONTENT_SOURCE = 0x04;
+
 	/**
 	 * Content data encoding.
 	 */
@@ -243,11 +194,6 @@ public class WebFragment extends BaseFragment {
 	 * Static members ==============================================================================
 	 */
 
-	/**
-	 * Matcher for the <code>file://PATH_TO_FILE</code> pattern.
-	 */
-	private static final Matcher FILE_URL_MATCHER = Pattern.compile("file://(.*)").matcher("");
-
 	/**
 	 * Members =====================================================================================
 	 */
@@ -262,6 +208,17 @@ public class WebFragment extends BaseFragment {
 	 */
 	private String mContent;
 
+	/**
+	 * Source of the current content, <code>null</code> if the current content is a String.
+	 * Accessed also from the thread on which are web view requests intercepted.
+	 */
+	private volatile WebContentSource mContentSource;
+
+	/**
+	 * Cache asked for responses of web view requests, if set.
+	 */
+	private volatile WebResponseCache mResponseCache;
+
 	/**
 	 * Annotation holding configuration for the WebView of this fragment.
 	 */
@@ -304,7 +261,7 @@ public class WebFragment extends BaseFragment {
 	 * @return <code>True</code> if url matches valid web URL format, <code>false</code> otherwise.
 	 */
 	public static boolean isValidWebUrl(@Nullable String url) {
-		return WEB_URL_MATCHER.reset(url).matches();
+		return WebContentClassifier.isWebUrl(url);
 	}
 
 	/**
@@ -361,7 +318,8 @@ public class WebFragment extends BaseFragment {
 	 */
 	@Override
 	public View onCreateView(LayoutInflater inflater, ViewGroup container, Bundle savedInstanceState) {
-		this.mWebView = new WebView(inflater.getContext());
+		// A web view into which is going to be restored a saved state must not be a reset one.
+		this.mWebView = WebViewPool.getInstance().obtain(inflater.getContext(), savedInstanceState != null);
 		mWebView.setLayoutParams(new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT));
 		mWebView.setScrollBarStyle(View.SCROLLBARS_INSIDE_OVERLAY);
 		// Set custom WebViewClient and WebChromeClient.
@@ -384,7 +342,8 @@ public class WebFragment extends BaseFragment {
 		super.onViewCreated(view, savedInstanceState);
 		if (savedInstanceState != null) {
 			this.mPrivateFlags = savedInstanceState.getInt(BUNDLE_PRIVATE_FLAGS);
-			this.mContent = savedInstanceState.getString(BUNDLE_WEB_VIEW_CONTENT);
+			this.mContentSource = WebContentSource.fromReference(savedInstanceState.getString(BUNDLE_WEB_VIEW_CONTENT_SOURCE));
+			this.mContent = mContentSource != null ? mContentSource.getUrl() : savedInstanceState.getString(BUNDLE_WEB_VIEW_CONTENT);
 			this.updatePrivateFlags(PFLAG_CONTENT_CHANGED, true);
 		}
 
@@ -401,8 +360,9 @@ public class WebFragment extends BaseFragment {
 		this.updatePrivateFlags(PFLAG_READY_TO_LOAD_CONTENT, true);
 
 		this.resolveContentType();
-		// Restore web view state.
-		if (savedInstanceState != null && mWebView != null && mContentType != CONTENT_EMPTY && mContentType != CONTENT_HTML) {
+		// Restore web view state, but only into a web view which has not built any state yet.
+		if (savedInstanceState != null && mWebView != null && mContentType != CONTENT_EMPTY && mContentType != CONTENT_HTML && mContentType != CONTENT_SOURCE
+				&& !WebViewPool.getInstance().isReset(mWebView)) {
 			mWebView.restoreState(savedInstanceState);
 		}
 		// Load content.
@@ -411,6 +371,17 @@ public class WebFragment extends BaseFragment {
 		}
 	}
 
+	/**
+	 */
+	@Override
+	public void onDestroyView() {
+		super.onDestroyView();
+		if (mWebView != null) {
+			WebViewPool.getInstance().recycle(mWebView);
+			this.mWebView = null;
+		}
+	}
+
 	/**
 	 */
 	@Override
@@ -421,7 +392,12 @@ public class WebFragment extends BaseFragment {
 			mWebView.saveState(outState);
 		}
 		outState.putInt(BUNDLE_PRIVATE_FLAGS, mPrivateFlags);
-		outState.putString(BUNDLE_WEB_VIEW_CONTENT, mContent);
+		if (mContentSource != null) {
+			// Save only reference, never the content itself.
+			outState.putString(BUNDLE_WEB_VIEW_CONTENT_SOURCE, mContentSource.getReference());
+		} else {
+			outState.putString(BUNDLE_WEB_VIEW_CONTENT, mContent);
+		}
 	}
 
 	/**
@@ -434,6 +410,7 @@ public class WebFragment extends BaseFragment {
 	 * @see #getContent()
 	 */
 	public boolean loadContent(String content) {
+		this.mContentSource = null;
 		this.mContent = content;
 		this.updatePrivateFlags(PFLAG_CONTENT_CHANGED, true);
 		if (hasPrivateFlag(PFLAG_READY_TO_LOAD_CONTENT)) {
@@ -443,12 +420,86 @@ public class WebFragment extends BaseFragment {
 		return false;
 	}
 
+	/**
+	 * Loads content of the given <var>source</var> into the WebView of this web fragment instance.
+	 * The content is streamed to the web view by {@link #interceptContentRequest(String)}, so it
+	 * is never held in memory as a whole.
+	 * <p/>
+	 * Only a reference of the given source is saved into the state of this fragment, see
+	 * {@link WebContentSource#getReference()}.
+	 *
+	 * @param source Source of content to load.
+	 * @return <code>True</code> if content was loaded, <code>false</code> if it was prepared to load
+	 * and will be loaded in the feature when WebView is ready.
+	 * @see #getContentSource()
+	 */
+	public boolean loadContent(@NonNull WebContentSource source) {
+		this.mContentSource = source;
+		this.mContent = source.getUrl();
+		this.updatePrivateFlags(PFLAG_CONTENT_CHANGED, true);
+		if (hasPrivateFlag(PFLAG_READY_TO_LOAD_CONTENT)) {
+			onLoadContent(mContent, resolveContentType());
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Provides a response with content of the current content source if the given <var>url</var> is
+	 * url of that source. This is called by the default {@link android.webkit.WebViewClient} of this
+	 * fragment from {@link android.webkit.WebViewClient#shouldInterceptRequest(android.webkit.WebView, String)}.
+	 * If you provide a custom client by {@link #onCreateWebViewClient()}, call this method from that
+	 * client to support content sources.
+	 * <p/>
+	 * This method is called on a background thread.
+	 *
+	 * @param url The requested url.
+	 * @return Response with streamed content, empty response if the url is url of a content source
+	 * (see {@link WebContentSource#isSourceUrl(String)}) which is not the current one or cannot be opened,
+	 * so such url is never requested from network, or <code>null</code> for any other url.
+	 * @see #loadContent(WebContentSource)
+	 */
+	@Nullable
+	public WebResourceResponse interceptContentRequest(@NonNull String url) {
+		if (!WebContentSource.isSourceUrl(url)) {
+			return null;
+		}
+		final WebContentSource source = mContentSource;
+		if (source != null && url.equals(source.getUrl())) {
+			try {
+				return new WebResourceResponse(source.getMimeType(), source.getEncoding(), source.openStream());
+			} catch (IOException e) {
+				Log.e(TAG, "Failed to open content source(" + url + ").", e);
+			}
+		}
+		return new WebResourceResponse(WebContentSource.DEFAULT_MIME_TYPE, WebContentSource.DEFAULT_ENCODING, new ByteArrayInputStream(new byte[0]));
+	}
+
 	/**
 	 * Getters + Setters ---------------------------------------------------------------------------
 	 */
 
 	/**
-	 * Returns an instance of WebView
+	 * Adds the given JavaScript interface into the web view of this fragment. Use this method rather
+	 * than {@link android.webkit.WebView#addJavascriptInterface(Object, String)}, so the web view
+	 * with the interface is not reused by another fragment, see {@link WebViewPool}.
+	 *
+	 * @param object Object to be exposed to JavaScript.
+	 * @param name   Name under which will be the object exposed.
+	 * @return <code>True</code> if the interface has been added, <code>false</code> if this fragment
+	 * has no web view.
+	 */
+	public boolean addJavascriptInterface(@NonNull Object object, @NonNull String name) {
+		if (mWebView != null) {
+			WebViewPool.getInstance().addJavascriptInterface(mWebView, object, name);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns an instance of WebView. The web view is borrowed from {@link WebViewPool}, so do not
+	 * add any JavaScript interface into it directly, but by {@link #addJavascriptInterface(Object, String)}.
 	 *
 	 * @return The WebView of this web fragment instance.
 	 */
@@ -469,6 +520,41 @@ public class WebFragment extends BaseFragment {
 		return mContent;
 	}
 
+	/**
+	 * Returns the source of the current content.
+	 *
+	 * @return Current content source or <code>null</code> if the current content was not loaded
+	 * from a source.
+	 * @see #loadContent(WebContentSource)
+	 */
+	@Nullable
+	public WebContentSource getContentSource() {
+		return mContentSource;
+	}
+
+	/**
+	 * Sets a cache which will be asked for responses of requests of the web view of this fragment
+	 * from the default web view client. The same cache can be shared by multiple fragments.
+	 *
+	 * @param cache The desired cache. May be <code>null</code> to load all requests by the web view.
+	 * @see #getResponseCache()
+	 * @see WebContentCache
+	 */
+	public void setResponseCache(@Nullable WebResponseCache cache) {
+		this.mResponseCache = cache;
+	}
+
+	/**
+	 * Returns the cache set to this fragment.
+	 *
+	 * @return Response cache or <code>null</code> if there is no cache set.
+	 * @see #setResponseCache(WebResponseCache)
+	 */
+	@Nullable
+	public WebResponseCache getResponseCache() {
+		return mResponseCache;
+	}
+
 	/**
 	 * Registers a callback to be invoked when loading process of the current content into web view
 	 * starts or finishes.
@@ -494,7 +580,7 @@ public class WebFragment extends BaseFragment {
 	 */
 	@Override
 	protected boolean onBackPressed() {
-		if (mWebView != null && mWebView.canGoBack()) {
+		if (mWebView != null && mWebView.canGoBack() && !isBackToBlankPage(mWebView)) {
 			mWebView.goBack();
 			return true;
 		}
@@ -517,7 +603,7 @@ public class WebFragment extends BaseFragment {
 			@Override
 			public void onPageFinished(WebView view, String url) {
 				super.onPageFinished(view, url);
-				if (DEBUG_ENABLED) {
+				if (FragmentsConfig.LIBRARY_DEBUG_LOG_COMPILED && DEBUG_ENABLED) {
 					Log.d(TAG, "onPageFinished('" + url + "')");
 				}
 				notifyLoadingFinished(url);
@@ -536,7 +622,7 @@ public class WebFragment extends BaseFragment {
 			@Override
 			public void onPageStarted(WebView view, String url, Bitmap favicon) {
 				super.onPageStarted(view, url, favicon);
-				if (DEBUG_ENABLED) {
+				if (FragmentsConfig.LIBRARY_DEBUG_LOG_COMPILED && DEBUG_ENABLED) {
 					Log.d(TAG, "onPageStarted('" + url + "')");
 				}
 				notifyLoadingStarted(url);
@@ -546,12 +632,24 @@ public class WebFragment extends BaseFragment {
 			 */
 			@Override
 			public boolean shouldOverrideUrlLoading(WebView view, String url) {
-				if (DEBUG_ENABLED) {
+				if (FragmentsConfig.LIBRARY_DEBUG_LOG_COMPILED && DEBUG_ENABLED) {
 					Log.d(TAG, "shouldOverrideUrlLoading('" + url + "')");
 				}
 				return super.shouldOverrideUrlLoading(view, url);
 			}
 
+			/**
+			 */
+			@Override
+			public WebResourceResponse shouldInterceptRequest(WebView view, String url) {
+				WebResourceResponse response = interceptContentRequest(url);
+				final WebResponseCache cache = mResponseCache;
+				if (response == null && cache != null) {
+					response = cache.intercept(url);
+				}
+				return response != null ? response : super.shouldInterceptRequest(view, url);
+			}
+
 		};
 	}
 
@@ -581,17 +679,19 @@ public class WebFragment extends BaseFragment {
 	 * or from {@link #onActivityCreated(android.os.Bundle)} when this fragment is being first time
 	 * created.
 	 *
-	 * @param content Content to load. This can be a raw HTML, web URL or a path to FILE.
+	 * @param content Content to load. This can be a raw HTML, web URL, a path to FILE or url of
+	 *                a content source.
 	 * @param type    A type of the specified <var>content</var>. One of flags {@link #CONTENT_EMPTY},
-	 *                {@link #CONTENT_HTML}, {@link #CONTENT_URL} or {@link #CONTENT_FILE}.
+	 *                {@link #CONTENT_HTML}, {@link #CONTENT_URL}, {@link #CONTENT_FILE} or
+	 *                {@link #CONTENT_SOURCE}.
 	 */
 	protected void onLoadContent(@Nullable String content, @ContentType int type) {
 		if (mWebView != null) {
-			if (LOG_ENABLED && !TextUtils.isEmpty(content)) {
+			if (FragmentsConfig.LIBRARY_DEBUG_LOG_COMPILED && DEBUG_ENABLED && !TextUtils.isEmpty(content)) {
 				if (content.length() > LOG_CONTENT_MAX_LENGTH) {
-					Log.i(TAG, "Loading content('" + content.substring(0, LOG_CONTENT_MAX_LENGTH) + "') into web view.");
+					Log.d(TAG, "Loading content('" + content.substring(0, LOG_CONTENT_MAX_LENGTH) + "') into web view.");
 				} else {
-					Log.i(TAG, "Loading content('" + content + "') into web view.");
+					Log.d(TAG, "Loading content('" + content + "') into web view.");
 				}
 			}
 			switch (type) {
@@ -600,6 +700,7 @@ public class WebFragment extends BaseFragment {
 					break;
 				case CONTENT_URL:
 				case CONTENT_FILE:
+				case CONTENT_SOURCE:
 					mWebView.loadUrl(content);
 					break;
 				case CONTENT_HTML:
@@ -643,10 +744,7 @@ public class WebFragment extends BaseFragment {
 	@Override
 	void processClassAnnotations(Class<?> classOfFragment) {
 		super.processClassAnnotations(classOfFragment);
-		// Obtain web content.
-		if (classOfFragment.isAnnotationPresent(WebContent.class)) {
-			this.mWebContent = classOfFragment.getAnnotation(WebContent.class);
-		}
+		this.mWebContent = mMetadata.webContent;
 	}
 
 	/**
@@ -656,16 +754,18 @@ public class WebFragment extends BaseFragment {
 	/**
 	 * Runs resolving process of the current content.
 	 *
-	 * @return One of the flags {@link #CONTENT_EMPTY}, {@link #CONTENT_HTML}, {@link #CONTENT_URL}
-	 * or {@link #CONTENT_FILE}.
+	 * @return One of the flags {@link #CONTENT_EMPTY}, {@link #CONTENT_HTML}, {@link #CONTENT_URL},
+	 * {@link #CONTENT_FILE} or {@link #CONTENT_SOURCE}.
 	 */
 	@ContentType
 	private int resolveContentType() {
 		if (hasPrivateFlag(PFLAG_CONTENT_CHANGED)) {
-			if (!TextUtils.isEmpty(mContent)) {
-				if (WEB_URL_MATCHER.reset(mContent).matches()) {
+			if (mContentSource != null) {
+				this.mContentType = CONTENT_SOURCE;
+			} else if (!TextUtils.isEmpty(mContent)) {
+				if (WebContentClassifier.isWebUrl(mContent)) {
 					this.mContentType = CONTENT_URL;
-				} else if (FILE_URL_MATCHER.reset(mContent).matches()) {
+				} else if (WebContentClassifier.isFileUrl(mContent)) {
 					this.mContentType = CONTENT_FILE;
 				} else {
 					this.mContentType = CONTENT_HTML;
@@ -677,6 +777,19 @@ public class WebFragment extends BaseFragment {
 		return mContentType;
 	}
 
+	/**
+	 * Checks whether the previous history entry of the given web view is the blank page loaded by
+	 * {@link WebViewPool} when the web view has been reset.
+	 *
+	 * @param webView The web view of this fragment.
+	 * @return <code>True</code> if going back would show the blank page, <code>false</code> otherwise.
+	 */
+	private static boolean isBackToBlankPage(WebView webView) {
+		final WebBackForwardList history = webView.copyBackForwardList();
+		final int index = history.getCurrentIndex() - 1;
+		return index >= 0 && WebViewPool.BLANK_URL.equals(history.getItemAtIndex(index).getUrl());
+	}
+
 	/**
 	 * Inner classes ===============================================================================
 	 */
@@ -0,0 +1,49 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.webkit.WebResourceResponse;
+
+/**
+ * <h4>Interface Overview</h4>
+ * Cache of responses for requests of {@link android.webkit.WebView} of {@link WebFragment}. A cache
+ * can be set by {@link WebFragment#setResponseCache(WebResponseCache)} and will be asked for response
+ * from {@link android.webkit.WebViewClient#shouldInterceptRequest(android.webkit.WebView, String)}
+ * of the default web view client.
+ *
+ * @author Martin Albedinsky
+ * @see com.wit.android.fragment.WebContentCache
+ */
+public interface WebResponseCache {
+
+	/**
+	 * Returns a response for the requested <var>url</var>. This is called on a background thread.
+	 * <p/>
+	 * An implementation should return only responses it already holds and should not perform the
+	 * request by itself, as it knows neither the request method nor cookies of the web view, and
+	 * the web view would resolve relative urls of a redirected response against the requested url.
+	 *
+	 * @param url The requested url.
+	 * @return Response for the url or <code>null</code> to let the web view load the url by itself.
+	 */
+	@Nullable
+	public WebResourceResponse intercept(@NonNull String url);
+}
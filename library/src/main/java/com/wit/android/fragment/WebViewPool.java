@@ -0,0 +1,486 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment;
+
+import android.annotation.SuppressLint;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.MutableContextWrapper;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.support.annotation.NonNull;
+import android.util.Log;
+import android.view.ViewGroup;
+import android.view.View;
+import android.view.ViewParent;
+import android.webkit.WebSettings;
+import android.webkit.WebView;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * <h4>Class Overview</h4>
+ * Pool of {@link android.webkit.WebView} instances used by {@link WebFragment}. Creation of the first
+ * WebView within a process is very expensive as it initializes the whole web engine, so the pool can
+ * be pre-warmed by {@link #prewarm(android.content.Context)} (for example when the application starts),
+ * which creates WebViews during idle passes of the main looper.
+ * <p/>
+ * All pooled WebViews are created with {@link android.content.MutableContextWrapper} wrapping the
+ * application context, so they do not leak any activity while pooled. Whenever a WebView is borrowed,
+ * its context is switched to the context of the borrower.
+ * <p/>
+ * A recycled WebView has its clients removed and its common {@link android.webkit.WebSettings} reset
+ * and it is reset to {@link #BLANK_URL} when borrowed again, so it does not show any content of its
+ * previous borrower. A borrower which is going to restore a saved state, like a fragment re-created
+ * after a configuration change, is never given such a used WebView, as the state can be restored
+ * only into a WebView which has not built any state yet, see {@link #obtain(android.content.Context, boolean)}.
+ * A WebView to which has been added a JavaScript interface is never pooled as its
+ * interface could be exposed to a page of the next borrower, so such interfaces should be added
+ * only via {@link #addJavascriptInterface(android.webkit.WebView, Object, String)}.
+ * <p/>
+ * All methods of this pool are expected to be called on the main thread.
+ *
+ * @author Martin Albedinsky
+ * @see #getInstance()
+ */
+public final class WebViewPool {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	private static final String TAG = "WebViewPool";
+
+	/**
+	 * Flag indicating whether the debug output trough log-cat is enabled or not.
+	 */
+	private static final boolean DEBUG_ENABLED = FragmentsConfig.LIBRARY_DEBUG_LOG_ENABLED;
+
+	/**
+	 * Default maximum count of pooled WebViews.
+	 */
+	public static final int DEFAULT_MAX_SIZE = 1;
+
+	/**
+	 * Url of the blank page to which are reset the recycled WebViews when borrowed again.
+	 */
+	public static final String BLANK_URL = "about:blank";
+
+	/**
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Pool instance used by all WebFragments.
+	 */
+	private static WebViewPool sInstance;
+
+	/**
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Pooled WebViews ready to be borrowed.
+	 */
+	private final ArrayDeque<WebView> mWebViews = new ArrayDeque<>();
+
+	/**
+	 * Pooled WebViews which were already used by some borrower, so they need to be reset when
+	 * borrowed again.
+	 */
+	private final Set<WebView> mUsedWebViews = new HashSet<>();
+
+	/**
+	 * Borrowed WebViews which have been reset when borrowed, so they have already built some state.
+	 */
+	private final Set<WebView> mResetWebViews = Collections.newSetFromMap(new WeakHashMap<WebView, Boolean>());
+
+	/**
+	 * Borrowed WebViews to which has been added a JavaScript interface, so they cannot be pooled.
+	 */
+	private final Set<WebView> mScriptedWebViews = Collections.newSetFromMap(new WeakHashMap<WebView, Boolean>());
+
+	/**
+	 * Maximum count of pooled WebViews.
+	 */
+	private int mMaxSize = DEFAULT_MAX_SIZE;
+
+	/**
+	 * Application context used to create pre-warmed WebViews, <code>null</code> if there is no
+	 * pre-warming requested.
+	 */
+	private Context mPrewarmContext;
+
+	/**
+	 * Idle handler creating pre-warmed WebViews, <code>null</code> if not registered.
+	 */
+	private MessageQueue.IdleHandler mPrewarmHandler;
+
+	/**
+	 * Count of WebViews borrowed from this pool.
+	 */
+	private int mHitCount;
+
+	/**
+	 * Count of WebViews which needed to be created as there was no pooled one.
+	 */
+	private int mMissCount;
+
+	/**
+	 * Total time spent by borrowing of WebViews in nanoseconds.
+	 */
+	private long mBorrowTime;
+
+	/**
+	 * Maximum time spent by borrowing of a single WebView in nanoseconds.
+	 */
+	private long mMaxBorrowTime;
+
+	/**
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of WebViewPool.
+	 */
+	private WebViewPool() {
+	}
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Public --------------------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Returns the pool instance used by all WebFragments.
+	 *
+	 * @return WebViewPool instance.
+	 */
+	@NonNull
+	public static WebViewPool getInstance() {
+		if (sInstance == null) {
+			sInstance = new WebViewPool();
+		}
+		return sInstance;
+	}
+
+	/**
+	 * Requests to fill this pool up to its maximum size. WebViews are created one per idle pass of
+	 * the main looper, so this can be called also while the application is starting.
+	 *
+	 * @param context Context used to obtain the application context for new WebViews.
+	 * @throws java.lang.IllegalStateException If called on a thread without looper.
+	 */
+	public void prewarm(@NonNull Context context) {
+		this.mPrewarmContext = context.getApplicationContext();
+		if (mPrewarmHandler == null && mWebViews.size() < mMaxSize) {
+			if (Looper.myLooper() == null) {
+				throw new IllegalStateException("WebViews can be pre-warmed only on a looper thread.");
+			}
+			Looper.myQueue().addIdleHandler(mPrewarmHandler = new MessageQueue.IdleHandler() {
+
+				/**
+				 */
+				@Override
+				public boolean queueIdle() {
+					if (mPrewarmContext != null && mWebViews.size() < mMaxSize) {
+						final long start = FragmentsConfig.LIBRARY_DEBUG_LOG_COMPILED && DEBUG_ENABLED ? System.nanoTime() : 0;
+						mWebViews.add(new WebView(new MutableContextWrapper(mPrewarmContext)));
+						if (FragmentsConfig.LIBRARY_DEBUG_LOG_COMPILED && DEBUG_ENABLED) {
+							Log.d(TAG, "Pre-warmed WebView in " + (System.nanoTime() - start) + "ns.");
+						}
+					}
+					if (mPrewarmContext == null || mWebViews.size() >= mMaxSize) {
+						mPrewarmHandler = null;
+						return false;
+					}
+					return true;
+				}
+			});
+		}
+	}
+
+	/**
+	 * Same as {@link #obtain(android.content.Context, boolean)} for a borrower which does not restore
+	 * any saved state.
+	 */
+	@NonNull
+	public WebView obtain(@NonNull Context context) {
+		return obtain(context, false);
+	}
+
+	/**
+	 * Borrows a WebView from this pool or creates a new one if there is no pooled WebView available.
+	 * The returned WebView should be returned back by {@link #recycle(android.webkit.WebView)} when
+	 * it is no more used.
+	 * <p/>
+	 * If the borrowed WebView has been already used, it is reset to {@link #BLANK_URL} and its history
+	 * is cleared, see {@link #isReset(android.webkit.WebView)}. Such a WebView is not borrowed if
+	 * <var>restoring</var> is <code>true</code>, so for example a WebView recycled by a fragment
+	 * destroyed due to configuration change is not given to the re-created fragment, which needs to
+	 * restore its saved state by {@link android.webkit.WebView#restoreState(android.os.Bundle)}.
+	 *
+	 * @param context   Context for the WebView, like an activity in which will be the WebView showed.
+	 * @param restoring <code>True</code> if the borrower is going to restore a saved state into the
+	 *                  WebView, so only a pre-warmed or a new WebView can be borrowed.
+	 * @return WebView ready to be used.
+	 */
+	@NonNull
+	public WebView obtain(@NonNull Context context, boolean restoring) {
+		final long start = System.nanoTime();
+		WebView webView = restoring ? pollUnused() : mWebViews.poll();
+		if (webView != null) {
+			mHitCount++;
+			((MutableContextWrapper) webView.getContext()).setBaseContext(context);
+			final ViewParent parent = webView.getParent();
+			if (parent instanceof ViewGroup) {
+				((ViewGroup) parent).removeView(webView);
+			}
+			webView.onResume();
+			if (mUsedWebViews.remove(webView)) {
+				webView.clearHistory();
+				webView.scrollTo(0, 0);
+				webView.loadUrl(BLANK_URL);
+				mResetWebViews.add(webView);
+			}
+		} else {
+			mMissCount++;
+			webView = new WebView(new MutableContextWrapper(context));
+		}
+		final long time = System.nanoTime() - start;
+		this.mBorrowTime += time;
+		if (time > mMaxBorrowTime) {
+			this.mMaxBorrowTime = time;
+		}
+		return webView;
+	}
+
+	/**
+	 * Returns <code>true</code> if the given WebView has been reset to {@link #BLANK_URL} when borrowed
+	 * by {@link #obtain(android.content.Context)}, so it has already built some state and a saved
+	 * state should not be restored into it by {@link android.webkit.WebView#restoreState(android.os.Bundle)}.
+	 *
+	 * @param webView The borrowed WebView.
+	 * @return <code>True</code> if the WebView is a reset one, <code>false</code> if it is a new one.
+	 */
+	public boolean isReset(@NonNull WebView webView) {
+		return mResetWebViews.contains(webView);
+	}
+
+	/**
+	 * Adds the given JavaScript interface into the given WebView. Such a WebView will not be pooled
+	 * when recycled, but destroyed, so the interface is never exposed to a page of another borrower.
+	 *
+	 * @param webView The borrowed WebView.
+	 * @param object  Object to be exposed to JavaScript.
+	 * @param name    Name under which will be the object exposed.
+	 * @see android.webkit.WebView#addJavascriptInterface(Object, String)
+	 */
+	@SuppressLint({"JavascriptInterface", "AddJavascriptInterface"})
+	public void addJavascriptInterface(@NonNull WebView webView, @NonNull Object object, @NonNull String name) {
+		mScriptedWebViews.add(webView);
+		webView.addJavascriptInterface(object, name);
+	}
+
+	/**
+	 * Returns the given WebView back into this pool. Loading of the WebView is stopped, its clients
+	 * are removed, its common settings are reset, it is paused and its context is switched to the
+	 * application context. If this pool is already full, the WebView was not obtained from this pool
+	 * or a JavaScript interface has been added into it, it is destroyed.
+	 *
+	 * @param webView The WebView to return.
+	 */
+	public void recycle(@NonNull WebView webView) {
+		webView.stopLoading();
+		webView.setWebViewClient(null);
+		webView.setWebChromeClient(null);
+		webView.setDownloadListener(null);
+		mResetWebViews.remove(webView);
+		final boolean scripted = mScriptedWebViews.remove(webView);
+		if (!scripted && mWebViews.size() < mMaxSize && webView.getContext() instanceof MutableContextWrapper) {
+			resetSettings(webView.getSettings());
+			webView.clearFormData();
+			webView.setVisibility(View.VISIBLE);
+			// Pause the WebView rather than loading a blank page, as it can be still visible while
+			// the borrower's view is being animated out. The blank page is loaded when borrowed.
+			webView.onPause();
+			final MutableContextWrapper context = (MutableContextWrapper) webView.getContext();
+			context.setBaseContext(context.getApplicationContext());
+			mWebViews.add(webView);
+			mUsedWebViews.add(webView);
+		} else {
+			webView.destroy();
+		}
+	}
+
+	/**
+	 * Evicts pooled WebViews according to the given memory trim <var>level</var>. For level
+	 * of {@link android.content.ComponentCallbacks2#TRIM_MEMORY_RUNNING_LOW} and above all WebViews
+	 * are destroyed and pre-warming is stopped, for lower levels the pool is trimmed to its half.
+	 *
+	 * @param level Level of the memory trim.
+	 */
+	public void onTrimMemory(int level) {
+		if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+			this.mPrewarmContext = null;
+			trimToSize(0);
+		} else {
+			trimToSize(mWebViews.size() / 2);
+		}
+	}
+
+	/**
+	 * Getters + Setters ---------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Sets the maximum count of pooled WebViews. If there is currently more WebViews pooled, the
+	 * redundant ones are destroyed.
+	 * <p/>
+	 * Default value: <b>{@link #DEFAULT_MAX_SIZE}</b>
+	 *
+	 * @param maxSize The desired maximum size. <code>0</code> to disable pooling.
+	 */
+	public void setMaxSize(int maxSize) {
+		trimToSize(this.mMaxSize = Math.max(0, maxSize));
+	}
+
+	/**
+	 * Returns the maximum count of pooled WebViews.
+	 *
+	 * @return Maximum size of this pool.
+	 */
+	public int getMaxSize() {
+		return mMaxSize;
+	}
+
+	/**
+	 * Returns the count of currently pooled WebViews.
+	 *
+	 * @return Current size of this pool.
+	 */
+	public int size() {
+		return mWebViews.size();
+	}
+
+	/**
+	 * Returns the count of WebViews borrowed from this pool.
+	 *
+	 * @return Count of pool hits.
+	 */
+	public int getHitCount() {
+		return mHitCount;
+	}
+
+	/**
+	 * Returns the count of WebViews which needed to be created as there was no pooled one available.
+	 *
+	 * @return Count of pool misses.
+	 */
+	public int getMissCount() {
+		return mMissCount;
+	}
+
+	/**
+	 * Returns the average time spent by {@link #obtain(android.content.Context)}, including creation
+	 * of new WebViews in case of miss.
+	 *
+	 * @return Average borrow time in nanoseconds.
+	 */
+	public long getAverageBorrowTimeNanos() {
+		final int count = mHitCount + mMissCount;
+		return count > 0 ? mBorrowTime / count : 0;
+	}
+
+	/**
+	 * Returns the maximum time spent by a single {@link #obtain(android.content.Context)} call.
+	 *
+	 * @return Maximum borrow time in nanoseconds.
+	 */
+	public long getMaxBorrowTimeNanos() {
+		return mMaxBorrowTime;
+	}
+
+	/**
+	 * Private -------------------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Removes the first pooled WebView which has not been used by any borrower yet.
+	 *
+	 * @return The unused WebView or <code>null</code> if all pooled WebViews have been already used.
+	 */
+	private WebView pollUnused() {
+		final Iterator<WebView> iterator = mWebViews.iterator();
+		while (iterator.hasNext()) {
+			final WebView webView = iterator.next();
+			if (!mUsedWebViews.contains(webView)) {
+				iterator.remove();
+				return webView;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Destroys pooled WebViews until there is at most the given count of them.
+	 *
+	 * @param size The desired maximum count of pooled WebViews.
+	 */
+	private void trimToSize(int size) {
+		while (mWebViews.size() > size) {
+			final WebView webView = mWebViews.poll();
+			mUsedWebViews.remove(webView);
+			webView.destroy();
+		}
+	}
+
+	/**
+	 * Resets the commonly changed settings of a recycled WebView to their default values.
+	 *
+	 * @param settings Settings of the recycled WebView.
+	 */
+	private static void resetSettings(WebSettings settings) {
+		settings.setJavaScriptEnabled(false);
+		settings.setJavaScriptCanOpenWindowsAutomatically(false);
+		settings.setSupportMultipleWindows(false);
+		settings.setDomStorageEnabled(false);
+		settings.setDatabaseEnabled(false);
+		settings.setGeolocationEnabled(true);
+		settings.setCacheMode(WebSettings.LOAD_DEFAULT);
+		settings.setBlockNetworkImage(false);
+		settings.setSupportZoom(true);
+		settings.setBuiltInZoomControls(false);
+		settings.setUseWideViewPort(false);
+		settings.setLoadWithOverviewMode(false);
+		settings.setTextZoom(100);
+		settings.setUserAgentString(null);
+	}
+}
@@ -63,4 +63,35 @@ public @interface ContentView {
 	@ColorRes
 	@DrawableRes
 	int backgroundRes() default -1;
+
+	/**
+	 * Flag indicating whether to inflate the layout on a background thread. If <code>true</code>,
+	 * a lightweight placeholder is showed as the fragment's view until the layout is inflated and
+	 * then swapped with the inflated hierarchy. Views are injected and clickable views are set up
+	 * after the swap. Ignored if {@link #attachToRoot()} is <code>true</code>.
+	 * <p/>
+	 * Only layouts built from framework views of the {@code android.widget} and {@code android.view}
+	 * packages (including their {@code <include>} and {@code <merge>} layouts) are inflated on the
+	 * background thread. A layout with any other tag, like a custom view, {@code <fragment>} or
+	 * {@code <view class="...">}, is inflated on the main thread, so custom views are never created
+	 * off the main thread. The layout is inflated on the background thread without any
+	 * {@link android.view.LayoutInflater.Factory} of the activity, so views substituted by such a factory
+	 * are not substituted. If inflation on the background thread fails, the layout is inflated on
+	 * the main thread. Each layout is checked only once, the result is used by all next fragments
+	 * with the same layout.
+	 * <p/>
+	 * Default value: <b>false</b>
+	 */
+	boolean async() default false;
+
+	/**
+	 * Flag indicating whether to recycle the inflated view hierarchy. If <code>true</code>, the root
+	 * view is handed to {@link com.wit.android.fragment.LayoutRecycler LayoutRecycler} whenever
+	 * the view of fragment is destroyed and reused by the next fragment with the same layout. Views
+	 * are injected as usual into the reused hierarchy. Ignored if {@link #attachToRoot()} or
+	 * {@link #async()} is <code>true</code>.
+	 * <p/>
+	 * Default value: <b>false</b>
+	 */
+	boolean recycle() default false;
 }
@@ -44,4 +44,16 @@ public @interface FragmentFactories {
 	 * An array with classes of FragmentFactory which should be joined.
 	 */
 	Class<? extends FragmentController.FragmentFactory>[] value();
+
+	/**
+	 * Flag indicating whether the factories should be instantiated lazily, so a factory is instantiated
+	 * only when one of fragments provided by it is requested for the first time. Ids of fragments
+	 * provided by such a factory are resolved from its generated fragment creator or from its
+	 * {@link FactoryFragments @FactoryFragments} and static {@link FactoryFragment @FactoryFragment}
+	 * fields, so the factory should not provide any other fragments. Factories for which ids can not
+	 * be resolved like this are instantiated immediately.
+	 * <p/>
+	 * Default value: <b>false</b>
+	 */
+	boolean lazy() default false;
 }
@@ -0,0 +1,55 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment.annotation;
+
+import android.support.annotation.IdRes;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <h4>Annotation Overview</h4>
+ * Defines an annotation for marking a method which handles clicks on views with the specified ids.
+ * The annotated method can take either no parameters or a single {@link android.view.View} parameter
+ * (the clicked view) and can return either <b>void</b> or <b>boolean</b>. A method returning
+ * <code>false</code> does not consume the click, so it is dispatched further. Result of any other
+ * type, including {@link Boolean}, is ignored and the click is consumed. Each view id can be handled
+ * only by a single method of a class.
+ * <p/>
+ * <b>Note</b>, that the annotated method should not be <b>private</b>, so it can be called by the
+ * dispatcher generated by the fragments annotation processor. Otherwise it is called using reflection.
+ * <h6>Usage</h6>
+ * <ul>
+ * <li>{@link com.wit.android.fragment.BaseFragment BaseFragment}</li>
+ * </ul>
+ *
+ * @author Martin Albedinsky
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OnViewClick {
+
+	/**
+	 * An array with ids of views of which clicks should be handled by the annotated method.
+	 */
+	@IdRes
+	int[] value();
+}
@@ -39,6 +39,24 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 public @interface WebContent {
 
+	/**
+	 * Policy for {@link #preload()} to not preload the content.
+	 */
+	int PRELOAD_NONE = 0x00;
+
+	/**
+	 * Policy for {@link #preload()} to preload the content when the fragment is prefetched by
+	 * {@link com.wit.android.fragment.manage.FragmentController#prefetch(int, android.os.Bundle) FragmentController.prefetch(int, Bundle)}.
+	 */
+	int PRELOAD_ON_PREFETCH = 0x01;
+
+	/**
+	 * Policy for {@link #preload()} to preload the content as soon as a {@link com.wit.android.fragment.manage.BaseFragmentFactory BaseFragmentFactory}
+	 * providing the fragment is attached to {@link com.wit.android.fragment.manage.FragmentController FragmentController},
+	 * so also when it is prefetched.
+	 */
+	int PRELOAD_ON_FACTORY = 0x02;
+
 	/**
 	 * The desired content to be loaded into {@link android.webkit.WebView}. Can be a raw <b>HTML</b>,
 	 * web <b>URL</b> or path to a <b>FILE</b> with the desired HTML content.
@@ -54,4 +72,18 @@ public @interface WebContent {
 	 */
 	@StringRes
 	int valueRes() default -1;
+
+	/**
+	 * Policy determining when to preload the content (web <b>URL</b> or raw <b>HTML</b>) together
+	 * with its sub-resources into the cache of {@link com.wit.android.fragment.WebContentPreloader WebContentPreloader},
+	 * so the web view can render it from warm data. One of {@link #PRELOAD_NONE}, {@link #PRELOAD_ON_PREFETCH}
+	 * or {@link #PRELOAD_ON_FACTORY}. Content of each fragment class is preloaded only once.
+	 * <p/>
+	 * The cache is not used by the fragment implicitly, so to render the preloaded content, the
+	 * fragment should set it by {@link com.wit.android.fragment.WebFragment#setResponseCache(com.wit.android.fragment.WebResponseCache)
+	 * setResponseCache(WebContentPreloader.getCache())}.
+	 * <p/>
+	 * Default value: <b>{@link #PRELOAD_NONE}</b>
+	 */
+	int preload() default PRELOAD_NONE;
 }
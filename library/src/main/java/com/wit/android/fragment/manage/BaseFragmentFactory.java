@@ -19,22 +19,34 @@
 package com.wit.android.fragment.manage;
 
 import android.os.Bundle;
+import android.support.annotation.IntDef;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.app.Fragment;
 import android.text.TextUtils;
 import android.util.Log;
 import android.util.SparseArray;
+import android.util.SparseIntArray;
 
+import com.wit.android.fragment.FragmentsConfig;
+import com.wit.android.fragment.WebContentPreloader;
 import com.wit.android.fragment.annotation.FactoryFragment;
 import com.wit.android.fragment.annotation.FactoryFragments;
 import com.wit.android.fragment.annotation.FragmentFactories;
+import com.wit.android.fragment.annotation.WebContent;
 import com.wit.android.fragment.util.FragmentAnnotations;
+import com.wit.android.fragment.util.FragmentConstructors;
 
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * <h4>Class Overview</h4>
@@ -66,6 +78,11 @@ import java.util.List;
  * be instantiated and joined to an instance of annotated BaseFragmentFactory sub-class.
  * </p>
  * </ul>
+ * <p/>
+ * Fragments of types specified by {@link com.wit.android.fragment.annotation.FactoryFragment#type() @FactoryFragment.type()}
+ * are instantiated by a {@link FragmentCreator} generated by the fragments annotation processor
+ * for the factory class if there is one, otherwise by their constructors resolved and cached when
+ * the factory is created.
  *
  * @author Martin Albedinsky
  */
@@ -87,21 +104,60 @@ public abstract class BaseFragmentFactory implements FragmentController.Fragment
 	/**
 	 * Flag indicating whether the debug output trough log-cat is enabled or not.
 	 */
-	// private static final boolean DEBUG_ENABLED = true;
+	private static final boolean DEBUG_ENABLED = FragmentsConfig.LIBRARY_DEBUG_LOG_ENABLED;
 
 	/**
 	 * Flag indicating whether the output trough log-cat is enabled or not.
 	 */
 	// private static final boolean LOG_ENABLED = true;
 
+	/**
+	 * Suffix appended to a name of factory class to create name of its fragment creator generated
+	 * by the fragments annotation processor.
+	 */
+	public static final String FRAGMENT_CREATOR_SUFFIX = "$$FragmentCreator";
+
 	/**
 	 * Static members ==============================================================================
 	 */
 
+	/**
+	 * Creator used to mark factory classes for which there is no fragment creator generated.
+	 */
+	private static final FragmentCreator NO_FRAGMENT_CREATOR = new FragmentCreator() {
+
+		/**
+		 */
+		@Nullable
+		@Override
+		public Fragment createFragment(int fragmentId) {
+			return null;
+		}
+
+		/**
+		 */
+		@NonNull
+		@Override
+		public int[] getFragmentIds() {
+			return new int[0];
+		}
+	};
+
+	/**
+	 * Already resolved fragment creators mapped to classes of factories for which they were generated.
+	 */
+	private static final Map<Class<?>, FragmentCreator> FRAGMENT_CREATORS = new ConcurrentHashMap<>();
+
 	/**
 	 * Members =====================================================================================
 	 */
 
+	/**
+	 * Fragment creator generated for class of this factory, <code>null</code> if there is no creator
+	 * generated, so fragments are instantiated by their cached constructors.
+	 */
+	private FragmentCreator mCreator;
+
 	/**
 	 * Set of fragment item holders created from annotated fields ({@link FactoryFragment @FactoryDialog})
 	 * of this factory instance.
@@ -115,15 +171,23 @@ public abstract class BaseFragmentFactory implements FragmentController.Fragment
 	private List<FragmentController.FragmentFactory> mFactories;
 
 	/**
-	 * Id of the fragment which was last checked by {@link #isFragmentProvided(int)}.
+	 * Routing table mapping ids of fragments provided by the joined factories to indexes of those
+	 * factories within {@link #mFactories}. Built whenever a new factory is joined.
 	 */
-	private int mLastCheckedFragmentId = -1;
+	private SparseIntArray mRoutes;
 
 	/**
-	 * Flag indicating whether an instance of fragment for {@link #mLastCheckedFragmentId} can be
-	 * provided by this factory or not.
+	 * Joined factories of which provided fragment ids can not be indexed within {@link #mRoutes}
+	 * mapped to their indexes within {@link #mFactories}, so they need to be asked by
+	 * {@link FragmentController.FragmentFactory#isFragmentProvided(int)}.
 	 */
-	private boolean mFragmentProvided = false;
+	private SparseArray<FragmentController.FragmentFactory> mUnindexedFactories;
+
+	/**
+	 * Time in nanoseconds spent by creation of this factory including instantiation of all joined
+	 * factories which are not lazy.
+	 */
+	private long mCreationTime;
 
 	/**
 	 * Constructors ================================================================================
@@ -136,11 +200,13 @@ public abstract class BaseFragmentFactory implements FragmentController.Fragment
 	 * here.
 	 */
 	public BaseFragmentFactory() {
+		final long startTime = System.nanoTime();
 		final Class<?> classOfFactory = ((Object) this).getClass();
 		/**
 		 * Process class annotations.
 		 */
 		final SparseArray<FragmentItem> items = new SparseArray<>();
+		this.mCreator = obtainFragmentCreator(classOfFactory);
 		// Obtain fragment ids.
 		if (classOfFactory.isAnnotationPresent(FactoryFragments.class)) {
 			final FactoryFragments fragments = classOfFactory.getAnnotation(FactoryFragments.class);
@@ -151,7 +217,8 @@ public abstract class BaseFragmentFactory implements FragmentController.Fragment
 					items.put(id, new FragmentItem(
 							id,
 							getFragmentTag(id),
-							null
+							null,
+							false
 					));
 				}
 			}
@@ -161,27 +228,25 @@ public abstract class BaseFragmentFactory implements FragmentController.Fragment
 			this.mItems = items;
 		}
 		// Obtain joined factories.
+		final List<Class<? extends FragmentController.FragmentFactory>> lazyFactories = new ArrayList<>();
 		final List<Class<? extends FragmentController.FragmentFactory>> factories = this.gatherJoinedFactories(
-				classOfFactory, new ArrayList<Class<? extends FragmentController.FragmentFactory>>()
+				classOfFactory, new ArrayList<Class<? extends FragmentController.FragmentFactory>>(), lazyFactories
 		);
 		if (!factories.isEmpty()) {
 			for (Class<? extends FragmentController.FragmentFactory> factory : factories) {
-				FragmentController.FragmentFactory fragmentFactory = null;
-				try {
-					fragmentFactory = factory.newInstance();
-				} catch (InstantiationException | IllegalAccessException e) {
-					Log.e(
-							TAG,
-							"Failed to instantiate the fragment factory class of(" + factory.getSimpleName() + ")." +
-									"Make sure this fragment factory has public empty constructor.",
-							e
-					);
-				}
-				if (fragmentFactory != null) {
-					joinFactory(fragmentFactory);
+				// Lazy factory is joined by its descriptor if ids of its fragments can be resolved.
+				final LazyFactory lazyFactory = lazyFactories.contains(factory) ? LazyFactory.create(factory) : null;
+				if (lazyFactory != null) {
+					joinFactory(lazyFactory);
+				} else {
+					joinFactory(factory);
 				}
 			}
 		}
+		this.mCreationTime = System.nanoTime() - startTime;
+		if (FragmentsConfig.LIBRARY_DEBUG_LOG_COMPILED && DEBUG_ENABLED) {
+			Log.d(TAG, "Factory(" + classOfFactory.getSimpleName() + ") created in " + (mCreationTime / 1000) + "us with " + getDeferredFactoriesCount() + " of " + factories.size() + " joined factories deferred.");
+		}
 	}
 
 	/**
@@ -218,20 +283,7 @@ public abstract class BaseFragmentFactory implements FragmentController.Fragment
 	 */
 	@Override
 	public boolean isFragmentProvided(int fragmentId) {
-		if (fragmentId == mLastCheckedFragmentId) {
-			return mFragmentProvided;
-		}
-		// Store last checked fragment id.
-		this.mLastCheckedFragmentId = fragmentId;
-		// Check joined factories.
-		if (hasJoinedFactories()) {
-			for (FragmentController.FragmentFactory factory : mFactories) {
-				if (factory.isFragmentProvided(fragmentId)) {
-					return mFragmentProvided = true;
-				}
-			}
-		}
-		return mFragmentProvided = providesFragment(fragmentId);
+		return findJoinedFactory(fragmentId) != null || providesFragment(fragmentId);
 	}
 
 	/**
@@ -239,16 +291,33 @@ public abstract class BaseFragmentFactory implements FragmentController.Fragment
 	@Nullable
 	@Override
 	public Fragment createFragmentInstance(int fragmentId, @Nullable Bundle params) {
-		if (hasJoinedFactories()) {
-			// Try to obtain dialog fragment from the current joined factories.
-			for (FragmentController.FragmentFactory factory : mFactories) {
-				if (factory.isFragmentProvided(fragmentId)) {
-					return factory.createFragmentInstance(fragmentId, params);
-				}
-			}
+		return createFragment(fragmentId, params).getFragment();
+	}
+
+	/**
+	 * Same as {@link #createFragmentInstance(int, android.os.Bundle)}, but this returns a result
+	 * describing why the requested fragment could not be created instead of <code>null</code>.
+	 *
+	 * @param fragmentId Id of the desired fragment to create.
+	 * @param params     Parameters for the fragment.
+	 * @return Result holding either the new fragment instance or status of failure.
+	 */
+	@NonNull
+	public InstanceResult createFragment(int fragmentId, @Nullable Bundle params) {
+		// Try to obtain fragment from the joined factory which provides it.
+		final FragmentController.FragmentFactory factory = resolveJoinedFactory(fragmentId);
+		if (factory instanceof BaseFragmentFactory) {
+			return ((BaseFragmentFactory) factory).createFragment(fragmentId, params);
+		} else if (factory != null) {
+			return InstanceResult.of(factory.createFragmentInstance(fragmentId, params));
 		}
 		// Create fragment within this factory.
-		return onCreateFragmentInstance(fragmentId, params);
+		final Fragment fragment = onCreateFragmentInstance(fragmentId, params);
+		if (fragment != null) {
+			return new InstanceResult(InstanceResult.SUCCESS, fragment, null);
+		}
+		final FragmentItem item = mItems != null ? mItems.get(fragmentId) : null;
+		return item != null && item.failure != null ? item.failure : InstanceResult.of(null);
 	}
 
 	/**
@@ -256,15 +325,9 @@ public abstract class BaseFragmentFactory implements FragmentController.Fragment
 	@Nullable
 	@Override
 	public String getFragmentTag(int fragmentId) {
-		if (hasJoinedFactories()) {
-			// Try to obtain tag from the joined factories.
-			for (FragmentController.FragmentFactory factory : mFactories) {
-				if (factory.isFragmentProvided(fragmentId)) {
-					return factory.getFragmentTag(fragmentId);
-				}
-			}
-		}
-		return onGetFragmentTag(fragmentId);
+		// Try to obtain tag from the joined factory which provides the fragment.
+		final FragmentController.FragmentFactory factory = resolveJoinedFactory(fragmentId);
+		return factory != null ? factory.getFragmentTag(fragmentId) : onGetFragmentTag(fragmentId);
 	}
 
 	/**
@@ -272,15 +335,11 @@ public abstract class BaseFragmentFactory implements FragmentController.Fragment
 	@Nullable
 	@Override
 	public FragmentController.TransactionOptions getFragmentTransactionOptions(int fragmentId, @Nullable Bundle params) {
-		if (hasJoinedFactories()) {
-			// Try to obtain TransactionOptions from the joined factories.
-			for (FragmentController.FragmentFactory factory : mFactories) {
-				if (factory.isFragmentProvided(fragmentId)) {
-					return factory.getFragmentTransactionOptions(fragmentId, params);
-				}
-			}
-		}
-		return onGetFragmentTransactionOptions(fragmentId, params);
+		// Try to obtain TransactionOptions from the joined factory which provides the fragment.
+		final FragmentController.FragmentFactory factory = resolveJoinedFactory(fragmentId);
+		return factory != null ?
+				factory.getFragmentTransactionOptions(fragmentId, params) :
+				onGetFragmentTransactionOptions(fragmentId, params);
 	}
 
 	/**
@@ -303,6 +362,17 @@ public abstract class BaseFragmentFactory implements FragmentController.Fragment
 	 * <b>Note</b>, that fragment instances (and their tags) requested upon this factory are
 	 * obtained from the current joined factories in order as they were joined. If none of the current
 	 * joined factories provides requested fragment, this factory will handle such a request.
+	 * <p/>
+	 * Ids of fragments provided by the given factory are indexed when joining, so a factory which
+	 * provides the requested fragment is resolved by a single lookup. This is possible only for
+	 * instances of BaseFragmentFactory which do not override {@link #isFragmentProvided(int)} nor
+	 * {@link #providesFragment(int)}. Other factories are asked whether they provide the requested
+	 * fragment each time. Also, all factories should be joined to the given factory before it is
+	 * joined to this one.
+	 * <p/>
+	 * <b>Note</b>, that lazy joined factories ({@link com.wit.android.fragment.annotation.FragmentFactories#lazy() @FragmentFactories.lazy()})
+	 * are presented within the joined factories by their lightweight descriptors which instantiate
+	 * the factory when it is needed.
 	 *
 	 * @param factory Fragment factory to join with this one.
 	 * @see #getJoinedFactories()
@@ -311,6 +381,7 @@ public abstract class BaseFragmentFactory implements FragmentController.Fragment
 		this.ensureFactories();
 		if (!mFactories.contains(factory)) {
 			mFactories.add(factory);
+			this.indexJoinedFactory(factory, mFactories.size() - 1);
 		}
 	}
 
@@ -327,6 +398,36 @@ public abstract class BaseFragmentFactory implements FragmentController.Fragment
 		return mFactories;
 	}
 
+	/**
+	 * Returns the time spent by creation of this factory. This includes processing of annotations
+	 * of this factory and instantiation of all its joined factories which are not lazy.
+	 *
+	 * @return Creation time in nanoseconds.
+	 * @see #getDeferredFactoriesCount()
+	 */
+	public final long getCreationTime() {
+		return mCreationTime;
+	}
+
+	/**
+	 * Returns the count of lazy joined factories which were not instantiated yet, because none of
+	 * fragments provided by them has been requested.
+	 *
+	 * @return Count of deferred factories.
+	 * @see com.wit.android.fragment.annotation.FragmentFactories#lazy()
+	 */
+	public final int getDeferredFactoriesCount() {
+		int count = 0;
+		if (mFactories != null) {
+			for (FragmentController.FragmentFactory factory : mFactories) {
+				if (factory instanceof LazyFactory && !((LazyFactory) factory).isInstantiated()) {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
 	/**
 	 * Protected -----------------------------------------------------------------------------------
 	 */
@@ -366,7 +467,8 @@ public abstract class BaseFragmentFactory implements FragmentController.Fragment
 	 */
 	@Nullable
 	protected Fragment onCreateFragmentInstance(int fragmentId, @Nullable Bundle params) {
-		return providesFragment(fragmentId) ? mItems.get(fragmentId).newInstance(params) : null;
+		final FragmentItem item = providesFragment(fragmentId) ? mItems.get(fragmentId) : null;
+		return item != null ? item.newInstance(mCreator, params).getFragment() : null;
 	}
 
 	/**
@@ -385,6 +487,29 @@ public abstract class BaseFragmentFactory implements FragmentController.Fragment
 				null;
 	}
 
+	/**
+	 * Starts preloading of contents of all fragments provided by this factory and its joined factories
+	 * which request it by {@link WebContent#PRELOAD_ON_FACTORY}. Invoked whenever this factory is
+	 * attached to {@link FragmentController}.
+	 */
+	void preloadWebContents() {
+		if (mItems != null) {
+			for (int i = 0; i < mItems.size(); i++) {
+				final FragmentItem item = mItems.valueAt(i);
+				if (item.type != null) {
+					WebContentPreloader.preload(item.type, WebContent.PRELOAD_ON_FACTORY);
+				}
+			}
+		}
+		if (mFactories != null) {
+			for (FragmentController.FragmentFactory factory : mFactories) {
+				if (factory instanceof BaseFragmentFactory) {
+					((BaseFragmentFactory) factory).preloadWebContents();
+				}
+			}
+		}
+	}
+
 	/**
 	 * Private -------------------------------------------------------------------------------------
 	 */
@@ -395,7 +520,207 @@ public abstract class BaseFragmentFactory implements FragmentController.Fragment
 	private void ensureFactories() {
 		if (mFactories == null) {
 			this.mFactories = new ArrayList<>();
+			this.mRoutes = new SparseIntArray();
+		}
+	}
+
+	/**
+	 * Instantiates the given class of <var>factory</var> and joins it with this one.
+	 *
+	 * @param factory Class of fragment factory to instantiate and join.
+	 */
+	private void joinFactory(Class<? extends FragmentController.FragmentFactory> factory) {
+		final FragmentController.FragmentFactory fragmentFactory = instantiateFactory(factory);
+		if (fragmentFactory != null) {
+			joinFactory(fragmentFactory);
+		}
+	}
+
+	/**
+	 * Instantiates the given class of <var>factory</var>.
+	 *
+	 * @param factory Class of fragment factory to instantiate.
+	 * @return New instance of factory or <code>null</code> if instantiation error occurs.
+	 */
+	static FragmentController.FragmentFactory instantiateFactory(Class<? extends FragmentController.FragmentFactory> factory) {
+		try {
+			return factory.newInstance();
+		} catch (InstantiationException | IllegalAccessException e) {
+			Log.e(
+					TAG,
+					"Failed to instantiate the fragment factory class of(" + factory.getSimpleName() + ")." +
+							"Make sure this fragment factory has public empty constructor.",
+					e
+			);
+		}
+		return null;
+	}
+
+	/**
+	 * Same as {@link #findJoinedFactory(int)}, but if the found factory is lazy, the factory is
+	 * instantiated if it is not yet.
+	 */
+	private FragmentController.FragmentFactory resolveJoinedFactory(int fragmentId) {
+		final FragmentController.FragmentFactory factory = findJoinedFactory(fragmentId);
+		return factory instanceof LazyFactory ? ((LazyFactory) factory).obtainFactory() : factory;
+	}
+
+	/**
+	 * Finds the joined factory which provides fragment for the specified <var>fragmentId</var>.
+	 * If more joined factories provide such a fragment, the first joined one is returned.
+	 *
+	 * @param fragmentId Id of the requested fragment.
+	 * @return Joined factory or <code>null</code> if none of the joined factories provides the
+	 * requested fragment.
+	 */
+	private FragmentController.FragmentFactory findJoinedFactory(int fragmentId) {
+		if (mFactories == null) {
+			return null;
+		}
+		final int index = mRoutes.get(fragmentId, mFactories.size());
+		if (mUnindexedFactories != null) {
+			// Factories joined before the indexed one need to be asked first.
+			for (int i = 0; i < mUnindexedFactories.size() && mUnindexedFactories.keyAt(i) < index; i++) {
+				final FragmentController.FragmentFactory factory = mUnindexedFactories.valueAt(i);
+				if (factory.isFragmentProvided(fragmentId)) {
+					return factory;
+				}
+			}
+		}
+		return index < mFactories.size() ? mFactories.get(index) : null;
+	}
+
+	/**
+	 * Indexes ids of fragments provided by the given joined <var>factory</var> within the routing
+	 * table. Ids already provided by previously joined factories are reported as duplicates and
+	 * stay routed to those factories.
+	 *
+	 * @param factory The joined factory to index.
+	 * @param index   Index of the joined factory within {@link #mFactories}.
+	 */
+	private void indexJoinedFactory(FragmentController.FragmentFactory factory, int index) {
+		if (factory instanceof LazyFactory) {
+			for (int fragmentId : ((LazyFactory) factory).fragmentIds) {
+				this.routeFragment(fragmentId, index, factory);
+			}
+			return;
+		}
+		if (!isIndexable(factory)) {
+			if (mUnindexedFactories == null) {
+				this.mUnindexedFactories = new SparseArray<>();
+			}
+			mUnindexedFactories.put(index, factory);
+			return;
+		}
+		final BaseFragmentFactory baseFactory = (BaseFragmentFactory) factory;
+		if (baseFactory.mItems != null) {
+			for (int i = 0; i < baseFactory.mItems.size(); i++) {
+				this.routeFragment(baseFactory.mItems.keyAt(i), index, factory);
+			}
+		}
+		if (baseFactory.mRoutes != null) {
+			for (int i = 0; i < baseFactory.mRoutes.size(); i++) {
+				this.routeFragment(baseFactory.mRoutes.keyAt(i), index, factory);
+			}
+		}
+	}
+
+	/**
+	 * Routes the specified <var>fragmentId</var> to the joined factory at the specified <var>index</var>
+	 * if it is not routed yet.
+	 */
+	private void routeFragment(int fragmentId, int index, FragmentController.FragmentFactory factory) {
+		final int routedIndex = mRoutes.get(fragmentId, -1);
+		if (routedIndex >= 0) {
+			if (routedIndex != index) {
+				Log.e(
+						TAG,
+						"Duplicate fragment id(" + fragmentId + ") provided by factory(" + factory.getClass().getSimpleName() + "). " +
+								"Fragment is already provided by factory(" + mFactories.get(routedIndex).getClass().getSimpleName() + ")."
+				);
+			}
+			return;
+		}
+		if (mItems != null && mItems.indexOfKey(fragmentId) >= 0) {
+			Log.e(
+					TAG,
+					"Duplicate fragment id(" + fragmentId + ") provided by factory(" + factory.getClass().getSimpleName() + "). " +
+							"Fragment provided by factory(" + getClass().getSimpleName() + ") will be not used."
+			);
 		}
+		mRoutes.put(fragmentId, index);
+	}
+
+	/**
+	 * Checks whether ids of fragments provided by the given <var>factory</var> can be indexed. This
+	 * is possible only for BaseFragmentFactory which provides fragments only by its annotations,
+	 * and only indexed joined factories.
+	 *
+	 * @param factory The factory to check.
+	 * @return <code>True</code> if the given factory can be indexed, <code>false</code> otherwise.
+	 */
+	private static boolean isIndexable(FragmentController.FragmentFactory factory) {
+		return factory instanceof BaseFragmentFactory &&
+				((BaseFragmentFactory) factory).mUnindexedFactories == null &&
+				providesOnlyAnnotatedFragments(factory.getClass());
+	}
+
+	/**
+	 * Checks whether the given <var>classOfFactory</var> is a BaseFragmentFactory which does not
+	 * override {@link #isFragmentProvided(int)} nor {@link #providesFragment(int)}, so it provides
+	 * only fragments specified by its annotations.
+	 *
+	 * @param classOfFactory The class of factory to check.
+	 * @return <code>True</code> if the given factory provides only annotated fragments, <code>false</code>
+	 * otherwise.
+	 */
+	static boolean providesOnlyAnnotatedFragments(Class<?> classOfFactory) {
+		if (!BaseFragmentFactory.class.isAssignableFrom(classOfFactory)) {
+			return false;
+		}
+		try {
+			if (!BaseFragmentFactory.class.equals(classOfFactory.getMethod("isFragmentProvided", int.class).getDeclaringClass())) {
+				return false;
+			}
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+		// Check also whether the protected providesFragment(int) is not overridden.
+		for (; !BaseFragmentFactory.class.equals(classOfFactory); classOfFactory = classOfFactory.getSuperclass()) {
+			try {
+				classOfFactory.getDeclaredMethod("providesFragment", int.class);
+				return false;
+			} catch (NoSuchMethodException e) {
+				// Not overridden by this class.
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Obtains a fragment creator generated by the fragments annotation processor for the given
+	 * <var>classOfFactory</var>. Once resolved, the creator (or its absence) is cached.
+	 *
+	 * @param classOfFactory A class for which is the creator requested.
+	 * @return The generated fragment creator or <code>null</code> if there was no creator generated
+	 * for the given class.
+	 */
+	static FragmentCreator obtainFragmentCreator(Class<?> classOfFactory) {
+		FragmentCreator creator = FRAGMENT_CREATORS.get(classOfFactory);
+		if (creator == null) {
+			creator = NO_FRAGMENT_CREATOR;
+			try {
+				creator = (FragmentCreator) Class.forName(
+						classOfFactory.getName() + FRAGMENT_CREATOR_SUFFIX, true, classOfFactory.getClassLoader()
+				).newInstance();
+			} catch (ClassNotFoundException e) {
+				// No creator generated, fragments will be instantiated by their cached constructors.
+			} catch (InstantiationException | IllegalAccessException e) {
+				Log.e(TAG, "Failed to instantiate the fragment creator for class of(" + classOfFactory.getSimpleName() + ").", e);
+			}
+			FRAGMENT_CREATORS.put(classOfFactory, creator);
+		}
+		return creator != NO_FRAGMENT_CREATOR ? creator : null;
 	}
 
 	/**
@@ -406,20 +731,24 @@ public abstract class BaseFragmentFactory implements FragmentController.Fragment
 	 *
 	 * @param classOfFactory Class of fragment where to check FragmentFactories annotation.
 	 * @param factories      List of already gathered factories.
+	 * @param lazyFactories  List to which to add gathered factories which should be joined lazily.
 	 * @return List of all gathered classes of fragment factories.
 	 */
-	private List<Class<? extends FragmentController.FragmentFactory>> gatherJoinedFactories(Class<?> classOfFactory, List<Class<? extends FragmentController.FragmentFactory>> factories) {
+	private List<Class<? extends FragmentController.FragmentFactory>> gatherJoinedFactories(Class<?> classOfFactory, List<Class<? extends FragmentController.FragmentFactory>> factories, List<Class<? extends FragmentController.FragmentFactory>> lazyFactories) {
 		if (classOfFactory.isAnnotationPresent(FragmentFactories.class)) {
 			final FragmentFactories fragmentFactories = classOfFactory.getAnnotation(FragmentFactories.class);
 			if (fragmentFactories.value().length > 0) {
 				factories.addAll(Arrays.asList(fragmentFactories.value()));
+				if (fragmentFactories.lazy()) {
+					lazyFactories.addAll(Arrays.asList(fragmentFactories.value()));
+				}
 			}
 		}
 
 		// Obtain also factories of super class, but only to this BaseFragmentFactory super.
 		final Class<?> superOfFactory = classOfFactory.getSuperclass();
 		if (superOfFactory != null && !classOfFactory.equals(BaseFragmentFactory.class)) {
-			gatherJoinedFactories(superOfFactory, factories);
+			gatherJoinedFactories(superOfFactory, factories, lazyFactories);
 		}
 		return factories;
 	}
@@ -448,7 +777,8 @@ public abstract class BaseFragmentFactory implements FragmentController.Fragment
 								TextUtils.isEmpty(factoryFragment.taggedName()) ?
 										getFragmentTag(id) :
 										createFragmentTag((Class<? extends FragmentController.FragmentFactory>) classOfFactory, factoryFragment.taggedName()),
-								factoryFragment.type()
+								factoryFragment.type(),
+								mCreator == null
 						));
 					} catch (IllegalAccessException e) {
 						e.printStackTrace();
@@ -462,6 +792,319 @@ public abstract class BaseFragmentFactory implements FragmentController.Fragment
 	 * Inner classes ===============================================================================
 	 */
 
+	/**
+	 * Lightweight descriptor of a lazy joined factory. Holds only ids of fragments provided by the
+	 * factory and instantiates the factory when it is needed for the first time.
+	 */
+	static final class LazyFactory implements FragmentController.FragmentFactory {
+
+		/**
+		 * Members =================================================================================
+		 */
+
+		/**
+		 * Class of the described factory.
+		 */
+		final Class<? extends FragmentController.FragmentFactory> classOfFactory;
+
+		/**
+		 * Sorted ids of fragments provided by the described factory.
+		 */
+		final int[] fragmentIds;
+
+		/**
+		 * Instance of the described factory, <code>null</code> if not instantiated yet.
+		 */
+		private FragmentController.FragmentFactory mFactory;
+
+		/**
+		 * Flag indicating whether an instantiation of the described factory was already requested.
+		 */
+		private boolean mInstantiated;
+
+		/**
+		 * Constructors ============================================================================
+		 */
+
+		/**
+		 * Creates a new instance of LazyFactory with the given parameters.
+		 */
+		private LazyFactory(Class<? extends FragmentController.FragmentFactory> classOfFactory, int[] fragmentIds) {
+			this.classOfFactory = classOfFactory;
+			this.fragmentIds = fragmentIds;
+		}
+
+		/**
+		 * Methods =================================================================================
+		 */
+
+		/**
+		 * Creates a new descriptor for the given <var>classOfFactory</var>. Ids of fragments provided
+		 * by the factory are obtained from its generated fragment creator if there is one, otherwise
+		 * from its annotations.
+		 *
+		 * @param classOfFactory Class of the factory to describe.
+		 * @return New descriptor or <code>null</code> if ids of fragments provided by the given factory
+		 * can not be resolved without its instantiation.
+		 */
+		static LazyFactory create(Class<? extends FragmentController.FragmentFactory> classOfFactory) {
+			if (!providesOnlyAnnotatedFragments(classOfFactory) || hasJoinedFactories(classOfFactory)) {
+				return null;
+			}
+			int[] fragmentIds;
+			final FragmentCreator creator = obtainFragmentCreator(classOfFactory);
+			if (creator != null) {
+				fragmentIds = creator.getFragmentIds().clone();
+			} else if ((fragmentIds = gatherFragmentIds(classOfFactory)) == null) {
+				return null;
+			}
+			Arrays.sort(fragmentIds);
+			return new LazyFactory(classOfFactory, fragmentIds);
+		}
+
+		/**
+		 * Checks whether the given <var>classOfFactory</var> or any of its super classes joins other
+		 * factories.
+		 */
+		private static boolean hasJoinedFactories(Class<?> classOfFactory) {
+			for (; classOfFactory != null && !BaseFragmentFactory.class.equals(classOfFactory); classOfFactory = classOfFactory.getSuperclass()) {
+				if (classOfFactory.isAnnotationPresent(FragmentFactories.class)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Gathers ids of fragments specified by {@link FactoryFragments @FactoryFragments} annotation
+		 * and static fields with {@link FactoryFragment @FactoryFragment} annotation of the given
+		 * <var>classOfFactory</var>.
+		 *
+		 * @return Array with gathered ids or <code>null</code> if there is an annotated field which
+		 * is not static, so it can not be read without instance of the factory.
+		 */
+		private static int[] gatherFragmentIds(Class<?> classOfFactory) {
+			final List<Integer> ids = new ArrayList<>();
+			if (classOfFactory.isAnnotationPresent(FactoryFragments.class)) {
+				for (int id : classOfFactory.getAnnotation(FactoryFragments.class).value()) {
+					ids.add(id);
+				}
+			}
+			for (Field field : classOfFactory.getDeclaredFields()) {
+				if (field.isAnnotationPresent(FactoryFragment.class) && int.class.equals(field.getType())) {
+					if (!Modifier.isStatic(field.getModifiers())) {
+						return null;
+					}
+					try {
+						field.setAccessible(true);
+						ids.add(field.getInt(null));
+					} catch (IllegalAccessException e) {
+						return null;
+					}
+				}
+			}
+			final int[] fragmentIds = new int[ids.size()];
+			for (int i = 0; i < fragmentIds.length; i++) {
+				fragmentIds[i] = ids.get(i);
+			}
+			return fragmentIds;
+		}
+
+		/**
+		 * Obtains instance of the described factory. The factory is instantiated when this is called
+		 * for the first time.
+		 *
+		 * @return Instance of the factory or <code>null</code> if it can not be instantiated.
+		 */
+		FragmentController.FragmentFactory obtainFactory() {
+			if (!mInstantiated) {
+				this.mInstantiated = true;
+				final long startTime = System.nanoTime();
+				this.mFactory = instantiateFactory(classOfFactory);
+				if (FragmentsConfig.LIBRARY_DEBUG_LOG_COMPILED && DEBUG_ENABLED) {
+					Log.d(TAG, "Lazy factory(" + classOfFactory.getSimpleName() + ") instantiated in " + ((System.nanoTime() - startTime) / 1000) + "us.");
+				}
+			}
+			return mFactory;
+		}
+
+		/**
+		 * Returns flag indicating whether the described factory was already instantiated or not.
+		 */
+		boolean isInstantiated() {
+			return mInstantiated;
+		}
+
+		/**
+		 */
+		@Override
+		public boolean isFragmentProvided(int fragmentId) {
+			return Arrays.binarySearch(fragmentIds, fragmentId) >= 0 && obtainFactory() != null;
+		}
+
+		/**
+		 */
+		@Nullable
+		@Override
+		public Fragment createFragmentInstance(int fragmentId, @Nullable Bundle params) {
+			final FragmentController.FragmentFactory factory = obtainFactory();
+			return factory != null ? factory.createFragmentInstance(fragmentId, params) : null;
+		}
+
+		/**
+		 */
+		@Nullable
+		@Override
+		public FragmentController.TransactionOptions getFragmentTransactionOptions(int fragmentId, @Nullable Bundle params) {
+			final FragmentController.FragmentFactory factory = obtainFactory();
+			return factory != null ? factory.getFragmentTransactionOptions(fragmentId, params) : null;
+		}
+
+		/**
+		 */
+		@Nullable
+		@Override
+		public String getFragmentTag(int fragmentId) {
+			final FragmentController.FragmentFactory factory = obtainFactory();
+			return factory != null ? factory.getFragmentTag(fragmentId) : null;
+		}
+	}
+
+	/**
+	 * <h4>Class Overview</h4>
+	 * Result of a fragment instance creation requested by {@link #createFragment(int, android.os.Bundle)}.
+	 *
+	 * @author Martin Albedinsky
+	 */
+	public static final class InstanceResult {
+
+		/**
+		 * Defines an annotation for determining set of allowed statuses of InstanceResult.
+		 */
+		@Retention(RetentionPolicy.SOURCE)
+		@IntDef({SUCCESS, NOT_PROVIDED, NO_FRAGMENT_TYPE, NOT_INSTANTIABLE})
+		public @interface Status {}
+
+		/**
+		 * Status indicating that the fragment instance has been successfully created.
+		 */
+		public static final int SUCCESS = 0;
+
+		/**
+		 * Status indicating that no fragment instance has been provided for the requested id.
+		 */
+		public static final int NOT_PROVIDED = 1;
+
+		/**
+		 * Status indicating that there is no fragment type specified for the requested id by
+		 * {@link FactoryFragment#type() @FactoryFragment.type()}.
+		 */
+		public static final int NO_FRAGMENT_TYPE = 2;
+
+		/**
+		 * Status indicating that the fragment type specified for the requested id can not be
+		 * instantiated, like when it is abstract or does not have public empty constructor.
+		 */
+		public static final int NOT_INSTANTIABLE = 3;
+
+		/**
+		 * Result for fragment ids for which there was no instance provided.
+		 */
+		private static final InstanceResult NOT_PROVIDED_RESULT = new InstanceResult(NOT_PROVIDED, null, null);
+
+		/**
+		 * Status of this result.
+		 */
+		private final int mStatus;
+
+		/**
+		 * Created fragment instance, <code>null</code> if creation failed.
+		 */
+		private final Fragment mFragment;
+
+		/**
+		 * Error which caused failure of creation, if any.
+		 */
+		private final Throwable mError;
+
+		/**
+		 * Creates a new instance of InstanceResult with the given parameters.
+		 */
+		InstanceResult(@Status int status, Fragment fragment, Throwable error) {
+			this.mStatus = status;
+			this.mFragment = fragment;
+			this.mError = error;
+		}
+
+		/**
+		 * Creates a result for the given <var>fragment</var> provided by some factory.
+		 */
+		static InstanceResult of(Fragment fragment) {
+			return fragment != null ? new InstanceResult(SUCCESS, fragment, null) : NOT_PROVIDED_RESULT;
+		}
+
+		/**
+		 * Returns flag indicating whether the fragment instance has been created or not.
+		 *
+		 * @return <code>True</code> if there is fragment instance available, <code>false</code> otherwise.
+		 */
+		public boolean isSuccess() {
+			return mStatus == SUCCESS;
+		}
+
+		/**
+		 * Returns the status of this result.
+		 *
+		 * @return One of {@link #SUCCESS}, {@link #NOT_PROVIDED}, {@link #NO_FRAGMENT_TYPE} or
+		 * {@link #NOT_INSTANTIABLE}.
+		 */
+		@Status
+		public int getStatus() {
+			return mStatus;
+		}
+
+		/**
+		 * Returns the created fragment instance.
+		 *
+		 * @return Fragment instance or <code>null</code> if creation failed.
+		 */
+		@Nullable
+		public Fragment getFragment() {
+			return mFragment;
+		}
+
+		/**
+		 * Returns the error which caused failure of fragment creation.
+		 *
+		 * @return Error or <code>null</code> if there was no error thrown.
+		 */
+		@Nullable
+		public Throwable getError() {
+			return mError;
+		}
+
+		/**
+		 */
+		@Override
+		public String toString() {
+			final String status;
+			switch (mStatus) {
+				case SUCCESS:
+					status = "SUCCESS";
+					break;
+				case NOT_PROVIDED:
+					status = "NOT_PROVIDED";
+					break;
+				case NO_FRAGMENT_TYPE:
+					status = "NO_FRAGMENT_TYPE";
+					break;
+				default:
+					status = "NOT_INSTANTIABLE";
+			}
+			return "InstanceResult{status: " + status + (mError != null ? ", error: " + mError : "") + "}";
+		}
+	}
+
 	/**
 	 * Holder for fragment item configuration.
 	 */
@@ -486,17 +1129,47 @@ public abstract class BaseFragmentFactory implements FragmentController.Fragment
 		 */
 		final Class<? extends Fragment> type;
 
+		/**
+		 * Cached constructor of the fragment type, <code>null</code> if fragments of this item are
+		 * created by the generated fragment creator or can not be instantiated.
+		 */
+		final Constructor<? extends Fragment> constructor;
+
+		/**
+		 * Result of failed creation of fragment, <code>null</code> if fragment of this item can be
+		 * instantiated.
+		 */
+		final InstanceResult failure;
+
 		/**
 		 * Constructors ============================================================================
 		 */
 
 		/**
 		 * Creates a new instance of FragmentItem with the given parameters.
+		 *
+		 * @param resolveConstructor <code>True</code> to resolve constructor of the given <var>type</var>
+		 *                           now, <code>false</code> if fragments of this item will be created
+		 *                           by the generated fragment creator.
 		 */
-		FragmentItem(int id, String tag, Class<? extends Fragment> type) {
+		FragmentItem(int id, String tag, Class<? extends Fragment> type, boolean resolveConstructor) {
 			this.id = id;
 			this.tag = tag;
 			this.type = type;
+			Constructor<? extends Fragment> constructor = null;
+			InstanceResult failure = null;
+			if (type == null || type.equals(Fragment.class)) {
+				failure = new InstanceResult(InstanceResult.NO_FRAGMENT_TYPE, null, null);
+			} else if (resolveConstructor) {
+				try {
+					constructor = FragmentConstructors.obtainConstructor(type);
+				} catch (InstantiationException | NoSuchMethodException e) {
+					Log.e(TAG, "Fragment class of(" + type + ") can not be instantiated. Make sure this fragment has public empty constructor.", e);
+					failure = new InstanceResult(InstanceResult.NOT_INSTANTIABLE, null, e);
+				}
+			}
+			this.constructor = constructor;
+			this.failure = failure;
 		}
 
 		/**
@@ -506,24 +1179,26 @@ public abstract class BaseFragmentFactory implements FragmentController.Fragment
 		/**
 		 * Creates a new instance of Fragment specified for this item.
 		 *
-		 * @param params Parameters for fragment to be set as its arguments.
-		 * @return New fragment instance or <code>null</code> if type of this item is {@link Fragment Fragment.class}
-		 * which is default and can not be instantiated or instantiation error occur.
+		 * @param creator Fragment creator generated for the factory of this item, used if there is
+		 *                no constructor resolved for this item.
+		 * @param params  Parameters for fragment to be set as its arguments.
+		 * @return Result with the new fragment instance or failure result if type of this item is
+		 * {@link Fragment Fragment.class} which is default or it can not be instantiated.
 		 */
-		public Fragment newInstance(Bundle params) {
-			if (type == null || type.equals(Fragment.class)) {
-				return null;
+		InstanceResult newInstance(FragmentCreator creator, Bundle params) {
+			if (failure != null) {
+				return failure;
 			}
-			try {
-				final Fragment fragment = type.newInstance();
-				if (params != null) {
-					fragment.setArguments(params);
-				}
-				return fragment;
-			} catch (InstantiationException | IllegalAccessException e) {
-				Log.e(TAG, "Failed to instantiate fragment class of(" + type + "). Make sure this fragment has public empty constructor.");
+			final Fragment fragment = constructor != null ?
+					FragmentConstructors.newInstance(constructor) :
+					creator.createFragment(id);
+			if (fragment == null) {
+				return InstanceResult.of(null);
 			}
-			return null;
+			if (params != null) {
+				fragment.setArguments(params);
+			}
+			return new InstanceResult(InstanceResult.SUCCESS, fragment, null);
 		}
 	}
 }
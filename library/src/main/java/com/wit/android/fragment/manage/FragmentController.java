@@ -32,6 +32,9 @@ import android.util.Log;
 
 import com.wit.android.fragment.FragmentsConfig;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * <h4>Class Overview</h4>
  * todo: description
@@ -221,6 +224,23 @@ public class FragmentController {
 	 */
 	private String mCurrentFragmentTag;
 
+	/**
+	 * Pool with prefetched fragment instances, created lazily.
+	 */
+	private WarmFragmentPool mWarmPool;
+
+	/**
+	 * Transaction collecting all operations of a {@link TransactionBatch} which is being committed,
+	 * see {@link #beginTransaction()}.
+	 */
+	private FragmentTransaction mBatchTransaction;
+
+	/**
+	 * Flag indicating whether some of the shows of the batch being committed requested to be showed
+	 * immediately.
+	 */
+	private boolean mBatchShowImmediate;
+
 	/**
 	 * Constructors ================================================================================
 	 */
@@ -413,7 +433,7 @@ public class FragmentController {
 				if (fragment != null && (fragment.isVisible() || fragment.isAdded())) {
 					visibleFragments.add(fragment);
 
-					if (DEBUG_ENABLED) {
+					if (FragmentsConfig.LIBRARY_DEBUG_LOG_COMPILED && DEBUG_ENABLED) {
 						Log.d(TAG, "visible/added fragment(" + fragment.getTag() + ")");
 					}
 				}
@@ -434,7 +454,7 @@ public class FragmentController {
 				// More than one fragment available.
 				fragment = visibleFragments.get(size - 1);
 		}
-		if (DEBUG_ENABLED) {
+		if (FragmentsConfig.LIBRARY_DEBUG_LOG_COMPILED && DEBUG_ENABLED) {
 			Log.d(TAG, "Resolved visible fragment(" + fragment + ")");
 		}
 		return fragment;
@@ -467,7 +487,7 @@ public class FragmentController {
 				if (fragment != null && (fragment.isVisible() || fragment.isAdded())) {
 					visibleFragments.add(fragment);
 
-					if (DEBUG_ENABLED) {
+					if (FragmentsConfig.LIBRARY_DEBUG_LOG_COMPILED && DEBUG_ENABLED) {
 						Log.d(TAG, "visible/added fragment(" + fragment.getTag() + ")");
 					}
 				}
@@ -489,7 +509,7 @@ public class FragmentController {
 				// More than two fragments available.
 				secondFragment = visibleFragments.get(size - 2);
 		}
-		if (DEBUG_ENABLED) {
+		if (FragmentsConfig.LIBRARY_DEBUG_LOG_COMPILED && DEBUG_ENABLED) {
 			Log.d(TAG, "Resolved second visible fragment(" + secondFragment + ")");
 		}
 		return secondFragment;
@@ -553,12 +573,17 @@ public class FragmentController {
 	/**
 	 * Wrapped {@link android.app.FragmentManager#beginTransaction()}.
 	 * <p/>
+	 * While a {@link TransactionBatch} is being committed, this returns the single transaction of
+	 * that batch, so all batched fragments showed by {@link #onShowFragment(android.app.Fragment, FragmentController.TransactionOptions)}
+	 * are part of it. Such a transaction is committed by the batch, see
+	 * {@link #onCommitTransaction(android.app.FragmentTransaction, FragmentController.TransactionOptions)}.
+	 * <p/>
 	 * <b>Do not forget to commit here created transaction.</b>
 	 */
 	@NonNull
 	@SuppressLint("CommitTransaction")
 	public FragmentTransaction beginTransaction() {
-		return mFragmentManager.beginTransaction();
+		return mBatchTransaction != null ? mBatchTransaction : mFragmentManager.beginTransaction();
 	}
 
 	/**
@@ -583,44 +608,93 @@ public class FragmentController {
 	}
 
 	/**
-	 * Clears fragments back stack by calling {@link android.app.FragmentManager#popBackStack()}
-	 * in loop of size obtained by {@link android.app.FragmentManager#getBackStackEntryCount()}.
+	 * Clears fragments back stack by calling {@link android.app.FragmentManager#popBackStack(int, int)}
+	 * with id of the root back stack entry and {@link android.app.FragmentManager#POP_BACK_STACK_INCLUSIVE}
+	 * flag, so all entries are popped by a single pop operation.
 	 * <p/>
-	 * <b>Note</b>, that {@link android.app.FragmentManager#popBackStack()} is an asynchronous
+	 * <b>Note</b>, that {@link android.app.FragmentManager#popBackStack(int, int)} is an asynchronous
 	 * call, so the fragments back stack can be cleared in the feature not immediately.
 	 *
 	 * @see #clearBackStackImmediate()
 	 */
 	public void clearBackStack() {
-		final int n = mFragmentManager.getBackStackEntryCount();
-		if (n > 0) {
-			for (int i = 0; i < n; i++) {
-				mFragmentManager.popBackStack();
-			}
-		}
+		popBackStackEntries(Integer.MAX_VALUE, false);
 	}
 
 	/**
-	 * Like {@link #clearBackStack()}, but this will call {@link android.app.FragmentManager#popBackStackImmediate()}.
+	 * Like {@link #clearBackStack()}, but this will call {@link android.app.FragmentManager#popBackStackImmediate(int, int)}.
 	 * <p/>
-	 * <b>Note</b>, that {@link android.app.FragmentManager#popBackStackImmediate()} is a
-	 * synchronous call, so the fragments back stack will be popped immediately within this call. If
-	 * there is too many fragments, this can take some time.
+	 * <b>Note</b>, that {@link android.app.FragmentManager#popBackStackImmediate(int, int)} is a
+	 * synchronous call, so the fragments back stack will be popped immediately within this call.
 	 *
 	 * @return <code>True</code> if there was at least one fragment popped, <code>false</code> otherwise.
 	 */
 	public boolean clearBackStackImmediate() {
-		final int n = mFragmentManager.getBackStackEntryCount();
-		if (n > 0) {
-			boolean popped = false;
-			for (int i = 0; i < n; i++) {
-				if (mFragmentManager.popBackStackImmediate() && !popped) {
-					popped = true;
-				}
-			}
-			return popped;
+		return popBackStackEntries(Integer.MAX_VALUE, true);
+	}
+
+	/**
+	 * Creates a new batch which can be used to collect multiple show, hide and pop operations and
+	 * commit them at once. Redundant operations are coalesced before commit, so for example only
+	 * the last of multiple fragments replaced within the same layout container will be actually
+	 * created and showed. Remaining shows are passed to {@link #onShowFragment(android.app.Fragment, FragmentController.TransactionOptions)}
+	 * as if they were showed one by one, but all of them are committed by a single transaction.
+	 * <p/>
+	 * <b>Do not forget to commit here created batch.</b>
+	 *
+	 * @return New transaction batch bound to this controller.
+	 * @see TransactionBatch#commit()
+	 */
+	@NonNull
+	public TransactionBatch batch() {
+		return new TransactionBatch();
+	}
+
+	/**
+	 * Same as {@link #prefetch(int, android.os.Bundle)} without params.
+	 */
+	public void prefetch(int fragmentId) {
+		prefetch(fragmentId, null);
+	}
+
+	/**
+	 * Requests to create an instance of fragment provided by the current factory for the specified
+	 * <var>fragmentId</var> ahead of time. The instance is created during the next idle pass of the
+	 * main looper and kept within a bounded pool of warm instances, from which it will be taken
+	 * by the next {@link #showFragment(int, android.os.Bundle)} call for the same id and the
+	 * <b>same</b> <var>params</var> (same instance of Bundle or both <code>null</code>).
+	 * <p/>
+	 * This should be called on the main thread.
+	 *
+	 * @param fragmentId Id of the desired factory fragment to prefetch.
+	 * @param params     Parameters for fragment.
+	 * @throws java.lang.IllegalStateException If this controller does not have factory attached.
+	 * @see #setWarmPoolCapacity(int)
+	 * @see #onTrimMemory(int)
+	 */
+	public void prefetch(int fragmentId, @Nullable Bundle params) {
+		if (!checkFragmentFactory(fragmentId)) {
+			Log.e(TAG, "Current factory(" + mFactory.getClass().getSimpleName() + ") does not provide fragment for the requested id(" + fragmentId + ").");
+			return;
+		}
+		if (mWarmPool == null) {
+			this.mWarmPool = new WarmFragmentPool(this);
+		}
+		mWarmPool.prefetch(fragmentId, params);
+	}
+
+	/**
+	 * Evicts prefetched fragment instances according to the given memory trim <var>level</var>.
+	 * This should be called from {@link android.content.ComponentCallbacks2#onTrimMemory(int)}
+	 * of the activity or fragment in which is this controller used.
+	 *
+	 * @param level Level of the memory trim.
+	 * @see #prefetch(int, android.os.Bundle)
+	 */
+	public void onTrimMemory(int level) {
+		if (mWarmPool != null) {
+			mWarmPool.trimMemory(level);
 		}
-		return false;
 	}
 
 	/**
@@ -734,14 +808,21 @@ public class FragmentController {
 	}
 
 	/**
-	 * Sets the factory for this dialog controller.
+	 * Sets the factory for this dialog controller. If the factory changes, all fragments prefetched
+	 * by the previous factory are dropped, see {@link #prefetch(int, android.os.Bundle)}.
 	 *
 	 * @param factory The desired factory.
 	 * @see #getFragmentFactory()
 	 * @see #hasFragmentFactory()
 	 */
 	public void setFragmentFactory(@Nullable FragmentFactory factory) {
+		if (mFactory != factory && mWarmPool != null) {
+			mWarmPool.clear();
+		}
 		this.mFactory = factory;
+		if (factory instanceof BaseFragmentFactory) {
+			((BaseFragmentFactory) factory).preloadWebContents();
+		}
 	}
 
 	/**
@@ -756,6 +837,43 @@ public class FragmentController {
 		return mFactory;
 	}
 
+	/**
+	 * Sets the maximum count of prefetched fragment instances kept by this controller.
+	 * <p/>
+	 * Default value: <b>3</b>
+	 *
+	 * @param capacity The desired capacity of the pool of warm instances.
+	 * @see #prefetch(int, android.os.Bundle)
+	 */
+	public void setWarmPoolCapacity(int capacity) {
+		if (mWarmPool == null) {
+			this.mWarmPool = new WarmFragmentPool(this);
+		}
+		mWarmPool.setCapacity(capacity);
+	}
+
+	/**
+	 * Returns the count of fragments showed by this controller, which were taken from the pool of
+	 * prefetched instances.
+	 *
+	 * @return Count of pool hits.
+	 * @see #getPrefetchMissCount()
+	 */
+	public int getPrefetchHitCount() {
+		return mWarmPool != null ? mWarmPool.getHitCount() : 0;
+	}
+
+	/**
+	 * Returns the count of factory fragments showed by this controller, which needed to be created
+	 * as there was no matching prefetched instance available.
+	 *
+	 * @return Count of pool misses.
+	 * @see #getPrefetchHitCount()
+	 */
+	public int getPrefetchMissCount() {
+		return mWarmPool != null ? mWarmPool.getMissCount() : 0;
+	}
+
 	/**
 	 * Returns the top entry of the fragments back stack.
 	 *
@@ -785,65 +903,14 @@ public class FragmentController {
 			options = new TransactionOptions();
 		}
 
-		if (!options.replaceSame) {
-			// Do not replace same fragment.
-			Fragment currentFragment = mFragmentManager.findFragmentByTag(options.tag);
-			if (currentFragment != null) {
-				if (LOG_ENABLED) {
-					Log.v(TAG, "Fragment with tag(" + options.tag + ") is already showing or within the back-stack.");
-				}
-				return false;
-			}
-		}
-
-		// Check if we have place where the fragment should be placed.
-		if (options.containerId <= 0) {
-			if (mFragmentContainerId <= 0) {
-				// No id provided for the layout where should be fragment
-				// placed.
-				throw new IllegalStateException("There is no id provided for the layout container into which should be requested fragment's view placed.");
-			} else {
-				options.containerId = mFragmentContainerId;
-			}
+		if (!canShowFragment(options)) {
+			return false;
 		}
+		resolveContainerId(options);
 
 		final FragmentTransaction transaction = beginTransaction();
-
-		// Apply animations to the transaction from the FragmentTransition parameter.
-		if (options.transition != null && options.transition != FragmentTransition.NONE) {
-			final FragmentTransition trans = options.transition;
-
-			/**
-			 * <pre>
-			 * There are provided 4 animations:
-			 * First two for currently incoming and outgoing fragment.
-			 * Second two for incoming fragment from back stack and
-			 * currently outgoing fragment.
-			 * </pre>
-			 */
-			transaction.setCustomAnimations(
-					trans.getInAnimResId(), trans.getOutAnimResId(),
-					trans.getInAnimBackResId(), trans.getOutAnimBackResId()
-			);
-		}
-
-		if (DEBUG_ENABLED) {
-			Log.d(TAG, "onShowFragment() options = " + options.toString());
-		}
-
-		if (options.add) {
-			transaction.add(options.containerId, fragment, options.tag);
-		} else {
-			transaction.replace(options.containerId, fragment, options.tag);
-		}
-
-		// Add fragment to back stack if requested.
-		if (options.addToBackStack) {
-			transaction.addToBackStack(fragment.getTag());
-			if (DEBUG_ENABLED) {
-				Log.d(TAG, "Fragment(" + fragment + ") added to back stack under the tag(" + fragment.getTag() + ").");
-			}
-		}
+		applyShowFragment(transaction, fragment, options);
+		TransactionTracing.markCommitted(fragment);
 		return onCommitTransaction(transaction, options);
 	}
 
@@ -855,12 +922,20 @@ public class FragmentController {
 	 * has set flag {@link com.wit.android.fragment.manage.FragmentController.TransactionOptions#showImmediate}
 	 * to <code>true</code>, {@link android.app.FragmentManager#executePendingTransactions()}
 	 * will be invoked too on the attached FragmentManager.
+	 * <p/>
+	 * The transaction of a {@link TransactionBatch} which is being committed is not committed here,
+	 * but by the batch itself once all its operations have been added to it.
 	 *
 	 * @param transaction Final fragment transaction to commit.
 	 * @param options     Already processed transaction.
 	 * @return Always returns <code>true</code>.
 	 */
 	protected boolean onCommitTransaction(@NonNull FragmentTransaction transaction, @NonNull TransactionOptions options) {
+		if (transaction == mBatchTransaction) {
+			// Committed by the batch together with its other operations.
+			this.mBatchShowImmediate |= options.showImmediate;
+			return true;
+		}
 		// Commit transaction.
 		transaction.commit();
 		if (options.showImmediate) {
@@ -888,6 +963,37 @@ public class FragmentController {
 		}
 	}
 
+	/**
+	 * Creates a new instance of fragment with the specified <var>fragmentId</var> by the current factory.
+	 *
+	 * @param fragmentId The id of fragment from the current fragment factory.
+	 * @param params     Parameters to be passed to the current factory by
+	 *                   {@link com.wit.android.fragment.manage.FragmentController.FragmentFactory#createFragmentInstance(int, android.os.Bundle)}.
+	 * @return New fragment instance or <code>null</code> if there is no factory or it does not
+	 * provide such a fragment.
+	 */
+	Fragment createFactoryFragment(int fragmentId, Bundle params) {
+		if (mFactory == null) {
+			return null;
+		}
+		final long start = TransactionTracing.isEnabled() ? System.nanoTime() : 0;
+		final Fragment fragment;
+		if (mFactory instanceof BaseFragmentFactory) {
+			final BaseFragmentFactory.InstanceResult result = ((BaseFragmentFactory) mFactory).createFragment(fragmentId, params);
+			if ((fragment = result.getFragment()) == null) {
+				// Invalid fragment instance.
+				Log.e(TAG, "No fragment instance provided by factory(" + mFactory.getClass().getSimpleName() + ") for the requested fragment id(" + fragmentId + "). " + result);
+			}
+		} else if ((fragment = mFactory.createFragmentInstance(fragmentId, params)) == null) {
+			// Invalid fragment instance.
+			Log.e(TAG, "No fragment instance provided by factory(" + mFactory.getClass().getSimpleName() + ") for the requested fragment id(" + fragmentId + ").");
+		}
+		if (start != 0 && fragment != null) {
+			TransactionTracing.trace(mFactory.getFragmentTag(fragmentId), TransactionTracer.PHASE_FACTORY_CREATE, System.nanoTime() - start);
+		}
+		return fragment;
+	}
+
 	/**
 	 * Private -------------------------------------------------------------------------------------
 	 */
@@ -902,10 +1008,8 @@ public class FragmentController {
 	 */
 	private boolean performShowFragment(int fragmentId, Bundle params) {
 		// First obtain fragment instance then fragment tag.
-		Fragment fragment = mFactory.createFragmentInstance(fragmentId, params);
+		final Fragment fragment = obtainFactoryFragment(fragmentId, params);
 		if (fragment == null) {
-			// Invalid fragment instance.
-			Log.e(TAG, "No fragment instance provided by factory(" + mFactory.getClass().getSimpleName() + ") for the requested fragment id(" + fragmentId + ").");
 			return false;
 		}
 		final boolean success = onShowFragment(fragment, mFactory.getFragmentTransactionOptions(fragmentId, params));
@@ -924,6 +1028,19 @@ public class FragmentController {
 		return success && notifyFragmentChanged(fragment.getId(), fragment.getTag(), false);
 	}
 
+	/**
+	 * Obtains an instance of fragment with the specified <var>fragmentId</var>. A prefetched instance
+	 * is used if available, otherwise a new one is created by the current factory.
+	 *
+	 * @param fragmentId The id of fragment from the current fragment factory.
+	 * @param params     Parameters for fragment.
+	 * @return Fragment instance or <code>null</code> if the current factory does not provide one.
+	 */
+	private Fragment obtainFactoryFragment(int fragmentId, Bundle params) {
+		final Fragment fragment = mWarmPool != null ? mWarmPool.take(fragmentId, params) : null;
+		return fragment != null ? fragment : createFactoryFragment(fragmentId, params);
+	}
+
 	/**
 	 * Checks whether there is factory available and if so, if a fragment for the specified <var>fragmentId</var>
 	 * is provided by that factory.
@@ -940,6 +1057,119 @@ public class FragmentController {
 		return mFactory.isFragmentProvided(fragmentId);
 	}
 
+	/**
+	 * Checks whether a fragment can be showed using the given <var>options</var>. This will be always
+	 * <code>true</code> unless the options does not allow to replace the same fragment and there is
+	 * already fragment with the same tag within the attached FragmentManager.
+	 *
+	 * @param options Options of the fragment to be showed.
+	 * @return <code>True</code> if fragment can be showed, <code>false</code> otherwise.
+	 */
+	private boolean canShowFragment(TransactionOptions options) {
+		if (!options.replaceSame) {
+			// Do not replace same fragment.
+			Fragment currentFragment = mFragmentManager.findFragmentByTag(options.tag);
+			if (currentFragment != null) {
+				if (LOG_ENABLED) {
+					Log.v(TAG, "Fragment with tag(" + options.tag + ") is already showing or within the back-stack.");
+				}
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Ensures that the given <var>options</var> have valid id of the layout container specified.
+	 * If not, the current id of layout container of this controller will be used.
+	 *
+	 * @param options Options of the fragment to be showed.
+	 * @throws java.lang.IllegalStateException If the current id for layout container is invalid.
+	 */
+	private void resolveContainerId(TransactionOptions options) {
+		// Check if we have place where the fragment should be placed.
+		if (options.containerId <= 0) {
+			if (mFragmentContainerId <= 0) {
+				// No id provided for the layout where should be fragment
+				// placed.
+				throw new IllegalStateException("There is no id provided for the layout container into which should be requested fragment's view placed.");
+			} else {
+				options.containerId = mFragmentContainerId;
+			}
+		}
+	}
+
+	/**
+	 * Sets up the given <var>transaction</var> to show the given <var>fragment</var> according to
+	 * the given <var>options</var>.
+	 *
+	 * @param transaction Transaction to set up.
+	 * @param fragment    Fragment to show.
+	 * @param options     Already processed options for the given fragment.
+	 */
+	private void applyShowFragment(FragmentTransaction transaction, Fragment fragment, TransactionOptions options) {
+		// Apply animations to the transaction from the FragmentTransition parameter.
+		if (options.transition != null && options.transition != FragmentTransition.NONE) {
+			// Transition may be degraded when recent transitions were dropping frames.
+			final FragmentTransition trans = TransitionPlayback.resolve(options.transition);
+
+			/**
+			 * <pre>
+			 * There are provided 4 animations:
+			 * First two for currently incoming and outgoing fragment.
+			 * Second two for incoming fragment from back stack and
+			 * currently outgoing fragment.
+			 * </pre>
+			 */
+			transaction.setCustomAnimations(
+					trans.getInAnimResId(), trans.getOutAnimResId(),
+					trans.getInAnimBackResId(), trans.getOutAnimBackResId()
+			);
+		}
+
+		if (FragmentsConfig.LIBRARY_DEBUG_LOG_COMPILED && DEBUG_ENABLED) {
+			Log.d(TAG, "onShowFragment() options = " + options.toString());
+		}
+
+		if (options.add) {
+			transaction.add(options.containerId, fragment, options.tag);
+		} else {
+			transaction.replace(options.containerId, fragment, options.tag);
+		}
+
+		// Add fragment to back stack if requested.
+		if (options.addToBackStack) {
+			transaction.addToBackStack(fragment.getTag());
+			if (FragmentsConfig.LIBRARY_DEBUG_LOG_COMPILED && DEBUG_ENABLED) {
+				Log.d(TAG, "Fragment(" + fragment + ") added to back stack under the tag(" + fragment.getTag() + ").");
+			}
+		}
+	}
+
+	/**
+	 * Pops the specified count of the top entries from the fragments back stack by a single pop
+	 * operation.
+	 *
+	 * @param count     Count of the entries to pop. If greater or equal to the current count of
+	 *                  the back stack entries, whole back stack will be popped.
+	 * @param immediate <code>True</code> to pop immediately, <code>false</code> otherwise.
+	 * @return <code>True</code> if there was at least one entry popped (in case of immediate popping)
+	 * or requested to be popped, <code>false</code> otherwise.
+	 */
+	private boolean popBackStackEntries(int count, boolean immediate) {
+		final int n = mFragmentManager.getBackStackEntryCount();
+		if (n == 0 || count <= 0) {
+			return false;
+		}
+		// Pop all entries down to (and including) the lowest one to be popped.
+		final int entryId = mFragmentManager.getBackStackEntryAt(count >= n ? 0 : n - count).getId();
+		if (immediate) {
+			return mFragmentManager.popBackStackImmediate(entryId, FragmentManager.POP_BACK_STACK_INCLUSIVE);
+		}
+		mFragmentManager.popBackStack(entryId, FragmentManager.POP_BACK_STACK_INCLUSIVE);
+		return true;
+	}
+
 	/**
 	 * Called to notify, that the given <var>changedEntry</var> was added or removed from the back stack.
 	 *
@@ -1227,6 +1457,473 @@ public class FragmentController {
 		}
 	}
 
+	/**
+	 * <h4>Class Overview</h4>
+	 * Batch of fragment operations which are collected and committed at once by {@link #commit()}.
+	 * All pops of the back stack which remain after coalescing are performed first, by a single
+	 * inclusive pop. All remaining show, hide and remove operations are then added, in the order in
+	 * which they were batched, into a single transaction which is committed once. Each show still
+	 * goes through {@link FragmentController#onShowFragment(android.app.Fragment, FragmentController.TransactionOptions)},
+	 * but {@link FragmentController#onCommitTransaction(android.app.FragmentTransaction, FragmentController.TransactionOptions)}
+	 * does not commit the batch transaction, so the batch creates at most one back stack entry.
+	 * <h4>Coalescing</h4>
+	 * <ul>
+	 * <li>
+	 * replacing of a fragment within a layout container drops all previously batched shows into
+	 * the same container since the last back stacked show, such fragments are not even created
+	 * </li>
+	 * <li>
+	 * popping of the back stack drops the last batched show which would be pushed to the back stack
+	 * together with hide and remove operations batched right before it
+	 * </li>
+	 * <li>
+	 * all remaining pops, even if separated by other operations, are counted together and performed
+	 * by a single pop, so each of them pops a different entry of the current back stack
+	 * </li>
+	 * </ul>
+	 *
+	 * @author Martin Albedinsky
+	 * @see com.wit.android.fragment.manage.FragmentController#batch()
+	 */
+	public final class TransactionBatch {
+
+		/**
+		 * Members =================================================================================
+		 */
+
+		/**
+		 * List of the batched operations in order as they were requested.
+		 */
+		private final List<BatchOperation> mOperations = new ArrayList<>();
+
+		/**
+		 * Count of the current back stack entries to pop before the batched operations are committed.
+		 */
+		private int mPopCount;
+
+		/**
+		 * Count of the operations dropped due to coalescing.
+		 */
+		private int mCoalescedCount;
+
+		/**
+		 * Flag indicating whether this batch was already committed or not.
+		 */
+		private boolean mCommitted;
+
+		/**
+		 * Constructors ============================================================================
+		 */
+
+		/**
+		 * Creates a new instance of TransactionBatch bound to the parent controller.
+		 */
+		TransactionBatch() {
+		}
+
+		/**
+		 * Methods =================================================================================
+		 */
+
+		/**
+		 * Same as {@link #showFragment(int, android.os.Bundle)} without params.
+		 */
+		public TransactionBatch showFragment(int fragmentId) {
+			return showFragment(fragmentId, null);
+		}
+
+		/**
+		 * Batches showing of a fragment provided by the current factory of the parent controller.
+		 * The fragment will be created by the factory only if it will be really showed.
+		 *
+		 * @param fragmentId Id of the desired factory fragment to show.
+		 * @param params     Parameters for fragment.
+		 * @return This batch to allow methods chaining.
+		 * @throws java.lang.IllegalStateException If the parent controller does not have factory attached
+		 *                                         or there is no id for layout container available.
+		 * @see FragmentController#showFragment(int, android.os.Bundle)
+		 */
+		public TransactionBatch showFragment(int fragmentId, @Nullable Bundle params) {
+			ensureNotCommitted();
+			if (!checkFragmentFactory(fragmentId)) {
+				Log.e(TAG, "Current factory(" + mFactory.getClass().getSimpleName() + ") does not provide fragment for the requested id(" + fragmentId + ").");
+				return this;
+			}
+			TransactionOptions options = mFactory.getFragmentTransactionOptions(fragmentId, params);
+			if (options == null) {
+				options = new TransactionOptions();
+			}
+			final BatchOperation operation = new BatchOperation(BatchOperation.SHOW, null, options);
+			operation.fragmentId = fragmentId;
+			operation.params = params;
+			return batchShow(operation);
+		}
+
+		/**
+		 * Batches showing of the given <var>fragment</var> using the given options.
+		 *
+		 * @param fragment The fragment instance to show.
+		 * @param options  Options used when showing fragment.
+		 * @return This batch to allow methods chaining.
+		 * @throws java.lang.IllegalStateException If there is no id for layout container available.
+		 * @see FragmentController#showFragment(android.app.Fragment, FragmentController.TransactionOptions)
+		 */
+		public TransactionBatch showFragment(@NonNull Fragment fragment, @Nullable TransactionOptions options) {
+			ensureNotCommitted();
+			return batchShow(new BatchOperation(
+					BatchOperation.SHOW,
+					fragment,
+					options != null ? options : new TransactionOptions()
+			));
+		}
+
+		/**
+		 * Batches hiding of the given <var>fragment</var> by {@link android.app.FragmentTransaction#hide(android.app.Fragment)}.
+		 *
+		 * @param fragment The fragment to hide.
+		 * @return This batch to allow methods chaining.
+		 */
+		public TransactionBatch hideFragment(@NonNull Fragment fragment) {
+			ensureNotCommitted();
+			return batchFragmentOperation(BatchOperation.HIDE, fragment);
+		}
+
+		/**
+		 * Batches removing of the given <var>fragment</var> by {@link android.app.FragmentTransaction#remove(android.app.Fragment)}.
+		 *
+		 * @param fragment The fragment to remove.
+		 * @return This batch to allow methods chaining.
+		 */
+		public TransactionBatch removeFragment(@NonNull Fragment fragment) {
+			ensureNotCommitted();
+			return batchFragmentOperation(BatchOperation.REMOVE, fragment);
+		}
+
+		/**
+		 * Batches popping of the top entry from the fragments back stack. If there is batched a show
+		 * which would be pushed to the back stack, such a show is dropped instead.
+		 *
+		 * @return This batch to allow methods chaining.
+		 * @see FragmentController#hideVisibleFragment()
+		 */
+		public TransactionBatch popBackStack() {
+			ensureNotCommitted();
+			final int end = findLastBackStackedShow(mOperations.size());
+			if (end >= 0) {
+				// Pushed and immediately popped transaction, drop it.
+				dropOperations(findTransactionStart(end), end + 1);
+			} else if (mPopCount < Integer.MAX_VALUE) {
+				mPopCount++;
+			}
+			return this;
+		}
+
+		/**
+		 * Batches clearing of the whole fragments back stack. All batched shows which would be pushed
+		 * to the back stack are dropped and all current back stack entries are popped.
+		 *
+		 * @return This batch to allow methods chaining.
+		 * @see FragmentController#clearBackStack()
+		 */
+		public TransactionBatch clearBackStack() {
+			ensureNotCommitted();
+			int end;
+			while ((end = findLastBackStackedShow(mOperations.size())) >= 0) {
+				dropOperations(findTransactionStart(end), end + 1);
+			}
+			this.mPopCount = Integer.MAX_VALUE;
+			return this;
+		}
+
+		/**
+		 * Returns the count of operations dropped by this batch due to coalescing.
+		 *
+		 * @return Count of dropped operations.
+		 */
+		public int getCoalescedCount() {
+			return mCoalescedCount;
+		}
+
+		/**
+		 * Returns the count of currently batched operations. Pops of the back stack are not counted.
+		 *
+		 * @return Count of batched operations.
+		 */
+		public int size() {
+			return mOperations.size();
+		}
+
+		/**
+		 * Commits all batched operations. The back stack entries to pop are popped first by a single
+		 * inclusive pop, then all remaining operations are added in the order in which they were batched
+		 * into a single transaction. Shows are added by {@link FragmentController#onShowFragment(android.app.Fragment, FragmentController.TransactionOptions)}
+		 * and the transaction is committed once after the last of them. If some of the shows requested
+		 * to be showed immediately, {@link android.app.FragmentManager#executePendingTransactions()}
+		 * is invoked once after the commit.
+		 *
+		 * @return <code>True</code> if the transaction was committed or pop requested, <code>false</code>
+		 * otherwise.
+		 * @throws java.lang.IllegalStateException If this batch was already committed.
+		 */
+		public boolean commit() {
+			ensureNotCommitted();
+			this.mCommitted = true;
+			final boolean popped = popBackStackEntries(mPopCount, false);
+			boolean hasOperations = false;
+			final int n = mOperations.size();
+			final List<BatchOperation> showed = new ArrayList<>(n);
+			final FragmentTransaction transaction = mFragmentManager.beginTransaction();
+			// Let all shows add fragments into the batch transaction without committing it.
+			mBatchTransaction = transaction;
+			mBatchShowImmediate = false;
+			try {
+				for (int i = 0; i < n; i++) {
+					final BatchOperation operation = mOperations.get(i);
+					switch (operation.type) {
+						case BatchOperation.SHOW:
+							if (canShowFragment(operation.options) && obtainFragment(operation) && onShowFragment(operation.fragment, operation.options)) {
+								showed.add(operation);
+								hasOperations = true;
+							}
+							break;
+						case BatchOperation.HIDE:
+							transaction.hide(operation.fragment);
+							hasOperations = true;
+							break;
+						default:
+							transaction.remove(operation.fragment);
+							hasOperations = true;
+					}
+				}
+			} finally {
+				mBatchTransaction = null;
+			}
+			if (hasOperations) {
+				transaction.commit();
+				if (mBatchShowImmediate) {
+					mFragmentManager.executePendingTransactions();
+				}
+			}
+			if (FragmentsConfig.LIBRARY_DEBUG_LOG_COMPILED && DEBUG_ENABLED) {
+				Log.d(TAG, "Committed batch of " + n + " operation(s) and " + mPopCount + " pop(s), " + mCoalescedCount + " coalesced.");
+			}
+			for (BatchOperation operation : showed) {
+				notifyFragmentChanged(
+						operation.fragmentId != BatchOperation.NO_FRAGMENT_ID ? operation.fragmentId : operation.fragment.getId(),
+						operation.fragment.getTag(),
+						operation.fragmentId != BatchOperation.NO_FRAGMENT_ID
+				);
+			}
+			mOperations.clear();
+			return popped || hasOperations;
+		}
+
+		/**
+		 * Batches the given show operation. All previously batched shows into the same layout
+		 * container since the last back stacked show are dropped in case of replace.
+		 *
+		 * @param operation The show operation to batch.
+		 * @return This batch to allow methods chaining.
+		 */
+		private TransactionBatch batchShow(BatchOperation operation) {
+			resolveContainerId(operation.options);
+			if (!operation.options.add) {
+				// Replace removes all fragments within the container, including those added by
+				// the current transaction.
+				final int start = findBackStackStart(mOperations.size());
+				for (int i = mOperations.size() - 1; i >= start; i--) {
+					final BatchOperation batched = mOperations.get(i);
+					if (batched.type == BatchOperation.SHOW && batched.options.containerId == operation.options.containerId) {
+						mOperations.remove(i);
+						mCoalescedCount++;
+					}
+				}
+			}
+			mOperations.add(operation);
+			return this;
+		}
+
+		/**
+		 * Batches operation of the specified type for the given <var>fragment</var>, unless the same
+		 * operation for the same fragment is already batched.
+		 *
+		 * @param type     Type of the operation.
+		 * @param fragment The fragment for which to batch the operation.
+		 * @return This batch to allow methods chaining.
+		 */
+		private TransactionBatch batchFragmentOperation(int type, Fragment fragment) {
+			for (int i = mOperations.size() - 1; i >= 0; i--) {
+				final BatchOperation batched = mOperations.get(i);
+				if (batched.type == type && batched.fragment == fragment) {
+					mCoalescedCount++;
+					return this;
+				}
+			}
+			mOperations.add(new BatchOperation(type, fragment, null));
+			return this;
+		}
+
+		/**
+		 * Obtains fragment instance for the given show operation from the current factory if needed.
+		 *
+		 * @param operation The show operation.
+		 * @return <code>True</code> if the operation has fragment instance, <code>false</code> otherwise.
+		 */
+		private boolean obtainFragment(BatchOperation operation) {
+			if (operation.fragment == null) {
+				operation.fragment = obtainFactoryFragment(operation.fragmentId, operation.params);
+			}
+			return operation.fragment != null;
+		}
+
+		/**
+		 * Returns an index of the last batched show operation which adds fragment to the back stack.
+		 *
+		 * @param end Index (exclusive) from which to search backwards.
+		 * @return Index of the found operation or <code>-1</code> if there is no such operation.
+		 */
+		private int findLastBackStackedShow(int end) {
+			for (int i = end - 1; i >= 0; i--) {
+				final BatchOperation operation = mOperations.get(i);
+				if (operation.type == BatchOperation.SHOW && operation.options.addToBackStack) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		/**
+		 * Returns an index of the first batched operation after the last show, so operations from this
+		 * index on belong to the show at the given <var>end</var> index.
+		 *
+		 * @param end Index (exclusive) from which to search backwards.
+		 * @return Index of the first operation of the found range.
+		 */
+		private int findTransactionStart(int end) {
+			for (int i = end - 1; i >= 0; i--) {
+				if (mOperations.get(i).type == BatchOperation.SHOW) {
+					return i + 1;
+				}
+			}
+			return 0;
+		}
+
+		/**
+		 * Returns an index of the first batched operation after the last back stacked show, so shows
+		 * from this index on may be replaced without losing a back stack request.
+		 *
+		 * @param end Index (exclusive) from which to search backwards.
+		 * @return Index of the first operation of the found range.
+		 */
+		private int findBackStackStart(int end) {
+			for (int i = end - 1; i >= 0; i--) {
+				final BatchOperation operation = mOperations.get(i);
+				if (operation.type == BatchOperation.SHOW && operation.options.addToBackStack) {
+					return i + 1;
+				}
+			}
+			return 0;
+		}
+
+		/**
+		 * Drops batched operations within the specified range.
+		 *
+		 * @param start Index of the first operation to drop.
+		 * @param end   Index (exclusive) of the last operation to drop.
+		 */
+		private void dropOperations(int start, int end) {
+			mOperations.subList(start, end).clear();
+			mCoalescedCount += end - start;
+		}
+
+		/**
+		 * Ensures that this batch was not committed yet.
+		 *
+		 * @throws java.lang.IllegalStateException If this batch was already committed.
+		 */
+		private void ensureNotCommitted() {
+			if (mCommitted) {
+				throw new IllegalStateException("Transaction batch already committed.");
+			}
+		}
+	}
+
+	/**
+	 * Single operation batched within {@link com.wit.android.fragment.manage.FragmentController.TransactionBatch}.
+	 */
+	private static final class BatchOperation {
+
+		/**
+		 * Constants ===============================================================================
+		 */
+
+		/**
+		 * Type of operation to show fragment.
+		 */
+		static final int SHOW = 0x00;
+
+		/**
+		 * Type of operation to hide fragment.
+		 */
+		static final int HIDE = 0x01;
+
+		/**
+		 * Type of operation to remove fragment.
+		 */
+		static final int REMOVE = 0x02;
+
+		/**
+		 * Id used for operations with fragment not provided by factory.
+		 */
+		static final int NO_FRAGMENT_ID = -1;
+
+		/**
+		 * Members =================================================================================
+		 */
+
+		/**
+		 * Type of this operation.
+		 */
+		final int type;
+
+		/**
+		 * Options for show operation.
+		 */
+		final TransactionOptions options;
+
+		/**
+		 * Fragment instance of this operation. For factory fragments this is obtained during commit.
+		 */
+		Fragment fragment;
+
+		/**
+		 * Id of the factory fragment.
+		 */
+		int fragmentId = NO_FRAGMENT_ID;
+
+		/**
+		 * Parameters for the factory fragment.
+		 */
+		Bundle params;
+
+		/**
+		 * Constructors ============================================================================
+		 */
+
+		/**
+		 * Creates a new instance of BatchOperation.
+		 *
+		 * @param type     Type of the operation.
+		 * @param fragment Fragment instance, may be <code>null</code> for factory fragment.
+		 * @param options  Options for show operation.
+		 */
+		BatchOperation(int type, Fragment fragment, TransactionOptions options) {
+			this.type = type;
+			this.fragment = fragment;
+			this.options = options;
+		}
+	}
+
 	/**
 	 * Fragments back stack inner implementation.
 	 */
@@ -0,0 +1,64 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment.manage;
+
+import android.app.Fragment;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * <h4>Interface Overview</h4>
+ * Required interface for fragment creators generated at compile time by the fragments annotation
+ * processor. A creator is generated for each {@link BaseFragmentFactory} with fields annotated
+ * with {@link com.wit.android.fragment.annotation.FactoryFragment @FactoryFragment} and creates
+ * instances of fragments of the specified types by a plain constructor call, so no reflection is
+ * used to instantiate them.
+ * <p/>
+ * If there is no creator generated for a specific factory, fragments of such a factory are instantiated
+ * by their cached constructors.
+ * <p/>
+ * A creator also serves as an index of all fragment ids provided by its factory, so the factory can
+ * be joined lazily (see {@link com.wit.android.fragment.annotation.FragmentFactories#lazy() @FragmentFactories.lazy()})
+ * without scanning its fields.
+ *
+ * @author Martin Albedinsky
+ */
+public interface FragmentCreator {
+
+	/**
+	 * Creates a new instance of fragment of the type specified for the given <var>fragmentId</var>
+	 * by {@link com.wit.android.fragment.annotation.FactoryFragment#type() @FactoryFragment.type()}.
+	 *
+	 * @param fragmentId Id of the fragment to create.
+	 * @return New instance of the requested fragment or <code>null</code> if there is no type specified
+	 * for the given id.
+	 */
+	@Nullable
+	public Fragment createFragment(int fragmentId);
+
+	/**
+	 * Returns ids of all fragments provided by the factory, specified by both
+	 * {@link com.wit.android.fragment.annotation.FactoryFragments @FactoryFragments} and
+	 * {@link com.wit.android.fragment.annotation.FactoryFragment @FactoryFragment} annotations.
+	 *
+	 * @return Array with fragment ids. Should not be modified.
+	 */
+	@NonNull
+	public int[] getFragmentIds();
+}
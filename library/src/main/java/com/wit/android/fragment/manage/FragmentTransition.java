@@ -18,12 +18,25 @@
  */
 package com.wit.android.fragment.manage;
 
+import android.animation.Animator;
+import android.animation.AnimatorInflater;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.os.Looper;
+import android.os.MessageQueue;
 import android.os.Parcel;
 import android.os.Parcelable;
 import android.support.annotation.NonNull;
+import android.util.Log;
+import android.util.SparseArray;
+import android.util.SparseBooleanArray;
 
+import com.wit.android.fragment.FragmentsConfig;
 import com.wit.android.fragment.R;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
 /**
  * <h4>Class Overview</h4>
  * todo: description
@@ -50,6 +63,13 @@ import com.wit.android.fragment.R;
  * <li>{@link FragmentTransition#SLIDE_TO_BOTTOM_AND_SCALE_OUT}</li>
  * <li>{@link FragmentTransition#SLIDE_TO_TOP_AND_SCALE_OUT}</li>
  * </ul>
+ * <h6>Animators</h6>
+ * Animators of transitions are inflated from their resources only once per configuration and cached
+ * as templates, so each transaction obtains only a cheap clone by {@link #createAnimator(android.content.Context, int)}.
+ * Templates are dropped whenever the configuration of the application changes, as the animator
+ * resources may depend on it (like durations for landscape orientation). Templates of transitions
+ * used by an application can be inflated in advance by {@link #preload(android.content.Context)}
+ * or, when the application starts, by {@link #preloadOnIdle(android.content.Context, FragmentTransition...)}.
  *
  * @author Martin Albedinsky
  */
@@ -66,12 +86,12 @@ public class FragmentTransition implements Parcelable {
 	/**
 	 * Log TAG.
 	 */
-	// private static final String TAG = "FragmentTransition";
+	private static final String TAG = "FragmentTransition";
 
 	/**
 	 * Flag indicating whether the debug output trough log-cat is enabled or not.
 	 */
-	// private static final boolean DEBUG_ENABLED = true;
+	private static final boolean DEBUG_ENABLED = FragmentsConfig.LIBRARY_DEBUG_LOG_ENABLED;
 
 	/**
 	 * Flag indicating whether the output trough log-cat is enabled or not.
@@ -101,6 +121,41 @@ public class FragmentTransition implements Parcelable {
 		}
 	};
 
+	/**
+	 * Templates of animators inflated from resources mapped to resource ids.
+	 */
+	private static final SparseArray<Animator> ANIMATOR_TEMPLATES = new SparseArray<>();
+
+	/**
+	 * Resource ids of animators of all created transitions, see {@link #isTransitionAnimator(int)}.
+	 */
+	private static final SparseBooleanArray TRANSITION_ANIMATORS = new SparseBooleanArray();
+
+	/**
+	 * Configuration for which are the current {@link #ANIMATOR_TEMPLATES} inflated.
+	 */
+	private static Configuration sTemplatesConfiguration;
+
+	/**
+	 * Transitions waiting to be preloaded on idle.
+	 */
+	private static final ArrayDeque<FragmentTransition> PRELOAD_QUEUE = new ArrayDeque<>();
+
+	/**
+	 * Idle handler preloading transitions from {@link #PRELOAD_QUEUE}, <code>null</code> if not registered.
+	 */
+	private static MessageQueue.IdleHandler sPreloadHandler;
+
+	/**
+	 * Count of animators inflated from resources and cloned from templates.
+	 */
+	private static int sInflationCount, sCloneCount;
+
+	/**
+	 * Total time spent by inflation of animators and cloning of templates in nanoseconds.
+	 */
+	private static long sInflationTime, sCloneTime;
+
 	/**
 	 * Use this to show a new incoming fragment which will replace the current fragment without any
 	 * animation.
@@ -548,6 +603,7 @@ public class FragmentTransition implements Parcelable {
 		this.mInAnimBackResId = inAnimBack;
 		this.mOutAnimBackResId = outAnimBack;
 		this.mName = name;
+		registerAnimators();
 	}
 
 	/**
@@ -562,6 +618,7 @@ public class FragmentTransition implements Parcelable {
 		this.mInAnimBackResId = source.readInt();
 		this.mOutAnimBackResId = source.readInt();
 		this.mName = source.readString();
+		registerAnimators();
 	}
 
 	/**
@@ -590,6 +647,117 @@ public class FragmentTransition implements Parcelable {
 		return 0;
 	}
 
+	/**
+	 * Checks whether the animator resource with the given id is an animator of some transition, so
+	 * it can be created by {@link #createAnimator(android.content.Context, int)}.
+	 *
+	 * @param animResId Resource id of the animator to check.
+	 * @return <code>True</code> if some FragmentTransition uses the animator, <code>false</code> otherwise.
+	 */
+	public static boolean isTransitionAnimator(int animResId) {
+		synchronized (TRANSITION_ANIMATORS) {
+			return TRANSITION_ANIMATORS.get(animResId);
+		}
+	}
+
+	/**
+	 * Creates a new animator from the animator resource with the given id. The resource is inflated
+	 * only the first time for the current configuration of the application, the returned animator
+	 * is a clone of the cached template.
+	 * <p/>
+	 * This should be called only on the main thread and only for animators of transitions, as the
+	 * resource is inflated with the application context, see {@link #isTransitionAnimator(int)}.
+	 *
+	 * @param context   Context used to obtain the application context for inflation.
+	 * @param animResId Resource id of the desired animator.
+	 * @return New animator without target.
+	 */
+	@NonNull
+	public static Animator createAnimator(@NonNull Context context, int animResId) {
+		final Animator template = obtainTemplate(context, animResId);
+		final long start = System.nanoTime();
+		final Animator animator = template.clone();
+		sCloneTime += System.nanoTime() - start;
+		sCloneCount++;
+		return animator;
+	}
+
+	/**
+	 * Inflates and caches templates of all animators of this transition, which are not cached yet.
+	 *
+	 * @param context Context used to obtain the application context for inflation.
+	 * @see #preloadOnIdle(android.content.Context, FragmentTransition...)
+	 */
+	public void preload(@NonNull Context context) {
+		for (int animResId : new int[]{mInAnimResId, mOutAnimResId, mInAnimBackResId, mOutAnimBackResId}) {
+			if (animResId != 0) {
+				obtainTemplate(context, animResId);
+			}
+		}
+	}
+
+	/**
+	 * Requests to preload animators of the given <var>transitions</var>, one transition per idle pass
+	 * of the main looper, so this can be called also while the application is starting.
+	 *
+	 * @param context     Context used to obtain the application context for inflation.
+	 * @param transitions Transitions which are going to be used.
+	 * @throws java.lang.IllegalStateException If called on a thread without looper.
+	 */
+	public static void preloadOnIdle(@NonNull Context context, @NonNull FragmentTransition... transitions) {
+		PRELOAD_QUEUE.addAll(Arrays.asList(transitions));
+		if (sPreloadHandler == null) {
+			if (Looper.myLooper() == null) {
+				throw new IllegalStateException("Transitions can be preloaded only on a looper thread.");
+			}
+			final Context appContext = context.getApplicationContext();
+			Looper.myQueue().addIdleHandler(sPreloadHandler = new MessageQueue.IdleHandler() {
+
+				/**
+				 */
+				@Override
+				public boolean queueIdle() {
+					final FragmentTransition transition = PRELOAD_QUEUE.poll();
+					if (transition != null) {
+						transition.preload(appContext);
+					}
+					if (PRELOAD_QUEUE.isEmpty()) {
+						sPreloadHandler = null;
+						return false;
+					}
+					return true;
+				}
+			});
+		}
+	}
+
+	/**
+	 * Removes all cached animator templates. Templates are removed also automatically whenever the
+	 * configuration of the application changes.
+	 */
+	public static void clearAnimatorCache() {
+		ANIMATOR_TEMPLATES.clear();
+		sTemplatesConfiguration = null;
+	}
+
+	/**
+	 * Returns the average time spent by inflation of an animator from its resource.
+	 *
+	 * @return Average inflation time in nanoseconds.
+	 */
+	public static long getAverageInflationTimeNanos() {
+		return sInflationCount > 0 ? sInflationTime / sInflationCount : 0;
+	}
+
+	/**
+	 * Returns the average time spent by cloning of an animator from its cached template.
+	 *
+	 * @return Average clone time in nanoseconds.
+	 */
+	public static long getAverageCloneTimeNanos() {
+		return sCloneCount > 0 ? sCloneTime / sCloneCount : 0;
+	}
+
 	/**
 	 * Getters + Setters ---------------------------------------------------------------------------
 	 */
@@ -651,6 +819,46 @@ public class FragmentTransition implements Parcelable {
 	 * Private -------------------------------------------------------------------------------------
 	 */
 
+	/**
+	 * Registers resource ids of all animators of this transition, see {@link #isTransitionAnimator(int)}.
+	 */
+	private void registerAnimators() {
+		synchronized (TRANSITION_ANIMATORS) {
+			for (int animResId : new int[]{mInAnimResId, mOutAnimResId, mInAnimBackResId, mOutAnimBackResId}) {
+				if (animResId != 0) {
+					TRANSITION_ANIMATORS.put(animResId, true);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the cached template of the animator with the given resource id, inflating it if
+	 * it is not cached yet. All templates are dropped first, if the configuration of the application
+	 * has changed since they were inflated.
+	 */
+	private static Animator obtainTemplate(Context context, int animResId) {
+		final Context appContext = context.getApplicationContext();
+		final Configuration configuration = appContext.getResources().getConfiguration();
+		if (sTemplatesConfiguration == null || sTemplatesConfiguration.diff(configuration) != 0) {
+			ANIMATOR_TEMPLATES.clear();
+			sTemplatesConfiguration = new Configuration(configuration);
+		}
+		Animator template = ANIMATOR_TEMPLATES.get(animResId);
+		if (template == null) {
+			final long start = System.nanoTime();
+			template = AnimatorInflater.loadAnimator(appContext, animResId);
+			final long time = System.nanoTime() - start;
+			sInflationTime += time;
+			sInflationCount++;
+			if (FragmentsConfig.LIBRARY_DEBUG_LOG_COMPILED && DEBUG_ENABLED) {
+				Log.d(TAG, "Inflated animator(" + animResId + ") in " + time + "ns.");
+			}
+			ANIMATOR_TEMPLATES.put(animResId, template);
+		}
+		return template;
+	}
+
 	/**
 	 * Inner classes ===============================================================================
 	 */
@@ -0,0 +1,330 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment.manage;
+
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <h4>Class Overview</h4>
+ * Implementation of {@link TransactionTracer} which aggregates traced durations per fragment tag
+ * and phase into histograms with power of two buckets (in nanoseconds). Recording is lock-free,
+ * so this tracer can be left installed also in release builds.
+ * <p/>
+ * Aggregated data can be obtained by {@link #snapshot()} and for example dumped into log-cat in debug
+ * builds or sent to a custom telemetry.
+ * <pre>
+ * final TransactionHistograms histograms = new TransactionHistograms();
+ * TransactionTracing.setTracer(histograms);
+ * ...
+ * for (TransactionHistograms.Snapshot snapshot : histograms.snapshot()) {
+ *     Log.d(TAG, snapshot.toString());
+ * }
+ * </pre>
+ *
+ * @author Martin Albedinsky
+ */
+public class TransactionHistograms implements TransactionTracer {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Count of buckets of each histogram. Bucket at index <var>i</var> holds durations within range
+	 * <code>[2^(i-1), 2^i)</code> nanoseconds.
+	 */
+	public static final int BUCKETS_COUNT = 64;
+
+	/**
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Histograms for all phases mapped to fragment tags.
+	 */
+	private final ConcurrentHashMap<String, Histogram[]> mHistograms = new ConcurrentHashMap<>();
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 */
+	@Override
+	public void onPhaseTraced(@NonNull String fragmentTag, @Phase int phase, long durationNanos) {
+		Histogram[] histograms = mHistograms.get(fragmentTag);
+		if (histograms == null) {
+			final Histogram[] newHistograms = new Histogram[PHASES_COUNT];
+			for (int i = 0; i < PHASES_COUNT; i++) {
+				newHistograms[i] = new Histogram();
+			}
+			histograms = mHistograms.putIfAbsent(fragmentTag, newHistograms);
+			if (histograms == null) {
+				histograms = newHistograms;
+			}
+		}
+		histograms[phase].record(durationNanos);
+	}
+
+	/**
+	 * Returns snapshots of all histograms which have at least one recorded duration.
+	 *
+	 * @return List of snapshots. Recording continues while the snapshot is being taken, so a snapshot
+	 * may already miss the latest recorded durations.
+	 */
+	@NonNull
+	public List<Snapshot> snapshot() {
+		final List<Snapshot> snapshots = new ArrayList<>();
+		for (Map.Entry<String, Histogram[]> entry : mHistograms.entrySet()) {
+			final Histogram[] histograms = entry.getValue();
+			for (int phase = 0; phase < histograms.length; phase++) {
+				final Snapshot snapshot = histograms[phase].snapshot(entry.getKey(), phase);
+				if (snapshot.count > 0) {
+					snapshots.add(snapshot);
+				}
+			}
+		}
+		return snapshots;
+	}
+
+	/**
+	 * Removes all aggregated data.
+	 */
+	public void reset() {
+		mHistograms.clear();
+	}
+
+	/**
+	 * Returns an index of the bucket for the given duration.
+	 *
+	 * @param durationNanos Duration in nanoseconds.
+	 * @return Index of the bucket.
+	 */
+	static int bucketIndex(long durationNanos) {
+		return durationNanos <= 0 ? 0 : Math.min(BUCKETS_COUNT - 1, 64 - Long.numberOfLeadingZeros(durationNanos));
+	}
+
+	/**
+	 * Inner classes ===============================================================================
+	 */
+
+	/**
+	 * Lock-free histogram of durations.
+	 */
+	private static final class Histogram {
+
+		/**
+		 * Counts of durations within the particular buckets.
+		 */
+		final AtomicLongArray buckets = new AtomicLongArray(BUCKETS_COUNT);
+
+		/**
+		 * Total count of recorded durations.
+		 */
+		final AtomicLong count = new AtomicLong();
+
+		/**
+		 * Sum of all recorded durations.
+		 */
+		final AtomicLong total = new AtomicLong();
+
+		/**
+		 * Maximum of all recorded durations.
+		 */
+		final AtomicLong max = new AtomicLong();
+
+		/**
+		 * Records the given duration.
+		 *
+		 * @param durationNanos Duration in nanoseconds.
+		 */
+		void record(long durationNanos) {
+			buckets.incrementAndGet(bucketIndex(durationNanos));
+			count.incrementAndGet();
+			total.addAndGet(durationNanos);
+			long currentMax;
+			while (durationNanos > (currentMax = max.get())) {
+				if (max.compareAndSet(currentMax, durationNanos)) {
+					break;
+				}
+			}
+		}
+
+		/**
+		 * Creates a snapshot of the current state of this histogram.
+		 *
+		 * @param fragmentTag Tag of the fragment for which is this histogram recorded.
+		 * @param phase       Phase for which is this histogram recorded.
+		 * @return New snapshot.
+		 */
+		Snapshot snapshot(String fragmentTag, int phase) {
+			final long[] counts = new long[BUCKETS_COUNT];
+			for (int i = 0; i < BUCKETS_COUNT; i++) {
+				counts[i] = buckets.get(i);
+			}
+			return new Snapshot(fragmentTag, phase, count.get(), total.get(), max.get(), counts);
+		}
+	}
+
+	/**
+	 * <h4>Class Overview</h4>
+	 * Immutable snapshot of a histogram of durations of a single phase traced for fragments with
+	 * the same tag.
+	 *
+	 * @author Martin Albedinsky
+	 */
+	public static final class Snapshot {
+
+		/**
+		 * Members =================================================================================
+		 */
+
+		/**
+		 * Tag of the traced fragments.
+		 */
+		final String fragmentTag;
+
+		/**
+		 * Traced phase.
+		 */
+		final int phase;
+
+		/**
+		 * Count of recorded durations.
+		 */
+		final long count;
+
+		/**
+		 * Sum of recorded durations.
+		 */
+		final long total;
+
+		/**
+		 * Maximum of recorded durations.
+		 */
+		final long max;
+
+		/**
+		 * Counts of durations within the particular buckets.
+		 */
+		final long[] buckets;
+
+		/**
+		 * Constructors ============================================================================
+		 */
+
+		/**
+		 * Creates a new instance of Snapshot with the given data.
+		 */
+		Snapshot(String fragmentTag, int phase, long count, long total, long max, long[] buckets) {
+			this.fragmentTag = fragmentTag;
+			this.phase = phase;
+			this.count = count;
+			this.total = total;
+			this.max = max;
+			this.buckets = buckets;
+		}
+
+		/**
+		 * Methods =================================================================================
+		 */
+
+		/**
+		 * Returns the tag of fragments for which was the histogram recorded.
+		 */
+		@NonNull
+		public String getFragmentTag() {
+			return fragmentTag;
+		}
+
+		/**
+		 * Returns the phase for which was the histogram recorded.
+		 */
+		@Phase
+		public int getPhase() {
+			return phase;
+		}
+
+		/**
+		 * Returns the count of recorded durations.
+		 */
+		public long getCount() {
+			return count;
+		}
+
+		/**
+		 * Returns the mean of recorded durations in nanoseconds.
+		 */
+		public long getMeanNanos() {
+			return count > 0 ? total / count : 0;
+		}
+
+		/**
+		 * Returns the maximum of recorded durations in nanoseconds.
+		 */
+		public long getMaxNanos() {
+			return max;
+		}
+
+		/**
+		 * Returns an upper bound of the requested percentile of recorded durations. As durations
+		 * are aggregated into power of two buckets, the returned value is at most twice the exact one.
+		 *
+		 * @param percentile The requested percentile from range <code>[0, 100]</code>.
+		 * @return Upper bound of the percentile in nanoseconds.
+		 */
+		public long getPercentileNanos(double percentile) {
+			final long threshold = (long) Math.ceil(count * Math.max(0, Math.min(100, percentile)) / 100d);
+			long accumulated = 0;
+			for (int i = 0; i < buckets.length; i++) {
+				accumulated += buckets[i];
+				if (accumulated >= threshold && accumulated > 0) {
+					return Math.min(max, i == 0 ? 0 : (i >= 63 ? Long.MAX_VALUE : (1L << i) - 1));
+				}
+			}
+			return max;
+		}
+
+		/**
+		 * Returns a copy of counts of durations within the particular buckets.
+		 *
+		 * @see #BUCKETS_COUNT
+		 */
+		@NonNull
+		public long[] getBuckets() {
+			return buckets.clone();
+		}
+
+		/**
+		 */
+		@Override
+		public String toString() {
+			return "Snapshot[tag(" + fragmentTag + "), phase(" + phase + "), count(" + count + "), mean(" +
+					getMeanNanos() + "ns), p50(" + getPercentileNanos(50) + "ns), p90(" +
+					getPercentileNanos(90) + "ns), max(" + max + "ns)]";
+		}
+	}
+}
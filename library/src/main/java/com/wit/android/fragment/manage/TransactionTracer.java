@@ -0,0 +1,105 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment.manage;
+
+import android.support.annotation.IntDef;
+import android.support.annotation.NonNull;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * <h4>Interface Overview</h4>
+ * Interface for tracers which receive durations of the particular phases of showing a fragment
+ * by {@link FragmentController}. A tracer can be installed by {@link TransactionTracing#setTracer(TransactionTracer)}.
+ * <p/>
+ * Traced phases:
+ * <ul>
+ * <li>{@link #PHASE_FACTORY_CREATE}: creation of fragment instance by a fragment factory</li>
+ * <li>{@link #PHASE_COMMIT_TO_EXECUTE}: delay between commit of a transaction and its execution</li>
+ * <li>{@link #PHASE_INFLATE_VIEW}: inflation of the fragment's view within {@link com.wit.android.fragment.BaseFragment#onCreateView(android.view.LayoutInflater, android.view.ViewGroup, android.os.Bundle)}</li>
+ * <li>{@link #PHASE_INJECT_VIEWS}: injection of views and attaching of click listeners</li>
+ * <li>{@link #PHASE_FIRST_DRAW}: time from commit (or from view creation if the fragment was not showed
+ * by FragmentController) to the first draw of the fragment's view</li>
+ * </ul>
+ * The last four phases are traced only for fragments which inherit from {@link com.wit.android.fragment.BaseFragment}.
+ * <p/>
+ * Tracers are invoked on the main thread, but an implementation should not expect that.
+ *
+ * @author Martin Albedinsky
+ * @see com.wit.android.fragment.manage.TransactionHistograms
+ */
+public interface TransactionTracer {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Defines an annotation for determining set of allowed phases for TransactionTracer.
+	 */
+	@Retention(RetentionPolicy.SOURCE)
+	@IntDef({PHASE_FACTORY_CREATE, PHASE_COMMIT_TO_EXECUTE, PHASE_INFLATE_VIEW, PHASE_INJECT_VIEWS, PHASE_FIRST_DRAW})
+	public @interface Phase {}
+
+	/**
+	 * Phase of creation of fragment instance by a fragment factory.
+	 */
+	public static final int PHASE_FACTORY_CREATE = 0;
+
+	/**
+	 * Phase between commit of fragment transaction and its execution.
+	 */
+	public static final int PHASE_COMMIT_TO_EXECUTE = 1;
+
+	/**
+	 * Phase of inflation of fragment's view.
+	 */
+	public static final int PHASE_INFLATE_VIEW = 2;
+
+	/**
+	 * Phase of injection of fragment's views.
+	 */
+	public static final int PHASE_INJECT_VIEWS = 3;
+
+	/**
+	 * Phase ending by the first draw of fragment's view.
+	 */
+	public static final int PHASE_FIRST_DRAW = 4;
+
+	/**
+	 * Count of all traced phases.
+	 */
+	public static final int PHASES_COUNT = 5;
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Invoked whenever the specified <var>phase</var> of showing a fragment with the given tag
+	 * has been finished.
+	 *
+	 * @param fragmentTag    Tag of the traced fragment, or {@link FragmentController#FRAGMENT_TAG}
+	 *                       if the fragment has no tag.
+	 * @param phase          The finished phase.
+	 * @param durationNanos  Duration of the phase in nanoseconds.
+	 */
+	public void onPhaseTraced(@NonNull String fragmentTag, @Phase int phase, long durationNanos);
+}
@@ -0,0 +1,134 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment.manage;
+
+import android.app.Fragment;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * <h4>Class Overview</h4>
+ * Entry point for tracing of fragment transactions. Until a {@link TransactionTracer} is installed,
+ * the library does not measure anything, so tracing has no overhead except a single volatile read.
+ *
+ * @author Martin Albedinsky
+ * @see #setTracer(TransactionTracer)
+ */
+public final class TransactionTracing {
+
+	/**
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Currently installed tracer.
+	 */
+	private static volatile TransactionTracer sTracer;
+
+	/**
+	 * Commit times of fragments which were committed but not yet attached.
+	 */
+	private static final Map<Fragment, Long> COMMIT_TIMES = Collections.synchronizedMap(new WeakHashMap<Fragment, Long>());
+
+	/**
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 */
+	private TransactionTracing() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Installs the given <var>tracer</var> to receive durations of all traced phases.
+	 *
+	 * @param tracer The desired tracer. May be <code>null</code> to disable tracing.
+	 */
+	public static void setTracer(@Nullable TransactionTracer tracer) {
+		sTracer = tracer;
+		if (tracer == null) {
+			COMMIT_TIMES.clear();
+		}
+	}
+
+	/**
+	 * Returns the currently installed tracer.
+	 *
+	 * @return Tracer or <code>null</code> if tracing is disabled.
+	 */
+	@Nullable
+	public static TransactionTracer getTracer() {
+		return sTracer;
+	}
+
+	/**
+	 * Returns flag indicating whether there is tracer installed or not.
+	 *
+	 * @return <code>True</code> if tracing is enabled, <code>false</code> otherwise.
+	 */
+	public static boolean isEnabled() {
+		return sTracer != null;
+	}
+
+	/**
+	 * Dispatches the given duration of the specified <var>phase</var> to the current tracer, if any.
+	 *
+	 * @param fragmentTag   Tag of the traced fragment.
+	 * @param phase         The finished phase.
+	 * @param durationNanos Duration of the phase in nanoseconds.
+	 */
+	public static void trace(@Nullable String fragmentTag, @TransactionTracer.Phase int phase, long durationNanos) {
+		final TransactionTracer tracer = sTracer;
+		if (tracer != null) {
+			tracer.onPhaseTraced(fragmentTag != null ? fragmentTag : FragmentController.FRAGMENT_TAG, phase, durationNanos);
+		}
+	}
+
+	/**
+	 * Records the current time as commit time of transaction which shows the given <var>fragment</var>.
+	 *
+	 * @param fragment The committed fragment.
+	 * @see #takeCommitTime(android.app.Fragment)
+	 */
+	public static void markCommitted(@NonNull Fragment fragment) {
+		if (sTracer != null) {
+			COMMIT_TIMES.put(fragment, System.nanoTime());
+		}
+	}
+
+	/**
+	 * Takes the commit time recorded for the given <var>fragment</var> by {@link #markCommitted(android.app.Fragment)}.
+	 *
+	 * @param fragment The fragment of which commit time to take.
+	 * @return Commit time in nanoseconds or <code>0</code> if there was no time recorded.
+	 */
+	public static long takeCommitTime(@NonNull Fragment fragment) {
+		final Long time = COMMIT_TIMES.remove(fragment);
+		return time != null ? time : 0;
+	}
+}
@@ -0,0 +1,555 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment.manage;
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.annotation.TargetApi;
+import android.app.Fragment;
+import android.os.Build;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Log;
+import android.util.SparseArray;
+import android.view.Choreographer;
+import android.view.View;
+
+import com.wit.android.fragment.FragmentsConfig;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <h4>Class Overview</h4>
+ * Entry point for playback of {@link FragmentTransition FragmentTransitions}. Animators created for
+ * transitions of fragments by {@link com.wit.android.fragment.BaseFragment} are attached to this
+ * playback, which:
+ * <ul>
+ * <li>promotes the view of the animated fragment to a hardware layer while it is being animated,
+ * so the view is not redrawn each frame, and releases the layer afterwards,</li>
+ * <li>records frames rendered during the animation, aggregated per transition into {@link Stats},</li>
+ * <li>degrades transitions to {@link FragmentTransition#FADE_IN} whenever the ratio of frames dropped
+ * during the recently played transitions exceeds the budget set by {@link #setDroppedFramesBudget(float)},
+ * and restores them once the ratio falls under a half of the budget.</li>
+ * </ul>
+ * Frames are recorded only on Jelly Bean and above, so transitions are never degraded on older
+ * platform versions.
+ * <p/>
+ * All methods of this class are expected to be called on the main thread.
+ *
+ * @author Martin Albedinsky
+ */
+public final class TransitionPlayback {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	private static final String TAG = "TransitionPlayback";
+
+	/**
+	 * Flag indicating whether the debug output trough log-cat is enabled or not.
+	 */
+	private static final boolean DEBUG_ENABLED = FragmentsConfig.LIBRARY_DEBUG_LOG_ENABLED;
+
+	/**
+	 * Expected interval between two frames in nanoseconds.
+	 */
+	public static final long FRAME_INTERVAL_NANOS = 1000000000L / 60;
+
+	/**
+	 * Default ratio of dropped frames, after exceeding of which are transitions degraded.
+	 */
+	public static final float DEFAULT_DROPPED_FRAMES_BUDGET = 0.2f;
+
+	/**
+	 * Count of the recent playbacks from which is computed the ratio of dropped frames.
+	 */
+	private static final int WINDOW_SIZE = 4;
+
+	/**
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Names of transitions mapped to resource ids of their animators.
+	 */
+	private static final SparseArray<String> TRANSITION_NAMES = new SparseArray<>();
+
+	/**
+	 * Statistics mapped to names of transitions.
+	 */
+	private static final Map<String, Stats> STATS = new HashMap<>();
+
+	/**
+	 * Counts of rendered and dropped frames of the recent playbacks.
+	 */
+	private static final int[] sRecentFrames = new int[WINDOW_SIZE], sRecentDroppedFrames = new int[WINDOW_SIZE];
+
+	/**
+	 * Index within the recent playbacks at which to record the next playback.
+	 */
+	private static int sRecentIndex;
+
+	/**
+	 * Flag indicating whether the fragment views should be promoted to hardware layers while animated.
+	 */
+	private static boolean sHardwareLayersEnabled = true;
+
+	/**
+	 * Flag indicating whether transitions can be degraded or not.
+	 */
+	private static boolean sDegradationEnabled = true;
+
+	/**
+	 * Ratio of dropped frames, after exceeding of which are transitions degraded.
+	 */
+	private static float sDroppedFramesBudget = DEFAULT_DROPPED_FRAMES_BUDGET;
+
+	/**
+	 * Flag indicating whether transitions are currently degraded or not.
+	 */
+	private static boolean sDegraded;
+
+	/**
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 */
+	private TransitionPlayback() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Public --------------------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Resolves the transition to be actually played instead of the given one. Unless transitions are
+	 * degraded, this is the given transition.
+	 *
+	 * @param transition The requested transition.
+	 * @return Transition to be played.
+	 */
+	@NonNull
+	public static FragmentTransition resolve(@NonNull FragmentTransition transition) {
+		if (sDegraded && transition != FragmentTransition.NONE) {
+			if (FragmentsConfig.LIBRARY_DEBUG_LOG_COMPILED && DEBUG_ENABLED && transition != FragmentTransition.FADE_IN) {
+				Log.d(TAG, "Degrading transition(" + transition.name() + ") to fade.");
+			}
+			transition = FragmentTransition.FADE_IN;
+		}
+		registerTransition(transition);
+		return transition;
+	}
+
+	/**
+	 * Attaches the given <var>animator</var>, created for transition of the given <var>fragment</var>,
+	 * to this playback.
+	 *
+	 * @param animator        The animator to be played for the fragment.
+	 * @param fragment        The animated fragment.
+	 * @param animResId       Resource id of the animator.
+	 * @param createTimeNanos Time spent by creation of the animator in nanoseconds.
+	 */
+	public static void attach(@NonNull Animator animator, @NonNull Fragment fragment, int animResId, long createTimeNanos) {
+		animator.addListener(new PlaybackListener(fragment, animResId, createTimeNanos));
+	}
+
+	/**
+	 * Returns statistics of frames recorded while playing the given <var>transition</var>.
+	 *
+	 * @param transition The played transition.
+	 * @return Statistics or <code>null</code> if the transition has not been played yet.
+	 */
+	@Nullable
+	public static Stats getStats(@NonNull FragmentTransition transition) {
+		return STATS.get(transition.name());
+	}
+
+	/**
+	 * Returns flag indicating whether transitions are currently degraded to fade or not.
+	 *
+	 * @return <code>True</code> if degraded, <code>false</code> otherwise.
+	 */
+	public static boolean isDegraded() {
+		return sDegraded;
+	}
+
+	/**
+	 * Removes all recorded statistics and restores degraded transitions.
+	 */
+	public static void reset() {
+		STATS.clear();
+		for (int i = 0; i < WINDOW_SIZE; i++) {
+			sRecentFrames[i] = sRecentDroppedFrames[i] = 0;
+		}
+		sDegraded = false;
+	}
+
+	/**
+	 * Getters + Setters ---------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Sets a flag indicating whether views of the animated fragments should be promoted to hardware
+	 * layers while being animated.
+	 * <p/>
+	 * Default value: <b>true</b>
+	 *
+	 * @param enabled <code>True</code> to enable, <code>false</code> otherwise.
+	 */
+	public static void setHardwareLayersEnabled(boolean enabled) {
+		sHardwareLayersEnabled = enabled;
+	}
+
+	/**
+	 * Sets a flag indicating whether transitions can be degraded to fade when dropping frames.
+	 * <p/>
+	 * Default value: <b>true</b>
+	 *
+	 * @param enabled <code>True</code> to enable, <code>false</code> otherwise.
+	 */
+	public static void setDegradationEnabled(boolean enabled) {
+		sDegradationEnabled = enabled;
+		if (!enabled) {
+			sDegraded = false;
+		}
+	}
+
+	/**
+	 * Sets the ratio of frames dropped during the recent transitions, after exceeding of which are
+	 * transitions degraded to fade.
+	 * <p/>
+	 * Default value: <b>{@link #DEFAULT_DROPPED_FRAMES_BUDGET}</b>
+	 *
+	 * @param budget The desired ratio from the range <code>(0, 1]</code>.
+	 */
+	public static void setDroppedFramesBudget(float budget) {
+		sDroppedFramesBudget = budget;
+	}
+
+	/**
+	 * Private -------------------------------------------------------------------------------------
+	 */
+
+	/**
+	 * Maps animators of the given transition to its name, so their frames can be aggregated for it.
+	 */
+	private static void registerTransition(FragmentTransition transition) {
+		final String name = transition.name();
+		TRANSITION_NAMES.put(transition.getInAnimResId(), name);
+		TRANSITION_NAMES.put(transition.getOutAnimResId(), name);
+		TRANSITION_NAMES.put(transition.getInAnimBackResId(), name);
+		TRANSITION_NAMES.put(transition.getOutAnimBackResId(), name);
+	}
+
+	/**
+	 * Records the given frames of a finished playback of the animator with the given resource id.
+	 */
+	private static void onPlaybackFinished(int animResId, long createTime, int frames, int droppedFrames, long maxFrameInterval) {
+		final String name = TRANSITION_NAMES.get(animResId, "#" + animResId);
+		Stats stats = STATS.get(name);
+		if (stats == null) {
+			STATS.put(name, stats = new Stats(name));
+		}
+		stats.record(createTime, frames, droppedFrames, maxFrameInterval);
+		if (FragmentsConfig.LIBRARY_DEBUG_LOG_COMPILED && DEBUG_ENABLED) {
+			Log.d(TAG, "Played transition(" + name + ") in " + frames + " frames, dropped " + droppedFrames + ".");
+		}
+		if (frames == 0) {
+			// Frames are not recorded on this platform version.
+			return;
+		}
+		sRecentFrames[sRecentIndex] = frames;
+		sRecentDroppedFrames[sRecentIndex] = droppedFrames;
+		sRecentIndex = (sRecentIndex + 1) % WINDOW_SIZE;
+		if (sDegradationEnabled) {
+			int recentFrames = 0, recentDroppedFrames = 0;
+			for (int i = 0; i < WINDOW_SIZE; i++) {
+				recentFrames += sRecentFrames[i];
+				recentDroppedFrames += sRecentDroppedFrames[i];
+			}
+			final float ratio = recentDroppedFrames / (float) (recentFrames + recentDroppedFrames);
+			if (ratio > sDroppedFramesBudget) {
+				sDegraded = true;
+			} else if (ratio < sDroppedFramesBudget / 2) {
+				sDegraded = false;
+			}
+		}
+	}
+
+	/**
+	 * Inner classes ===============================================================================
+	 */
+
+	/**
+	 * Statistics of frames recorded while playing a single transition.
+	 */
+	public static final class Stats {
+
+		/**
+		 * Name of the transition.
+		 */
+		private final String name;
+
+		/**
+		 * Count of the recorded playbacks.
+		 */
+		private int playCount;
+
+		/**
+		 * Total time spent by creation of animators in nanoseconds.
+		 */
+		private long createTime;
+
+		/**
+		 * Count of the rendered frames.
+		 */
+		private long frameCount;
+
+		/**
+		 * Count of the dropped frames.
+		 */
+		private long droppedFrameCount;
+
+		/**
+		 * Maximum interval between two frames in nanoseconds.
+		 */
+		private long maxFrameInterval;
+
+		/**
+		 * Creates a new instance of Stats for transition with the given name.
+		 */
+		Stats(String name) {
+			this.name = name;
+		}
+
+		/**
+		 * Records a single playback.
+		 */
+		void record(long createTime, int frames, int droppedFrames, long maxFrameInterval) {
+			this.playCount++;
+			this.createTime += createTime;
+			this.frameCount += frames;
+			this.droppedFrameCount += droppedFrames;
+			if (maxFrameInterval > this.maxFrameInterval) {
+				this.maxFrameInterval = maxFrameInterval;
+			}
+		}
+
+		/**
+		 * Returns the count of recorded playbacks of the transition. Incoming and outgoing animations
+		 * are recorded as separate playbacks.
+		 *
+		 * @return Count of playbacks.
+		 */
+		public int getPlayCount() {
+			return playCount;
+		}
+
+		/**
+		 * Returns the average time spent by creation of an animator of the transition.
+		 *
+		 * @return Average create time in nanoseconds.
+		 */
+		public long getAverageCreateTimeNanos() {
+			return playCount > 0 ? createTime / playCount : 0;
+		}
+
+		/**
+		 * Returns the count of frames rendered during all playbacks.
+		 *
+		 * @return Count of frames.
+		 */
+		public long getFrameCount() {
+			return frameCount;
+		}
+
+		/**
+		 * Returns the count of frames dropped during all playbacks.
+		 *
+		 * @return Count of dropped frames.
+		 */
+		public long getDroppedFrameCount() {
+			return droppedFrameCount;
+		}
+
+		/**
+		 * Returns the maximum interval between two frames rendered during all playbacks.
+		 *
+		 * @return Maximum frame interval in nanoseconds.
+		 */
+		public long getMaxFrameIntervalNanos() {
+			return maxFrameInterval;
+		}
+
+		/**
+		 */
+		@Override
+		public String toString() {
+			return "Stats{name=" + name + ", playCount=" + playCount + ", averageCreateTimeNanos=" + getAverageCreateTimeNanos() + ", frameCount=" + frameCount +
+					", droppedFrameCount=" + droppedFrameCount + ", maxFrameIntervalNanos=" + maxFrameInterval + "}";
+		}
+	}
+
+	/**
+	 * Listener which manages the hardware layer and frame recording for a single animator.
+	 */
+	private static final class PlaybackListener extends AnimatorListenerAdapter {
+
+		/**
+		 * The animated fragment.
+		 */
+		private final Fragment fragment;
+
+		/**
+		 * Resource id of the animator.
+		 */
+		private final int animResId;
+
+		/**
+		 * Time spent by creation of the animator in nanoseconds.
+		 */
+		private final long createTime;
+
+		/**
+		 * View promoted to the hardware layer, <code>null</code> if there is no such view.
+		 */
+		private View layeredView;
+
+		/**
+		 * Counter of frames, <code>null</code> if not counting.
+		 */
+		private FrameCounter frameCounter;
+
+		/**
+		 * Creates a new instance of PlaybackListener.
+		 */
+		PlaybackListener(Fragment fragment, int animResId, long createTime) {
+			this.fragment = fragment;
+			this.animResId = animResId;
+			this.createTime = createTime;
+		}
+
+		/**
+		 */
+		@Override
+		public void onAnimationStart(Animator animation) {
+			final View view = fragment.getView();
+			if (sHardwareLayersEnabled && view != null && view.getLayerType() == View.LAYER_TYPE_NONE && view.isHardwareAccelerated()) {
+				view.setLayerType(View.LAYER_TYPE_HARDWARE, null);
+				this.layeredView = view;
+			}
+			if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+				this.frameCounter = new FrameCounter();
+				frameCounter.start();
+			}
+		}
+
+		/**
+		 */
+		@Override
+		public void onAnimationEnd(Animator animation) {
+			animation.removeListener(this);
+			if (layeredView != null) {
+				layeredView.setLayerType(View.LAYER_TYPE_NONE, null);
+				this.layeredView = null;
+			}
+			if (frameCounter != null) {
+				frameCounter.stop();
+				onPlaybackFinished(animResId, createTime, frameCounter.frames, frameCounter.droppedFrames, frameCounter.maxFrameInterval);
+				this.frameCounter = null;
+			} else {
+				onPlaybackFinished(animResId, createTime, 0, 0, 0);
+			}
+		}
+	}
+
+	/**
+	 * Counter of frames rendered and dropped while an animator is running.
+	 */
+	@TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+	private static final class FrameCounter implements Choreographer.FrameCallback {
+
+		/**
+		 * Time of the last frame in nanoseconds, <code>0</code> before the first frame.
+		 */
+		long lastFrameTime;
+
+		/**
+		 * Count of rendered and dropped frames.
+		 */
+		int frames, droppedFrames;
+
+		/**
+		 * Maximum interval between two frames in nanoseconds.
+		 */
+		long maxFrameInterval;
+
+		/**
+		 * Flag indicating whether this counter is running or not.
+		 */
+		boolean running;
+
+		/**
+		 * Starts counting from the next frame.
+		 */
+		void start() {
+			this.running = true;
+			Choreographer.getInstance().postFrameCallback(this);
+		}
+
+		/**
+		 * Stops counting.
+		 */
+		void stop() {
+			this.running = false;
+			Choreographer.getInstance().removeFrameCallback(this);
+		}
+
+		/**
+		 */
+		@Override
+		public void doFrame(long frameTimeNanos) {
+			if (!running) {
+				return;
+			}
+			if (lastFrameTime > 0) {
+				final long interval = frameTimeNanos - lastFrameTime;
+				frames++;
+				// Each whole frame interval missed beyond the expected one is a dropped frame.
+				droppedFrames += Math.max(0, (int) ((interval + FRAME_INTERVAL_NANOS / 2) / FRAME_INTERVAL_NANOS) - 1);
+				if (interval > maxFrameInterval) {
+					this.maxFrameInterval = interval;
+				}
+			}
+			this.lastFrameTime = frameTimeNanos;
+			Choreographer.getInstance().postFrameCallback(this);
+		}
+	}
+}
@@ -0,0 +1,291 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment.manage;
+
+import android.app.Fragment;
+import android.content.ComponentCallbacks2;
+import android.os.Bundle;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.util.Log;
+
+import com.wit.android.fragment.FragmentsConfig;
+import com.wit.android.fragment.WebContentPreloader;
+import com.wit.android.fragment.annotation.WebContent;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <h4>Class Overview</h4>
+ * Bounded pool of fragment instances created ahead of time by {@link FragmentController#prefetch(int, android.os.Bundle)}.
+ * Instances are created one per main looper idle pass, so prefetching does not compete with frames
+ * being currently drawn. Pooled instances are keyed by fragment ids and the least recently prefetched
+ * ones are evicted when the pool capacity is exceeded.
+ * <p/>
+ * All methods of this pool are expected to be called on the main thread.
+ *
+ * @author Martin Albedinsky
+ */
+final class WarmFragmentPool implements MessageQueue.IdleHandler {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	private static final String TAG = "WarmFragmentPool";
+
+	/**
+	 * Flag indicating whether the debug output trough log-cat is enabled or not.
+	 */
+	private static final boolean DEBUG_ENABLED = FragmentsConfig.LIBRARY_DEBUG_LOG_ENABLED;
+
+	/**
+	 * Default capacity of the pool.
+	 */
+	static final int DEFAULT_CAPACITY = 3;
+
+	/**
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Controller which creates fragment instances for this pool.
+	 */
+	private final FragmentController mController;
+
+	/**
+	 * Pooled fragment instances in order from the least recently prefetched one.
+	 */
+	private final Map<Integer, PooledFragment> mFragments = new LinkedHashMap<>();
+
+	/**
+	 * Requests waiting for the next idle pass.
+	 */
+	private final ArrayDeque<PooledFragment> mPendingRequests = new ArrayDeque<>();
+
+	/**
+	 * Maximum count of pooled fragment instances.
+	 */
+	private int mCapacity = DEFAULT_CAPACITY;
+
+	/**
+	 * Count of fragment instances taken from this pool.
+	 */
+	private int mHitCount;
+
+	/**
+	 * Count of requests for which there was no fragment instance pooled.
+	 */
+	private int mMissCount;
+
+	/**
+	 * Flag indicating whether this pool is registered as idle handler or not.
+	 */
+	private boolean mIdleHandlerRegistered;
+
+	/**
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 * Creates a new instance of WarmFragmentPool for the given <var>controller</var>.
+	 *
+	 * @param controller Controller used to create fragment instances.
+	 */
+	WarmFragmentPool(FragmentController controller) {
+		this.mController = controller;
+	}
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Requests to create an instance of fragment with the specified <var>fragmentId</var> during
+	 * the next idle pass of the current looper.
+	 *
+	 * @param fragmentId Id of the fragment to prefetch.
+	 * @param params     Parameters for the fragment.
+	 * @throws java.lang.IllegalStateException If called on a thread without looper.
+	 */
+	void prefetch(int fragmentId, Bundle params) {
+		if (mFragments.containsKey(fragmentId)) {
+			return;
+		}
+		for (PooledFragment request : mPendingRequests) {
+			if (request.fragmentId == fragmentId) {
+				request.params = params;
+				return;
+			}
+		}
+		mPendingRequests.add(new PooledFragment(fragmentId, params));
+		if (!mIdleHandlerRegistered) {
+			if (Looper.myLooper() == null) {
+				throw new IllegalStateException("Fragments can be prefetched only on a looper thread.");
+			}
+			Looper.myQueue().addIdleHandler(this);
+			this.mIdleHandlerRegistered = true;
+		}
+	}
+
+	/**
+	 */
+	@Override
+	public boolean queueIdle() {
+		final PooledFragment request = mPendingRequests.poll();
+		if (request != null && !mFragments.containsKey(request.fragmentId)) {
+			final long start = FragmentsConfig.LIBRARY_DEBUG_LOG_COMPILED && DEBUG_ENABLED ? System.nanoTime() : 0;
+			request.fragment = mController.createFactoryFragment(request.fragmentId, request.params);
+			if (request.fragment != null) {
+				WebContentPreloader.preload(request.fragment.getClass(), WebContent.PRELOAD_ON_PREFETCH);
+				mFragments.put(request.fragmentId, request);
+				trimToSize(mCapacity);
+			}
+			if (FragmentsConfig.LIBRARY_DEBUG_LOG_COMPILED && DEBUG_ENABLED) {
+				Log.d(TAG, "Prefetched fragment for id(" + request.fragmentId + ") in " + (System.nanoTime() - start) + "ns.");
+			}
+		}
+		return this.mIdleHandlerRegistered = !mPendingRequests.isEmpty();
+	}
+
+	/**
+	 * Takes a pooled instance of fragment with the specified <var>fragmentId</var> out of this pool.
+	 * The pooled instance is returned only if it was prefetched with the same <var>params</var>
+	 * (same instance of Bundle or both <code>null</code>), otherwise it is discarded.
+	 *
+	 * @param fragmentId Id of the requested fragment.
+	 * @param params     Parameters for the requested fragment.
+	 * @return Pooled fragment instance or <code>null</code> if there is no matching one.
+	 */
+	Fragment take(int fragmentId, Bundle params) {
+		final PooledFragment pooled = mFragments.remove(fragmentId);
+		if (pooled != null && pooled.params == params && !pooled.fragment.isAdded()) {
+			mHitCount++;
+			return pooled.fragment;
+		}
+		mMissCount++;
+		return null;
+	}
+
+	/**
+	 * Evicts pooled instances according to the given memory trim <var>level</var>. For level
+	 * of {@link android.content.ComponentCallbacks2#TRIM_MEMORY_RUNNING_LOW} and above all instances
+	 * and pending requests are dropped, for lower levels the pool is trimmed to its half.
+	 *
+	 * @param level Level of the memory trim.
+	 */
+	void trimMemory(int level) {
+		if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+			clear();
+		} else {
+			trimToSize(mFragments.size() / 2);
+		}
+	}
+
+	/**
+	 * Drops all pooled instances and pending requests.
+	 */
+	void clear() {
+		mFragments.clear();
+		mPendingRequests.clear();
+		if (mIdleHandlerRegistered) {
+			Looper.myQueue().removeIdleHandler(this);
+			this.mIdleHandlerRegistered = false;
+		}
+	}
+
+	/**
+	 * Sets the maximum count of pooled instances. If there is currently more instances pooled, the
+	 * least recently prefetched ones are evicted.
+	 *
+	 * @param capacity The desired capacity.
+	 */
+	void setCapacity(int capacity) {
+		trimToSize(this.mCapacity = Math.max(0, capacity));
+	}
+
+	/**
+	 * Returns the count of fragments taken from this pool.
+	 */
+	int getHitCount() {
+		return mHitCount;
+	}
+
+	/**
+	 * Returns the count of requests for which there was no matching fragment in this pool.
+	 */
+	int getMissCount() {
+		return mMissCount;
+	}
+
+	/**
+	 * Evicts the least recently prefetched instances until there is at most the given count of them.
+	 *
+	 * @param size The desired maximum count of pooled instances.
+	 */
+	private void trimToSize(int size) {
+		final Iterator<PooledFragment> iterator = mFragments.values().iterator();
+		while (mFragments.size() > size && iterator.hasNext()) {
+			iterator.next();
+			iterator.remove();
+		}
+	}
+
+	/**
+	 * Inner classes ===============================================================================
+	 */
+
+	/**
+	 * Fragment instance pooled along with the parameters with which it was created.
+	 */
+	private static final class PooledFragment {
+
+		/**
+		 * Id of the fragment.
+		 */
+		final int fragmentId;
+
+		/**
+		 * Parameters for the fragment.
+		 */
+		Bundle params;
+
+		/**
+		 * Created instance of the fragment, <code>null</code> until prefetched.
+		 */
+		Fragment fragment;
+
+		/**
+		 * Creates a new instance of PooledFragment.
+		 *
+		 * @param fragmentId Id of the fragment.
+		 * @param params     Parameters for the fragment.
+		 */
+		PooledFragment(int fragmentId, Bundle params) {
+			this.fragmentId = fragmentId;
+			this.params = params;
+		}
+	}
+}
@@ -0,0 +1,58 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment.util;
+
+import android.support.annotation.NonNull;
+import android.view.View;
+
+/**
+ * <h4>Interface Overview</h4>
+ * Required interface for click dispatchers generated at compile time by the fragments annotation
+ * processor. A dispatcher is generated for each class with methods annotated with
+ * {@link com.wit.android.fragment.annotation.OnViewClick @OnViewClick} and dispatches clicks only
+ * to methods declared directly by such a class, by a switch over the ids of clicked views.
+ * <p/>
+ * Generated dispatchers are obtained by {@link FragmentAnnotations#obtainClickDispatcher(Class)}.
+ * If there is no dispatcher generated for a specific class, clicks are dispatched to methods of
+ * such a class using reflection.
+ *
+ * @param <T> A type of the context to which are clicks dispatched.
+ * @author Martin Albedinsky
+ */
+public interface ClickDispatcher<T> {
+
+	/**
+	 * Returns ids of all views of which clicks can be dispatched by this dispatcher.
+	 *
+	 * @return Array with view ids.
+	 */
+	@NonNull
+	public int[] getViewIds();
+
+	/**
+	 * Dispatches click on the given <var>view</var> to the method of the given <var>target</var>
+	 * annotated to handle clicks of views with its id.
+	 *
+	 * @param target The context to which to dispatch the click.
+	 * @param view   The clicked view.
+	 * @return <code>True</code> if the click has been consumed, <code>false</code> if there is no
+	 * method for the view's id or it did not consume the click.
+	 */
+	public boolean dispatchClick(@NonNull T target, @NonNull View view);
+}
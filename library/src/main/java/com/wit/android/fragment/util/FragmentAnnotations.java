@@ -22,6 +22,7 @@ import android.app.Activity;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.app.Fragment;
+import android.util.Log;
 import android.view.View;
 
 import com.wit.android.fragment.annotation.InjectView;
@@ -29,6 +30,8 @@ import com.wit.android.fragment.annotation.InjectViews;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * <h4>Class Overview</h4>
@@ -68,7 +71,7 @@ public final class FragmentAnnotations {
 	/**
 	 * Log TAG.
 	 */
-	// private static final String TAG = "FragmentAnnotations";
+	private static final String TAG = "FragmentAnnotations";
 
 	/**
 	 * Flag indicating whether the debug output trough log-cat is enabled or not.
@@ -80,10 +83,133 @@ public final class FragmentAnnotations {
 	 */
 	// private static final boolean USER_LOG = true;
 
+	/**
+	 * Suffix appended to a name of class to create name of its view injector generated by the fragments
+	 * annotation processor.
+	 */
+	public static final String VIEW_INJECTOR_SUFFIX = "$$ViewInjector";
+
+	/**
+	 * Suffix appended to a name of class to create name of its click dispatcher generated by the
+	 * fragments annotation processor.
+	 */
+	public static final String CLICK_DISPATCHER_SUFFIX = "$$ClickDispatcher";
+
+	/**
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Injector used to mark classes for which there is no view injector generated.
+	 */
+	private static final ViewInjector<Object> NO_VIEW_INJECTOR = new ViewInjector<Object>() {
+
+		/**
+		 */
+		@Override
+		public void injectViews(@NonNull Object target, @NonNull View root, @Nullable View.OnClickListener onClickListener) {
+		}
+
+		/**
+		 */
+		@Override
+		public void attachClickableViews(@NonNull View root, @NonNull View.OnClickListener onClickListener) {
+		}
+
+		/**
+		 */
+		@NonNull
+		@Override
+		public int[] getViewIds() {
+			return new int[0];
+		}
+
+		/**
+		 */
+		@NonNull
+		@Override
+		public int[] getClickableViewIds() {
+			return new int[0];
+		}
+
+		/**
+		 */
+		@Override
+		public void bindView(@NonNull Object target, @NonNull View view, @Nullable View.OnClickListener onClickListener) {
+		}
+	};
+
+	/**
+	 * Already resolved view injectors mapped to classes for which they were generated.
+	 */
+	private static final Map<Class<?>, ViewInjector<Object>> VIEW_INJECTORS = new ConcurrentHashMap<>();
+
+	/**
+	 * Dispatcher used to mark classes for which there is no click dispatcher generated.
+	 */
+	private static final ClickDispatcher<Object> NO_CLICK_DISPATCHER = new ClickDispatcher<Object>() {
+
+		/**
+		 */
+		@NonNull
+		@Override
+		public int[] getViewIds() {
+			return new int[0];
+		}
+
+		/**
+		 */
+		@Override
+		public boolean dispatchClick(@NonNull Object target, @NonNull View view) {
+			return false;
+		}
+	};
+
+	/**
+	 * Already resolved click dispatchers mapped to classes for which they were generated.
+	 */
+	private static final Map<Class<?>, ClickDispatcher<Object>> CLICK_DISPATCHERS = new ConcurrentHashMap<>();
+
 	/**
 	 * Methods =====================================================================================
 	 */
 
+	/**
+	 * Obtains a view injector generated by the fragments annotation processor for the given
+	 * <var>classOfContext</var>. Once resolved, the injector (or its absence) is cached, so this
+	 * is cheap to be called whenever a new instance of the given class is created.
+	 *
+	 * @param classOfContext A class for which is the injector requested.
+	 * @return The generated view injector or <code>null</code> if there was no injector generated
+	 * for the given class, so its views need to be injected using reflection.
+	 */
+	@Nullable
+	public static ViewInjector<Object> obtainViewInjector(@NonNull Class<?> classOfContext) {
+		ViewInjector<Object> injector = VIEW_INJECTORS.get(classOfContext);
+		if (injector == null) {
+			VIEW_INJECTORS.put(classOfContext, injector = loadViewInjector(classOfContext));
+		}
+		return injector != NO_VIEW_INJECTOR ? injector : null;
+	}
+
+	/**
+	 * Obtains a click dispatcher generated by the fragments annotation processor for the given
+	 * <var>classOfContext</var>. Once resolved, the dispatcher (or its absence) is cached, so this
+	 * is cheap to be called whenever a new instance of the given class is created.
+	 *
+	 * @param classOfContext A class for which is the dispatcher requested.
+	 * @return The generated click dispatcher or <code>null</code> if there was no dispatcher generated
+	 * for the given class, so clicks need to be dispatched to its methods using reflection.
+	 */
+	@Nullable
+	public static ClickDispatcher<Object> obtainClickDispatcher(@NonNull Class<?> classOfContext) {
+		ClickDispatcher<Object> dispatcher = CLICK_DISPATCHERS.get(classOfContext);
+		if (dispatcher == null) {
+			CLICK_DISPATCHERS.put(classOfContext, dispatcher = loadClickDispatcher(classOfContext));
+		}
+		return dispatcher != NO_CLICK_DISPATCHER ? dispatcher : null;
+	}
+
 	/**
 	 * Same as {@link #obtainAnnotationFrom(Class, Class, Class)} with no <var>maxSuperClass</var>
 	 * specified.
@@ -205,6 +331,9 @@ public final class FragmentAnnotations {
 	 * because some of super classes of the given <var>fragment</var> may not have @InjectView annotated
 	 * fields, but still all their fields would be without optimization iterated.
 	 * <p/>
+	 * If there is a {@link ViewInjector} generated by the fragments annotation processor for some
+	 * of the iterated classes, views of such a class are injected by that injector without reflection.
+	 * <p/>
 	 * <b>Note</b>, that views to inject will be obtained from the current root view of the given
 	 * fragment ({@link android.app.Fragment#getView()}).
 	 *  <p/>
@@ -291,9 +420,13 @@ public final class FragmentAnnotations {
 	 *                           flag is set to <code>true</code>.
 	 */
 	private static void injectViews(Object rootContext, Class<?> classOfRootContext, View root, Class<?> maxSuperClass, View.OnClickListener onClickListener) {
+		final ViewInjector<Object> injector = obtainViewInjector(classOfRootContext);
+		if (injector != null) {
+			injector.injectViews(rootContext, root, onClickListener);
+		}
 		// Class of fragment must have @InjectViews annotation present to really iterate and inject
 		// annotated views.
-		if (classOfRootContext.isAnnotationPresent(InjectViews.class)) {
+		else if (classOfRootContext.isAnnotationPresent(InjectViews.class)) {
 			// Process annotated fields.
 			final Field[] fields = classOfRootContext.getDeclaredFields();
 			if (fields.length > 0) {
@@ -313,6 +446,48 @@ public final class FragmentAnnotations {
 		}
 	}
 
+	/**
+	 * Loads and instantiates the view injector generated for the given <var>classOfContext</var>.
+	 *
+	 * @param classOfContext A class for which to load its generated injector.
+	 * @return Instance of the generated injector or {@link #NO_VIEW_INJECTOR} if there is no injector
+	 * generated for the given class or it can not be instantiated.
+	 */
+	@SuppressWarnings("unchecked")
+	private static ViewInjector<Object> loadViewInjector(Class<?> classOfContext) {
+		try {
+			final Class<?> classOfInjector = Class.forName(
+					classOfContext.getName() + VIEW_INJECTOR_SUFFIX, true, classOfContext.getClassLoader()
+			);
+			return (ViewInjector<Object>) classOfInjector.newInstance();
+		} catch (ClassNotFoundException e) {
+			// No injector generated, views will be injected using reflection.
+		} catch (InstantiationException | IllegalAccessException e) {
+			Log.e(TAG, "Failed to instantiate the view injector for class of(" + classOfContext.getSimpleName() + ").", e);
+		}
+		return NO_VIEW_INJECTOR;
+	}
+
+	/**
+	 * Loads the click dispatcher generated for the given <var>classOfContext</var>.
+	 *
+	 * @return Instance of the generated dispatcher or {@link #NO_CLICK_DISPATCHER} if there is none.
+	 */
+	@SuppressWarnings("unchecked")
+	private static ClickDispatcher<Object> loadClickDispatcher(Class<?> classOfContext) {
+		try {
+			final Class<?> classOfDispatcher = Class.forName(
+					classOfContext.getName() + CLICK_DISPATCHER_SUFFIX, true, classOfContext.getClassLoader()
+			);
+			return (ClickDispatcher<Object>) classOfDispatcher.newInstance();
+		} catch (ClassNotFoundException e) {
+			// No dispatcher generated, clicks will be dispatched using reflection.
+		} catch (InstantiationException | IllegalAccessException e) {
+			Log.e(TAG, "Failed to instantiate the click dispatcher for class of(" + classOfContext.getSimpleName() + ").", e);
+		}
+		return NO_CLICK_DISPATCHER;
+	}
+
 	/**
 	 * Sets a view obtained by the given <var>id</var> from the given <var>root</var> view as value
 	 * the the given <var>field</var>.
@@ -360,7 +535,7 @@ public final class FragmentAnnotations {
 	 * @return <code>True</code> when attaching succeeded, <code>false</code> otherwise.
 	 * @throws RuntimeException If the given field is not instance of {@link android.view.View}.
 	 */
-	private static boolean attachView(Field field, Object fieldParent, View view) {
+	public static boolean attachView(@NonNull Field field, @NonNull Object fieldParent, @NonNull View view) {
 		// Check correct type of the field.
 		if (View.class.isAssignableFrom(field.getType())) {
 			field.setAccessible(true);
@@ -0,0 +1,118 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment.util;
+
+import android.app.Fragment;
+import android.support.annotation.NonNull;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <h4>Class Overview</h4>
+ * Constructor utils for fragments. Empty constructors of fragment classes are resolved only once
+ * and then cached for the whole process, so creating of a new fragment instance does not need to
+ * look up and check access to the constructor as {@link Class#newInstance()} does for each call.
+ *
+ * @author Martin Albedinsky
+ */
+public final class FragmentConstructors {
+
+	/**
+	 * Interface ===================================================================================
+	 */
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Log TAG.
+	 */
+	// private static final String TAG = "FragmentConstructors";
+
+	/**
+	 * Static members ==============================================================================
+	 */
+
+	/**
+	 * Already resolved empty constructors mapped to classes of fragments.
+	 */
+	private static final Map<Class<?>, Constructor<?>> CONSTRUCTORS = new ConcurrentHashMap<>();
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Obtains the public empty constructor of the given <var>classOfFragment</var>. Once resolved,
+	 * the constructor is cached.
+	 *
+	 * @param classOfFragment Class of fragment of which constructor to obtain.
+	 * @param <F>             Type of the fragment.
+	 * @return Accessible empty constructor of the given class.
+	 * @throws java.lang.InstantiationException If the given class is abstract or an interface.
+	 * @throws NoSuchMethodException            If the given class does not have public empty constructor.
+	 */
+	@NonNull
+	@SuppressWarnings("unchecked")
+	public static <F extends Fragment> Constructor<F> obtainConstructor(@NonNull Class<F> classOfFragment) throws java.lang.InstantiationException, NoSuchMethodException {
+		Constructor<F> constructor = (Constructor<F>) CONSTRUCTORS.get(classOfFragment);
+		if (constructor == null) {
+			if (Modifier.isAbstract(classOfFragment.getModifiers())) {
+				throw new java.lang.InstantiationException("Class(" + classOfFragment.getName() + ") is abstract.");
+			}
+			constructor = classOfFragment.getConstructor();
+			// Skip access checks for each of further instantiations.
+			constructor.setAccessible(true);
+			CONSTRUCTORS.put(classOfFragment, constructor);
+		}
+		return constructor;
+	}
+
+	/**
+	 * Creates a new instance of fragment using the given empty <var>constructor</var>.
+	 *
+	 * @param constructor Constructor obtained by {@link #obtainConstructor(Class)}.
+	 * @param <F>         Type of the fragment.
+	 * @return New instance of fragment.
+	 * @throws RuntimeException If the constructor throws an exception. Unchecked exceptions are thrown
+	 *                          as they are, same as for {@link Class#newInstance()}.
+	 */
+	@NonNull
+	public static <F extends Fragment> F newInstance(@NonNull Constructor<F> constructor) {
+		try {
+			return constructor.newInstance();
+		} catch (InvocationTargetException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new RuntimeException("Constructor of fragment(" + constructor.getDeclaringClass().getName() + ") failed.", cause);
+		} catch (java.lang.InstantiationException | IllegalAccessException e) {
+			// Should not happen for the constructor obtained by obtainConstructor(Class).
+			throw new RuntimeException("Failed to instantiate fragment(" + constructor.getDeclaringClass().getName() + ").", e);
+		}
+	}
+}
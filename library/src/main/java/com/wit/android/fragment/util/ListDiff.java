@@ -0,0 +1,483 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment.util;
+
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <h4>Class Overview</h4>
+ * Calculates the difference between two lists as a minimal sequence of changes (insertions, removals
+ * and changes of contents) transforming the old list into the new one. Common prefix and suffix of
+ * both lists are matched directly and the rest is compared by the Myers' algorithm, which runs
+ * in <b>O((N + M) * D)</b> time, where <b>D</b> is the count of inserted and removed items.
+ * <p/>
+ * If the lists differ by more than a maximum edit distance, the calculation is stopped and the
+ * difference is reported as removal of all old items and insertion of all new items, as presenting
+ * such a difference requires the whole data set to be presented again anyway.
+ * <p/>
+ * This class does not depend on any Android framework class, so it can be used on any thread.
+ *
+ * @author Martin Albedinsky
+ */
+public final class ListDiff {
+
+	/**
+	 * Interface ===================================================================================
+	 */
+
+	/**
+	 * Callback used to compare items of the diffed lists.
+	 *
+	 * @param <T> Type of the compared items.
+	 */
+	public interface ItemCallback<T> {
+
+		/**
+		 * Returns flag indicating whether the given items represent the same entity, like items with
+		 * the same id.
+		 */
+		public boolean areItemsTheSame(T oldItem, T newItem);
+
+		/**
+		 * Returns flag indicating whether the given items, which represent the same entity, have
+		 * also the same contents, so they are presented in the same way.
+		 */
+		public boolean areContentsTheSame(T oldItem, T newItem);
+	}
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Default maximum count of inserted and removed items for which is the difference calculated.
+	 */
+	public static final int DEFAULT_MAX_EDIT_DISTANCE = 1000;
+
+	/**
+	 * Step of the found path for matched items.
+	 */
+	private static final int STEP_MATCH = 0;
+
+	/**
+	 * Step of the found path for matched items with different contents.
+	 */
+	private static final int STEP_CHANGE = 1;
+
+	/**
+	 * Step of the found path for inserted item.
+	 */
+	private static final int STEP_INSERT = 2;
+
+	/**
+	 * Step of the found path for removed item.
+	 */
+	private static final int STEP_REMOVE = 3;
+
+	/**
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 */
+	private ListDiff() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Same as {@link #calculate(java.util.List, java.util.List, ListDiff.ItemCallback, int)} with
+	 * {@link #DEFAULT_MAX_EDIT_DISTANCE}.
+	 */
+	@NonNull
+	public static <T> Result calculate(@NonNull List<T> oldList, @NonNull List<T> newList, @NonNull ItemCallback<T> callback) {
+		return calculate(oldList, newList, callback, DEFAULT_MAX_EDIT_DISTANCE);
+	}
+
+	/**
+	 * Calculates the difference between the given lists.
+	 *
+	 * @param oldList         The old list.
+	 * @param newList         The new list.
+	 * @param callback        Callback used to compare items.
+	 * @param maxEditDistance Maximum count of inserted and removed items for which to calculate
+	 *                        the difference.
+	 * @return Result with changes transforming the old list into the new one.
+	 */
+	@NonNull
+	public static <T> Result calculate(@NonNull List<T> oldList, @NonNull List<T> newList, @NonNull ItemCallback<T> callback, int maxEditDistance) {
+		final int oldSize = oldList.size();
+		final int newSize = newList.size();
+		final ResultBuilder builder = new ResultBuilder();
+		// Match common prefix and suffix directly.
+		final int minSize = Math.min(oldSize, newSize);
+		int prefix = 0;
+		while (prefix < minSize && callback.areItemsTheSame(oldList.get(prefix), newList.get(prefix))) {
+			prefix++;
+		}
+		int suffix = 0;
+		while (suffix < minSize - prefix && callback.areItemsTheSame(oldList.get(oldSize - 1 - suffix), newList.get(newSize - 1 - suffix))) {
+			suffix++;
+		}
+		for (int i = 0; i < prefix; i++) {
+			builder.match(!callback.areContentsTheSame(oldList.get(i), newList.get(i)));
+		}
+		final List<T> oldMiddle = oldList.subList(prefix, oldSize - suffix);
+		final List<T> newMiddle = newList.subList(prefix, newSize - suffix);
+		if (!diffMiddle(oldMiddle, newMiddle, callback, maxEditDistance, builder)) {
+			return new Result(Arrays.asList(
+					new Change(Change.REMOVE, 0, oldSize),
+					new Change(Change.INSERT, 0, newSize)
+			), true);
+		}
+		for (int i = 0; i < suffix; i++) {
+			builder.match(!callback.areContentsTheSame(oldList.get(oldSize - suffix + i), newList.get(newSize - suffix + i)));
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Compares the given lists by the Myers' algorithm and appends the changes into the given builder.
+	 *
+	 * @return <code>True</code> if the difference has been calculated, <code>false</code> if the
+	 * lists differ by more than <var>maxEditDistance</var>.
+	 */
+	private static <T> boolean diffMiddle(List<T> oldList, List<T> newList, ItemCallback<T> callback, int maxEditDistance, ResultBuilder builder) {
+		final int n = oldList.size();
+		final int m = newList.size();
+		if (n == 0 || m == 0) {
+			builder.remove(n);
+			builder.insert(m);
+			return true;
+		}
+		final int max = n + m;
+		final int offset = max + 1;
+		final int[] v = new int[2 * max + 3];
+		// Values of v before each of the iterations, needed to backtrack the found path.
+		final List<int[]> trace = new ArrayList<>();
+		int distance = -1;
+		search:
+		for (int d = 0; d <= max && d <= maxEditDistance; d++) {
+			trace.add(Arrays.copyOfRange(v, offset - d - 1, offset + d + 2));
+			for (int k = -d; k <= d; k += 2) {
+				int x = (k == -d || (k != d && v[offset + k - 1] < v[offset + k + 1])) ? v[offset + k + 1] : v[offset + k - 1] + 1;
+				int y = x - k;
+				while (x < n && y < m && callback.areItemsTheSame(oldList.get(x), newList.get(y))) {
+					x++;
+					y++;
+				}
+				v[offset + k] = x;
+				if (x >= n && y >= m) {
+					distance = d;
+					break search;
+				}
+			}
+		}
+		if (distance < 0) {
+			return false;
+		}
+		// Backtrack the path from the end, steps are stored in reverse order.
+		final int[] steps = new int[n + m];
+		int stepsCount = 0;
+		int x = n, y = m;
+		for (int d = distance; d >= 0; d--) {
+			final int[] previous = trace.get(d);
+			final int previousOffset = d + 1;
+			final int k = x - y;
+			final int previousK;
+			if (d == 0) {
+				previousK = k;
+			} else if (k == -d || (k != d && previous[previousOffset + k - 1] < previous[previousOffset + k + 1])) {
+				previousK = k + 1;
+			} else {
+				previousK = k - 1;
+			}
+			final int previousX = d == 0 ? 0 : previous[previousOffset + previousK];
+			final int previousY = previousX - previousK;
+			while (x > previousX && y > previousY) {
+				x--;
+				y--;
+				steps[stepsCount++] = callback.areContentsTheSame(oldList.get(x), newList.get(y)) ? STEP_MATCH : STEP_CHANGE;
+			}
+			if (d > 0) {
+				steps[stepsCount++] = x == previousX ? STEP_INSERT : STEP_REMOVE;
+			}
+			x = previousX;
+			y = previousY;
+		}
+		for (int i = stepsCount - 1; i >= 0; i--) {
+			switch (steps[i]) {
+				case STEP_MATCH:
+					builder.match(false);
+					break;
+				case STEP_CHANGE:
+					builder.match(true);
+					break;
+				case STEP_INSERT:
+					builder.insert(1);
+					break;
+				case STEP_REMOVE:
+					builder.remove(1);
+					break;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Inner classes ===============================================================================
+	 */
+
+	/**
+	 * Single change of a range of items. Positions of changes are relative to the list with all the
+	 * preceding changes already applied.
+	 */
+	public static final class Change {
+
+		/**
+		 * Type of change for inserted items.
+		 */
+		public static final int INSERT = 0;
+
+		/**
+		 * Type of change for removed items.
+		 */
+		public static final int REMOVE = 1;
+
+		/**
+		 * Type of change for items with changed contents.
+		 */
+		public static final int CHANGE = 2;
+
+		/**
+		 * Type of this change, one of {@link #INSERT}, {@link #REMOVE} or {@link #CHANGE}.
+		 */
+		public final int type;
+
+		/**
+		 * Position of the first item of this change.
+		 */
+		public final int position;
+
+		/**
+		 * Count of items of this change.
+		 */
+		public final int count;
+
+		/**
+		 * Creates a new instance of Change with the given parameters.
+		 */
+		Change(int type, int position, int count) {
+			this.type = type;
+			this.position = position;
+			this.count = count;
+		}
+
+		/**
+		 */
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof Change)) {
+				return false;
+			}
+			final Change change = (Change) other;
+			return type == change.type && position == change.position && count == change.count;
+		}
+
+		/**
+		 */
+		@Override
+		public int hashCode() {
+			return (type * 31 + position) * 31 + count;
+		}
+
+		/**
+		 */
+		@Override
+		public String toString() {
+			return (type == INSERT ? "INSERT" : (type == REMOVE ? "REMOVE" : "CHANGE")) + "(" + position + ", " + count + ")";
+		}
+	}
+
+	/**
+	 * Result of the difference calculation.
+	 */
+	public static final class Result {
+
+		/**
+		 * Changes transforming the old list into the new one.
+		 */
+		private final List<Change> mChanges;
+
+		/**
+		 * Flag indicating whether the calculation was stopped for exceeded edit distance.
+		 */
+		private final boolean mTruncated;
+
+		/**
+		 * Creates a new instance of Result with the given changes.
+		 */
+		Result(List<Change> changes, boolean truncated) {
+			this.mChanges = Collections.unmodifiableList(changes);
+			this.mTruncated = truncated;
+		}
+
+		/**
+		 * Returns the changes transforming the old list into the new one, in order in which they
+		 * should be applied.
+		 */
+		@NonNull
+		public List<Change> getChanges() {
+			return mChanges;
+		}
+
+		/**
+		 * Returns flag indicating whether the lists are the same.
+		 */
+		public boolean isEmpty() {
+			return mChanges.isEmpty();
+		}
+
+		/**
+		 * Returns flag indicating whether there are any items inserted or removed.
+		 */
+		public boolean hasStructuralChanges() {
+			for (Change change : mChanges) {
+				if (change.type != Change.CHANGE) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Returns flag indicating whether the calculation was stopped as the lists differ by more
+		 * than the maximum edit distance, so the changes replace all items.
+		 */
+		public boolean isTruncated() {
+			return mTruncated;
+		}
+
+		/**
+		 */
+		@Override
+		public String toString() {
+			return mChanges.toString();
+		}
+	}
+
+	/**
+	 * Builder merging consecutive steps into changes of ranges.
+	 */
+	private static final class ResultBuilder {
+
+		/**
+		 * Built changes.
+		 */
+		final List<Change> changes = new ArrayList<>();
+
+		/**
+		 * Position in the list with all the previous changes applied.
+		 */
+		int position;
+
+		/**
+		 * Type, position and count of the change being built, type is <code>-1</code> if there is none.
+		 */
+		int type = -1, changePosition, count;
+
+		/**
+		 * Appends matched item.
+		 *
+		 * @param changed <code>True</code> if contents of the item have changed.
+		 */
+		void match(boolean changed) {
+			if (changed) {
+				append(Change.CHANGE, 1);
+			} else {
+				flush();
+			}
+			position++;
+		}
+
+		/**
+		 * Appends the given count of inserted items.
+		 */
+		void insert(int insertCount) {
+			if (insertCount > 0) {
+				append(Change.INSERT, insertCount);
+				position += insertCount;
+			}
+		}
+
+		/**
+		 * Appends the given count of removed items.
+		 */
+		void remove(int removeCount) {
+			if (removeCount > 0) {
+				// Removed items do not advance position.
+				if (type != Change.REMOVE) {
+					flush();
+					this.type = Change.REMOVE;
+					this.changePosition = position;
+				}
+				this.count += removeCount;
+			}
+		}
+
+		/**
+		 * Appends change of the given type continuing at the current position.
+		 */
+		void append(int changeType, int changeCount) {
+			if (type != changeType) {
+				flush();
+				this.type = changeType;
+				this.changePosition = position;
+			}
+			this.count += changeCount;
+		}
+
+		/**
+		 * Finishes the change being built.
+		 */
+		void flush() {
+			if (type >= 0) {
+				changes.add(new Change(type, changePosition, count));
+				this.type = -1;
+				this.count = 0;
+			}
+		}
+
+		/**
+		 * Builds the result.
+		 */
+		Result build() {
+			flush();
+			return new Result(changes, false);
+		}
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment.util;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.View;
+
+/**
+ * <h4>Interface Overview</h4>
+ * Required interface for view injectors generated at compile time by the fragments annotation
+ * processor. An injector is generated for each class annotated with
+ * {@link com.wit.android.fragment.annotation.InjectViews @InjectViews} or
+ * {@link com.wit.android.fragment.annotation.ClickableViews @ClickableViews} and handles only
+ * fields and ids declared directly by such a class, so views of its super classes are injected by
+ * their own injectors.
+ * <p/>
+ * Generated injectors are obtained by {@link FragmentAnnotations#obtainViewInjector(Class)}. If
+ * there is no injector generated for a specific class, views of such a class are injected using
+ * reflection.
+ * <p/>
+ * Each injector also describes its ids by {@link #getViewIds()} and {@link #getClickableViewIds()},
+ * so views of a {@link com.wit.android.fragment.BaseFragment BaseFragment} can be bound by a single
+ * traversal of its view hierarchy, with each found view passed to {@link #bindView(Object, View, View.OnClickListener)},
+ * instead of calling {@link View#findViewById(int)} for each of the ids.
+ *
+ * @param <T> A type of the context into which are views injected.
+ * @author Martin Albedinsky
+ */
+public interface ViewInjector<T> {
+
+	/**
+	 * Injects all views marked with {@link com.wit.android.fragment.annotation.InjectView @InjectView}
+	 * or {@link com.wit.android.fragment.annotation.InjectView.Last @InjectView.Last} annotation
+	 * into the given <var>target</var>.
+	 *
+	 * @param target          The context into which should be views injected.
+	 * @param root            The root view from which should be views to inject obtained.
+	 * @param onClickListener An instance of OnClickListener which should be set to injected views
+	 *                        if {@link com.wit.android.fragment.annotation.InjectView#clickable() @InjectView.clickable()}
+	 *                        flag is set to <code>true</code>.
+	 */
+	public void injectViews(@NonNull T target, @NonNull View root, @Nullable View.OnClickListener onClickListener);
+
+	/**
+	 * Attaches the given <var>onClickListener</var> to all views with ids presented within
+	 * {@link com.wit.android.fragment.annotation.ClickableViews @ClickableViews} annotation.
+	 *
+	 * @param root            The root view from which should be clickable views obtained.
+	 * @param onClickListener An instance of OnClickListener to attach.
+	 * @throws NullPointerException If one of the clickable views can not be found.
+	 */
+	public void attachClickableViews(@NonNull View root, @NonNull View.OnClickListener onClickListener);
+
+	/**
+	 * Returns ids of all views bound by this injector, both ids of the views to inject and ids presented
+	 * within {@link com.wit.android.fragment.annotation.ClickableViews @ClickableViews} annotation.
+	 *
+	 * @return Array with unique view ids.
+	 */
+	@NonNull
+	public int[] getViewIds();
+
+	/**
+	 * Returns ids presented within {@link com.wit.android.fragment.annotation.ClickableViews @ClickableViews}
+	 * annotation, so views with these ids must be presented within the view hierarchy.
+	 *
+	 * @return Array with view ids, empty if there are none.
+	 */
+	@NonNull
+	public int[] getClickableViewIds();
+
+	/**
+	 * Injects the given <var>view</var> into all fields of the given <var>target</var> marked to
+	 * inject a view with its id. The given <var>onClickListener</var> is set to the view if
+	 * {@link com.wit.android.fragment.annotation.InjectView#clickable() @InjectView.clickable()}
+	 * flag is set to <code>true</code> for one of these fields. Does nothing for a view of which
+	 * id is not one of {@link #getViewIds()}.
+	 *
+	 * @param target          The context into which should be the view injected.
+	 * @param view            The view found within the view hierarchy of the target.
+	 * @param onClickListener An instance of OnClickListener to be set to clickable view.
+	 */
+	public void bindView(@NonNull T target, @NonNull View view, @Nullable View.OnClickListener onClickListener);
+}
@@ -0,0 +1,476 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment.util;
+
+import android.support.annotation.Nullable;
+
+/**
+ * <h4>Class Overview</h4>
+ * Classifier for contents loaded into web view. This is a hand-written replacement of the regular
+ * expression used by Android SDK ({@code android.util.Patterns.WEB_URL}) to match web URLs, accepting
+ * the same set of URLs. All checks scan the given content only once from its start and stop at the
+ * first character which cannot be part of the matched format, so classifying of large HTML contents
+ * is done in constant time.
+ * <p/>
+ * This class is stateless, so it is safe to use it from multiple threads.
+ *
+ * @author Martin Albedinsky
+ */
+public final class WebContentClassifier {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Supported web URL schemes.
+	 */
+	private static final String[] SCHEMES = {"http", "https", "Http", "Https", "rtsp", "Rtsp"};
+
+	/**
+	 * Scheme of the file URLs.
+	 */
+	private static final String FILE_SCHEME = "file://";
+
+	/**
+	 * Two letter top-level domains grouped by their first letter. The first character of each
+	 * group is the first letter of all its domains, the rest are their second letters.
+	 * <p/>
+	 * Top-level domains are taken from the IANA list accurate as of 2011/07/18, same as used by Android SDK:
+	 * http://data.iana.org/TLD/tlds-alpha-by-domain.txt
+	 */
+	private static final String[] TWO_LETTER_TLD_GROUPS = {
+			"acdefgilmnoqrstuwxz",
+			"babdefghijmnorstvwyz",
+			"cacdfghiklmnoruvxyz",
+			"dejkmoz",
+			"ecegrstu",
+			"fijkmor",
+			"gabdefghilmnpqrstuwy",
+			"hkmnrtu",
+			"idelmnoqrst",
+			"jemop",
+			"keghimnprwyz",
+			"labcikrstuvy",
+			"macdeghklmnopqrstuvwxyz",
+			"nacefgilopruz",
+			"paefghklmnrstwy",
+			"reosuw",
+			"sabcdeghijklmnortuvyz",
+			"tcdfghjklmnoprtvwz",
+			"uagksyz",
+			"vaceginu",
+			"wfs",
+			"yet",
+			"zamw"
+	};
+
+	/**
+	 * Top-level domains which are not two letter ones.
+	 */
+	private static final String[] TLDS = {
+			"aero", "arpa", "asia", "biz",
+			"cat", "com", "coop", "edu",
+			"gov", "info", "int", "jobs",
+			"mil", "mobi", "museum", "name",
+			"net", "org", "om", "pro",
+			"qa", "tel", "travel", "\u03b4\u03bf\u03ba\u03b9\u03bc\u03ae",
+			"\u0438\u0441\u043f\u044b\u0442\u0430\u043d\u0438\u0435", "\u0440\u0444",
+			"\u0441\u0440\u0431", "\u05d8\u05e2\u05e1\u05d8",
+			"\u0622\u0632\u0645\u0627\u06cc\u0634\u06cc", "\u0625\u062e\u062a\u0628\u0627\u0631",
+			"\u0627\u0644\u0627\u0631\u062f\u0646", "\u0627\u0644\u062c\u0632\u0627\u0626\u0631",
+			"\u0627\u0644\u0633\u0639\u0648\u062f\u064a\u0629", "\u0627\u0644\u0645\u063a\u0631\u0628",
+			"\u0627\u0645\u0627\u0631\u0627\u062a", "\u0628\u06be\u0627\u0631\u062a",
+			"\u062a\u0648\u0646\u0633", "\u0633\u0648\u0631\u064a\u0629",
+			"\u0641\u0644\u0633\u0637\u064a\u0646", "\u0642\u0637\u0631",
+			"\u0645\u0635\u0631", "\u092a\u0930\u0940\u0915\u094d\u0937\u093e",
+			"\u092d\u093e\u0930\u0924", "\u09ad\u09be\u09b0\u09a4",
+			"\u0a2d\u0a3e\u0a30\u0a24", "\u0aad\u0abe\u0ab0\u0aa4",
+			"\u0b87\u0ba8\u0bcd\u0ba4\u0bbf\u0baf\u0bbe", "\u0b87\u0bb2\u0b99\u0bcd\u0b95\u0bc8",
+			"\u0b9a\u0bbf\u0b99\u0bcd\u0b95\u0baa\u0bcd\u0baa\u0bc2\u0bb0\u0bcd", "\u0baa\u0bb0\u0bbf\u0b9f\u0bcd\u0b9a\u0bc8",
+			"\u0c2d\u0c3e\u0c30\u0c24\u0c4d", "\u0dbd\u0d82\u0d9a\u0dcf",
+			"\u0e44\u0e17\u0e22", "\u30c6\u30b9\u30c8",
+			"\u4e2d\u56fd", "\u4e2d\u570b",
+			"\u53f0\u6e7e", "\u53f0\u7063",
+			"\u65b0\u52a0\u5761", "\u6d4b\u8bd5",
+			"\u6e2c\u8a66", "\u9999\u6e2f",
+			"\ud14c\uc2a4\ud2b8", "\ud55c\uad6d",
+			"xn--0zwm56d",
+			"xn--11b5bs3a9aj6g",
+			"xn--3e0b707e",
+			"xn--45brj9c",
+			"xn--80akhbyknj4f",
+			"xn--90a3ac",
+			"xn--9t4b11yi5a",
+			"xn--clchc0ea0b2g2a9gcd",
+			"xn--deba0ad",
+			"xn--fiqs8s",
+			"xn--fiqz9s",
+			"xn--fpcrj9c3d",
+			"xn--fzc2c9e2c",
+			"xn--g6w251d",
+			"xn--gecrj9c",
+			"xn--h2brj9c",
+			"xn--hgbk6aj7f53bba",
+			"xn--hlcj6aya9esc7a",
+			"xn--j6w193g",
+			"xn--jxalpdlp",
+			"xn--kgbechtv",
+			"xn--kprw13d",
+			"xn--kpry57d",
+			"xn--lgbbat1ad8j",
+			"xn--mgbaam7a8h",
+			"xn--mgbayh7gpa",
+			"xn--mgbbh1a71e",
+			"xn--mgbc0a9azcg",
+			"xn--mgberp4a5d4ar",
+			"xn--o3cw4h",
+			"xn--ogbpf8fl",
+			"xn--p1ai",
+			"xn--pgbs0dh",
+			"xn--s9brj9c",
+			"xn--wgbh1c",
+			"xn--wgbl6a",
+			"xn--xkc2al3hye2a",
+			"xn--xkc2dl3a5ee0h",
+			"xn--yfro4i67o",
+			"xn--ygbi2ammx",
+			"xn--zckzah",
+			"xxx"
+	};
+
+	/**
+	 * Lookup table for two letter top-level domains indexed by <code>(first - 'a') * 26 + (second - 'a')</code>.
+	 */
+	private static final boolean[] TWO_LETTER_TLDS = new boolean[26 * 26];
+
+	/**
+	 * Maximum length of a label of the named host.
+	 */
+	private static final int HOST_LABEL_MAX_LENGTH = 65;
+
+	/**
+	 * Maximum count of characters of user name within the user info of web URL.
+	 */
+	private static final int USER_NAME_MAX_LENGTH = 64;
+
+	/**
+	 * Maximum count of characters of password within the user info of web URL.
+	 */
+	private static final int PASSWORD_MAX_LENGTH = 25;
+
+	/**
+	 * Maximum count of digits of port number.
+	 */
+	private static final int PORT_MAX_LENGTH = 5;
+
+	static {
+		for (String group : TWO_LETTER_TLD_GROUPS) {
+			final int first = (group.charAt(0) - 'a') * 26;
+			for (int i = 1; i < group.length(); i++) {
+				TWO_LETTER_TLDS[first + group.charAt(i) - 'a'] = true;
+			}
+		}
+	}
+
+	/**
+	 * Constructors ================================================================================
+	 */
+
+	/**
+	 */
+	private WebContentClassifier() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 * Checks whether the given <var>content</var> is a valid web URL in format:
+	 * <code>[scheme://[user[:password]@]]host[:port][/path]</code>, where host is either a named host
+	 * with a known top-level domain or an IPv4 address.
+	 *
+	 * @param content The content to check.
+	 * @return <code>True</code> if the whole content is a web URL, <code>false</code> otherwise.
+	 */
+	public static boolean isWebUrl(@Nullable String content) {
+		if (content == null || content.length() == 0 || !isIriChar(content.charAt(0))) {
+			// Neither scheme nor host can start with such a character, this is the most common case
+			// of HTML contents starting with '<' or white space.
+			return false;
+		}
+		final int length = content.length();
+		final int authority = parseScheme(content, length);
+		if (authority > 0) {
+			final int host = parseUserInfo(content, authority, length);
+			if (host > 0 && parseHostAndPath(content, host, length)) {
+				return true;
+			}
+			if (parseHostAndPath(content, authority, length)) {
+				return true;
+			}
+		}
+		return parseHostAndPath(content, 0, length);
+	}
+
+	/**
+	 * Checks whether the given <var>content</var> is a file URL in format <code>file://path</code>,
+	 * where path is a single line.
+	 *
+	 * @param content The content to check.
+	 * @return <code>True</code> if the whole content is a file URL, <code>false</code> otherwise.
+	 */
+	public static boolean isFileUrl(@Nullable String content) {
+		if (content == null || !content.startsWith(FILE_SCHEME)) {
+			return false;
+		}
+		for (int i = FILE_SCHEME.length(); i < content.length(); i++) {
+			switch (content.charAt(i)) {
+				case '\n':
+				case '\r':
+				case '\u0085':
+				case '\u2028':
+				case '\u2029':
+					return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Parses a supported scheme followed by <code>://</code> at the start of the given content.
+	 *
+	 * @return Index after the scheme separator or <code>-1</code> if there is no supported scheme.
+	 */
+	private static int parseScheme(String content, int length) {
+		for (String scheme : SCHEMES) {
+			final int end = scheme.length() + 3;
+			if (end <= length && content.startsWith(scheme) && content.startsWith("://", scheme.length())) {
+				return end;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Parses user info in format <code>user[:password]@</code> starting at the given index.
+	 *
+	 * @return Index after the <code>@</code> character or <code>-1</code> if there is no valid user info.
+	 */
+	private static int parseUserInfo(String content, int start, int length) {
+		int index = start;
+		int count = 0;
+		int maxCount = USER_NAME_MAX_LENGTH;
+		boolean password = false;
+		while (index < length) {
+			final char c = content.charAt(index);
+			if (c == '@' || (c == ':' && !password)) {
+				if (count == 0 || count > maxCount) {
+					return -1;
+				}
+				if (c == '@') {
+					return index + 1;
+				}
+				password = true;
+				maxCount = PASSWORD_MAX_LENGTH;
+				count = 0;
+				index++;
+			} else if (c == '%') {
+				if (!isEscape(content, index, length)) {
+					return -1;
+				}
+				index += 3;
+				count++;
+			} else if (isUserInfoChar(c)) {
+				index++;
+				count++;
+			} else {
+				return -1;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Parses host, optional port and optional path starting at the given index. The parsed part must
+	 * span to the end of the given content.
+	 *
+	 * @return <code>True</code> if the parsed part is valid, <code>false</code> otherwise.
+	 */
+	private static boolean parseHostAndPath(String content, int start, int length) {
+		int hostEnd = start;
+		while (hostEnd < length) {
+			final char c = content.charAt(hostEnd);
+			if (c == ':' || c == '/') {
+				break;
+			}
+			if (c != '.' && c != '-' && !isIriChar(c)) {
+				return false;
+			}
+			hostEnd++;
+		}
+		if (!isNamedHost(content, start, hostEnd) && !isIpAddress(content, start, hostEnd)) {
+			return false;
+		}
+		int index = hostEnd;
+		if (index < length && content.charAt(index) == ':') {
+			// Port number.
+			final int portStart = ++index;
+			while (index < length && index - portStart < PORT_MAX_LENGTH && isDigit(content.charAt(index))) {
+				index++;
+			}
+			if (index == portStart) {
+				return false;
+			}
+		}
+		if (index == length) {
+			return true;
+		}
+		if (content.charAt(index) != '/') {
+			return false;
+		}
+		for (index++; index < length; index++) {
+			final char c = content.charAt(index);
+			if (c == '%') {
+				if (!isEscape(content, index, length)) {
+					return false;
+				}
+				index += 2;
+			} else if (!isIriChar(c) && ";/?:@&=#~-.+!*'(),_".indexOf(c) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks whether the specified range of the given content is a named host with a known top-level
+	 * domain.
+	 */
+	private static boolean isNamedHost(String content, int start, int end) {
+		final int tldStart = content.lastIndexOf('.', end - 1) + 1;
+		if (tldStart <= start || !isTopLevelDomain(content, tldStart, end)) {
+			return false;
+		}
+		// Check labels before the top-level domain.
+		int labelStart = start;
+		for (int i = start; i < tldStart; i++) {
+			final char c = content.charAt(i);
+			if (c == '.') {
+				if (i == labelStart || i - labelStart > HOST_LABEL_MAX_LENGTH) {
+					return false;
+				}
+				labelStart = i + 1;
+			} else if (i == labelStart ? !isIriChar(c) : (c != '-' && !isIriChar(c))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks whether the specified range of the given content is a known top-level domain.
+	 */
+	private static boolean isTopLevelDomain(String content, int start, int end) {
+		final int length = end - start;
+		if (length == 2) {
+			final int first = content.charAt(start) - 'a';
+			final int second = content.charAt(start + 1) - 'a';
+			if (first >= 0 && first < 26 && second >= 0 && second < 26 && TWO_LETTER_TLDS[first * 26 + second]) {
+				return true;
+			}
+		}
+		for (String tld : TLDS) {
+			if (tld.length() == length && content.regionMatches(start, tld, 0, length)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks whether the specified range of the given content is an IPv4 address.
+	 */
+	private static boolean isIpAddress(String content, int start, int end) {
+		int index = start;
+		for (int octet = 0; octet < 4; octet++) {
+			if (octet > 0) {
+				if (index >= end || content.charAt(index) != '.') {
+					return false;
+				}
+				index++;
+			}
+			final int octetStart = index;
+			int value = 0;
+			while (index < end && index - octetStart < 3 && isDigit(content.charAt(index))) {
+				value = value * 10 + content.charAt(index++) - '0';
+			}
+			final int digits = index - octetStart;
+			if (digits == 0 || value > 255) {
+				return false;
+			}
+			final char first = content.charAt(octetStart);
+			if (digits == 2 && first == '0') {
+				return false;
+			}
+			if (digits == 1 && first == '0' && octet == 0) {
+				return false;
+			}
+		}
+		return index == end;
+	}
+
+	/**
+	 * Checks whether there is a valid <code>%XX</code> escape sequence at the given index.
+	 */
+	private static boolean isEscape(String content, int index, int length) {
+		return index + 2 < length && isHexDigit(content.charAt(index + 1)) && isHexDigit(content.charAt(index + 2));
+	}
+
+	/**
+	 * Checks whether the given character can be part of a user name or password within user info.
+	 */
+	private static boolean isUserInfoChar(char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || isDigit(c) || "$-_.+!*'(),;?&=".indexOf(c) >= 0;
+	}
+
+	/**
+	 * Checks whether the given character is a letter, digit or allowed unicode character of IRI.
+	 */
+	private static boolean isIriChar(char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || isDigit(c) ||
+				(c >= '\u00A0' && c <= '\uD7FF') || (c >= '\uF900' && c <= '\uFDCF') || (c >= '\uFDF0' && c <= '\uFFEF');
+	}
+
+	/**
+	 * Checks whether the given character is a decimal digit.
+	 */
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	/**
+	 * Checks whether the given character is a hexadecimal digit.
+	 */
+	private static boolean isHexDigit(char c) {
+		return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+	}
+}
@@ -0,0 +1,41 @@
+/*
+ * =================================================================================================
+ *                    Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License 
+ * you may obtain at
+ * 
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * You can redistribute, modify or publish any part of the code written within this file but as it 
+ * is described in the License, the software distributed under the License is distributed on an 
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ * 
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment;
+
+/**
+ * Compile-time options of the release build of this library. Each build type of this library has
+ * its own version of this class, see {@link FragmentsConfig#LIBRARY_DEBUG_LOG_COMPILED}.
+ *
+ * @author Martin Albedinsky
+ */
+final class FragmentsBuild {
+
+	/**
+	 * Constant flag indicating whether the debug logging code is compiled into this library. This is
+	 * <code>false</code> for release builds of this library, so javac removes all debug logging code
+	 * together with building of its messages.
+	 */
+	static final boolean DEBUG_LOG = false;
+
+	/**
+	 */
+	private FragmentsBuild() {
+		throw new UnsupportedOperationException();
+	}
+}
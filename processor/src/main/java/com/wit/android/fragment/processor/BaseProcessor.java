@@ -0,0 +1,196 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+/**
+ * <h4>Class Overview</h4>
+ * Base class for annotation processors of this module. Provides common utils to resolve annotations
+ * by their names, so this module does not need to depend on the library project, and to write
+ * generated source files.
+ *
+ * @author Martin Albedinsky
+ */
+abstract class BaseProcessor extends AbstractProcessor {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Comment placed at the start of each generated source file.
+	 */
+	static final String GENERATED_COMMENT = "// Generated code from the fragments annotation processor. Do not modify!\n";
+
+	/**
+	 * Members =====================================================================================
+	 */
+
+	/**
+	 * Utils for elements of the current processing environment.
+	 */
+	Elements mElements;
+
+	/**
+	 * Utils for types of the current processing environment.
+	 */
+	Types mTypes;
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 */
+	@Override
+	public synchronized void init(ProcessingEnvironment processingEnv) {
+		super.init(processingEnv);
+		this.mElements = processingEnv.getElementUtils();
+		this.mTypes = processingEnv.getTypeUtils();
+	}
+
+	/**
+	 */
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	/**
+	 * Checks whether the given <var>classElement</var> can be accessed from its package, so neither
+	 * it nor any of its enclosing classes is private.
+	 *
+	 * @param classElement The element of class to check.
+	 * @return <code>True</code> if the class is accessible, <code>false</code> otherwise.
+	 */
+	static boolean isAccessibleFromPackage(TypeElement classElement) {
+		for (Element element = classElement; element instanceof TypeElement; element = element.getEnclosingElement()) {
+			if (element.getModifiers().contains(Modifier.PRIVATE)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Finds an annotation with the specified <var>annotationName</var> presented above the given
+	 * <var>element</var>.
+	 *
+	 * @param element        The element of which annotations to search.
+	 * @param annotationName Canonical name of the requested annotation.
+	 * @return Mirror of the requested annotation or <code>null</code> if it is not presented.
+	 */
+	static AnnotationMirror findAnnotation(Element element, String annotationName) {
+		for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+			final TypeElement annotationElement = (TypeElement) mirror.getAnnotationType().asElement();
+			if (annotationElement.getQualifiedName().contentEquals(annotationName)) {
+				return mirror;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Obtains value of the specified <var>attribute</var> from the given annotation <var>mirror</var>
+	 * including its default value.
+	 *
+	 * @param mirror    The mirror of annotation of which attribute value to obtain.
+	 * @param attribute Name of the requested attribute.
+	 * @return Value of the requested attribute or <code>null</code> if there is no such attribute.
+	 */
+	Object annotationValue(AnnotationMirror mirror, String attribute) {
+		final Map<? extends ExecutableElement, ? extends AnnotationValue> values = mElements.getElementValuesWithDefaults(mirror);
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+			if (entry.getKey().getSimpleName().contentEquals(attribute)) {
+				return entry.getValue().getValue();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the name of class to be generated for the given <var>classElement</var>. The generated
+	 * class is placed in the same package and named as binary name of the given class with the
+	 * specified <var>suffix</var>, so it can be loaded by {@link Class#forName(String)}.
+	 *
+	 * @param classElement The element of class for which is the class generated.
+	 * @param suffix       Suffix to append to the name of the given class.
+	 * @return Simple name of the class to generate.
+	 */
+	String generatedClassName(TypeElement classElement, String suffix) {
+		final String packageName = packageName(classElement);
+		final String binaryName = mElements.getBinaryName(classElement).toString();
+		return (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + suffix;
+	}
+
+	/**
+	 * Returns the name of package of the given <var>classElement</var>.
+	 */
+	String packageName(TypeElement classElement) {
+		return mElements.getPackageOf(classElement).getQualifiedName().toString();
+	}
+
+	/**
+	 * Writes the given <var>source</var> code of class with the specified <var>className</var> into
+	 * a new source file.
+	 *
+	 * @param packageName   Name of package of the class.
+	 * @param className     Simple name of the class.
+	 * @param source        Source code of the class.
+	 * @param originElement The element which caused generation of the class.
+	 */
+	void writeSource(String packageName, String className, CharSequence source, Element originElement) {
+		try {
+			final Writer writer = processingEnv.getFiler().createSourceFile(
+					packageName.isEmpty() ? className : packageName + "." + className,
+					originElement
+			).openWriter();
+			try {
+				writer.write(source.toString());
+			} finally {
+				writer.close();
+			}
+		} catch (IOException e) {
+			printMessage(Diagnostic.Kind.ERROR, "Failed to write generated class(" + className + "). " + e.getMessage(), originElement);
+		}
+	}
+
+	/**
+	 * Prints the given <var>message</var> of the specified <var>kind</var> for the given <var>element</var>.
+	 */
+	void printMessage(Diagnostic.Kind kind, String message, Element element) {
+		processingEnv.getMessager().printMessage(kind, message, element);
+	}
+}
@@ -0,0 +1,252 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment.processor;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+
+/**
+ * <h4>Class Overview</h4>
+ * Annotation processor which generates an implementation of {@code com.wit.android.fragment.util.ClickDispatcher}
+ * for each class with methods annotated with {@code @OnViewClick} annotation. Generated dispatcher
+ * is named as the class with {@link #CLICK_DISPATCHER_SUFFIX} suffix, is placed in the same package
+ * and dispatches clicks only to methods declared directly by the class, by a switch over the ids
+ * of clicked views, so no reflection is used at click time.
+ * <p/>
+ * <b>Note</b>, that a dispatcher can call only methods which are not <b>private</b>. If there is
+ * such a method within the class, no dispatcher is generated for that class and clicks will be
+ * dispatched to its methods using reflection.
+ *
+ * @author Martin Albedinsky
+ */
+public final class ClickDispatcherProcessor extends BaseProcessor {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Suffix appended to a name of class to create name of its generated click dispatcher.
+	 */
+	static final String CLICK_DISPATCHER_SUFFIX = "$$ClickDispatcher";
+
+	/**
+	 * Name of the interface implemented by all generated click dispatchers.
+	 */
+	private static final String CLICK_DISPATCHER = "com.wit.android.fragment.util.ClickDispatcher";
+
+	/**
+	 * Name of the @OnViewClick annotation.
+	 */
+	private static final String ON_VIEW_CLICK = "com.wit.android.fragment.annotation.OnViewClick";
+
+	/**
+	 * Name of the Android view class.
+	 */
+	private static final String VIEW = "android.view.View";
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 */
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		return Collections.singleton(ON_VIEW_CLICK);
+	}
+
+	/**
+	 */
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		final Set<TypeElement> classes = new LinkedHashSet<>();
+		for (TypeElement annotation : annotations) {
+			for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+				if (element.getKind() == ElementKind.METHOD) {
+					classes.add((TypeElement) element.getEnclosingElement());
+				}
+			}
+		}
+		for (TypeElement classElement : classes) {
+			final Map<Integer, MethodSpec> methods = createSpec(classElement);
+			if (methods != null) {
+				writeDispatcher(classElement, methods);
+			}
+		}
+		// Do not claim annotations, so they can be processed also by other processors.
+		return false;
+	}
+
+	/**
+	 * Creates a specification of the click dispatcher for the given <var>classElement</var>.
+	 *
+	 * @param classElement An element of the class with annotated methods.
+	 * @return Methods mapped to the ids of views of which clicks they handle, sorted by the ids, or
+	 * <code>null</code> if no dispatcher can be generated for the given class.
+	 */
+	private Map<Integer, MethodSpec> createSpec(TypeElement classElement) {
+		if (!isAccessibleFromPackage(classElement)) {
+			printMessage(Diagnostic.Kind.WARNING, "Class is private, its clicks will be dispatched using reflection.", classElement);
+			return null;
+		}
+		final TypeMirror viewType = mElements.getTypeElement(VIEW).asType();
+		final Map<Integer, MethodSpec> methods = new TreeMap<>();
+		for (Element element : classElement.getEnclosedElements()) {
+			final AnnotationMirror onViewClick = element.getKind() == ElementKind.METHOD ? findAnnotation(element, ON_VIEW_CLICK) : null;
+			if (onViewClick == null) {
+				continue;
+			}
+			final ExecutableElement method = (ExecutableElement) element;
+			final Set<Modifier> modifiers = method.getModifiers();
+			final List<? extends VariableElement> parameters = method.getParameters();
+			if (modifiers.contains(Modifier.STATIC) || parameters.size() > 1 ||
+					(parameters.size() == 1 && !mTypes.isAssignable(viewType, parameters.get(0).asType()))) {
+				printMessage(
+						Diagnostic.Kind.ERROR,
+						"Method annotated with @OnViewClick must be an instance method with no parameters or with a single View parameter.",
+						method
+				);
+				return null;
+			}
+			if (modifiers.contains(Modifier.PRIVATE)) {
+				printMessage(Diagnostic.Kind.WARNING, "Method is private, clicks of its class will be dispatched using reflection.", method);
+				return null;
+			}
+			final MethodSpec spec = new MethodSpec(
+					method.getSimpleName().toString(),
+					parameters.size() == 1,
+					method.getReturnType().getKind() == TypeKind.BOOLEAN
+			);
+			for (Object id : (List<?>) annotationValue(onViewClick, "value")) {
+				if (methods.put((Integer) ((AnnotationValue) id).getValue(), spec) != null) {
+					printMessage(Diagnostic.Kind.ERROR, "View id(" + ((AnnotationValue) id).getValue() + ") is handled by multiple methods.", method);
+					return null;
+				}
+			}
+		}
+		return methods;
+	}
+
+	/**
+	 * Writes source code of the click dispatcher for the given <var>classElement</var>.
+	 *
+	 * @param classElement The element of the class with annotated methods.
+	 * @param methods      Methods mapped to the ids of views of which clicks they handle.
+	 */
+	private void writeDispatcher(TypeElement classElement, Map<Integer, MethodSpec> methods) {
+		final String packageName = packageName(classElement);
+		final String dispatcherName = generatedClassName(classElement, CLICK_DISPATCHER_SUFFIX);
+		final String targetName = mTypes.erasure(classElement.asType()).toString();
+
+		final StringBuilder source = new StringBuilder(1024);
+		source.append(GENERATED_COMMENT);
+		if (!packageName.isEmpty()) {
+			source.append("package ").append(packageName).append(";\n\n");
+		}
+		source.append("@SuppressWarnings(\"rawtypes\")\n");
+		source.append("public final class ").append(dispatcherName).append(" implements ")
+				.append(CLICK_DISPATCHER).append("<").append(targetName).append("> {\n\n");
+		// View ids.
+		source.append("\tprivate static final int[] VIEW_IDS = {");
+		int index = 0;
+		for (Integer id : methods.keySet()) {
+			source.append(index++ > 0 ? ", " : "").append(id);
+		}
+		source.append("};\n\n");
+		source.append("\t@Override\n");
+		source.append("\tpublic int[] getViewIds() {\n");
+		source.append("\t\treturn VIEW_IDS;\n");
+		source.append("\t}\n\n");
+		// Click dispatching.
+		source.append("\t@Override\n");
+		source.append("\tpublic boolean dispatchClick(").append(targetName).append(" target, ")
+				.append(VIEW).append(" view) {\n");
+		source.append("\t\tswitch (view.getId()) {\n");
+		for (Map.Entry<Integer, MethodSpec> entry : methods.entrySet()) {
+			final MethodSpec method = entry.getValue();
+			final String call = "target." + method.name + (method.withView ? "(view)" : "()");
+			source.append("\t\t\tcase ").append(entry.getKey()).append(":\n");
+			if (method.returnsBoolean) {
+				source.append("\t\t\t\treturn ").append(call).append(";\n");
+			} else {
+				source.append("\t\t\t\t").append(call).append(";\n");
+				source.append("\t\t\t\treturn true;\n");
+			}
+		}
+		source.append("\t\t\tdefault:\n");
+		source.append("\t\t\t\treturn false;\n");
+		source.append("\t\t}\n");
+		source.append("\t}\n");
+		source.append("}\n");
+
+		writeSource(packageName, dispatcherName, source, classElement);
+	}
+
+	/**
+	 * Inner classes ===============================================================================
+	 */
+
+	/**
+	 * Specification of a single method to which are clicks dispatched.
+	 */
+	private static final class MethodSpec {
+
+		/**
+		 * Name of the method.
+		 */
+		final String name;
+
+		/**
+		 * Flag indicating whether the method takes the clicked view as parameter.
+		 */
+		final boolean withView;
+
+		/**
+		 * Flag indicating whether the method returns boolean.
+		 */
+		final boolean returnsBoolean;
+
+		/**
+		 * Creates a new instance of MethodSpec with the given parameters.
+		 */
+		MethodSpec(String name, boolean withView, boolean returnsBoolean) {
+			this.name = name;
+			this.withView = withView;
+			this.returnsBoolean = returnsBoolean;
+		}
+	}
+}
@@ -0,0 +1,256 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment.processor;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * <h4>Class Overview</h4>
+ * Annotation processor which generates an implementation of {@code com.wit.android.fragment.manage.FragmentCreator}
+ * for each fragment factory annotated with {@code @FactoryFragments} annotation or with fields
+ * annotated with {@code @FactoryFragment} annotation. Generated
+ * creator is named as the factory class with {@link #FRAGMENT_CREATOR_SUFFIX} suffix, is placed in
+ * the same package and instantiates fragments of the types specified by {@code @FactoryFragment.type()}
+ * by a plain constructor call. The creator also returns ids of all fragments provided by the factory,
+ * so the factory does not need to be instantiated to resolve them.
+ * <p/>
+ * <b>Note</b>, that a creator can be generated only if all annotated fields of the factory are
+ * constants and all specified fragment types are public, not abstract and have public empty constructor.
+ * Otherwise no creator is generated and fragments of such a factory will be instantiated using
+ * reflection.
+ *
+ * @author Martin Albedinsky
+ */
+public final class FragmentCreatorProcessor extends BaseProcessor {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Suffix appended to a name of factory class to create name of its generated fragment creator.
+	 */
+	static final String FRAGMENT_CREATOR_SUFFIX = "$$FragmentCreator";
+
+	/**
+	 * Name of the interface implemented by all generated fragment creators.
+	 */
+	private static final String FRAGMENT_CREATOR = "com.wit.android.fragment.manage.FragmentCreator";
+
+	/**
+	 * Name of the @FactoryFragments annotation.
+	 */
+	private static final String FACTORY_FRAGMENTS = "com.wit.android.fragment.annotation.FactoryFragments";
+
+	/**
+	 * Name of the @FactoryFragment annotation.
+	 */
+	private static final String FACTORY_FRAGMENT = "com.wit.android.fragment.annotation.FactoryFragment";
+
+	/**
+	 * Name of the Android fragment class.
+	 */
+	private static final String FRAGMENT = "android.app.Fragment";
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 */
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		final Set<String> types = new HashSet<>(2);
+		types.add(FACTORY_FRAGMENTS);
+		types.add(FACTORY_FRAGMENT);
+		return types;
+	}
+
+	/**
+	 */
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		final Set<TypeElement> factories = new LinkedHashSet<>();
+		for (TypeElement annotation : annotations) {
+			for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+				if (element.getKind() == ElementKind.CLASS) {
+					factories.add((TypeElement) element);
+				} else if (element.getKind() == ElementKind.FIELD) {
+					factories.add((TypeElement) element.getEnclosingElement());
+				}
+			}
+		}
+		for (TypeElement classElement : factories) {
+			final List<Integer> ids = new ArrayList<>();
+			final Map<Integer, String> types = resolveFragmentTypes(classElement, ids);
+			if (types != null) {
+				writeCreator(classElement, ids, types);
+			}
+		}
+		// Do not claim annotations, so they can be processed also by other processors.
+		return false;
+	}
+
+	/**
+	 * Resolves ids of all fragments provided by the given factory <var>classElement</var> and types
+	 * of fragments to be created for ids specified by its fields annotated with @FactoryFragment
+	 * annotation.
+	 *
+	 * @param classElement An element of the factory class.
+	 * @param ids          List to which to add all provided fragment ids.
+	 * @return Canonical names of fragment types mapped to fragment ids or <code>null</code> if no
+	 * creator can be generated for the given factory.
+	 */
+	private Map<Integer, String> resolveFragmentTypes(TypeElement classElement, List<Integer> ids) {
+		final AnnotationMirror factoryFragments = findAnnotation(classElement, FACTORY_FRAGMENTS);
+		if (factoryFragments != null) {
+			for (Object id : (List<?>) annotationValue(factoryFragments, "value")) {
+				ids.add((Integer) ((AnnotationValue) id).getValue());
+			}
+		}
+		final TypeMirror fragmentType = mElements.getTypeElement(FRAGMENT).asType();
+		final Map<Integer, String> types = new LinkedHashMap<>();
+		for (VariableElement field : ElementFilter.fieldsIn(classElement.getEnclosedElements())) {
+			if (findAnnotation(field, FACTORY_FRAGMENT) == null) {
+				continue;
+			}
+			final Object id = field.getConstantValue();
+			if (!(id instanceof Integer)) {
+				printMessage(
+						Diagnostic.Kind.WARNING,
+						"Fragment id is not an int constant, fragments of its factory will be instantiated using reflection.",
+						field
+				);
+				return null;
+			}
+			ids.add((Integer) id);
+			final TypeMirror type = (TypeMirror) annotationValue(findAnnotation(field, FACTORY_FRAGMENT), "type");
+			if (type == null || mTypes.isSameType(type, fragmentType)) {
+				// No type specified, so there is nothing to create for this id.
+				continue;
+			}
+			if (!isInstantiable(((DeclaredType) type).asElement())) {
+				printMessage(
+						Diagnostic.Kind.WARNING,
+						"Fragment type is not public or does not have public empty constructor, fragments of its factory will be instantiated using reflection.",
+						field
+				);
+				return null;
+			}
+			if (types.put((Integer) id, mTypes.erasure(type).toString()) != null) {
+				printMessage(
+						Diagnostic.Kind.WARNING,
+						"Duplicate fragment id(" + id + "), fragments of its factory will be instantiated using reflection.",
+						field
+				);
+				return null;
+			}
+		}
+		return types;
+	}
+
+	/**
+	 * Checks whether the given <var>typeElement</var> can be instantiated from any package by its
+	 * public empty constructor.
+	 */
+	private static boolean isInstantiable(Element typeElement) {
+		if (typeElement.getModifiers().contains(Modifier.ABSTRACT)) {
+			return false;
+		}
+		for (Element element = typeElement; element instanceof TypeElement; element = element.getEnclosingElement()) {
+			final Set<Modifier> modifiers = element.getModifiers();
+			if (!modifiers.contains(Modifier.PUBLIC)) {
+				return false;
+			}
+			// Inner (not static nested) classes can not be instantiated without outer instance.
+			if (element.getEnclosingElement() instanceof TypeElement && !modifiers.contains(Modifier.STATIC)) {
+				return false;
+			}
+		}
+		for (ExecutableElement constructor : ElementFilter.constructorsIn(typeElement.getEnclosedElements())) {
+			if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Writes source code of the fragment creator for the given factory <var>classElement</var>.
+	 *
+	 * @param classElement An element of the factory class.
+	 * @param ids          Ids of all fragments provided by the factory.
+	 * @param types        Canonical names of fragment types mapped to fragment ids.
+	 */
+	private void writeCreator(TypeElement classElement, List<Integer> ids, Map<Integer, String> types) {
+		final String packageName = packageName(classElement);
+		final String creatorName = generatedClassName(classElement, FRAGMENT_CREATOR_SUFFIX);
+
+		final StringBuilder source = new StringBuilder(512);
+		source.append(GENERATED_COMMENT);
+		if (!packageName.isEmpty()) {
+			source.append("package ").append(packageName).append(";\n\n");
+		}
+		source.append("@SuppressWarnings(\"rawtypes\")\n");
+		source.append("public final class ").append(creatorName).append(" implements ").append(FRAGMENT_CREATOR).append(" {\n\n");
+		source.append("\tprivate static final int[] FRAGMENT_IDS = {");
+		for (int i = 0; i < ids.size(); i++) {
+			source.append(i > 0 ? ", " : "").append(ids.get(i));
+		}
+		source.append("};\n\n");
+		source.append("\t@Override\n");
+		source.append("\tpublic ").append(FRAGMENT).append(" createFragment(int fragmentId) {\n");
+		if (!types.isEmpty()) {
+			source.append("\t\tswitch (fragmentId) {\n");
+			for (Map.Entry<Integer, String> entry : types.entrySet()) {
+				source.append("\t\t\tcase ").append(entry.getKey()).append(":\n");
+				source.append("\t\t\t\treturn new ").append(entry.getValue()).append("();\n");
+			}
+			source.append("\t\t}\n");
+		}
+		source.append("\t\treturn null;\n");
+		source.append("\t}\n\n");
+		source.append("\t@Override\n");
+		source.append("\tpublic int[] getFragmentIds() {\n");
+		source.append("\t\treturn FRAGMENT_IDS;\n");
+		source.append("\t}\n");
+		source.append("}\n");
+		writeSource(packageName, creatorName, source, classElement);
+	}
+}
@@ -0,0 +1,389 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment.processor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+
+/**
+ * <h4>Class Overview</h4>
+ * Annotation processor which generates an implementation of {@code com.wit.android.fragment.util.ViewInjector}
+ * for each class annotated with {@code @InjectViews} or {@code @ClickableViews} annotation. Generated
+ * injector is named as the annotated class with {@link #VIEW_INJECTOR_SUFFIX} suffix, is placed
+ * in the same package and handles only fields and ids declared directly by the annotated class.
+ * <p/>
+ * Fields to inject are processed in the <b>alphabetical</b> order and processing ends at a field
+ * marked with {@code @InjectView.Last} annotation, same as when views are injected using reflection.
+ * <p/>
+ * The injector also describes all its view ids by a table, so the views can be bound by a single
+ * traversal of the view hierarchy, and binds each found view by a switch over its id.
+ * <p/>
+ * <b>Note</b>, that an injector can access only fields which are not <b>private</b> nor <b>static</b>.
+ * If there is such a field within the annotated class, no injector is generated for that class and
+ * its views will be injected using reflection.
+ *
+ * @author Martin Albedinsky
+ */
+public final class ViewInjectorProcessor extends BaseProcessor {
+
+	/**
+	 * Constants ===================================================================================
+	 */
+
+	/**
+	 * Suffix appended to a name of class to create name of its generated view injector.
+	 */
+	static final String VIEW_INJECTOR_SUFFIX = "$$ViewInjector";
+
+	/**
+	 * Name of the interface implemented by all generated view injectors.
+	 */
+	private static final String VIEW_INJECTOR = "com.wit.android.fragment.util.ViewInjector";
+
+	/**
+	 * Name of the @InjectViews annotation.
+	 */
+	private static final String INJECT_VIEWS = "com.wit.android.fragment.annotation.InjectViews";
+
+	/**
+	 * Name of the @ClickableViews annotation.
+	 */
+	private static final String CLICKABLE_VIEWS = "com.wit.android.fragment.annotation.ClickableViews";
+
+	/**
+	 * Name of the @InjectView annotation.
+	 */
+	private static final String INJECT_VIEW = "com.wit.android.fragment.annotation.InjectView";
+
+	/**
+	 * Name of the @InjectView.Last annotation.
+	 */
+	private static final String INJECT_VIEW_LAST = "com.wit.android.fragment.annotation.InjectView.Last";
+
+	/**
+	 * Name of the Android view class.
+	 */
+	private static final String VIEW = "android.view.View";
+
+	/**
+	 * Methods =====================================================================================
+	 */
+
+	/**
+	 */
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		final Set<String> types = new HashSet<>(2);
+		types.add(INJECT_VIEWS);
+		types.add(CLICKABLE_VIEWS);
+		return types;
+	}
+
+	/**
+	 */
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		final Set<TypeElement> classes = new LinkedHashSet<>();
+		for (TypeElement annotation : annotations) {
+			for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+				if (element.getKind() == ElementKind.CLASS) {
+					classes.add((TypeElement) element);
+				}
+			}
+		}
+		for (TypeElement classElement : classes) {
+			final InjectorSpec spec = createSpec(classElement);
+			if (spec != null) {
+				writeInjector(spec);
+			}
+		}
+		// Do not claim annotations, so they can be processed also by other processors.
+		return false;
+	}
+
+	/**
+	 * Creates a specification of the view injector for the given <var>classElement</var>.
+	 *
+	 * @param classElement An element of the annotated class.
+	 * @return Injector specification or <code>null</code> if no injector can be generated for the
+	 * given class, so its views need to be injected using reflection.
+	 */
+	private InjectorSpec createSpec(TypeElement classElement) {
+		// Check whether the annotated class can be accessed from its package.
+		if (!isAccessibleFromPackage(classElement)) {
+			printMessage(Diagnostic.Kind.WARNING, "Class is private, its views will be injected using reflection.", classElement);
+			return null;
+		}
+		final InjectorSpec spec = new InjectorSpec(classElement);
+		// Gather clickable view ids.
+		final AnnotationMirror clickableViews = findAnnotation(classElement, CLICKABLE_VIEWS);
+		if (clickableViews != null) {
+			for (Object id : (List<?>) annotationValue(clickableViews, "value")) {
+				spec.clickableViewIds.add((Integer) ((AnnotationValue) id).getValue());
+			}
+		}
+		// Gather fields to inject.
+		if (findAnnotation(classElement, INJECT_VIEWS) != null) {
+			final List<VariableElement> fields = new ArrayList<>();
+			for (Element element : classElement.getEnclosedElements()) {
+				if (element.getKind() == ElementKind.FIELD) {
+					fields.add((VariableElement) element);
+				}
+			}
+			// Fields are iterated in the alphabetical order when injecting views using reflection.
+			Collections.sort(fields, new Comparator<VariableElement>() {
+
+				/**
+				 */
+				@Override
+				public int compare(VariableElement first, VariableElement second) {
+					return first.getSimpleName().toString().compareTo(second.getSimpleName().toString());
+				}
+			});
+			final TypeMirror viewType = mElements.getTypeElement(VIEW).asType();
+			for (VariableElement field : fields) {
+				AnnotationMirror injectView = findAnnotation(field, INJECT_VIEW);
+				final boolean last = injectView == null && (injectView = findAnnotation(field, INJECT_VIEW_LAST)) != null;
+				if (injectView == null) {
+					continue;
+				}
+				final Set<Modifier> modifiers = field.getModifiers();
+				if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC)) {
+					printMessage(
+							Diagnostic.Kind.WARNING,
+							"Field to inject is private or static, views of its class will be injected using reflection.",
+							field
+					);
+					return null;
+				}
+				if (!mTypes.isAssignable(field.asType(), viewType)) {
+					printMessage(Diagnostic.Kind.ERROR, "Field to inject is not instance of view.", field);
+					return null;
+				}
+				spec.fields.add(new FieldSpec(
+						field.getSimpleName().toString(),
+						mTypes.erasure(field.asType()).toString(),
+						(Integer) annotationValue(injectView, "value"),
+						(Boolean) annotationValue(injectView, "clickable")
+				));
+				if (last) {
+					break;
+				}
+			}
+		}
+		return spec;
+	}
+
+	/**
+	 * Writes source code of the view injector described by the given <var>spec</var>.
+	 *
+	 * @param spec Specification of the injector to write.
+	 */
+	private void writeInjector(InjectorSpec spec) {
+		final String packageName = packageName(spec.classElement);
+		final String injectorName = generatedClassName(spec.classElement, VIEW_INJECTOR_SUFFIX);
+		final String targetName = mTypes.erasure(spec.classElement.asType()).toString();
+
+		final StringBuilder source = new StringBuilder(1024);
+		source.append(GENERATED_COMMENT);
+		if (!packageName.isEmpty()) {
+			source.append("package ").append(packageName).append(";\n\n");
+		}
+		source.append("@SuppressWarnings(\"rawtypes\")\n");
+		source.append("public final class ").append(injectorName).append(" implements ")
+				.append(VIEW_INJECTOR).append("<").append(targetName).append("> {\n\n");
+		// Clickable view ids and unique ids of all bound views.
+		final Map<Integer, List<FieldSpec>> fieldsById = new LinkedHashMap<>();
+		for (FieldSpec field : spec.fields) {
+			List<FieldSpec> fields = fieldsById.get(field.viewId);
+			if (fields == null) {
+				fieldsById.put(field.viewId, fields = new ArrayList<>(1));
+			}
+			fields.add(field);
+		}
+		final Set<Integer> viewIds = new LinkedHashSet<>(spec.clickableViewIds);
+		viewIds.addAll(fieldsById.keySet());
+		source.append("\tprivate static final int[] CLICKABLE_VIEW_IDS = {");
+		appendIds(source, spec.clickableViewIds);
+		source.append("};\n\n");
+		source.append("\tprivate static final int[] VIEW_IDS = {");
+		appendIds(source, viewIds);
+		source.append("};\n\n");
+		// Views injection.
+		source.append("\t@Override\n");
+		source.append("\tpublic void injectViews(").append(targetName).append(" target, ")
+				.append(VIEW).append(" root, ").append(VIEW).append(".OnClickListener onClickListener) {\n");
+		if (!spec.fields.isEmpty()) {
+			source.append("\t\t").append(VIEW).append(" view;\n");
+			for (FieldSpec field : spec.fields) {
+				source.append("\t\tif ((view = root.findViewById(").append(field.viewId).append(")) != null) {\n");
+				source.append("\t\t\ttarget.").append(field.name).append(" = (").append(field.type).append(") view;\n");
+				if (field.clickable) {
+					source.append("\t\t\tview.setOnClickListener(onClickListener);\n");
+				}
+				source.append("\t\t}\n");
+			}
+		}
+		source.append("\t}\n\n");
+		// Clickable views.
+		source.append("\t@Override\n");
+		source.append("\tpublic void attachClickableViews(").append(VIEW).append(" root, ")
+				.append(VIEW).append(".OnClickListener onClickListener) {\n");
+		if (!spec.clickableViewIds.isEmpty()) {
+			source.append("\t\tfor (int id : CLICKABLE_VIEW_IDS) {\n");
+			source.append("\t\t\tfinal ").append(VIEW).append(" view = root.findViewById(id);\n");
+			source.append("\t\t\tif (view == null) {\n");
+			source.append("\t\t\t\tthrow new NullPointerException(\"Clickable view with id(\" + id + \") not found.\");\n");
+			source.append("\t\t\t}\n");
+			source.append("\t\t\tview.setOnClickListener(onClickListener);\n");
+			source.append("\t\t}\n");
+		}
+		source.append("\t}\n\n");
+		// Ids table.
+		source.append("\t@Override\n");
+		source.append("\tpublic int[] getViewIds() {\n");
+		source.append("\t\treturn VIEW_IDS;\n");
+		source.append("\t}\n\n");
+		source.append("\t@Override\n");
+		source.append("\tpublic int[] getClickableViewIds() {\n");
+		source.append("\t\treturn CLICKABLE_VIEW_IDS;\n");
+		source.append("\t}\n\n");
+		// Binding of a single view.
+		source.append("\t@Override\n");
+		source.append("\tpublic void bindView(").append(targetName).append(" target, ")
+				.append(VIEW).append(" view, ").append(VIEW).append(".OnClickListener onClickListener) {\n");
+		if (!fieldsById.isEmpty()) {
+			source.append("\t\tswitch (view.getId()) {\n");
+			for (Map.Entry<Integer, List<FieldSpec>> entry : fieldsById.entrySet()) {
+				source.append("\t\t\tcase ").append(entry.getKey()).append(":\n");
+				boolean clickable = false;
+				for (FieldSpec field : entry.getValue()) {
+					source.append("\t\t\t\ttarget.").append(field.name).append(" = (").append(field.type).append(") view;\n");
+					clickable |= field.clickable;
+				}
+				if (clickable) {
+					source.append("\t\t\t\tview.setOnClickListener(onClickListener);\n");
+				}
+				source.append("\t\t\t\tbreak;\n");
+			}
+			source.append("\t\t}\n");
+		}
+		source.append("\t}\n");
+		source.append("}\n");
+
+		writeSource(packageName, injectorName, source, spec.classElement);
+	}
+
+	/**
+	 * Appends the given <var>ids</var> separated by comma to the given <var>source</var>.
+	 */
+	private static void appendIds(StringBuilder source, Iterable<Integer> ids) {
+		boolean first = true;
+		for (Integer id : ids) {
+			source.append(first ? "" : ", ").append(id);
+			first = false;
+		}
+	}
+
+	/**
+	 * Inner classes ===============================================================================
+	 */
+
+	/**
+	 * Specification of the view injector to generate for a specific annotated class.
+	 */
+	private static final class InjectorSpec {
+
+		/**
+		 * Element of the annotated class.
+		 */
+		final TypeElement classElement;
+
+		/**
+		 * Ids presented within @ClickableViews annotation of the annotated class.
+		 */
+		final List<Integer> clickableViewIds = new ArrayList<>();
+
+		/**
+		 * Fields to be injected into the annotated class.
+		 */
+		final List<FieldSpec> fields = new ArrayList<>();
+
+		/**
+		 * Creates a new instance of InjectorSpec for the given <var>classElement</var>.
+		 */
+		InjectorSpec(TypeElement classElement) {
+			this.classElement = classElement;
+		}
+	}
+
+	/**
+	 * Specification of a single field to inject.
+	 */
+	private static final class FieldSpec {
+
+		/**
+		 * Name of the field.
+		 */
+		final String name;
+
+		/**
+		 * Erased type of the field.
+		 */
+		final String type;
+
+		/**
+		 * Id of the view to inject.
+		 */
+		final int viewId;
+
+		/**
+		 * Flag indicating whether the injected view is clickable or not.
+		 */
+		final boolean clickable;
+
+		/**
+		 * Creates a new instance of FieldSpec with the given parameters.
+		 */
+		FieldSpec(String name, String type, int viewId, boolean clickable) {
+			this.name = name;
+			this.type = type;
+			this.viewId = viewId;
+			this.clickable = clickable;
+		}
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment.processor;
+
+import org.junit.Test;
+
+import javax.tools.Diagnostic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Golden source tests of {@link ClickDispatcherProcessor}.
+ *
+ * @author Martin Albedinsky
+ */
+public final class ClickDispatcherProcessorTest {
+
+	/**
+	 */
+	@Test
+	public void testGeneratedDispatcher() throws Exception {
+		final Compilation compilation = new Compilation(
+				new ClickDispatcherProcessor(),
+				"package test;\n" +
+						"import android.view.View;\n" +
+						"import com.wit.android.fragment.annotation.OnViewClick;\n" +
+						"public class SampleClicks {\n" +
+						"\t@OnViewClick(3) boolean onConsumableClick(View view) { return false; }\n" +
+						"\t@OnViewClick({2, 1}) void onClick() {}\n" +
+						"\t@OnViewClick(4) Boolean onBoxedClick() { return null; }\n" +
+						"}\n"
+		);
+		assertTrue(compilation.diagnostics.toString(), compilation.succeeded);
+		assertEquals(Compilation.golden("SampleClicks$$ClickDispatcher"), compilation.generatedSources.get("test.SampleClicks$$ClickDispatcher"));
+	}
+
+	/**
+	 */
+	@Test
+	public void testPrivateMethodFallsBackToReflection() {
+		final Compilation compilation = new Compilation(
+				new ClickDispatcherProcessor(),
+				"package test;\n" +
+						"import com.wit.android.fragment.annotation.OnViewClick;\n" +
+						"public class PrivateClicks {\n" +
+						"\t@OnViewClick(1) void onClick() {}\n" +
+						"\t@OnViewClick(2) private void onPrivateClick() {}\n" +
+						"}\n"
+		);
+		assertTrue(compilation.diagnostics.toString(), compilation.succeeded);
+		assertTrue(compilation.generatedSources.isEmpty());
+		assertEquals(1, compilation.messages(Diagnostic.Kind.WARNING).size());
+		assertTrue(compilation.messages(Diagnostic.Kind.WARNING).get(0).contains("reflection"));
+	}
+
+	/**
+	 */
+	@Test
+	public void testDuplicateIdIsError() {
+		final Compilation compilation = new Compilation(
+				new ClickDispatcherProcessor(),
+				"package test;\n" +
+						"import com.wit.android.fragment.annotation.OnViewClick;\n" +
+						"public class DuplicateClicks {\n" +
+						"\t@OnViewClick({1, 2}) void onClick() {}\n" +
+						"\t@OnViewClick(2) void onOtherClick() {}\n" +
+						"}\n"
+		);
+		assertFalse(compilation.succeeded);
+		assertTrue(compilation.generatedSources.isEmpty());
+		assertEquals(1, compilation.messages(Diagnostic.Kind.ERROR).size());
+	}
+
+	/**
+	 */
+	@Test
+	public void testInvalidParametersIsError() {
+		final Compilation compilation = new Compilation(
+				new ClickDispatcherProcessor(),
+				"package test;\n" +
+						"import com.wit.android.fragment.annotation.OnViewClick;\n" +
+						"public class InvalidClicks {\n" +
+						"\t@OnViewClick(1) void onClick(int id) {}\n" +
+						"}\n"
+		);
+		assertFalse(compilation.succeeded);
+		assertTrue(compilation.generatedSources.isEmpty());
+		assertEquals(1, compilation.messages(Diagnostic.Kind.ERROR).size());
+	}
+}
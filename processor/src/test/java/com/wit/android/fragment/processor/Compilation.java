@@ -0,0 +1,282 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment.processor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.processing.Processor;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+/**
+ * In-memory compilation of test sources with a single annotation processor. Sources are compiled
+ * together with minimal stubs of the Android and library classes to which the processors refer by
+ * their names, so the generated sources are also compiled and checked.
+ *
+ * @author Martin Albedinsky
+ */
+final class Compilation {
+
+	/**
+	 * Charset of the generated and golden sources.
+	 */
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	/**
+	 * Stubs of the Android and library classes used by the processed and generated sources.
+	 */
+	private static final String[] STUBS = {
+			"package android.view;\n" +
+					"public class View {\n" +
+					"\tpublic interface OnClickListener { void onClick(View view); }\n" +
+					"\tpublic int getId() { return 0; }\n" +
+					"\tpublic View findViewById(int id) { return null; }\n" +
+					"\tpublic void setOnClickListener(OnClickListener listener) {}\n" +
+					"}\n",
+			"package android.widget;\n" +
+					"public class TextView extends android.view.View {}\n",
+			"package android.app;\n" +
+					"public class Fragment {}\n",
+			"package com.wit.android.fragment.annotation;\n" +
+					"public @interface InjectViews {}\n",
+			"package com.wit.android.fragment.annotation;\n" +
+					"public @interface ClickableViews { int[] value(); }\n",
+			"package com.wit.android.fragment.annotation;\n" +
+					"public @interface InjectView {\n" +
+					"\tint value();\n" +
+					"\tboolean clickable() default false;\n" +
+					"\tpublic static @interface Last {\n" +
+					"\t\tint value();\n" +
+					"\t\tboolean clickable() default false;\n" +
+					"\t}\n" +
+					"}\n",
+			"package com.wit.android.fragment.annotation;\n" +
+					"public @interface FactoryFragments { int[] value(); }\n",
+			"package com.wit.android.fragment.annotation;\n" +
+					"public @interface FactoryFragment {\n" +
+					"\tClass<? extends android.app.Fragment> type() default android.app.Fragment.class;\n" +
+					"\tString taggedName() default \"\";\n" +
+					"}\n",
+			"package com.wit.android.fragment.annotation;\n" +
+					"public @interface OnViewClick { int[] value(); }\n",
+			"package com.wit.android.fragment.util;\n" +
+					"public interface ViewInjector<T> {\n" +
+					"\tvoid injectViews(T target, android.view.View root, android.view.View.OnClickListener onClickListener);\n" +
+					"\tvoid attachClickableViews(android.view.View root, android.view.View.OnClickListener onClickListener);\n" +
+					"\tint[] getViewIds();\n" +
+					"\tint[] getClickableViewIds();\n" +
+					"\tvoid bindView(T target, android.view.View view, android.view.View.OnClickListener onClickListener);\n" +
+					"}\n",
+			"package com.wit.android.fragment.util;\n" +
+					"public interface ClickDispatcher<T> {\n" +
+					"\tint[] getViewIds();\n" +
+					"\tboolean dispatchClick(T target, android.view.View view);\n" +
+					"}\n",
+			"package com.wit.android.fragment.manage;\n" +
+					"public interface FragmentCreator {\n" +
+					"\tandroid.app.Fragment createFragment(int fragmentId);\n" +
+					"\tint[] getFragmentIds();\n" +
+					"}\n"
+	};
+
+	/**
+	 * Generated sources mapped to names of their classes.
+	 */
+	final Map<String, String> generatedSources = new LinkedHashMap<>();
+
+	/**
+	 * Outputs of the generated sources mapped to names of their classes.
+	 */
+	private final Map<String, ByteArrayOutputStream> mSourceOutputs = new LinkedHashMap<>();
+
+	/**
+	 * Diagnostics reported during compilation.
+	 */
+	final List<Diagnostic<? extends JavaFileObject>> diagnostics = new ArrayList<>();
+
+	/**
+	 * Flag indicating whether the compilation, including the generated sources, succeeded.
+	 */
+	final boolean succeeded;
+
+	/**
+	 * Compiles the given sources with the given processor.
+	 *
+	 * @param processor The processor to run.
+	 * @param sources   Sources to compile, each with a single top level class.
+	 */
+	Compilation(Processor processor, String... sources) {
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		final DiagnosticCollector<JavaFileObject> collector = new DiagnosticCollector<>();
+		final StandardJavaFileManager standardManager = compiler.getStandardFileManager(collector, null, null);
+		final List<JavaFileObject> units = new ArrayList<>();
+		for (String source : STUBS) {
+			units.add(new SourceFile(source));
+		}
+		for (String source : sources) {
+			units.add(new SourceFile(source));
+		}
+		final JavaCompiler.CompilationTask task = compiler.getTask(
+				null,
+				new MemoryFileManager(standardManager),
+				collector,
+				Collections.<String>emptyList(),
+				null,
+				units
+		);
+		task.setProcessors(Collections.singleton(processor));
+		this.succeeded = task.call();
+		diagnostics.addAll(collector.getDiagnostics());
+		for (Map.Entry<String, ByteArrayOutputStream> entry : mSourceOutputs.entrySet()) {
+			generatedSources.put(entry.getKey(), new String(entry.getValue().toByteArray(), UTF_8));
+		}
+	}
+
+	/**
+	 * Returns messages of all diagnostics of the given kind.
+	 */
+	List<String> messages(Diagnostic.Kind kind) {
+		final List<String> messages = new ArrayList<>();
+		for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics) {
+			if (diagnostic.getKind() == kind) {
+				messages.add(diagnostic.getMessage(null));
+			}
+		}
+		return messages;
+	}
+
+	/**
+	 * Reads golden source with the given name from the test resources.
+	 */
+	static String golden(String name) throws IOException {
+		final InputStream stream = Compilation.class.getResourceAsStream("golden/" + name + ".java.txt");
+		if (stream == null) {
+			throw new IOException("No golden source(" + name + ").");
+		}
+		try {
+			final ByteArrayOutputStream output = new ByteArrayOutputStream();
+			final byte[] buffer = new byte[4096];
+			int count;
+			while ((count = stream.read(buffer)) > 0) {
+				output.write(buffer, 0, count);
+			}
+			return new String(output.toByteArray(), UTF_8);
+		} finally {
+			stream.close();
+		}
+	}
+
+	/**
+	 * Source file with content held in memory.
+	 */
+	private static final class SourceFile extends SimpleJavaFileObject {
+
+		/**
+		 * Content of this file.
+		 */
+		private final String content;
+
+		/**
+		 * Creates a new instance of SourceFile with the given content, named by its package and
+		 * the first declared type.
+		 */
+		SourceFile(String content) {
+			super(URI.create("memory:///" + className(content).replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+			this.content = content;
+		}
+
+		/**
+		 * Resolves name of the first type declared within the given source.
+		 */
+		private static String className(String content) {
+			final String packageName = content.startsWith("package ") ? content.substring(8, content.indexOf(';')) : "";
+			final String[] tokens = content.substring(content.indexOf('\n') + 1).split("[\\s{<]+");
+			for (int i = 0; i < tokens.length - 1; i++) {
+				if (tokens[i].equals("class") || tokens[i].equals("interface") || tokens[i].equals("@interface")) {
+					return packageName.isEmpty() ? tokens[i + 1] : packageName + "." + tokens[i + 1];
+				}
+			}
+			throw new IllegalArgumentException("No type declared in source:\n" + content);
+		}
+
+		/**
+		 */
+		@Override
+		public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+			return content;
+		}
+	}
+
+	/**
+	 * File manager keeping all output files in memory and recording the generated sources.
+	 */
+	private final class MemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+		/**
+		 * Creates a new instance of MemoryFileManager delegating to the given manager.
+		 */
+		MemoryFileManager(StandardJavaFileManager manager) {
+			super(manager);
+		}
+
+		/**
+		 */
+		@Override
+		public JavaFileObject getJavaFileForOutput(JavaFileManager.Location location, String className, JavaFileObject.Kind kind, FileObject sibling) {
+			final ByteArrayOutputStream output = new ByteArrayOutputStream();
+			if (kind == JavaFileObject.Kind.SOURCE) {
+				mSourceOutputs.put(className, output);
+			}
+			return new SimpleJavaFileObject(URI.create("memory:///" + className.replace('.', '/') + kind.extension), kind) {
+
+				/**
+				 */
+				@Override
+				public OutputStream openOutputStream() {
+					return output;
+				}
+
+				/**
+				 */
+				@Override
+				public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+					return new String(output.toByteArray(), UTF_8);
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment.processor;
+
+import org.junit.Test;
+
+import javax.tools.Diagnostic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Golden source tests of {@link FragmentCreatorProcessor}.
+ *
+ * @author Martin Albedinsky
+ */
+public final class FragmentCreatorProcessorTest {
+
+	/**
+	 * Source of a fragment which can be instantiated by a generated creator.
+	 */
+	private static final String SAMPLE_FRAGMENT = "package test;\n" +
+			"public class SampleFragment extends android.app.Fragment {\n" +
+			"\tpublic static class Nested extends android.app.Fragment {}\n" +
+			"}\n";
+
+	/**
+	 */
+	@Test
+	public void testGeneratedCreator() throws Exception {
+		final Compilation compilation = new Compilation(
+				new FragmentCreatorProcessor(),
+				SAMPLE_FRAGMENT,
+				"package test;\n" +
+						"import com.wit.android.fragment.annotation.FactoryFragment;\n" +
+						"import com.wit.android.fragment.annotation.FactoryFragments;\n" +
+						"@FactoryFragments({1, 2})\n" +
+						"public class SampleFactory {\n" +
+						"\t@FactoryFragment(type = SampleFragment.class) static final int FRAGMENT_SAMPLE = 3;\n" +
+						"\t@FactoryFragment(type = SampleFragment.Nested.class) static final int FRAGMENT_NESTED = 4;\n" +
+						"\t@FactoryFragment static final int FRAGMENT_UNTYPED = 5;\n" +
+						"}\n"
+		);
+		assertTrue(compilation.diagnostics.toString(), compilation.succeeded);
+		assertEquals(Compilation.golden("SampleFactory$$FragmentCreator"), compilation.generatedSources.get("test.SampleFactory$$FragmentCreator"));
+	}
+
+	/**
+	 */
+	@Test
+	public void testNotInstantiableFragmentFallsBackToReflection() {
+		final Compilation compilation = new Compilation(
+				new FragmentCreatorProcessor(),
+				"package test;\n" +
+						"class HiddenFragment extends android.app.Fragment {}\n",
+				"package test;\n" +
+						"import com.wit.android.fragment.annotation.FactoryFragment;\n" +
+						"public class HiddenFactory {\n" +
+						"\t@FactoryFragment(type = HiddenFragment.class) static final int FRAGMENT_HIDDEN = 1;\n" +
+						"}\n"
+		);
+		assertTrue(compilation.diagnostics.toString(), compilation.succeeded);
+		assertTrue(compilation.generatedSources.isEmpty());
+		assertEquals(1, compilation.messages(Diagnostic.Kind.WARNING).size());
+	}
+
+	/**
+	 */
+	@Test
+	public void testNotConstantIdFallsBackToReflection() {
+		final Compilation compilation = new Compilation(
+				new FragmentCreatorProcessor(),
+				SAMPLE_FRAGMENT,
+				"package test;\n" +
+						"import com.wit.android.fragment.annotation.FactoryFragment;\n" +
+						"public class DynamicFactory {\n" +
+						"\t@FactoryFragment(type = SampleFragment.class) static int sFragmentSample = 1;\n" +
+						"}\n"
+		);
+		assertTrue(compilation.diagnostics.toString(), compilation.succeeded);
+		assertFalse(compilation.generatedSources.containsKey("test.DynamicFactory$$FragmentCreator"));
+		assertEquals(1, compilation.messages(Diagnostic.Kind.WARNING).size());
+	}
+}
@@ -0,0 +1,155 @@
+/*
+ * =================================================================================================
+ *                   Copyright (C) 2014 Martin Albedinsky [Wolf-ITechnologies]
+ * =================================================================================================
+ *         Licensed under the Apache License, Version 2.0 or later (further "License" only).
+ * -------------------------------------------------------------------------------------------------
+ * You may use this file only in compliance with the License. More details and copy of this License
+ * you may obtain at
+ *
+ * 		http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * You can redistribute, modify or publish any part of the code written within this file but as it
+ * is described in the License, the software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES or CONDITIONS OF ANY KIND.
+ *
+ * See the License for the specific language governing permissions and limitations under the License.
+ * =================================================================================================
+ */
+package com.wit.android.fragment.processor;
+
+import org.junit.Test;
+
+import javax.tools.Diagnostic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Golden source tests of {@link ViewInjectorProcessor}.
+ *
+ * @author Martin Albedinsky
+ */
+public final class ViewInjectorProcessorTest {
+
+	/**
+	 */
+	@Test
+	public void testGeneratedInjector() throws Exception {
+		final Compilation compilation = new Compilation(
+				new ViewInjectorProcessor(),
+				"package test;\n" +
+						"import android.view.View;\n" +
+						"import android.widget.TextView;\n" +
+						"import com.wit.android.fragment.annotation.ClickableViews;\n" +
+						"import com.wit.android.fragment.annotation.InjectView;\n" +
+						"import com.wit.android.fragment.annotation.InjectViews;\n" +
+						"@InjectViews\n" +
+						"@ClickableViews({1, 2})\n" +
+						"public class SampleFragment {\n" +
+						"\t@InjectView(13) View zOmitted;\n" +
+						"\t@InjectView(value = 10, clickable = true) View button;\n" +
+						"\t@InjectView.Last(12) View footer;\n" +
+						"\t@InjectView(11) TextView content;\n" +
+						"\tView notInjected;\n" +
+						"\t@InjectViews\n" +
+						"\tpublic static class Nested {\n" +
+						"\t\t@InjectView(20) View view;\n" +
+						"\t}\n" +
+						"}\n"
+		);
+		assertTrue(compilation.diagnostics.toString(), compilation.succeeded);
+		assertEquals(Compilation.golden("SampleFragment$$ViewInjector"), compilation.generatedSources.get("test.SampleFragment$$ViewInjector"));
+		assertEquals(Compilation.golden("SampleFragment$Nested$$ViewInjector"), compilation.generatedSources.get("test.SampleFragment$Nested$$ViewInjector"));
+	}
+
+	/**
+	 */
+	@Test
+	public void testFieldsWithSameIdAreBoundByOneCase() {
+		final Compilation compilation = new Compilation(
+				new ViewInjectorProcessor(),
+				"package test;\n" +
+						"import android.view.View;\n" +
+						"import com.wit.android.fragment.annotation.ClickableViews;\n" +
+						"import com.wit.android.fragment.annotation.InjectView;\n" +
+						"import com.wit.android.fragment.annotation.InjectViews;\n" +
+						"@InjectViews\n" +
+						"@ClickableViews({1})\n" +
+						"public class SharedIdFragment {\n" +
+						"\t@InjectView(1) View first;\n" +
+						"\t@InjectView(value = 1, clickable = true) View second;\n" +
+						"}\n"
+		);
+		assertTrue(compilation.diagnostics.toString(), compilation.succeeded);
+		final String source = compilation.generatedSources.get("test.SharedIdFragment$$ViewInjector");
+		assertTrue(source, source.contains("VIEW_IDS = {1};"));
+		assertEquals(source.indexOf("case 1:"), source.lastIndexOf("case 1:"));
+		assertTrue(source, source.contains("\t\t\t\ttarget.first = (android.view.View) view;\n\t\t\t\ttarget.second = (android.view.View) view;\n" +
+				"\t\t\t\tview.setOnClickListener(onClickListener);\n\t\t\t\tbreak;\n"));
+	}
+
+	/**
+	 */
+	@Test
+	public void testPrivateFieldFallsBackToReflection() {
+		final Compilation compilation = new Compilation(
+				new ViewInjectorProcessor(),
+				"package test;\n" +
+						"import android.view.View;\n" +
+						"import com.wit.android.fragment.annotation.InjectView;\n" +
+						"import com.wit.android.fragment.annotation.InjectViews;\n" +
+						"@InjectViews\n" +
+						"public class PrivateFieldFragment {\n" +
+						"\t@InjectView(1) View view;\n" +
+						"\t@InjectView(2) private View privateView;\n" +
+						"}\n"
+		);
+		assertTrue(compilation.diagnostics.toString(), compilation.succeeded);
+		assertTrue(compilation.generatedSources.isEmpty());
+		assertEquals(1, compilation.messages(Diagnostic.Kind.WARNING).size());
+		assertTrue(compilation.messages(Diagnostic.Kind.WARNING).get(0).contains("reflection"));
+	}
+
+	/**
+	 */
+	@Test
+	public void testPrivateClassFallsBackToReflection() {
+		final Compilation compilation = new Compilation(
+				new ViewInjectorProcessor(),
+				"package test;\n" +
+						"import android.view.View;\n" +
+						"import com.wit.android.fragment.annotation.InjectView;\n" +
+						"import com.wit.android.fragment.annotation.InjectViews;\n" +
+						"public class Outer {\n" +
+						"\t@InjectViews\n" +
+						"\tprivate static class PrivateFragment {\n" +
+						"\t\t@InjectView(1) View view;\n" +
+						"\t}\n" +
+						"}\n"
+		);
+		assertTrue(compilation.diagnostics.toString(), compilation.succeeded);
+		assertTrue(compilation.generatedSources.isEmpty());
+		assertEquals(1, compilation.messages(Diagnostic.Kind.WARNING).size());
+	}
+
+	/**
+	 */
+	@Test
+	public void testFieldNotViewIsError() {
+		final Compilation compilation = new Compilation(
+				new ViewInjectorProcessor(),
+				"package test;\n" +
+						"import com.wit.android.fragment.annotation.InjectView;\n" +
+						"import com.wit.android.fragment.annotation.InjectViews;\n" +
+						"@InjectViews\n" +
+						"public class InvalidFragment {\n" +
+						"\t@InjectView(1) String text;\n" +
+						"}\n"
+		);
+		assertFalse(compilation.succeeded);
+		assertTrue(compilation.generatedSources.isEmpty());
+		assertEquals(1, compilation.messages(Diagnostic.Kind.ERROR).size());
+	}
+}